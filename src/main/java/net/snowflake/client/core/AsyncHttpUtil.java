@@ -0,0 +1,448 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.core;
+
+import com.google.common.base.Strings;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import net.snowflake.client.jdbc.AsyncRestRequest;
+import net.snowflake.client.jdbc.ErrorCode;
+import net.snowflake.client.jdbc.SnowflakeSQLException;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+import net.snowflake.client.log.SFLoggerUtil;
+import net.snowflake.client.util.SecretDetector;
+import net.snowflake.common.core.SqlState;
+import org.apache.commons.io.IOUtils;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.auth.AuthScope;
+import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.routing.DefaultRoutePlanner;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.Timeout;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * Asynchronous HTTP transport for control-plane REST calls to Snowflake.
+ *
+ * <p>The blocking transport of {@link HttpUtil} ties up a connection and a thread for every call in
+ * flight. The clients of this transport negotiate HTTP/2 with TLS ALPN and multiplex the concurrent
+ * requests to an account over a single connection; a server which only speaks HTTP/1.1 gets a pool
+ * of connections as with the blocking transport. Requests are non-blocking: the caller gets a
+ * {@link CompletableFuture} and retries are scheduled on a timer, see {@link AsyncRestRequest}.
+ *
+ * <p>Requests are built with the same request classes as for {@link HttpUtil}, so callers can
+ * switch transports without changing how requests are built. Clients are shared per {@link
+ * HttpClientSettingsKey} and use the same OCSP checks, proxy settings and timeouts as the blocking
+ * clients.
+ */
+@SnowflakeJdbcInternalApi
+public class AsyncHttpUtil {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(AsyncHttpUtil.class);
+
+  /** Headers which are set by the client or connection specific and not allowed in HTTP/2 */
+  private static final Set<String> SKIPPED_REQUEST_HEADERS =
+      new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+  static {
+    SKIPPED_REQUEST_HEADERS.addAll(
+        Arrays.asList(
+            "Connection",
+            "Content-Length",
+            "Host",
+            "Keep-Alive",
+            "Proxy-Connection",
+            "Transfer-Encoding",
+            "Upgrade"));
+  }
+
+  /** The async clients, shared by all connections with the same settings */
+  static final Map<HttpClientSettingsKey, CloseableHttpAsyncClient> asyncHttpClient =
+      new ConcurrentHashMap<>();
+
+  static {
+    // the I/O reactor threads and connections of the clients are released when the JVM exits
+    Thread shutdownHook = new Thread(AsyncHttpUtil::closeAsyncHttpClients);
+    shutdownHook.setName("async-http-client-shutdown");
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+  }
+
+  /**
+   * Accessor for the async HTTP client of the given settings, built and started on first use.
+   *
+   * @param key OCSP mode and proxy settings of the client
+   * @return async client shared across all connections with the settings
+   */
+  public static CloseableHttpAsyncClient getAsyncHttpClient(HttpClientSettingsKey key) {
+    HttpUtil.updateRoutePlanner(key);
+    return asyncHttpClient.computeIfAbsent(key, AsyncHttpUtil::buildAsyncHttpClient);
+  }
+
+  /**
+   * Close the async HTTP clients, stopping their I/O reactor threads and closing their connections.
+   * Requests in flight fail. Clients are built again if requests are executed afterwards.
+   */
+  public static void closeAsyncHttpClients() {
+    for (HttpClientSettingsKey key : asyncHttpClient.keySet()) {
+      CloseableHttpAsyncClient client = asyncHttpClient.remove(key);
+      if (client != null) {
+        logger.debug("Closing async http client with client settings key: {}", key);
+        client.close(CloseMode.GRACEFUL);
+      }
+    }
+  }
+
+  /**
+   * Build and start an async HTTP client.
+   *
+   * @param key OCSP mode and proxy settings of the client
+   * @return the started client
+   */
+  static CloseableHttpAsyncClient buildAsyncHttpClient(HttpClientSettingsKey key) {
+    logger.debug("Building async http client with client settings key: {}", key);
+    int timeToLive =
+        SystemUtil.convertSystemPropertyToIntValue(HttpUtil.JDBC_TTL, HttpUtil.DEFAULT_TTL);
+    long connectTimeout = HttpUtil.getConnectionTimeout().toMillis();
+    long socketTimeout = HttpUtil.getSocketTimeout().toMillis();
+
+    TrustManager[] trustManagers = null;
+    if (key.getOcspMode() != OCSPMode.DISABLE_OCSP_CHECKS) {
+      try {
+        trustManagers = new TrustManager[] {new SFTrustManager(key, null)};
+      } catch (Exception | Error err) {
+        StringWriter errors = new StringWriter();
+        err.printStackTrace(new PrintWriter(errors));
+        logger.error(errors.toString(), true);
+        throw new RuntimeException(err);
+      }
+    }
+    SSLContext sslContext;
+    try {
+      sslContext = SSLContext.getInstance("TLS");
+      sslContext.init(null, trustManagers, null);
+    } catch (Exception ex) {
+      throw new RuntimeException(ex);
+    }
+
+    int maxConnections =
+        SystemUtil.convertSystemPropertyToIntValue(
+            HttpUtil.JDBC_MAX_CONNECTIONS_PROPERTY, HttpUtil.DEFAULT_MAX_CONNECTIONS);
+    int maxConnectionsPerRoute =
+        SystemUtil.convertSystemPropertyToIntValue(
+            HttpUtil.JDBC_MAX_CONNECTIONS_PER_ROUTE_PROPERTY,
+            HttpUtil.DEFAULT_MAX_CONNECTIONS_PER_ROUTE);
+    // HTTP/2 connections are shared by concurrent requests, only HTTP/1.1 needs more connections
+    PoolingAsyncClientConnectionManager connectionManager =
+        PoolingAsyncClientConnectionManagerBuilder.create()
+            .setTlsStrategy(ClientTlsStrategyBuilder.create().setSslContext(sslContext).build())
+            .setDefaultTlsConfig(
+                TlsConfig.custom().setVersionPolicy(HttpVersionPolicy.NEGOTIATE).build())
+            .setDefaultConnectionConfig(
+                ConnectionConfig.custom()
+                    .setConnectTimeout(connectTimeout, TimeUnit.MILLISECONDS)
+                    .setSocketTimeout((int) socketTimeout, TimeUnit.MILLISECONDS)
+                    .setTimeToLive(timeToLive, TimeUnit.SECONDS)
+                    .build())
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .build();
+
+    HttpAsyncClientBuilder builder =
+        HttpAsyncClients.custom()
+            .setConnectionManager(connectionManager)
+            .setUserAgent(HttpUtil.buildUserAgent(key.getUserAgentSuffix()))
+            .disableCookieManagement()
+            // retries follow the rules of RestRequest
+            .disableAutomaticRetries()
+            .setDefaultRequestConfig(
+                RequestConfig.custom()
+                    .setConnectionRequestTimeout(connectTimeout, TimeUnit.MILLISECONDS)
+                    .setResponseTimeout(socketTimeout, TimeUnit.MILLISECONDS)
+                    .build());
+
+    if (key.usesProxy()) {
+      logger.debug(
+          "Configuring async client proxy - host: {}, port: {}, scheme: {}, nonProxyHosts: {}",
+          key.getProxyHost(),
+          key.getProxyPort(),
+          key.getProxyHttpProtocol().getScheme(),
+          key.getNonProxyHosts());
+      builder.setRoutePlanner(new ProxyRoutePlanner(key));
+      if (!Strings.isNullOrEmpty(key.getProxyUser())
+          && !Strings.isNullOrEmpty(key.getProxyPassword())) {
+        logger.debug(
+            "Using user: {}, password is {} for proxy host: {}, port: {}",
+            key.getProxyUser(),
+            SFLoggerUtil.isVariableProvided(key.getProxyPassword()),
+            key.getProxyHost(),
+            key.getProxyPort());
+        BasicCredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+        credentialsProvider.setCredentials(
+            new AuthScope(key.getProxyHost(), key.getProxyPort()),
+            new UsernamePasswordCredentials(
+                key.getProxyUser(), key.getProxyPassword().toCharArray()));
+        builder.setDefaultCredentialsProvider(credentialsProvider);
+      }
+    } else {
+      // Support JVM proxy settings
+      builder.useSystemProperties();
+    }
+
+    CloseableHttpAsyncClient client = builder.build();
+    client.start();
+    return client;
+  }
+
+  /**
+   * Executes an HTTP request for Snowflake without blocking.
+   *
+   * <p>The returned future completes on a thread of the HTTP client or of the retry timer;
+   * dependent stages which block must use an executor.
+   *
+   * @param httpRequest request, built as for {@link HttpUtil}
+   * @param retryTimeout retry timeout (in seconds)
+   * @param socketTimeout socket timeout (in ms), 0 for the default of the client
+   * @param maxRetries max retry count for the request
+   * @param canceling canceling flag, may be null
+   * @param includeRetryParameters whether to include retry parameters in retried requests
+   * @param retryOnHTTP403 whether to retry on HTTP 403 or not
+   * @param ocspAndProxyKey OCSP mode and proxy settings for the client
+   * @return future of the response body, or of a {@link SnowflakeSQLException} if the request
+   *     failed
+   */
+  public static CompletableFuture<String> executeRequest(
+      HttpRequestBase httpRequest,
+      int retryTimeout,
+      int socketTimeout,
+      int maxRetries,
+      AtomicBoolean canceling,
+      boolean includeRetryParameters,
+      boolean retryOnHTTP403,
+      HttpClientSettingsKey ocspAndProxyKey) {
+    String requestInfoScrubbed = SecretDetector.maskSASToken(httpRequest.toString());
+    logger.debug("Executing async request: {}", requestInfoScrubbed);
+    if (socketTimeout > 0) {
+      httpRequest.setConfig(
+          org.apache.http.client.config.RequestConfig.custom()
+              .setSocketTimeout(socketTimeout)
+              .build());
+    }
+    CompletableFuture<SimpleHttpResponse> response;
+    try {
+      response =
+          AsyncRestRequest.execute(
+              getAsyncHttpClient(ocspAndProxyKey),
+              httpRequest,
+              retryTimeout,
+              maxRetries,
+              canceling,
+              includeRetryParameters,
+              true, // include request GUID
+              retryOnHTTP403,
+              false); // retry
+    } catch (RuntimeException ex) {
+      CompletableFuture<String> failed = new CompletableFuture<>();
+      failed.completeExceptionally(ex);
+      return failed;
+    }
+    CompletableFuture<String> body = new CompletableFuture<>();
+    response.whenComplete(
+        (httpResponse, ex) -> {
+          if (ex != null) {
+            body.completeExceptionally(ex);
+          } else if (httpResponse.getCode() != 200) {
+            logger.error(
+                "Error executing async request: {}, HTTP status: {}",
+                requestInfoScrubbed,
+                httpResponse.getCode());
+            body.completeExceptionally(
+                new SnowflakeSQLException(
+                    SqlState.IO_ERROR,
+                    ErrorCode.NETWORK_ERROR.getMessageCode(),
+                    "HTTP status=" + httpResponse.getCode()));
+          } else {
+            try {
+              body.complete(readBody(httpResponse));
+            } catch (IOException ioEx) {
+              body.completeExceptionally(ioEx);
+            }
+          }
+        });
+    // cancelling the body cancels the request
+    body.whenComplete(
+        (r, ex) -> {
+          if (body.isCancelled()) {
+            response.cancel(true);
+          }
+        });
+    return body;
+  }
+
+  /**
+   * Executes a general HTTP request for Snowflake without blocking, see {@link
+   * HttpUtil#executeGeneralRequest(HttpRequestBase, int, int, int, int, HttpClientSettingsKey)}.
+   *
+   * @param httpRequest request, built as for {@link HttpUtil}
+   * @param retryTimeout retry timeout (in seconds)
+   * @param socketTimeout socket timeout (in ms), 0 for the default of the client
+   * @param maxRetries max retry count for the request
+   * @param ocspAndProxyKey OCSP mode and proxy settings for the client
+   * @return future of the response body, or of a {@link SnowflakeSQLException} if the request
+   *     failed
+   */
+  public static CompletableFuture<String> executeGeneralRequest(
+      HttpRequestBase httpRequest,
+      int retryTimeout,
+      int socketTimeout,
+      int maxRetries,
+      HttpClientSettingsKey ocspAndProxyKey) {
+    return executeRequest(
+        httpRequest,
+        retryTimeout,
+        socketTimeout,
+        maxRetries,
+        null, // no canceling
+        false, // no retry parameter
+        false, // no retry on HTTP 403
+        ocspAndProxyKey);
+  }
+
+  /**
+   * Copy a request built for the blocking transport
+   *
+   * @param httpRequest request with its final URI
+   * @return a request of the async client with the same method, URI, headers and body
+   * @throws IOException if the body of the request cannot be read
+   */
+  @SnowflakeJdbcInternalApi
+  public static SimpleHttpRequest toAsyncRequest(HttpRequestBase httpRequest) throws IOException {
+    SimpleHttpRequest request =
+        SimpleHttpRequest.create(httpRequest.getMethod(), httpRequest.getURI());
+    for (Header header : httpRequest.getAllHeaders()) {
+      if (!SKIPPED_REQUEST_HEADERS.contains(header.getName())) {
+        request.addHeader(header.getName(), header.getValue());
+      }
+    }
+    if (httpRequest.getConfig() != null && httpRequest.getConfig().getSocketTimeout() > 0) {
+      request.setConfig(
+          RequestConfig.custom()
+              .setResponseTimeout(
+                  Timeout.ofMilliseconds(httpRequest.getConfig().getSocketTimeout()))
+              .build());
+    }
+    if (httpRequest instanceof HttpEntityEnclosingRequest) {
+      HttpEntity entity = ((HttpEntityEnclosingRequest) httpRequest).getEntity();
+      if (entity != null) {
+        ContentType contentType =
+            entity.getContentType() != null
+                ? ContentType.parse(entity.getContentType().getValue())
+                : null;
+        // the blocking transport may resend the request, the entity must be repeatable anyway
+        request.setBody(EntityUtils.toByteArray(entity), contentType);
+      }
+    }
+    return request;
+  }
+
+  /**
+   * @param response successful response
+   * @return the body of the response, decompressed if needed
+   * @throws IOException if the body cannot be decompressed
+   */
+  static String readBody(SimpleHttpResponse response) throws IOException {
+    byte[] body = response.getBodyBytes();
+    if (body == null) {
+      return "";
+    }
+    Charset charset = StandardCharsets.UTF_8;
+    if (response.getContentType() != null && response.getContentType().getCharset() != null) {
+      charset = response.getContentType().getCharset();
+    }
+    org.apache.hc.core5.http.Header encoding = response.getFirstHeader("Content-Encoding");
+    if (encoding != null && "gzip".equalsIgnoreCase(encoding.getValue().trim())) {
+      // unlike the blocking client, the async client does not decompress responses
+      try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(body))) {
+        return IOUtils.toString(is, charset);
+      }
+    }
+    return new String(body, charset);
+  }
+
+  /** Routes requests through the proxy of the settings, except for the non-proxy hosts */
+  private static class ProxyRoutePlanner extends DefaultRoutePlanner {
+    private final HttpClientSettingsKey key;
+    private final HttpHost proxy;
+
+    ProxyRoutePlanner(HttpClientSettingsKey key) {
+      super(null);
+      this.key = key;
+      this.proxy =
+          new HttpHost(
+              key.getProxyHttpProtocol().getScheme(), key.getProxyHost(), key.getProxyPort());
+    }
+
+    @Override
+    protected HttpHost determineProxy(HttpHost target, HttpContext context) throws HttpException {
+      // the non-proxy hosts of the blocking client's route planner can be updated
+      SnowflakeMutableProxyRoutePlanner planner =
+          HttpUtil.httpClientRoutePlanner.computeIfAbsent(
+              key,
+              k ->
+                  new SnowflakeMutableProxyRoutePlanner(
+                      key.getProxyHost(),
+                      key.getProxyPort(),
+                      key.getProxyHttpProtocol(),
+                      key.getNonProxyHosts()));
+      try {
+        org.apache.http.conn.routing.HttpRoute route =
+            planner.determineRoute(
+                new org.apache.http.HttpHost(
+                    target.getHostName(), target.getPort(), target.getSchemeName()),
+                null,
+                new BasicHttpContext());
+        return route.getProxyHost() != null ? proxy : null;
+      } catch (org.apache.http.HttpException ex) {
+        throw new HttpException(ex.getMessage(), ex);
+      }
+    }
+  }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.core;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import net.snowflake.client.jdbc.ErrorCode;
+import net.snowflake.client.jdbc.QueryStatusV2;
+import net.snowflake.client.jdbc.SnowflakeSQLException;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Polls the status of the asynchronous queries of a session until they complete.
+ *
+ * <p>All queries tracked by the session are polled together by a single task, armed on the {@link
+ * TimeoutScheduler}, with batched status requests. The interval between polls starts at {@link
+ * #MIN_POLL_INTERVAL_MILLIS} and doubles up to {@link #MAX_POLL_INTERVAL_MILLIS} while no query
+ * changes status; it is reset when a query changes status or a new query is tracked. A query whose
+ * status could not be retrieved is polled again with the next poll, and only fails after {@link
+ * #MAX_FAILED_POLLS} consecutive failed polls; the other queries of its batch are not affected.
+ *
+ * <p>The last polled status of each query is kept, so readers of the status of a query do not call
+ * the server themselves, and status changes are published to listeners.
+ */
+@SnowflakeJdbcInternalApi
+public class AsyncQueryPoller {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(AsyncQueryPoller.class);
+
+  static final long MIN_POLL_INTERVAL_MILLIS = 500;
+
+  static final long MAX_POLL_INTERVAL_MILLIS = 5000;
+
+  /** Polls without data about a query before giving up */
+  static final int NO_DATA_MAX_RETRIES = 30;
+
+  /** Consecutive failed status requests for a query before giving up */
+  static final int MAX_FAILED_POLLS = 10;
+
+  /** Maximum number of queries in a status request */
+  static final int MAX_BATCH_SIZE = 100;
+
+  /** Number of completed queries whose status is kept */
+  static final int MAX_COMPLETED_QUERIES = 1000;
+
+  /** Source of the status of queries, the server or a stand-in for tests */
+  @FunctionalInterface
+  public interface QueryStatusSource {
+    /**
+     * @param queryIDs query IDs
+     * @param failures receives the exception of each query whose status could not be retrieved
+     * @return status of the queries by query ID, queries unknown to the server or whose status
+     *     could not be retrieved may be missing
+     * @throws SQLException if the status of none of the queries could be retrieved
+     */
+    Map<String, QueryStatusV2> getQueryStatuses(
+        List<String> queryIDs, Map<String, SQLException> failures) throws SQLException;
+  }
+
+  /** Listener of the status changes of the queries */
+  @FunctionalInterface
+  public interface StatusListener {
+    /**
+     * Called on the poller thread when the status of a query is first known, and when it changes
+     *
+     * @param queryID query ID
+     * @param previous previous status, or null
+     * @param current current status
+     */
+    void onStatusChanged(String queryID, QueryStatusV2 previous, QueryStatusV2 current);
+  }
+
+  private final QueryStatusSource source;
+
+  private final Map<String, TrackedQuery> trackedQueries = new ConcurrentHashMap<>();
+
+  // guarded by itself
+  private final Map<String, QueryStatusV2> completedQueries =
+      new LinkedHashMap<String, QueryStatusV2>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, QueryStatusV2> eldest) {
+          return size() > MAX_COMPLETED_QUERIES;
+        }
+      };
+
+  private final List<StatusListener> listeners = new CopyOnWriteArrayList<>();
+
+  // guarded by this
+  private boolean polling = false;
+  private TimeoutScheduler.Timeout nextPoll;
+  private long nextPollAt = Long.MAX_VALUE;
+  private long pollIntervalMillis = MIN_POLL_INTERVAL_MILLIS;
+  private boolean newQueries = false;
+  private boolean closed = false;
+
+  AsyncQueryPoller(QueryStatusSource source) {
+    this.source = source;
+  }
+
+  /**
+   * Watch an asynchronous query until it completes.
+   *
+   * <p>The returned future completes on a thread of the poller; dependent stages which block must
+   * use an executor. Cancelling the future does not cancel the query.
+   *
+   * @param queryID query ID
+   * @return future of the status of the query once it succeeded, or completed exceptionally with a
+   *     SnowflakeSQLException if it failed or no data about it is returned by the server
+   */
+  public CompletableFuture<QueryStatusV2> watch(String queryID) {
+    QueryStatusV2 completed = getCompletedStatus(queryID);
+    if (completed != null) {
+      CompletableFuture<QueryStatusV2> future = new CompletableFuture<>();
+      complete(queryID, future, completed);
+      return future;
+    }
+    return track(queryID).future;
+  }
+
+  /**
+   * Get the last polled status of a query. The status of a query which is not tracked yet is
+   * retrieved from the server, and the query is tracked until it completes.
+   *
+   * @param queryID query ID
+   * @return status of the query, empty if no data about the query is returned by the server
+   * @throws SQLException if the status of a query which is not tracked could not be retrieved
+   */
+  public QueryStatusV2 getStatus(String queryID) throws SQLException {
+    TrackedQuery query = trackedQueries.get(queryID);
+    if (query != null && query.status != null) {
+      return query.status;
+    }
+    QueryStatusV2 completed = getCompletedStatus(queryID);
+    if (completed != null) {
+      return completed;
+    }
+    Map<String, SQLException> failures = new HashMap<>();
+    QueryStatusV2 status = fetchStatuses(Collections.singletonList(queryID), failures).get(queryID);
+    if (failures.containsKey(queryID)) {
+      throw failures.get(queryID);
+    }
+    if (status == null) {
+      status = QueryStatusV2.empty();
+    }
+    if (status.isStillRunning()) {
+      query = track(queryID);
+      if (query.status == null) {
+        query.status = status;
+      }
+      return query.status;
+    }
+    recordCompleted(queryID, status);
+    publish(queryID, null, status);
+    return status;
+  }
+
+  /**
+   * @param listener listener of the status changes of the queries
+   */
+  public void addStatusListener(StatusListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * @param listener listener to remove
+   */
+  public void removeStatusListener(StatusListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * @return number of queries polled until they complete
+   */
+  public int getPendingQueryCount() {
+    return trackedQueries.size();
+  }
+
+  /** Stop polling, the pending queries complete exceptionally */
+  void close() {
+    synchronized (this) {
+      closed = true;
+      if (nextPoll != null) {
+        nextPoll.cancel();
+        nextPoll = null;
+      }
+    }
+    for (TrackedQuery query : trackedQueries.values()) {
+      query.future.completeExceptionally(
+          new SnowflakeSQLException(query.queryID, ErrorCode.CONNECTION_CLOSED));
+    }
+    trackedQueries.clear();
+  }
+
+  private TrackedQuery track(String queryID) {
+    TrackedQuery query = new TrackedQuery(queryID);
+    synchronized (this) {
+      if (closed) {
+        query.future.completeExceptionally(
+            new SnowflakeSQLException(queryID, ErrorCode.CONNECTION_CLOSED));
+        return query;
+      }
+      TrackedQuery previous = trackedQueries.putIfAbsent(queryID, query);
+      if (previous != null) {
+        return previous;
+      }
+      // poll the new query right away, together with the others
+      newQueries = true;
+      schedulePoll(System.currentTimeMillis());
+    }
+    return query;
+  }
+
+  /** Arm the poll task to run no later than the given time, unless a poll is running */
+  private synchronized void schedulePoll(long pollAt) {
+    if (closed || polling || pollAt >= nextPollAt) {
+      return;
+    }
+    if (nextPoll != null) {
+      nextPoll.cancel();
+    }
+    nextPollAt = pollAt;
+    nextPoll =
+        TimeoutScheduler.scheduleDelay(
+            this::poll, Math.max(0, pollAt - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+  }
+
+  private void poll() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      polling = true;
+      newQueries = false;
+      nextPoll = null;
+      nextPollAt = Long.MAX_VALUE;
+    }
+    boolean changed = false;
+    try {
+      List<String> queryIDs = new ArrayList<>(trackedQueries.keySet());
+      for (int from = 0; from < queryIDs.size(); from += MAX_BATCH_SIZE) {
+        int to = Math.min(from + MAX_BATCH_SIZE, queryIDs.size());
+        changed |= pollBatch(queryIDs.subList(from, to));
+      }
+    } finally {
+      synchronized (this) {
+        polling = false;
+        // queries tracked while polling are polled soon
+        pollIntervalMillis =
+            changed || newQueries
+                ? MIN_POLL_INTERVAL_MILLIS
+                : Math.min(pollIntervalMillis * 2, MAX_POLL_INTERVAL_MILLIS);
+        if (!trackedQueries.isEmpty()) {
+          schedulePoll(System.currentTimeMillis() + pollIntervalMillis);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return true if the status of a query changed
+   */
+  private boolean pollBatch(List<String> queryIDs) {
+    Map<String, QueryStatusV2> statuses;
+    Map<String, SQLException> failures = new HashMap<>();
+    try {
+      statuses = fetchStatuses(queryIDs, failures);
+    } catch (SQLException ex) {
+      // likely a transient error, the queries are polled again with the next poll, which is
+      // delayed as if no query changed status
+      logger.debug("Failed to get the status of {} queries: {}", queryIDs.size(), ex.getMessage());
+      for (String queryID : queryIDs) {
+        onFailedPoll(queryID, ex);
+      }
+      return false;
+    }
+    boolean changed = false;
+    for (String queryID : queryIDs) {
+      SQLException failure = failures.get(queryID);
+      if (failure != null) {
+        logger.debug("Failed to get the status of query {}: {}", queryID, failure.getMessage());
+        onFailedPoll(queryID, failure);
+        continue;
+      }
+      TrackedQuery query = trackedQueries.get(queryID);
+      if (query == null) {
+        continue;
+      }
+      query.failedPolls = 0;
+      QueryStatusV2 status = statuses.get(queryID);
+      if (status == null) {
+        status = QueryStatusV2.empty();
+      }
+      QueryStatusV2 previous = query.status;
+      query.status = status;
+      if (previous == null || previous.getStatus() != status.getStatus()) {
+        changed = true;
+        publish(queryID, previous, status);
+      }
+      if (!status.isStillRunning()) {
+        recordCompleted(queryID, status);
+        trackedQueries.remove(queryID, query);
+        complete(queryID, query.future, status);
+      } else if (status.isEmpty() && ++query.noDataRetry >= NO_DATA_MAX_RETRIES) {
+        trackedQueries.remove(queryID, query);
+        query.future.completeExceptionally(
+            new SnowflakeSQLException(
+                queryID,
+                "Cannot retrieve data on the status of this query. No information returned from"
+                    + " server for queryID="
+                    + queryID
+                    + ".",
+                null,
+                ErrorCode.INTERNAL_ERROR.getMessageCode()));
+      }
+    }
+    return changed;
+  }
+
+  /** Fail a query once its status could not be retrieved by too many consecutive polls */
+  private void onFailedPoll(String queryID, SQLException ex) {
+    TrackedQuery query = trackedQueries.get(queryID);
+    if (query != null && ++query.failedPolls >= MAX_FAILED_POLLS) {
+      trackedQueries.remove(queryID, query);
+      query.future.completeExceptionally(ex);
+    }
+  }
+
+  private Map<String, QueryStatusV2> fetchStatuses(
+      List<String> queryIDs, Map<String, SQLException> failures) throws SQLException {
+    try {
+      return source.getQueryStatuses(queryIDs, failures);
+    } catch (RuntimeException ex) {
+      throw new SnowflakeSQLException(ex, ErrorCode.INTERNAL_ERROR, ex.getMessage());
+    }
+  }
+
+  private static void complete(
+      String queryID, CompletableFuture<QueryStatusV2> future, QueryStatusV2 status) {
+    if (status.isSuccess()) {
+      future.complete(status);
+      return;
+    }
+    String errorMessage = status.getErrorMessage();
+    if (errorMessage == null || errorMessage.isEmpty()) {
+      errorMessage = "No error message available";
+    }
+    future.completeExceptionally(
+        new SnowflakeSQLException(
+            queryID,
+            "Status of query associated with resultSet is "
+                + status.getStatus().getDescription()
+                + ". "
+                + errorMessage
+                + " Results not generated.",
+            null,
+            status.getErrorCode()));
+  }
+
+  private QueryStatusV2 getCompletedStatus(String queryID) {
+    synchronized (completedQueries) {
+      return completedQueries.get(queryID);
+    }
+  }
+
+  private void recordCompleted(String queryID, QueryStatusV2 status) {
+    synchronized (completedQueries) {
+      completedQueries.put(queryID, status);
+    }
+  }
+
+  private void publish(String queryID, QueryStatusV2 previous, QueryStatusV2 current) {
+    for (StatusListener listener : listeners) {
+      try {
+        listener.onStatusChanged(queryID, previous, current);
+      } catch (Exception ex) {
+        logger.debug("Query status listener failed: {}", ex.getMessage());
+      }
+    }
+  }
+
+  private static class TrackedQuery {
+    private final String queryID;
+    private final CompletableFuture<QueryStatusV2> future = new CompletableFuture<>();
+    private volatile QueryStatusV2 status;
+    private int noDataRetry = 0;
+    private int failedPolls = 0;
+
+    private TrackedQuery(String queryID) {
+      this.queryID = queryID;
+    }
+  }
+}
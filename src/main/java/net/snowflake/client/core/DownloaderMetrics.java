@@ -8,16 +8,64 @@ public class DownloaderMetrics {
   /** time in millis that main thread is blocked and waits for chunk is ready */
   private final long millisWaiting;
 
-  /** time in millis that background thread is downloading the data */
+  /**
+   * time in millis that background thread is downloading the data. With the decode pipeline, this
+   * is the I/O stage, including the transfer of the compressed bytes.
+   */
   private final long millisDownloading;
 
-  /** time in millis that background thread is parsing data */
+  /**
+   * time in millis that background thread is parsing data. With the decode pipeline, this is the
+   * decode stage, including the decompression.
+   */
   private final long millisParsing;
 
+  /** time in millis that downloaded chunks waited for a thread of the decode stage */
+  private final long millisWaitingForDecode;
+
+  /** number of compressed bytes downloaded by the I/O stage of the decode pipeline */
+  private final long compressedBytesDownloaded;
+
+  /** number of download threads of the result set */
+  private final int downloadThreads;
+
+  /** number of threads of the decode stage, 0 if decoding runs on the download threads */
+  private final int decodeThreads;
+
+  /** number of chunks prefetched ahead of the consumer when it asked for each chunk */
+  private final int[] prefetchWindows;
+
+  /** number of hedged chunk downloads issued for slow chunks */
+  private final int hedgesIssued;
+
+  /** number of hedged chunk downloads which completed before the download they hedged */
+  private final int hedgesWon;
+
   public DownloaderMetrics(long millisWaiting, long millisDownloading, long millisParsing) {
+    this(millisWaiting, millisDownloading, millisParsing, 0, 0, 0, 0, new int[0], 0, 0);
+  }
+
+  public DownloaderMetrics(
+      long millisWaiting,
+      long millisDownloading,
+      long millisParsing,
+      long millisWaitingForDecode,
+      long compressedBytesDownloaded,
+      int downloadThreads,
+      int decodeThreads,
+      int[] prefetchWindows,
+      int hedgesIssued,
+      int hedgesWon) {
     this.millisWaiting = millisWaiting;
     this.millisDownloading = millisDownloading;
     this.millisParsing = millisParsing;
+    this.millisWaitingForDecode = millisWaitingForDecode;
+    this.compressedBytesDownloaded = compressedBytesDownloaded;
+    this.downloadThreads = downloadThreads;
+    this.decodeThreads = decodeThreads;
+    this.prefetchWindows = prefetchWindows;
+    this.hedgesIssued = hedgesIssued;
+    this.hedgesWon = hedgesWon;
   }
 
   long getMillisWaiting() {
@@ -31,4 +79,40 @@ public class DownloaderMetrics {
   long getMillisParsing() {
     return millisParsing;
   }
+
+  long getMillisWaitingForDecode() {
+    return millisWaitingForDecode;
+  }
+
+  long getCompressedBytesDownloaded() {
+    return compressedBytesDownloaded;
+  }
+
+  int getDownloadThreads() {
+    return downloadThreads;
+  }
+
+  int getDecodeThreads() {
+    return decodeThreads;
+  }
+
+  int[] getPrefetchWindows() {
+    return prefetchWindows.clone();
+  }
+
+  int getHedgesIssued() {
+    return hedgesIssued;
+  }
+
+  int getHedgesWon() {
+    return hedgesWon;
+  }
+
+  int getMaxPrefetchWindow() {
+    int max = 0;
+    for (int window : prefetchWindows) {
+      max = Math.max(max, window);
+    }
+    return max;
+  }
 }
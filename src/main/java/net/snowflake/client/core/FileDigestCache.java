@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.core;
+
+import static net.snowflake.client.core.StmtUtil.mapper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Local file cache of the digests of local files compared with the files of a stage.
+ *
+ * <p>A digest is keyed by the canonical path of the file and the compression applied to the file
+ * before it is digested, and is valid as long as the size and last modification time of the file
+ * are the ones recorded with it, so an unchanged file does not need to be read to get its digest.
+ * Digests added with {@link #putDigest} are written to the cache file by {@link #flush()}.
+ */
+@SnowflakeJdbcInternalApi
+public class FileDigestCache {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(FileDigestCache.class);
+  private static final String CACHE_FILE_NAME = "file_digest_cache_v1.json";
+  private static final String CACHE_DIR_PROP = "net.snowflake.jdbc.fileDigestCacheDir";
+  private static final String CACHE_DIR_ENV = "SF_FILE_DIGEST_CACHE_DIR";
+  private static final String CACHE_FILE_DIGESTS_OBJECT_NAME = "digests";
+  private static final long CACHE_FILE_LOCK_EXPIRATION_IN_SECONDS = 60L;
+
+  /** Maximum number of digests kept in the cache file, the least recently cached are dropped */
+  static final int MAX_ENTRIES = 10000;
+
+  /**
+   * Files modified less than this many milliseconds before they are digested may be modified again
+   * without a visible change of their modification time, their digest is not cached
+   */
+  static final long MODIFICATION_TIME_GRANULARITY_IN_MILLIS = 2000L;
+
+  private static final String SIZE = "size";
+  private static final String LAST_MODIFIED = "lastModified";
+  private static final String DIGEST = "digest";
+  private static final String CACHED_AT = "cachedAt";
+
+  private final FileCacheManager fileCacheManager;
+
+  // digests read from the cache file, and digests added since
+  private Map<String, Entry> entries;
+
+  // digests added since the last flush
+  private final Map<String, Entry> addedEntries = new HashMap<>();
+
+  private FileDigestCache() {
+    this(
+        FileCacheManager.builder()
+            .setCacheDirectorySystemProperty(CACHE_DIR_PROP)
+            .setCacheDirectoryEnvironmentVariable(CACHE_DIR_ENV)
+            .setBaseCacheFileName(CACHE_FILE_NAME)
+            .setCacheFileLockExpirationInSeconds(CACHE_FILE_LOCK_EXPIRATION_IN_SECONDS)
+            .setOnlyOwnerPermissions(true)
+            .build());
+  }
+
+  FileDigestCache(FileCacheManager fileCacheManager) {
+    this.fileCacheManager = fileCacheManager;
+  }
+
+  private static class FileDigestCacheHolder {
+    private static final FileDigestCache INSTANCE = new FileDigestCache();
+  }
+
+  public static FileDigestCache getInstance() {
+    return FileDigestCacheHolder.INSTANCE;
+  }
+
+  /**
+   * @param file local file
+   * @param size size of the file
+   * @param lastModified last modification time of the file
+   * @param compressionType compression applied to the file before it is digested
+   * @return the cached digest, or null if no digest is cached for this content of the file
+   */
+  public synchronized String getDigest(
+      File file, long size, long lastModified, String compressionType) {
+    String key = buildKey(file, compressionType);
+    if (key == null) {
+      return null;
+    }
+    if (entries == null) {
+      entries = load();
+    }
+    Entry entry = entries.get(key);
+    if (entry == null || entry.size != size || entry.lastModified != lastModified) {
+      return null;
+    }
+    return entry.digest;
+  }
+
+  /**
+   * Add the digest of a file, the size and last modification time must be read before the file is
+   * read to compute the digest
+   *
+   * @param file local file
+   * @param size size of the file
+   * @param lastModified last modification time of the file
+   * @param compressionType compression applied to the file before it is digested
+   * @param digest digest of the file
+   */
+  public synchronized void putDigest(
+      File file, long size, long lastModified, String compressionType, String digest) {
+    String key = buildKey(file, compressionType);
+    long now = System.currentTimeMillis();
+    if (key == null
+        || digest == null
+        || now - lastModified < MODIFICATION_TIME_GRANULARITY_IN_MILLIS) {
+      return;
+    }
+    if (entries == null) {
+      entries = load();
+    }
+    Entry entry = new Entry(size, lastModified, digest, now);
+    entries.put(key, entry);
+    addedEntries.put(key, entry);
+  }
+
+  /** Write the digests added since the last flush to the cache file */
+  public synchronized void flush() {
+    if (addedEntries.isEmpty()) {
+      return;
+    }
+    fileCacheManager.withLock(
+        () -> {
+          // merge with the digests cached by other processes in the meantime
+          Map<String, Entry> cached = readJsonStoreCache(fileCacheManager.readCacheFile());
+          cached.putAll(addedEntries);
+          fileCacheManager.writeCacheFile(localCacheToJson(cached));
+          entries = cached;
+          return null;
+        });
+    addedEntries.clear();
+  }
+
+  private Map<String, Entry> load() {
+    Map<String, Entry> cached =
+        fileCacheManager.withLock(() -> readJsonStoreCache(fileCacheManager.readCacheFile()));
+    return cached != null ? cached : new HashMap<>();
+  }
+
+  private static String buildKey(File file, String compressionType) {
+    try {
+      return file.getCanonicalPath() + "|" + compressionType;
+    } catch (IOException | SecurityException ex) {
+      logger.debug("Cannot get canonical path of {}: {}", file, ex.getMessage());
+      return null;
+    }
+  }
+
+  private static ObjectNode localCacheToJson(Map<String, Entry> cache) {
+    List<Map.Entry<String, Entry>> sorted = new ArrayList<>(cache.entrySet());
+    if (sorted.size() > MAX_ENTRIES) {
+      sorted.sort(Comparator.comparingLong(e -> -e.getValue().cachedAt));
+      sorted = sorted.subList(0, MAX_ENTRIES);
+    }
+    ObjectNode digestsNode = mapper.createObjectNode();
+    for (Map.Entry<String, Entry> cached : sorted) {
+      ObjectNode entryNode = mapper.createObjectNode();
+      entryNode.put(SIZE, cached.getValue().size);
+      entryNode.put(LAST_MODIFIED, cached.getValue().lastModified);
+      entryNode.put(DIGEST, cached.getValue().digest);
+      entryNode.put(CACHED_AT, cached.getValue().cachedAt);
+      digestsNode.set(cached.getKey(), entryNode);
+    }
+    ObjectNode jsonNode = mapper.createObjectNode();
+    jsonNode.set(CACHE_FILE_DIGESTS_OBJECT_NAME, digestsNode);
+    return jsonNode;
+  }
+
+  private static Map<String, Entry> readJsonStoreCache(JsonNode node) {
+    Map<String, Entry> cache = new HashMap<>();
+    if (node == null || !node.getNodeType().equals(JsonNodeType.OBJECT)) {
+      logger.debug("Invalid cache file format.");
+      return cache;
+    }
+    JsonNode digestsNode = node.get(CACHE_FILE_DIGESTS_OBJECT_NAME);
+    if (digestsNode == null || !digestsNode.getNodeType().equals(JsonNodeType.OBJECT)) {
+      return cache;
+    }
+    for (Iterator<Map.Entry<String, JsonNode>> itr = digestsNode.fields(); itr.hasNext(); ) {
+      Map.Entry<String, JsonNode> cached = itr.next();
+      JsonNode entryNode = cached.getValue();
+      if (!entryNode.hasNonNull(DIGEST)) {
+        continue;
+      }
+      cache.put(
+          cached.getKey(),
+          new Entry(
+              entryNode.path(SIZE).asLong(-1),
+              entryNode.path(LAST_MODIFIED).asLong(-1),
+              entryNode.get(DIGEST).asText(),
+              entryNode.path(CACHED_AT).asLong(0)));
+    }
+    return cache;
+  }
+
+  private static class Entry {
+    final long size;
+    final long lastModified;
+    final String digest;
+    final long cachedAt;
+
+    Entry(long size, long lastModified, String digest, long cachedAt) {
+      this.size = size;
+      this.lastModified = lastModified;
+      this.digest = digest;
+      this.cachedAt = cachedAt;
+    }
+  }
+}
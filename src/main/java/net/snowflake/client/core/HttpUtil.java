@@ -618,7 +618,8 @@ public class HttpUtil {
         true, // guid? (do we need this?)
         false, // no retry on HTTP 403
         getHttpClient(ocspAndProxyKey),
-        new ExecTimeTelemetryData());
+        new ExecTimeTelemetryData(),
+        HttpUtil::readResponseAsString);
   }
 
   /**
@@ -692,7 +693,8 @@ public class HttpUtil {
         true, // include request GUID
         false, // no retry on HTTP 403
         httpClient,
-        new ExecTimeTelemetryData());
+        new ExecTimeTelemetryData(),
+        HttpUtil::readResponseAsString);
   }
 
   /**
@@ -726,6 +728,57 @@ public class HttpUtil {
       HttpClientSettingsKey ocspAndProxyKey,
       ExecTimeTelemetryData execTimeData)
       throws SnowflakeSQLException, IOException {
+    return executeRequest(
+        httpRequest,
+        retryTimeout,
+        authTimeout,
+        socketTimeout,
+        maxRetries,
+        injectSocketTimeout,
+        canceling,
+        includeRetryParameters,
+        retryOnHTTP403,
+        ocspAndProxyKey,
+        execTimeData,
+        HttpUtil::readResponseAsString);
+  }
+
+  /**
+   * Executes an HTTP request with the cookie spec set to IGNORE_COOKIES and hands the response
+   * content to a reader, which consumes it without buffering the whole response first.
+   *
+   * @param httpRequest HttpRequestBase
+   * @param retryTimeout retry timeout
+   * @param authTimeout authenticator timeout
+   * @param socketTimeout socket timeout (in ms)
+   * @param maxRetries retry count for the request
+   * @param injectSocketTimeout injecting socket timeout
+   * @param canceling canceling?
+   * @param includeRetryParameters whether to include retry parameters in retried requests
+   * @param retryOnHTTP403 whether to retry on HTTP 403 or not
+   * @param ocspAndProxyKey OCSP mode and proxy settings for httpclient
+   * @param execTimeData query execution time telemetry data object
+   * @param responseReader reads the content of a successful response
+   * @param <T> type of the response read
+   * @return response read by responseReader
+   * @throws SnowflakeSQLException if Snowflake error occurs
+   * @throws IOException raises if a general IO error occurs, or by responseReader
+   */
+  @SnowflakeJdbcInternalApi
+  public static <T> T executeRequest(
+      HttpRequestBase httpRequest,
+      int retryTimeout,
+      int authTimeout,
+      int socketTimeout,
+      int maxRetries,
+      int injectSocketTimeout,
+      AtomicBoolean canceling,
+      boolean includeRetryParameters,
+      boolean retryOnHTTP403,
+      HttpClientSettingsKey ocspAndProxyKey,
+      ExecTimeTelemetryData execTimeData,
+      ResponseReader<T> responseReader)
+      throws SnowflakeSQLException, IOException {
     boolean ocspEnabled = !(ocspAndProxyKey.getOcspMode().equals(OCSPMode.DISABLE_OCSP_CHECKS));
     logger.debug("Executing request with OCSP enabled: {}", ocspEnabled);
     execTimeData.setOCSPStatus(ocspEnabled);
@@ -742,7 +795,26 @@ public class HttpUtil {
         true, // include request GUID
         retryOnHTTP403,
         getHttpClient(ocspAndProxyKey),
-        execTimeData);
+        execTimeData,
+        responseReader);
+  }
+
+  /** Reads the content of a successful HTTP response */
+  @SnowflakeJdbcInternalApi
+  @FunctionalInterface
+  public interface ResponseReader<T> {
+    /**
+     * @param content response content, closed by the caller
+     * @return the response
+     * @throws IOException if the content cannot be read
+     */
+    T read(InputStream content) throws IOException;
+  }
+
+  private static String readResponseAsString(InputStream content) throws IOException {
+    StringWriter writer = new StringWriter();
+    IOUtils.copy(content, writer, "UTF-8");
+    return writer.toString();
   }
 
   /**
@@ -764,11 +836,12 @@ public class HttpUtil {
    * @param includeRequestGuid whether to include request_guid
    * @param retryOnHTTP403 whether to retry on HTTP 403
    * @param httpClient client object used to communicate with other machine
-   * @return response in String
+   * @param responseReader reads the content of a successful response
+   * @return response read by responseReader
    * @throws SnowflakeSQLException if Snowflake error occurs
    * @throws IOException raises if a general IO error occurs
    */
-  private static String executeRequestInternal(
+  private static <T> T executeRequestInternal(
       HttpRequestBase httpRequest,
       int retryTimeout,
       int authTimeout,
@@ -781,7 +854,8 @@ public class HttpUtil {
       boolean includeRequestGuid,
       boolean retryOnHTTP403,
       CloseableHttpClient httpClient,
-      ExecTimeTelemetryData execTimeData)
+      ExecTimeTelemetryData execTimeData,
+      ResponseReader<T> responseReader)
       throws SnowflakeSQLException, IOException {
     // HttpRequest.toString() contains request URI. Scrub any credentials, if
     // present, before logging
@@ -790,8 +864,7 @@ public class HttpUtil {
     logger.debug(
         "Pool: {} Executing: {}", (ArgSupplier) HttpUtil::getHttpClientStats, requestInfoScrubbed);
 
-    String theString;
-    StringWriter writer = null;
+    T theResponse;
     CloseableHttpResponse response = null;
     Stopwatch stopwatch = null;
 
@@ -839,14 +912,11 @@ public class HttpUtil {
       }
 
       execTimeData.setResponseIOStreamStart();
-      writer = new StringWriter();
       try (InputStream ins = response.getEntity().getContent()) {
-        IOUtils.copy(ins, writer, "UTF-8");
+        theResponse = responseReader.read(ins);
       }
-      theString = writer.toString();
       execTimeData.setResponseIOStreamEnd();
     } finally {
-      IOUtils.closeQuietly(writer);
       IOUtils.closeQuietly(response);
     }
 
@@ -856,7 +926,7 @@ public class HttpUtil {
         requestInfoScrubbed,
         stopwatch == null ? "n/a" : stopwatch.elapsedMillis());
 
-    return theString;
+    return theResponse;
   }
 
   // This is a workaround for JDK-7036144.
@@ -15,6 +15,8 @@ public class OCSPTelemetryData {
   private Boolean cacheEnabled;
   private Boolean cacheHit;
   private OCSPMode ocspMode;
+  private Long checkLatencyInMillis;
+  private Long responderLatencyInMillis;
 
   public OCSPTelemetryData() {
     this.ocspMode = OCSPMode.FAIL_OPEN;
@@ -56,6 +58,20 @@ public class OCSPTelemetryData {
     this.ocspMode = ocspMode;
   }
 
+  /**
+   * @param checkLatencyInMillis time the revocation status check of the certificate took
+   */
+  public void setCheckLatencyInMillis(long checkLatencyInMillis) {
+    this.checkLatencyInMillis = checkLatencyInMillis;
+  }
+
+  /**
+   * @param responderLatencyInMillis time fetching the OCSP response took, including retries
+   */
+  public void setResponderLatencyInMillis(long responderLatencyInMillis) {
+    this.responderLatencyInMillis = responderLatencyInMillis;
+  }
+
   public String generateTelemetry(String eventType, CertificateException ex) {
     JSONObject value = new JSONObject();
     String valueStr;
@@ -67,6 +83,8 @@ public class OCSPTelemetryData {
     value.put("ocspMode", this.ocspMode.name());
     value.put("cacheEnabled", this.cacheEnabled);
     value.put("cacheHit", this.cacheHit);
+    value.put("checkLatencyInMillis", this.checkLatencyInMillis);
+    value.put("responderLatencyInMillis", this.responderLatencyInMillis);
     valueStr = value.toString(); // Avoid adding exception stacktrace to user logs.
     TelemetryService.getInstance().logOCSPExceptionTelemetryEvent(eventType, value, ex);
     return valueStr;
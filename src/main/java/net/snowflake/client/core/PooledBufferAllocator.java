@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.core;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Driver-wide pool of the large, short-lived buffers needed to download, decompress and parse
+ * result chunks. Queries with thousands of chunks would otherwise allocate several megabytes of
+ * buffers per chunk.
+ *
+ * <p>Buffers are pooled in power of two size classes between {@link #MIN_POOLED_CAPACITY} and
+ * {@link #MAX_POOLED_CAPACITY}; {@link #allocate(int)} rounds the requested capacity up to its size
+ * class. Larger buffers are allocated but never pooled. The total capacity of the idle buffers is
+ * bounded, buffers released beyond the bound are left to the garbage collector.
+ *
+ * <p>Pooled buffers are not cleared, a borrower must not read data it has not written. A buffer
+ * must not be used after it has been released.
+ *
+ * @param <T> buffer type
+ */
+@SnowflakeJdbcInternalApi
+public abstract class PooledBufferAllocator<T> {
+  static final int MIN_POOLED_CAPACITY = 4 * 1024;
+  static final int MAX_POOLED_CAPACITY = 8 * 1024 * 1024;
+
+  private static final int MIN_SIZE_CLASS_BITS = 12;
+  private static final int MAX_SIZE_CLASS_BITS = 23;
+
+  // 64 MB of idle heap buffers, 32 MB of idle direct buffers at most
+  private static final long DEFAULT_MAX_POOLED_HEAP_BYTES = 64L * 1024 * 1024;
+  private static final long DEFAULT_MAX_POOLED_DIRECT_BYTES = 32L * 1024 * 1024;
+
+  private static final PooledBufferAllocator<byte[]> heap =
+      new HeapAllocator(DEFAULT_MAX_POOLED_HEAP_BYTES);
+
+  private static final PooledBufferAllocator<ByteBuffer> direct =
+      new DirectAllocator(DEFAULT_MAX_POOLED_DIRECT_BYTES);
+
+  private final long maxPooledBytes;
+
+  @SuppressWarnings("unchecked")
+  private final Deque<T>[] freeLists = new Deque[MAX_SIZE_CLASS_BITS - MIN_SIZE_CLASS_BITS + 1];
+
+  private final AtomicLong pooledBytes = new AtomicLong();
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  /**
+   * @return the driver-wide pool of byte arrays
+   */
+  public static PooledBufferAllocator<byte[]> heap() {
+    return heap;
+  }
+
+  /**
+   * @return the driver-wide pool of direct byte buffers
+   */
+  public static PooledBufferAllocator<ByteBuffer> direct() {
+    return direct;
+  }
+
+  PooledBufferAllocator(long maxPooledBytes) {
+    this.maxPooledBytes = maxPooledBytes;
+    for (int i = 0; i < freeLists.length; i++) {
+      freeLists[i] = new ConcurrentLinkedDeque<>();
+    }
+  }
+
+  /**
+   * Borrow a buffer
+   *
+   * @param minCapacity minimum capacity of the buffer
+   * @return a buffer with at least the requested capacity, to be returned with {@link
+   *     #release(Object)}
+   */
+  public T allocate(int minCapacity) {
+    if (minCapacity < 0) {
+      throw new IllegalArgumentException("Negative buffer capacity: " + minCapacity);
+    }
+    if (minCapacity > MAX_POOLED_CAPACITY) {
+      missCount.incrementAndGet();
+      return create(minCapacity);
+    }
+    int sizeClass = sizeClassOf(minCapacity);
+    // the most recently released buffer is the most likely to be in the CPU cache
+    T buffer = freeLists[sizeClass].pollFirst();
+    if (buffer == null) {
+      missCount.incrementAndGet();
+      return create(MIN_POOLED_CAPACITY << sizeClass);
+    }
+    pooledBytes.addAndGet(-capacity(buffer));
+    hitCount.incrementAndGet();
+    return prepare(buffer);
+  }
+
+  /**
+   * Return a buffer borrowed with {@link #allocate(int)}. Buffers which do not have the capacity of
+   * a size class are ignored.
+   *
+   * @param buffer buffer to return, may be null
+   */
+  public void release(T buffer) {
+    if (buffer == null) {
+      return;
+    }
+    int capacity = capacity(buffer);
+    if (capacity < MIN_POOLED_CAPACITY
+        || capacity > MAX_POOLED_CAPACITY
+        || Integer.bitCount(capacity) != 1) {
+      return;
+    }
+    if (pooledBytes.addAndGet(capacity) > maxPooledBytes) {
+      pooledBytes.addAndGet(-capacity);
+      return;
+    }
+    freeLists[sizeClassOf(capacity)].offerFirst(buffer);
+  }
+
+  /**
+   * @return number of allocations served from the pool
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * @return number of allocations which had to create a buffer
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * @return total capacity of the idle buffers in the pool
+   */
+  public long getPooledBytes() {
+    return pooledBytes.get();
+  }
+
+  /** Drop all idle buffers */
+  public void clear() {
+    for (Deque<T> freeList : freeLists) {
+      T buffer;
+      while ((buffer = freeList.pollFirst()) != null) {
+        pooledBytes.addAndGet(-capacity(buffer));
+      }
+    }
+  }
+
+  private static int sizeClassOf(int capacity) {
+    if (capacity <= MIN_POOLED_CAPACITY) {
+      return 0;
+    }
+    // number of bits of capacity - 1, i.e. log2 of capacity rounded up
+    int bits = Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1);
+    return bits - MIN_SIZE_CLASS_BITS;
+  }
+
+  abstract T create(int capacity);
+
+  abstract int capacity(T buffer);
+
+  /** Reset the state of a pooled buffer before it is handed out again */
+  T prepare(T buffer) {
+    return buffer;
+  }
+
+  static class HeapAllocator extends PooledBufferAllocator<byte[]> {
+    HeapAllocator(long maxPooledBytes) {
+      super(maxPooledBytes);
+    }
+
+    @Override
+    byte[] create(int capacity) {
+      return new byte[capacity];
+    }
+
+    @Override
+    int capacity(byte[] buffer) {
+      return buffer.length;
+    }
+  }
+
+  static class DirectAllocator extends PooledBufferAllocator<ByteBuffer> {
+    DirectAllocator(long maxPooledBytes) {
+      super(maxPooledBytes);
+    }
+
+    @Override
+    ByteBuffer create(int capacity) {
+      return ByteBuffer.allocateDirect(capacity);
+    }
+
+    @Override
+    int capacity(ByteBuffer buffer) {
+      // heap buffers were not allocated by this pool
+      return buffer.isDirect() ? buffer.capacity() : -1;
+    }
+
+    @Override
+    ByteBuffer prepare(ByteBuffer buffer) {
+      ((Buffer) buffer).clear();
+      return buffer.order(ByteOrder.BIG_ENDIAN);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Parses a query response straight from the HTTP entity stream, instead of reading the response
+ * into a String and parsing the String.
+ *
+ * <p>The result is the same tree {@code ObjectMapper.readTree} builds, except that {@code
+ * data.rowsetBase64}, the inline first Arrow chunk, is decoded while it is read and stored as a
+ * {@link BinaryNode}, so the encoded chunk never exists as a String. {@code data.rowset}, the
+ * inline first JSON chunk, is parsed into the tree directly.
+ */
+class QueryResponseParser {
+  static final String ROWSET_BASE64 = "rowsetBase64";
+
+  private final ObjectMapper mapper;
+
+  QueryResponseParser(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  /**
+   * @param is response content, not closed by this method
+   * @return the response tree, null if the response is empty
+   * @throws IOException if the response cannot be read or is not valid JSON
+   */
+  JsonNode parse(InputStream is) throws IOException {
+    try (JsonParser parser = mapper.getFactory().createParser(is)) {
+      JsonToken token = parser.nextToken();
+      if (token == null) {
+        return null;
+      }
+      if (token != JsonToken.START_OBJECT) {
+        return readValue(parser);
+      }
+      ObjectNode root = mapper.createObjectNode();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String fieldName = parser.currentName();
+        if (parser.nextToken() == JsonToken.START_OBJECT && "data".equals(fieldName)) {
+          root.set(fieldName, readData(parser));
+        } else {
+          root.set(fieldName, readValue(parser));
+        }
+      }
+      return root;
+    }
+  }
+
+  private ObjectNode readData(JsonParser parser) throws IOException {
+    ObjectNode data = mapper.createObjectNode();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.currentName();
+      if (parser.nextToken() == JsonToken.VALUE_STRING && ROWSET_BASE64.equals(fieldName)) {
+        data.set(fieldName, BinaryNode.valueOf(parser.getBinaryValue()));
+      } else {
+        data.set(fieldName, readValue(parser));
+      }
+    }
+    return data;
+  }
+
+  /** Read the value at the current token */
+  private JsonNode readValue(JsonParser parser) throws IOException {
+    JsonNode node = mapper.readTree(parser);
+    return node != null ? node : NullNode.getInstance();
+  }
+}
@@ -22,9 +22,11 @@ import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.TimeZone;
 import java.util.stream.Stream;
 import net.snowflake.client.core.arrow.ArrayConverter;
+import net.snowflake.client.core.arrow.ArrowBatchExporter;
 import net.snowflake.client.core.arrow.ArrowVectorConverter;
 import net.snowflake.client.core.arrow.MapConverter;
 import net.snowflake.client.core.arrow.StructConverter;
@@ -32,6 +34,7 @@ import net.snowflake.client.core.arrow.StructObjectWrapper;
 import net.snowflake.client.core.arrow.VarCharConverter;
 import net.snowflake.client.core.arrow.VectorTypeConverter;
 import net.snowflake.client.core.json.Converters;
+import net.snowflake.client.jdbc.ArrowBatchIterator;
 import net.snowflake.client.jdbc.ArrowResultChunk;
 import net.snowflake.client.jdbc.ArrowResultChunk.ArrowChunkIterator;
 import net.snowflake.client.jdbc.ErrorCode;
@@ -50,7 +53,10 @@ import net.snowflake.client.util.Converter;
 import net.snowflake.common.core.SFBinaryFormat;
 import net.snowflake.common.core.SnowflakeDateTimeFormat;
 import net.snowflake.common.core.SqlState;
+import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.arrow.vector.util.JsonStringHashMap;
 
 /** Arrow result set implementation */
@@ -114,6 +120,9 @@ public class SFArrowResultSet extends SFBaseResultSet implements DataConversionC
    */
   private boolean formatDateWithTimezone;
 
+  /** true once the result set is read as Arrow record batches */
+  private boolean readAsArrowBatches = false;
+
   @SnowflakeJdbcInternalApi protected Converters converters;
 
   /**
@@ -217,8 +226,8 @@ public class SFArrowResultSet extends SFBaseResultSet implements DataConversionC
     this.useSessionTimezone = resultSetSerializable.getUseSessionTimezone();
 
     // sort result set if needed
-    String rowsetBase64 = resultSetSerializable.getFirstChunkStringData();
-    if (rowsetBase64 == null || rowsetBase64.isEmpty()) {
+    byte[] firstChunkByteData = resultSetSerializable.getFirstChunkByteData();
+    if (firstChunkByteData == null || firstChunkByteData.length == 0) {
       this.currentChunkIterator = ArrowResultChunk.getEmptyChunkIterator();
     } else {
       if (sortResult) {
@@ -231,12 +240,9 @@ public class SFArrowResultSet extends SFBaseResultSet implements DataConversionC
               SqlState.FEATURE_NOT_SUPPORTED);
         }
 
-        this.currentChunkIterator =
-            getSortedFirstResultChunk(resultSetSerializable.getFirstChunkByteData())
-                .getIterator(this);
+        this.currentChunkIterator = getSortedFirstResultChunk(firstChunkByteData).getIterator(this);
       } else {
-        this.currentChunkIterator =
-            buildFirstChunk(resultSetSerializable.getFirstChunkByteData()).getIterator(this);
+        this.currentChunkIterator = buildFirstChunk(firstChunkByteData).getIterator(this);
       }
     }
   }
@@ -261,58 +267,142 @@ public class SFArrowResultSet extends SFBaseResultSet implements DataConversionC
     if (hasNext) {
       return true;
     } else {
-      if (nextChunkIndex < chunkCount) {
-        try {
-          eventHandler.triggerStateTransition(
-              BasicEvent.QueryState.CONSUMING_RESULT,
-              String.format(
-                  BasicEvent.QueryState.CONSUMING_RESULT.getArgString(), queryId, nextChunkIndex));
-
-          ArrowResultChunk nextChunk = (ArrowResultChunk) chunkDownloader.getNextChunkToConsume();
-
-          if (nextChunk == null) {
-            throw new SnowflakeSQLLoggedException(
-                queryId,
-                session,
-                ErrorCode.INTERNAL_ERROR.getMessageCode(),
-                SqlState.INTERNAL_ERROR,
-                "Expect chunk but got null for chunk index " + nextChunkIndex);
-          }
-
-          currentChunkIterator.getChunk().freeData();
-          currentChunkIterator = nextChunk.getIterator(this);
-          if (currentChunkIterator.next()) {
-
-            logger.debug(
-                "Moving to chunk index: {}, row count: {}",
-                nextChunkIndex,
-                nextChunk.getRowCount());
-
-            nextChunkIndex++;
-            return true;
-          } else {
-            return false;
-          }
-        } catch (InterruptedException ex) {
+      return moveToNextChunk() && currentChunkIterator.next();
+    }
+  }
+
+  /**
+   * Free the current chunk and update currentChunkIterator to the beginning of next chunk, if any
+   * chunk not being consumed yet.
+   *
+   * @return true if moved to the next chunk, false if there are no more chunks
+   */
+  private boolean moveToNextChunk() throws SnowflakeSQLException {
+    if (nextChunkIndex < chunkCount) {
+      try {
+        eventHandler.triggerStateTransition(
+            BasicEvent.QueryState.CONSUMING_RESULT,
+            String.format(
+                BasicEvent.QueryState.CONSUMING_RESULT.getArgString(), queryId, nextChunkIndex));
+
+        ArrowResultChunk nextChunk = (ArrowResultChunk) chunkDownloader.getNextChunkToConsume();
+
+        if (nextChunk == null) {
           throw new SnowflakeSQLLoggedException(
-              queryId, session, ErrorCode.INTERRUPTED.getMessageCode(), SqlState.QUERY_CANCELED);
+              queryId,
+              session,
+              ErrorCode.INTERNAL_ERROR.getMessageCode(),
+              SqlState.INTERNAL_ERROR,
+              "Expect chunk but got null for chunk index " + nextChunkIndex);
         }
-      } else {
-        // always free current chunk
-        try {
-          currentChunkIterator.getChunk().freeData();
-          if (chunkCount > 0) {
-            logger.debug("End of chunks", false);
-            DownloaderMetrics metrics = chunkDownloader.terminate();
-            logChunkDownloaderMetrics(metrics);
-          }
-        } catch (InterruptedException e) {
-          throw new SnowflakeSQLLoggedException(
-              queryId, session, ErrorCode.INTERRUPTED.getMessageCode(), SqlState.QUERY_CANCELED);
+
+        currentChunkIterator.getChunk().freeData();
+        currentChunkIterator = nextChunk.getIterator(this);
+
+        logger.debug(
+            "Moving to chunk index: {}, row count: {}", nextChunkIndex, nextChunk.getRowCount());
+
+        nextChunkIndex++;
+        return true;
+      } catch (InterruptedException ex) {
+        throw new SnowflakeSQLLoggedException(
+            queryId, session, ErrorCode.INTERRUPTED.getMessageCode(), SqlState.QUERY_CANCELED);
+      }
+    } else {
+      // always free current chunk
+      try {
+        currentChunkIterator.getChunk().freeData();
+        if (chunkCount > 0) {
+          logger.debug("End of chunks", false);
+          DownloaderMetrics metrics = chunkDownloader.terminate();
+          logChunkDownloaderMetrics(metrics);
         }
+      } catch (InterruptedException e) {
+        throw new SnowflakeSQLLoggedException(
+            queryId, session, ErrorCode.INTERRUPTED.getMessageCode(), SqlState.QUERY_CANCELED);
       }
+    }
 
-      return false;
+    return false;
+  }
+
+  /**
+   * Goto next record batch, skipping the remaining rows of the current one. If end of current
+   * chunk, move to the next chunk.
+   *
+   * @return vectors of the next record batch, or null if there are no more record batches
+   */
+  private List<ValueVector> fetchNextRecordBatch() throws SnowflakeSQLException {
+    List<ValueVector> batch = currentChunkIterator.nextRecordBatch();
+    while (batch == null && moveToNextChunk()) {
+      batch = currentChunkIterator.nextRecordBatch();
+    }
+    return batch;
+  }
+
+  @Override
+  public ArrowBatchIterator getArrowBatches(BufferAllocator allocator) throws SQLException {
+    if (sortResult) {
+      throw new SnowflakeSQLLoggedException(
+          queryId,
+          session,
+          ErrorCode.FEATURE_UNSUPPORTED.getMessageCode(),
+          SqlState.FEATURE_NOT_SUPPORTED,
+          "Arrow batches of a client-side sorted result");
+    }
+    if (row > 0 || readAsArrowBatches) {
+      throw new SnowflakeSQLLoggedException(
+          queryId,
+          session,
+          ErrorCode.FEATURE_UNSUPPORTED.getMessageCode(),
+          SqlState.FEATURE_NOT_SUPPORTED,
+          "Arrow batches of a result set which has already been read");
+    }
+    readAsArrowBatches = true;
+    return new ResultSetArrowBatchIterator(
+        new ArrowBatchExporter(
+            allocator != null ? allocator : rootAllocator, sessionTimeZone, queryId));
+  }
+
+  /** Iterates over the record batches of all chunks, fetching the next chunk when needed */
+  private class ResultSetArrowBatchIterator implements ArrowBatchIterator {
+    private final ArrowBatchExporter exporter;
+
+    // record batch returned by the next call to next()
+    private List<ValueVector> nextBatch;
+
+    private boolean endOfResult = false;
+
+    ResultSetArrowBatchIterator(ArrowBatchExporter exporter) {
+      this.exporter = exporter;
+    }
+
+    @Override
+    public boolean hasNext() throws SQLException {
+      if (nextBatch == null && !endOfResult) {
+        if (isClosed()) {
+          throw new SnowflakeSQLException(queryId, ErrorCode.RESULTSET_ALREADY_CLOSED);
+        }
+        nextBatch = fetchNextRecordBatch();
+        endOfResult = nextBatch == null;
+      }
+      return nextBatch != null;
+    }
+
+    @Override
+    public VectorSchemaRoot next() throws SQLException {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more Arrow record batches");
+      }
+      List<ValueVector> batch = nextBatch;
+      nextBatch = null;
+      try {
+        VectorSchemaRoot root = exporter.export(batch);
+        row += root.getRowCount();
+        return root;
+      } catch (SFException ex) {
+        throw new SnowflakeSQLException(ex);
+      }
     }
   }
 
@@ -434,6 +524,12 @@ public class SFArrowResultSet extends SFBaseResultSet implements DataConversionC
     if (isClosed()) {
       return false;
     }
+    if (readAsArrowBatches) {
+      throw new SFException(
+          queryId,
+          ErrorCode.FEATURE_UNSUPPORTED,
+          "row access to a result set read as Arrow batches");
+    }
 
     // otherwise try to fetch again
     if (fetchNextRow()) {
@@ -30,8 +30,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import net.snowflake.client.core.json.Converters;
+import net.snowflake.client.jdbc.ArrowBatchIterator;
 import net.snowflake.client.jdbc.ErrorCode;
 import net.snowflake.client.jdbc.FieldMetadata;
+import net.snowflake.client.jdbc.SnowflakeLoggedFeatureNotSupportedException;
 import net.snowflake.client.jdbc.SnowflakeResultSetSerializable;
 import net.snowflake.client.jdbc.SnowflakeResultSetSerializableV1;
 import net.snowflake.client.jdbc.SnowflakeSQLException;
@@ -40,6 +42,7 @@ import net.snowflake.client.log.SFLoggerFactory;
 import net.snowflake.client.util.Converter;
 import net.snowflake.common.core.SFBinaryFormat;
 import net.snowflake.common.core.SnowflakeDateTimeFormat;
+import org.apache.arrow.memory.BufferAllocator;
 
 /** Base class for query result set and metadata result set */
 public abstract class SFBaseResultSet {
@@ -225,6 +228,20 @@ public abstract class SFBaseResultSet {
     return this.resultSetSerializable.splitBySize(maxSizeInBytes);
   }
 
+  /**
+   * Read the rest of the result as Arrow record batches. Only supported by Arrow results.
+   *
+   * @param allocator allocator which owns the returned batches, null to use the allocator of the
+   *     result set
+   * @return an iterator over the record batches
+   * @throws SQLException if the result cannot be read as Arrow record batches
+   */
+  @SnowflakeJdbcInternalApi
+  public ArrowBatchIterator getArrowBatches(BufferAllocator allocator) throws SQLException {
+    throw new SnowflakeLoggedFeatureNotSupportedException(
+        session, "Arrow batches are only available for Arrow results");
+  }
+
   @SnowflakeJdbcInternalApi
   public Converters getConverters() {
     logger.debug("Json converters weren't created");
@@ -155,6 +155,48 @@ public abstract class SFBaseSession {
 
   private boolean clearBatchOnlyAfterSuccessfulExecution = false;
 
+  private boolean enableSharedChunkDownloader = false;
+
+  // 0 means the result sets of the connection are only limited by the shared chunk downloader
+  private int sharedChunkDownloaderMaxThreads = 0;
+
+  // result chunk memory limits in MB, 0 means only CLIENT_MEMORY_LIMIT applies
+  private int clientMemoryLimitPerConnection = 0;
+
+  private int clientMemoryLimitPerStatement = 0;
+
+  private boolean enableArrowChunkStreaming = false;
+
+  private boolean enableSwarJsonParser = false;
+
+  private boolean enableChunkDecodePipeline = false;
+
+  // 0 means the result sets of the connection may decode on all threads of the decode stage
+  private int chunkDecodeThreads = 0;
+
+  private boolean enableAdaptivePrefetch = false;
+
+  private boolean enableStreamingQueryResponse = false;
+
+  private boolean enableChunkHedging = false;
+
+  private boolean enableAsyncHttpTransport = false;
+
+  // 0 means the default size of bind files
+  private int bindUploadPartSize = 0;
+
+  private int bindUploadParallelism = 0;
+
+  private boolean enableParallelPutCompression = false;
+
+  private boolean enableStreamingPutPipeline = false;
+
+  private boolean enableFileDigestCache = false;
+
+  private boolean enableParallelRangedDownload = false;
+
+  private AsyncQueryPoller asyncQueryPoller;
+
   protected SFBaseSession(SFConnectionHandler sfConnectionHandler) {
     this.sfConnectionHandler = sfConnectionHandler;
   }
@@ -1243,6 +1285,31 @@ public abstract class SFBaseSession {
    */
   public abstract QueryStatusV2 getQueryStatusV2(String queryID) throws SQLException;
 
+  /**
+   * Get the status of several queries, by default by requesting the status of each query in turn. A
+   * query whose status could not be retrieved does not prevent the status of the others from being
+   * returned.
+   *
+   * @param queryIDs query IDs
+   * @param failures receives the exception of each query whose status could not be retrieved, such
+   *     queries are missing from the returned statuses
+   * @return status of the queries by query ID
+   * @throws SQLException if an error is encountered
+   */
+  @SnowflakeJdbcInternalApi
+  public Map<String, QueryStatusV2> getQueryStatusesV2(
+      List<String> queryIDs, Map<String, SQLException> failures) throws SQLException {
+    Map<String, QueryStatusV2> statuses = new HashMap<>();
+    for (String queryID : queryIDs) {
+      try {
+        statuses.put(queryID, getQueryStatusV2(queryID));
+      } catch (SQLException ex) {
+        failures.put(queryID, ex);
+      }
+    }
+    return statuses;
+  }
+
   /**
    * Validates the connection properties used by this session, and returns a list of missing
    * properties.
@@ -1366,4 +1433,187 @@ public abstract class SFBaseSession {
   public boolean getClearBatchOnlyAfterSuccessfulExecution() {
     return this.clearBatchOnlyAfterSuccessfulExecution;
   }
+
+  void setEnableSharedChunkDownloader(boolean value) {
+    this.enableSharedChunkDownloader = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public boolean getEnableSharedChunkDownloader() {
+    return this.enableSharedChunkDownloader;
+  }
+
+  void setSharedChunkDownloaderMaxThreads(int value) {
+    this.sharedChunkDownloaderMaxThreads = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public int getSharedChunkDownloaderMaxThreads() {
+    return this.sharedChunkDownloaderMaxThreads;
+  }
+
+  void setClientMemoryLimitPerConnection(int value) {
+    this.clientMemoryLimitPerConnection = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public int getClientMemoryLimitPerConnection() {
+    return this.clientMemoryLimitPerConnection;
+  }
+
+  void setClientMemoryLimitPerStatement(int value) {
+    this.clientMemoryLimitPerStatement = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public int getClientMemoryLimitPerStatement() {
+    return this.clientMemoryLimitPerStatement;
+  }
+
+  void setEnableArrowChunkStreaming(boolean value) {
+    this.enableArrowChunkStreaming = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public boolean getEnableArrowChunkStreaming() {
+    return this.enableArrowChunkStreaming;
+  }
+
+  void setEnableSwarJsonParser(boolean value) {
+    this.enableSwarJsonParser = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public boolean getEnableSwarJsonParser() {
+    return this.enableSwarJsonParser;
+  }
+
+  void setEnableChunkDecodePipeline(boolean value) {
+    this.enableChunkDecodePipeline = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public boolean getEnableChunkDecodePipeline() {
+    return this.enableChunkDecodePipeline;
+  }
+
+  void setChunkDecodeThreads(int value) {
+    this.chunkDecodeThreads = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public int getChunkDecodeThreads() {
+    return this.chunkDecodeThreads;
+  }
+
+  void setEnableAdaptivePrefetch(boolean value) {
+    this.enableAdaptivePrefetch = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public boolean getEnableAdaptivePrefetch() {
+    return this.enableAdaptivePrefetch;
+  }
+
+  void setEnableStreamingQueryResponse(boolean value) {
+    this.enableStreamingQueryResponse = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public boolean getEnableStreamingQueryResponse() {
+    return this.enableStreamingQueryResponse;
+  }
+
+  void setEnableChunkHedging(boolean value) {
+    this.enableChunkHedging = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public boolean getEnableChunkHedging() {
+    return this.enableChunkHedging;
+  }
+
+  void setEnableAsyncHttpTransport(boolean value) {
+    this.enableAsyncHttpTransport = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public boolean getEnableAsyncHttpTransport() {
+    return this.enableAsyncHttpTransport;
+  }
+
+  void setBindUploadPartSize(int value) {
+    this.bindUploadPartSize = value;
+  }
+
+  /**
+   * @return size in MB of the files array binds are uploaded in, 0 for the default size
+   */
+  @SnowflakeJdbcInternalApi
+  public int getBindUploadPartSize() {
+    return this.bindUploadPartSize;
+  }
+
+  void setBindUploadParallelism(int value) {
+    this.bindUploadParallelism = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public int getBindUploadParallelism() {
+    return this.bindUploadParallelism;
+  }
+
+  void setEnableParallelPutCompression(boolean value) {
+    this.enableParallelPutCompression = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public boolean getEnableParallelPutCompression() {
+    return this.enableParallelPutCompression;
+  }
+
+  void setEnableStreamingPutPipeline(boolean value) {
+    this.enableStreamingPutPipeline = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public boolean getEnableStreamingPutPipeline() {
+    return this.enableStreamingPutPipeline;
+  }
+
+  void setEnableFileDigestCache(boolean value) {
+    this.enableFileDigestCache = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public boolean getEnableFileDigestCache() {
+    return this.enableFileDigestCache;
+  }
+
+  void setEnableParallelRangedDownload(boolean value) {
+    this.enableParallelRangedDownload = value;
+  }
+
+  @SnowflakeJdbcInternalApi
+  public boolean getEnableParallelRangedDownload() {
+    return this.enableParallelRangedDownload;
+  }
+
+  /**
+   * @return poller of the status of the asynchronous queries of this session
+   */
+  @SnowflakeJdbcInternalApi
+  public synchronized AsyncQueryPoller getAsyncQueryPoller() {
+    if (asyncQueryPoller == null) {
+      asyncQueryPoller = new AsyncQueryPoller(this::getQueryStatusesV2);
+    }
+    return asyncQueryPoller;
+  }
+
+  /** Stop polling the status of the asynchronous queries of this session */
+  synchronized void closeAsyncQueryPoller() {
+    if (asyncQueryPoller != null) {
+      asyncQueryPoller.close();
+    }
+  }
 }
@@ -9,10 +9,13 @@ import static net.snowflake.client.jdbc.SnowflakeUtil.systemGetProperty;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.Arrays;
 import java.util.Comparator;
 import net.snowflake.client.core.BasicEvent.QueryState;
+import net.snowflake.client.core.json.BooleanConverter;
 import net.snowflake.client.core.json.Converters;
+import net.snowflake.client.core.json.Utf8CellParser;
 import net.snowflake.client.jdbc.ErrorCode;
 import net.snowflake.client.jdbc.JsonResultChunk;
 import net.snowflake.client.jdbc.SnowflakeResultChunk;
@@ -55,6 +58,9 @@ public class SFResultSet extends SFJsonResultSet {
 
   private Object[][] firstChunkSortedRowSet;
 
+  // parses primitive values from the bytes of the downloaded chunks
+  private final Utf8CellParser cellParser = new Utf8CellParser();
+
   // time the first chunk is consumed at (timestamp taken at object creation)
   private final long firstChunkTime;
 
@@ -349,6 +355,101 @@ public class SFResultSet extends SFJsonResultSet {
     return retValue;
   }
 
+  /**
+   * @param columnIndex one based column index
+   * @return true if the cell is in a downloaded chunk and can be read with the cell parser. Cells
+   *     of the first chunk, which are already parsed JSON, and invalid column indexes are left to
+   *     the String based getters.
+   */
+  private boolean isDownloadedChunkCell(int columnIndex) {
+    return !sortResult
+        && firstChunkRowset == null
+        && currentChunk != null
+        && columnIndex > 0
+        && columnIndex <= resultSetMetaData.getColumnCount();
+  }
+
+  /**
+   * Set the current cell of the downloaded chunk on the cell parser, without creating a String
+   *
+   * @param columnIndex one based column index
+   * @return false if the cell is null
+   */
+  private boolean wrapCurrentCell(int columnIndex) {
+    wasNull = !currentChunk.wrapCell(currentChunkRowIndex, columnIndex - 1, cellParser);
+    return !wasNull;
+  }
+
+  private static boolean isFloatingPointType(int columnType) {
+    return columnType == Types.FLOAT || columnType == Types.DOUBLE;
+  }
+
+  private static boolean isTimeType(int columnType) {
+    return columnType == Types.TIME
+        || columnType == Types.TIMESTAMP
+        || columnType == Types.TIMESTAMP_WITH_TIMEZONE;
+  }
+
+  // The primitive getters below parse the bytes of downloaded chunks directly. Cells they cannot
+  // handle go through the String based converters, which also report conversion errors.
+
+  @Override
+  public int getInt(int columnIndex) throws SFException {
+    if (isDownloadedChunkCell(columnIndex)) {
+      if (!wrapCurrentCell(columnIndex)) {
+        return 0;
+      }
+      int columnType = resultSetMetaData.getColumnType(columnIndex);
+      if (cellParser.parseInt() && (!cellParser.hasFraction() || isFloatingPointType(columnType))) {
+        return (int) cellParser.getLongValue();
+      }
+    }
+    return super.getInt(columnIndex);
+  }
+
+  @Override
+  public long getLong(int columnIndex) throws SFException {
+    if (isDownloadedChunkCell(columnIndex)) {
+      if (!wrapCurrentCell(columnIndex)) {
+        return 0;
+      }
+      int columnType = resultSetMetaData.getColumnType(columnIndex);
+      if (cellParser.parseLong()
+          && (!cellParser.hasFraction() || isFloatingPointType(columnType))) {
+        return cellParser.getLongValue();
+      }
+    }
+    return super.getLong(columnIndex);
+  }
+
+  @Override
+  public double getDouble(int columnIndex) throws SFException {
+    if (isDownloadedChunkCell(columnIndex)) {
+      if (!wrapCurrentCell(columnIndex)) {
+        return 0;
+      }
+      int columnType = resultSetMetaData.getColumnType(columnIndex);
+      if (!isTimeType(columnType) && cellParser.parseDouble()) {
+        return cellParser.getDoubleValue();
+      }
+    }
+    return super.getDouble(columnIndex);
+  }
+
+  @Override
+  public boolean getBoolean(int columnIndex) throws SFException {
+    if (isDownloadedChunkCell(columnIndex)) {
+      if (!wrapCurrentCell(columnIndex)) {
+        return false;
+      }
+      int columnType = resultSetMetaData.getColumnType(columnIndex);
+      if (BooleanConverter.isConvertibleToBoolean(columnType) && cellParser.parseBoolean()) {
+        return cellParser.getBooleanValue();
+      }
+    }
+    return super.getBoolean(columnIndex);
+  }
+
   private void sortResultSet() {
     // first fetch rows into firstChunkSortedRowSet
     firstChunkSortedRowSet = new Object[currentChunkRowCount][];
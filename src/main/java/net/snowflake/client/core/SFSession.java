@@ -573,6 +573,114 @@ public class SFSession extends SFBaseSession {
           }
           break;
 
+        case ENABLE_SHARED_CHUNK_DOWNLOADER:
+          if (propertyValue != null) {
+            setEnableSharedChunkDownloader(getBooleanValue(propertyValue));
+          }
+          break;
+
+        case SHARED_CHUNK_DOWNLOADER_MAX_THREADS:
+          if (propertyValue != null) {
+            setSharedChunkDownloaderMaxThreads((Integer) propertyValue);
+          }
+          break;
+
+        case CLIENT_MEMORY_LIMIT_PER_CONNECTION:
+          if (propertyValue != null) {
+            setClientMemoryLimitPerConnection((Integer) propertyValue);
+          }
+          break;
+
+        case CLIENT_MEMORY_LIMIT_PER_STATEMENT:
+          if (propertyValue != null) {
+            setClientMemoryLimitPerStatement((Integer) propertyValue);
+          }
+          break;
+
+        case ENABLE_ARROW_CHUNK_STREAMING:
+          if (propertyValue != null) {
+            setEnableArrowChunkStreaming(getBooleanValue(propertyValue));
+          }
+          break;
+
+        case ENABLE_SWAR_JSON_PARSER:
+          if (propertyValue != null) {
+            setEnableSwarJsonParser(getBooleanValue(propertyValue));
+          }
+          break;
+
+        case ENABLE_CHUNK_DECODE_PIPELINE:
+          if (propertyValue != null) {
+            setEnableChunkDecodePipeline(getBooleanValue(propertyValue));
+          }
+          break;
+
+        case CHUNK_DECODE_THREADS:
+          if (propertyValue != null) {
+            setChunkDecodeThreads((Integer) propertyValue);
+          }
+          break;
+
+        case ENABLE_ADAPTIVE_PREFETCH:
+          if (propertyValue != null) {
+            setEnableAdaptivePrefetch(getBooleanValue(propertyValue));
+          }
+          break;
+
+        case ENABLE_STREAMING_QUERY_RESPONSE:
+          if (propertyValue != null) {
+            setEnableStreamingQueryResponse(getBooleanValue(propertyValue));
+          }
+          break;
+
+        case ENABLE_CHUNK_HEDGING:
+          if (propertyValue != null) {
+            setEnableChunkHedging(getBooleanValue(propertyValue));
+          }
+          break;
+
+        case ENABLE_ASYNC_HTTP_TRANSPORT:
+          if (propertyValue != null) {
+            setEnableAsyncHttpTransport(getBooleanValue(propertyValue));
+          }
+          break;
+
+        case BIND_UPLOAD_PART_SIZE:
+          if (propertyValue != null) {
+            setBindUploadPartSize((Integer) propertyValue);
+          }
+          break;
+
+        case BIND_UPLOAD_PARALLELISM:
+          if (propertyValue != null) {
+            setBindUploadParallelism((Integer) propertyValue);
+          }
+          break;
+
+        case ENABLE_PARALLEL_PUT_COMPRESSION:
+          if (propertyValue != null) {
+            setEnableParallelPutCompression(getBooleanValue(propertyValue));
+          }
+          break;
+
+        case ENABLE_STREAMING_PUT_PIPELINE:
+          if (propertyValue != null) {
+            setEnableStreamingPutPipeline(getBooleanValue(propertyValue));
+          }
+          break;
+
+        case ENABLE_FILE_DIGEST_CACHE:
+          if (propertyValue != null) {
+            setEnableFileDigestCache(getBooleanValue(propertyValue));
+          }
+          break;
+
+        case ENABLE_PARALLEL_RANGED_DOWNLOAD:
+          if (propertyValue != null) {
+            setEnableParallelRangedDownload(getBooleanValue(propertyValue));
+          }
+          break;
+
         default:
           break;
       }
@@ -976,6 +1084,7 @@ public class SFSession extends SFBaseSession {
         .setOCSPMode(getOCSPMode())
         .setHttpClientSettingsKey(getHttpClientKey());
 
+    closeAsyncQueryPoller();
     SessionUtil.closeSession(loginInput);
     closeTelemetryClient();
     getClientInfo().clear();
@@ -135,7 +135,69 @@ public enum SFSessionProperty {
   IMPLICIT_SERVER_SIDE_QUERY_TIMEOUT("IMPLICIT_SERVER_SIDE_QUERY_TIMEOUT", false, Boolean.class),
 
   CLEAR_BATCH_ONLY_AFTER_SUCCESSFUL_EXECUTION(
-      "CLEAR_BATCH_ONLY_AFTER_SUCCESSFUL_EXECUTION", false, Boolean.class);
+      "CLEAR_BATCH_ONLY_AFTER_SUCCESSFUL_EXECUTION", false, Boolean.class),
+
+  // Download result chunks on a driver-wide scheduler instead of a thread pool per result set
+  ENABLE_SHARED_CHUNK_DOWNLOADER("enableSharedChunkDownloader", false, Boolean.class),
+
+  // Maximum number of concurrent chunk downloads of one result set on the shared scheduler, within
+  // the global cap of the scheduler which applies to the whole JVM.
+  SHARED_CHUNK_DOWNLOADER_MAX_THREADS("sharedChunkDownloaderMaxThreads", false, Integer.class),
+
+  // Memory limits in MB for the result chunks of one connection and of one statement, on top of
+  // CLIENT_MEMORY_LIMIT which applies to the whole JVM. 0 means no additional limit.
+  CLIENT_MEMORY_LIMIT_PER_CONNECTION("clientMemoryLimitPerConnection", false, Integer.class),
+  CLIENT_MEMORY_LIMIT_PER_STATEMENT("clientMemoryLimitPerStatement", false, Integer.class),
+
+  // Hand Arrow record batches to the result set while the rest of the chunk is still decoded
+  ENABLE_ARROW_CHUNK_STREAMING("enableArrowChunkStreaming", false, Boolean.class),
+
+  // Parse JSON result chunks with SwarResultJsonParser instead of ResultJsonParserV2
+  ENABLE_SWAR_JSON_PARSER("enableSwarJsonParser", false, Boolean.class),
+
+  // Download result chunks on the download threads and decompress and parse them on a separate
+  // driver-wide pool of as many threads as cores. CHUNK_DECODE_THREADS limits the chunks of one
+  // result set decoded at a time.
+  ENABLE_CHUNK_DECODE_PIPELINE("enableChunkDecodePipeline", false, Boolean.class),
+  CHUNK_DECODE_THREADS("chunkDecodeThreads", false, Integer.class),
+
+  // Adapt the number of prefetched result chunks to the rate the application consumes them,
+  // instead of prefetching twice the number of download threads
+  ENABLE_ADAPTIVE_PREFETCH("enableAdaptivePrefetch", false, Boolean.class),
+
+  // Parse query responses from the HTTP stream and decode the inline Arrow chunk while reading it,
+  // instead of reading the response into a String first
+  ENABLE_STREAMING_QUERY_RESPONSE("enableStreamingQueryResponse", false, Boolean.class),
+
+  // Issue a second request for a result chunk whose download takes much longer than the chunks
+  // already downloaded for the query, and use whichever response completes first
+  ENABLE_CHUNK_HEDGING("enableChunkHedging", false, Boolean.class),
+
+  // Send control-plane REST calls which support it over the async transport, which multiplexes
+  // concurrent requests over HTTP/2 connections
+  ENABLE_ASYNC_HTTP_TRANSPORT("enableAsyncHttpTransport", false, Boolean.class),
+
+  // Size in MB of the files array binds are split into when uploaded to the bind stage (default:
+  // 10), and number of files uploaded concurrently while the following ones are encoded (default:
+  // 0, files are uploaded one after the other)
+  BIND_UPLOAD_PART_SIZE("bindUploadPartSize", false, Integer.class),
+  BIND_UPLOAD_PARALLELISM("bindUploadParallelism", false, Integer.class),
+
+  // Compress files uploaded by PUT which are bigger than the big file threshold on all the
+  // threads of the PUT, each part of the file into a separate GZIP member
+  ENABLE_PARALLEL_PUT_COMPRESSION("enableParallelPutCompression", false, Boolean.class),
+
+  // Compress, digest and encrypt files uploaded by PUT to Azure stages while they are uploaded,
+  // instead of compressing them to a temporary stream first
+  ENABLE_STREAMING_PUT_PIPELINE("enableStreamingPutPipeline", false, Boolean.class),
+
+  // Cache the digests of the local files compared with the files of the stage when files are not
+  // overwritten, so that unchanged files are not read again to be compared
+  ENABLE_FILE_DIGEST_CACHE("enableFileDigestCache", false, Boolean.class),
+
+  // Download big stage files as ranges fetched and decrypted concurrently by the threads of the
+  // transfer
+  ENABLE_PARALLEL_RANGED_DOWNLOAD("enableParallelRangedDownload", false, Boolean.class);
 
   // property key in string
   private String propertyKey;
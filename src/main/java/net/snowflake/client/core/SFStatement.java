@@ -18,8 +18,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import net.snowflake.client.core.BasicEvent.QueryState;
@@ -284,9 +282,9 @@ public class SFStatement extends SFBaseStatement {
   /**
    * Set a time bomb to cancel the outstanding query when timeout is reached.
    *
-   * @param executor object to execute statement cancel request
+   * @return the timeout, to cancel it once the query completes
    */
-  private void setTimeBomb(ScheduledExecutorService executor) {
+  private TimeoutScheduler.Timeout setTimeBomb() {
     class TimeBombTask implements Callable<Void> {
 
       private final SFStatement statement;
@@ -307,7 +305,7 @@ public class SFStatement extends SFBaseStatement {
       }
     }
 
-    executor.schedule(new TimeBombTask(this), this.queryTimeout, TimeUnit.SECONDS);
+    return TimeoutScheduler.schedule(new TimeBombTask(this), this.queryTimeout, TimeUnit.SECONDS);
   }
 
   /**
@@ -333,7 +331,7 @@ public class SFStatement extends SFBaseStatement {
       boolean asyncExec,
       ExecTimeTelemetryData execTimeData)
       throws SnowflakeSQLException, SFException {
-    ScheduledExecutorService executor = null;
+    TimeoutScheduler.Timeout timeBomb = null;
 
     try {
       synchronized (this) {
@@ -377,6 +375,13 @@ public class SFStatement extends SFBaseStatement {
         try (BindUploader uploader = BindUploader.newInstance(session, requestId)) {
           uploader.upload(bindValues);
           bindStagePath = uploader.getStagePath();
+          this.session
+              .getTelemetryClient()
+              .addLogToBatch(
+                  TelemetryUtil.buildJobData(
+                      this.requestId,
+                      TelemetryField.BIND_UPLOAD_THROUGHPUT,
+                      uploader.getUploadThroughput()));
         } catch (BindException ex) {
           logger.debug(
               "Exception encountered trying to upload binds to stage with input stream. Attaching"
@@ -424,6 +429,7 @@ public class SFStatement extends SFBaseStatement {
           .setOCSPMode(session.getOCSPMode())
           .setHttpClientSettingsKey(session.getHttpClientKey())
           .setMaxRetries(session.getMaxHttpRetries())
+          .setStreamingResponseParsing(session.getEnableStreamingQueryResponse())
           .setQueryContextDTO(session.isAsyncSession() ? null : session.getQueryContextDTO());
       if (bindStagePath != null) {
         stmtInput.setBindValues(null).setBindStage(bindStagePath);
@@ -492,8 +498,7 @@ public class SFStatement extends SFBaseStatement {
           statementParametersMap.put("STATEMENT_TIMEOUT_IN_SECONDS", this.queryTimeout);
         } else {
           // client side only query timeout
-          executor = Executors.newScheduledThreadPool(1);
-          setTimeBomb(executor);
+          timeBomb = setTimeBomb();
         }
       }
 
@@ -563,8 +568,8 @@ public class SFStatement extends SFBaseStatement {
       isClosed = true;
       throw ex;
     } finally {
-      if (executor != null) {
-        executor.shutdownNow();
+      if (timeBomb != null) {
+        timeBomb.cancel();
       }
       // if this query enabled the new SQL format, re-disable it now
       setUseNewSqlFormat(false);
@@ -37,6 +37,7 @@ import java.text.MessageFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashSet;
@@ -46,7 +47,17 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.TrustManager;
@@ -184,6 +195,21 @@ public class SFTrustManager extends X509ExtendedTrustManager {
   private static final long INITIAL_SLEEPING_TIME_IN_MILLISECONDS = 1000L;
   /** Maximum sleeping time in retry (ms) */
   private static final long MAX_SLEEPING_TIME_IN_MILLISECONDS = 16000L;
+  /** Run the revocation status checks of the certificates of a chain concurrently */
+  static final String PARALLEL_OCSP_CHECKS_PROP = "net.snowflake.jdbc.ocspParallelChecks";
+  /** Deadline for the concurrent revocation status checks of a chain */
+  static final String PARALLEL_OCSP_CHECKS_DEADLINE_PROP =
+      "net.snowflake.jdbc.ocspParallelChecksDeadlineInMillis";
+
+  private static final int DEFAULT_PARALLEL_OCSP_CHECKS_DEADLINE_IN_MILLISECONDS = 30000;
+  /** Max number of revocation status checks in progress at once, across all handshakes */
+  private static final int MAX_PARALLEL_OCSP_CHECKS = 8;
+  /** Fetch new OCSP responses in the background before the cached ones expire */
+  static final String OCSP_BACKGROUND_REFRESH_PROP = "net.snowflake.jdbc.ocspBackgroundRefresh";
+  /** Share of the validity window of a response left when it is refreshed */
+  private static final float OCSP_REFRESH_AHEAD_RATIO = 0.2f;
+
+  private static final long MIN_OCSP_REFRESH_DELAY_IN_MILLISECONDS = 300000L;
   /** Map from signature algorithm ASN1 object to the name. */
   private static final Map<ASN1ObjectIdentifier, String> SIGNATURE_OID_TO_STRING =
       new ConcurrentHashMap<>();
@@ -195,6 +221,10 @@ public class SFTrustManager extends X509ExtendedTrustManager {
   /** OCSP Response cache */
   private static final Map<OcspResponseCacheKey, SFPair<Long, String>> OCSP_RESPONSE_CACHE =
       new ConcurrentHashMap<>();
+
+  /** Decoded responses of OCSP_RESPONSE_CACHE whose signature and status were verified */
+  private static final Map<OcspResponseCacheKey, ValidatedOcspResponse>
+      VALIDATED_OCSP_RESPONSE_CACHE = new ConcurrentHashMap<>();
   /** Date and timestamp format */
   private static final SimpleDateFormat DATE_FORMAT_UTC =
       new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -210,6 +240,10 @@ public class SFTrustManager extends X509ExtendedTrustManager {
 
   private static final AtomicBoolean WAS_CACHE_UPDATED = new AtomicBoolean();
   private static final AtomicBoolean WAS_CACHE_READ = new AtomicBoolean();
+  /** Executor of the concurrent revocation status checks */
+  private static final ExecutorService OCSP_CHECK_EXECUTOR = createOcspCheckExecutor();
+  /** Timer of the background refreshes of the OCSP responses */
+  private static ScheduledExecutorService ocspRefreshExecutor;
   /** OCSP HTTP client */
   private static Map<Integer, CloseableHttpClient> ocspCacheServerClient =
       new ConcurrentHashMap<>();
@@ -778,7 +812,7 @@ public class SFTrustManager extends X509ExtendedTrustManager {
 
     String topLevelDomain = peerHost.substring(peerHost.lastIndexOf(".") + 1);
     setOCSPResponseCacheServerURL(topLevelDomain);
-    boolean isCached = isCached(pairIssuerSubjectList);
+    boolean isCached = isCached(pairIssuerSubjectList, peerHost);
     if (useOCSPResponseCacheServer() && !isCached) {
       if (!ocspCacheServer.new_endpoint_enabled) {
         logger.debug(
@@ -818,9 +852,154 @@ public class SFTrustManager extends X509ExtendedTrustManager {
       List<SFPair<Certificate, Certificate>> pairIssuerSubjectList, String peerHost)
       throws CertificateException {
     long currentTimeSecond = new Date().getTime() / 1000L;
+    if (pairIssuerSubjectList.size() < 2 || !isParallelOcspChecksEnabled()) {
+      for (SFPair<Certificate, Certificate> pairIssuerSubject : pairIssuerSubjectList) {
+        executeOneRevocationStatusCheck(
+            pairIssuerSubject, currentTimeSecond, peerHost, new OCSPTelemetryData());
+      }
+      return;
+    }
+
+    List<OCSPTelemetryData> telemetryDataList = new ArrayList<>();
+    List<RevocationStatusCheck> checks = new ArrayList<>();
     for (SFPair<Certificate, Certificate> pairIssuerSubject : pairIssuerSubjectList) {
-      executeOneRevocationStatusCheck(pairIssuerSubject, currentTimeSecond, peerHost);
+      OCSPTelemetryData telemetryData = new OCSPTelemetryData();
+      telemetryDataList.add(telemetryData);
+      checks.add(
+          () ->
+              executeOneRevocationStatusCheck(
+                  pairIssuerSubject, currentTimeSecond, peerHost, telemetryData));
+    }
+    long deadline = getParallelOcspChecksDeadline();
+    List<Integer> incomplete = executeRevocationStatusChecksInParallel(checks, deadline);
+    if (incomplete.isEmpty()) {
+      return;
+    }
+
+    // the responders did not answer in time, as if they did not answer at all
+    CertificateException error =
+        new CertificateException(
+            "Certificate Revocation check failed. Could not retrieve OCSP Response within "
+                + deadline
+                + " ms.");
+    for (int index : incomplete) {
+      OCSPTelemetryData telemetryData = telemetryDataList.get(index);
+      telemetryData.setSfcPeerHost(peerHost);
+      telemetryData.setOCSPMode(ocspMode);
+      telemetryData.setCheckLatencyInMillis(deadline);
+      String ocspLog = telemetryData.generateTelemetry(SF_OCSP_EVENT_TYPE_VALIDATION_ERROR, error);
+      if (isOCSPFailOpen()) {
+        logger.debug(generateFailOpenLog(ocspLog), false);
+      } else {
+        logger.debug(ocspLog, false);
+      }
+    }
+    if (!isOCSPFailOpen()) {
+      throw error;
+    }
+  }
+
+  /** The revocation status check of a certificate */
+  @FunctionalInterface
+  interface RevocationStatusCheck {
+    void execute() throws CertificateException;
+  }
+
+  /**
+   * Executes revocation status checks concurrently
+   *
+   * @param checks the checks of the certificates of a chain
+   * @param deadlineInMillis time to wait for the checks to complete
+   * @return indexes of the checks which did not complete within the deadline, these are cancelled
+   * @throws CertificateException the exception of the first failed check, the other checks are
+   *     cancelled
+   */
+  static List<Integer> executeRevocationStatusChecksInParallel(
+      List<RevocationStatusCheck> checks, long deadlineInMillis) throws CertificateException {
+    ExecutorCompletionService<Integer> completionService =
+        new ExecutorCompletionService<>(OCSP_CHECK_EXECUTOR);
+    List<Future<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < checks.size(); i++) {
+      RevocationStatusCheck check = checks.get(i);
+      int index = i;
+      futures.add(
+          completionService.submit(
+              () -> {
+                check.execute();
+                return index;
+              }));
     }
+
+    long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineInMillis);
+    Set<Integer> incomplete = new HashSet<>();
+    for (int i = 0; i < checks.size(); i++) {
+      incomplete.add(i);
+    }
+    try {
+      while (!incomplete.isEmpty()) {
+        Future<Integer> future =
+            completionService.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        if (future == null) {
+          break;
+        }
+        incomplete.remove(future.get());
+      }
+    } catch (ExecutionException ex) {
+      cancelAll(futures);
+      if (ex.getCause() instanceof CertificateException) {
+        throw (CertificateException) ex.getCause();
+      }
+      throw new CertificateException(ex.getCause());
+    } catch (InterruptedException ex) {
+      cancelAll(futures);
+      Thread.currentThread().interrupt();
+      throw new CertificateException("Interrupted while checking the revocation status", ex);
+    }
+    cancelAll(futures);
+    List<Integer> result = new ArrayList<>(incomplete);
+    Collections.sort(result);
+    return result;
+  }
+
+  private static void cancelAll(List<Future<Integer>> futures) {
+    for (Future<Integer> future : futures) {
+      future.cancel(true);
+    }
+  }
+
+  private static boolean isParallelOcspChecksEnabled() {
+    return Boolean.parseBoolean(systemGetProperty(PARALLEL_OCSP_CHECKS_PROP));
+  }
+
+  private static long getParallelOcspChecksDeadline() {
+    long deadline = DEFAULT_PARALLEL_OCSP_CHECKS_DEADLINE_IN_MILLISECONDS;
+    if (systemGetProperty(PARALLEL_OCSP_CHECKS_DEADLINE_PROP) != null) {
+      try {
+        deadline = Long.parseLong(systemGetProperty(PARALLEL_OCSP_CHECKS_DEADLINE_PROP));
+      } catch (Exception ex) {
+        // nop
+      }
+    }
+    return deadline;
+  }
+
+  private static ExecutorService createOcspCheckExecutor() {
+    AtomicInteger threadCount = new AtomicInteger(1);
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            MAX_PARALLEL_OCSP_CHECKS,
+            MAX_PARALLEL_OCSP_CHECKS,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            r -> {
+              Thread thread = new Thread(r);
+              thread.setName("ocsp-revocation-check-" + threadCount.getAndIncrement());
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 
   private String generateFailOpenLog(String logData) {
@@ -834,11 +1013,16 @@ public class SFTrustManager extends X509ExtendedTrustManager {
    *
    * @param pairIssuerSubject a pair of issuer and subject certificate
    * @param currentTimeSecond the current timestamp
+   * @param telemetryData telemetry of the check
    * @throws CertificateException if certificate exception is raised.
    */
   private void executeOneRevocationStatusCheck(
-      SFPair<Certificate, Certificate> pairIssuerSubject, long currentTimeSecond, String peerHost)
+      SFPair<Certificate, Certificate> pairIssuerSubject,
+      long currentTimeSecond,
+      String peerHost,
+      OCSPTelemetryData telemetryData)
       throws CertificateException {
+    long checkStartTime = System.currentTimeMillis();
     OCSPReq req;
     OcspResponseCacheKey keyOcspResponse;
     try {
@@ -859,7 +1043,6 @@ public class SFTrustManager extends X509ExtendedTrustManager {
     CertificateException error;
     boolean success = false;
     String ocspLog;
-    OCSPTelemetryData telemetryData = new OCSPTelemetryData();
     telemetryData.setSfcPeerHost(peerHost);
     telemetryData.setCertId(encodeCacheKey(keyOcspResponse));
     telemetryData.setCacheEnabled(useOCSPResponseCacheServer());
@@ -875,13 +1058,19 @@ public class SFTrustManager extends X509ExtendedTrustManager {
             try {
               if (value0 == null) {
                 telemetryData.setCacheHit(false);
-                ocspResp =
-                    fetchOcspResponse(
-                        pairIssuerSubject,
-                        req,
-                        encodeCacheKey(keyOcspResponse),
-                        peerHost,
-                        telemetryData);
+                long fetchStartTime = System.currentTimeMillis();
+                try {
+                  ocspResp =
+                      fetchOcspResponse(
+                          pairIssuerSubject,
+                          req,
+                          encodeCacheKey(keyOcspResponse),
+                          peerHost,
+                          telemetryData);
+                } finally {
+                  telemetryData.setResponderLatencyInMillis(
+                      System.currentTimeMillis() - fetchStartTime);
+                }
 
                 OCSP_RESPONSE_CACHE.put(
                     keyOcspResponse, SFPair.of(currentTimeSecond, ocspResponseToB64(ocspResp)));
@@ -902,7 +1091,8 @@ public class SFTrustManager extends X509ExtendedTrustManager {
             logger.debug(
                 "Validating. {}", CertificateIDToString(req.getRequestList()[0].getCertID()));
             try {
-              validateRevocationStatusMain(pairIssuerSubject, value0.right);
+              validateRevocationStatusMain(
+                  pairIssuerSubject, value0.right, keyOcspResponse, peerHost);
               success = true;
               break;
             } catch (SFOCSPException ex) {
@@ -919,6 +1109,7 @@ public class SFTrustManager extends X509ExtendedTrustManager {
             }
           }
         } catch (CertificateException ex) {
+          VALIDATED_OCSP_RESPONSE_CACHE.remove(keyOcspResponse);
           WAS_CACHE_UPDATED.set(OCSP_RESPONSE_CACHE.remove(keyOcspResponse) != null);
           if (WAS_CACHE_UPDATED.get()) {
             logger.debug("Deleting the invalid OCSP cache.", false);
@@ -939,6 +1130,7 @@ public class SFTrustManager extends X509ExtendedTrustManager {
     } catch (SFOCSPException ex) {
       // Revoked Certificate
       error = new CertificateException(ex);
+      telemetryData.setCheckLatencyInMillis(System.currentTimeMillis() - checkStartTime);
       ocspLog =
           telemetryData.generateTelemetry(SF_OCSP_EVENT_TYPE_REVOKED_CERTIFICATE_ERROR, error);
       logger.error(ocspLog, false);
@@ -959,6 +1151,7 @@ public class SFTrustManager extends X509ExtendedTrustManager {
         logger.debug(error.getMessage(), false);
       }
 
+      telemetryData.setCheckLatencyInMillis(System.currentTimeMillis() - checkStartTime);
       ocspLog = telemetryData.generateTelemetry(SF_OCSP_EVENT_TYPE_VALIDATION_ERROR, error);
       if (isOCSPFailOpen()) {
         // Log includes fail-open warning.
@@ -968,6 +1161,9 @@ public class SFTrustManager extends X509ExtendedTrustManager {
         logger.debug(ocspLog, false);
         throw error;
       }
+    } else {
+      logger.debug(
+          "Revocation status check took {} ms", System.currentTimeMillis() - checkStartTime);
     }
   }
 
@@ -975,9 +1171,11 @@ public class SFTrustManager extends X509ExtendedTrustManager {
    * Is OCSP Response cached?
    *
    * @param pairIssuerSubjectList a list of pair of issuer and subject certificates
+   * @param peerHost Hostname of the server
    * @return true if all of OCSP response are cached else false
    */
-  private boolean isCached(List<SFPair<Certificate, Certificate>> pairIssuerSubjectList) {
+  private boolean isCached(
+      List<SFPair<Certificate, Certificate>> pairIssuerSubjectList, String peerHost) {
     long currentTimeSecond = new Date().getTime() / 1000L;
     boolean isCached = true;
     try {
@@ -1003,7 +1201,7 @@ public class SFTrustManager extends X509ExtendedTrustManager {
           break;
         } else {
           try {
-            validateRevocationStatusMain(pairIssuerSubject, res.right);
+            validateRevocationStatusMain(pairIssuerSubject, res.right, k, peerHost);
           } catch (SFOCSPException ex) {
             logger.debug(
                 "Cache includes invalid OCSPResponse. "
@@ -1246,13 +1444,29 @@ public class SFTrustManager extends X509ExtendedTrustManager {
   /**
    * Validates the certificate revocation status
    *
+   * <p>A response which was already verified is not decoded and verified again while the response,
+   * and the certificate which signed it, are valid.
+   *
    * @param pairIssuerSubject a pair of issuer and subject certificates
    * @param ocspRespB64 Base64 encoded OCSP Response object
+   * @param keyOcspResponse cache key of the response
+   * @param peerHost Hostname of the server, null if the response should not be refreshed
    * @throws SFOCSPException raises if any other error occurs
    */
-  private void validateRevocationStatusMain(
-      SFPair<Certificate, Certificate> pairIssuerSubject, String ocspRespB64)
+  void validateRevocationStatusMain(
+      SFPair<Certificate, Certificate> pairIssuerSubject,
+      String ocspRespB64,
+      OcspResponseCacheKey keyOcspResponse,
+      String peerHost)
       throws SFOCSPException {
+    ValidatedOcspResponse validated = VALIDATED_OCSP_RESPONSE_CACHE.get(keyOcspResponse);
+    if (validated != null
+        && validated.isValid(ocspRespB64, System.currentTimeMillis())
+        && !isAnyValidationTestParameterEnabled()) {
+      validated.used = true;
+      logger.debug("OK. The OCSP response was verified at {}.", new Date(validated.verifiedAt));
+      return;
+    }
     try {
       OCSPResp ocspResp = b64ToOCSPResp(ocspRespB64);
       if (ocspResp == null) {
@@ -1264,6 +1478,8 @@ public class SFTrustManager extends X509ExtendedTrustManager {
       X509CertificateHolder[] attachedCerts = basicOcspResp.getCerts();
       X509CertificateHolder signVerifyCert;
       checkInvalidSigningCertTestParameter();
+      long validFrom = Long.MIN_VALUE;
+      long validUntil = Long.MAX_VALUE;
       if (attachedCerts.length > 0) {
         logger.debug(
             "Certificate is attached for verification. "
@@ -1296,6 +1512,8 @@ public class SFTrustManager extends X509ExtendedTrustManager {
               ex);
         }
         logger.debug("Verifying OCSP signature by the attached certificate public key.", false);
+        validFrom = signVerifyCert.getNotBefore().getTime();
+        validUntil = signVerifyCert.getNotAfter().getTime();
       } else {
         logger.debug(
             "Certificate is NOT attached for verification. "
@@ -1318,6 +1536,15 @@ public class SFTrustManager extends X509ExtendedTrustManager {
       }
 
       validateBasicOcspResponse(currentTime, basicOcspResp);
+      cacheValidatedOcspResponse(
+          pairIssuerSubject,
+          ocspRespB64,
+          keyOcspResponse,
+          peerHost,
+          basicOcspResp,
+          currentTime.getTime(),
+          validFrom,
+          validUntil);
     } catch (IOException | OCSPException ex) {
       throw new SFOCSPException(
           OCSPErrorCode.REVOCATION_CHECK_FAILURE, "Failed to check revocation status.", ex);
@@ -1358,7 +1585,7 @@ public class SFTrustManager extends X509ExtendedTrustManager {
               OCSPErrorCode.CERTIFICATE_STATUS_REVOKED,
               String.format(
                   "The certificate has been revoked. Reason: %d, Time: %s",
-                  reason, DATE_FORMAT_UTC.format(revocationTime)));
+                  reason, formatDateUTC(revocationTime)));
         } else {
           // Unknown status
           throw new SFOCSPException(
@@ -1380,14 +1607,145 @@ public class SFTrustManager extends X509ExtendedTrustManager {
             String.format(
                 "The OCSP response validity is out of range: "
                     + "Current Time: %s, This Update: %s, Next Update: %s",
-                DATE_FORMAT_UTC.format(currentTime),
-                DATE_FORMAT_UTC.format(thisUpdate),
-                DATE_FORMAT_UTC.format(nextUpdate)));
+                formatDateUTC(currentTime), formatDateUTC(thisUpdate), formatDateUTC(nextUpdate)));
       }
     }
     logger.debug("OK. Verified the certificate revocation status.", false);
   }
 
+  private static String formatDateUTC(Date date) {
+    // checks of a chain may run concurrently
+    synchronized (DATE_FORMAT_UTC) {
+      return DATE_FORMAT_UTC.format(date);
+    }
+  }
+
+  private boolean isAnyValidationTestParameterEnabled() {
+    return isEnabledSystemTestParameter(SF_OCSP_TEST_INVALID_SIGNING_CERT)
+        || isEnabledSystemTestParameter(SF_OCSP_TEST_INJECT_UNKNOWN_STATUS)
+        || checkOCSPResponseValidityErrorParameter();
+  }
+
+  /**
+   * Caches a verified OCSP response with its validity window, and schedules its refresh
+   *
+   * @param pairIssuerSubject a pair of issuer and subject certificates
+   * @param ocspRespB64 Base64 encoded OCSP Response object
+   * @param keyOcspResponse cache key of the response
+   * @param peerHost Hostname of the server, null if the response should not be refreshed
+   * @param basicOcspResp the verified response
+   * @param verifiedAt time the response was verified
+   * @param validFrom start of the validity of the signing certificate
+   * @param validUntil end of the validity of the signing certificate
+   */
+  private void cacheValidatedOcspResponse(
+      SFPair<Certificate, Certificate> pairIssuerSubject,
+      String ocspRespB64,
+      OcspResponseCacheKey keyOcspResponse,
+      String peerHost,
+      BasicOCSPResp basicOcspResp,
+      long verifiedAt,
+      long validFrom,
+      long validUntil) {
+    long refreshAt = Long.MAX_VALUE;
+    for (SingleResp singleResp : basicOcspResp.getResponses()) {
+      Date thisUpdate = singleResp.getThisUpdate();
+      Date nextUpdate = singleResp.getNextUpdate();
+      if (thisUpdate == null || nextUpdate == null) {
+        return;
+      }
+      // same window as isValidityRange
+      validFrom = Math.max(validFrom, thisUpdate.getTime() - MAX_CLOCK_SKEW_IN_MILLISECONDS);
+      validUntil =
+          Math.min(
+              validUntil,
+              nextUpdate.getTime() + calculateTolerableValidity(thisUpdate, nextUpdate));
+      refreshAt =
+          Math.min(
+              refreshAt,
+              nextUpdate.getTime()
+                  - (long)
+                      ((nextUpdate.getTime() - thisUpdate.getTime()) * OCSP_REFRESH_AHEAD_RATIO));
+    }
+    ValidatedOcspResponse validated =
+        new ValidatedOcspResponse(ocspRespB64, basicOcspResp, verifiedAt, validFrom, validUntil);
+    VALIDATED_OCSP_RESPONSE_CACHE.put(keyOcspResponse, validated);
+    if (peerHost != null && isOcspBackgroundRefreshEnabled()) {
+      long delay =
+          Math.max(refreshAt - System.currentTimeMillis(), MIN_OCSP_REFRESH_DELAY_IN_MILLISECONDS);
+      getOcspRefreshExecutor()
+          .schedule(
+              () -> refreshOcspResponse(pairIssuerSubject, keyOcspResponse, peerHost, validated),
+              delay,
+              TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Fetches a new OCSP response for a cached response which was used since it was cached, so the
+   * handshakes do not wait for the OCSP responder when the cached response expires.
+   *
+   * @param pairIssuerSubject a pair of issuer and subject certificates
+   * @param keyOcspResponse cache key of the response
+   * @param peerHost Hostname of the server
+   * @param validated the cached response to refresh
+   */
+  private void refreshOcspResponse(
+      SFPair<Certificate, Certificate> pairIssuerSubject,
+      OcspResponseCacheKey keyOcspResponse,
+      String peerHost,
+      ValidatedOcspResponse validated) {
+    if (!validated.used || VALIDATED_OCSP_RESPONSE_CACHE.get(keyOcspResponse) != validated) {
+      // not used or replaced since it was cached
+      return;
+    }
+    try {
+      String cidEnc = encodeCacheKey(keyOcspResponse);
+      logger.debug("Refreshing OCSP response in the background. CertID: {}", cidEnc);
+      OCSPResp ocspResp =
+          fetchOcspResponse(
+              pairIssuerSubject,
+              createRequest(pairIssuerSubject),
+              cidEnc,
+              peerHost,
+              new OCSPTelemetryData());
+      String ocspRespB64 = ocspResponseToB64(ocspResp);
+      // a revoked status is detected by the next check of the certificate, as for any response
+      OCSP_RESPONSE_CACHE.put(
+          keyOcspResponse, SFPair.of(System.currentTimeMillis() / 1000L, ocspRespB64));
+      WAS_CACHE_UPDATED.set(true);
+      validateRevocationStatusMain(pairIssuerSubject, ocspRespB64, keyOcspResponse, peerHost);
+    } catch (Throwable ex) {
+      // the cached response is used until it expires
+      logger.debug("Failed to refresh OCSP response in the background: {}", ex.getMessage());
+    }
+  }
+
+  private static boolean isOcspBackgroundRefreshEnabled() {
+    return Boolean.parseBoolean(systemGetProperty(OCSP_BACKGROUND_REFRESH_PROP));
+  }
+
+  private static synchronized ScheduledExecutorService getOcspRefreshExecutor() {
+    if (ocspRefreshExecutor == null) {
+      ocspRefreshExecutor =
+          Executors.newSingleThreadScheduledExecutor(
+              r -> {
+                Thread thread = new Thread(r, "ocsp-response-refresh");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return ocspRefreshExecutor;
+  }
+
+  /**
+   * @param keyOcspResponse cache key of a response
+   * @return the verified response cached for the key, null if there is none
+   */
+  static ValidatedOcspResponse getValidatedOcspResponse(OcspResponseCacheKey keyOcspResponse) {
+    return VALIDATED_OCSP_RESPONSE_CACHE.get(keyOcspResponse);
+  }
+
   private void checkCertUnknownTestParameter() throws SFOCSPException {
     if (isEnabledSystemTestParameter(SF_OCSP_TEST_INJECT_UNKNOWN_STATUS)) {
       throw new SFOCSPException(
@@ -1560,6 +1918,41 @@ public class SFTrustManager extends X509ExtendedTrustManager {
     }
   }
 
+  /** An OCSP response whose signature and certificate status were verified */
+  static class ValidatedOcspResponse {
+    /** The encoded response, as in OCSP_RESPONSE_CACHE */
+    private final String ocspRespB64;
+
+    final BasicOCSPResp basicOcspResp;
+    /** Time the signature was verified */
+    final long verifiedAt;
+    /** The response and the certificate which signed it are valid in [validFrom, validUntil] */
+    final long validFrom;
+
+    final long validUntil;
+    /** Whether the response was used since it was cached */
+    volatile boolean used = false;
+
+    ValidatedOcspResponse(
+        String ocspRespB64,
+        BasicOCSPResp basicOcspResp,
+        long verifiedAt,
+        long validFrom,
+        long validUntil) {
+      this.ocspRespB64 = ocspRespB64;
+      this.basicOcspResp = basicOcspResp;
+      this.verifiedAt = verifiedAt;
+      this.validFrom = validFrom;
+      this.validUntil = validUntil;
+    }
+
+    boolean isValid(String ocspRespB64, long currentTime) {
+      return validFrom <= currentTime
+          && currentTime <= validUntil
+          && this.ocspRespB64.equals(ocspRespB64);
+    }
+  }
+
   /** OCSP response cache key object */
   static class OcspResponseCacheKey {
     final byte[] nameHash;
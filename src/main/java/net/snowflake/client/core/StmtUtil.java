@@ -4,11 +4,13 @@
 
 package net.snowflake.client.core;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
@@ -36,6 +38,8 @@ public class StmtUtil {
 
   static final ObjectMapper mapper = ObjectMapperFactory.getObjectMapper();
 
+  private static final QueryResponseParser responseParser = new QueryResponseParser(mapper);
+
   static final String SF_PATH_QUERY_V1 = "/queries/v1/query-request";
 
   private static final String SF_PATH_ABORT_REQUEST_V1 = "/queries/v1/abort-request";
@@ -82,6 +86,9 @@ public class StmtUtil {
 
     boolean combineDescribe = false;
 
+    // parse responses from the HTTP stream instead of reading them into a String first
+    boolean streamingResponseParsing = false;
+
     String describedJobId;
 
     long querySubmissionTime; // millis since epoch
@@ -188,6 +195,11 @@ public class StmtUtil {
       return this;
     }
 
+    public StmtInput setStreamingResponseParsing(boolean streamingResponseParsing) {
+      this.streamingResponseParsing = streamingResponseParsing;
+      return this;
+    }
+
     public StmtInput setDescribedJobId(String describedJobId) {
       this.describedJobId = describedJobId;
       return this;
@@ -295,6 +307,7 @@ public class StmtUtil {
 
     try {
       String resultAsString = null;
+      JsonNode streamedResult = null;
 
       // SNOW-20443: if we are retrying and there is get result URL, we
       // don't need to execute the query again
@@ -379,22 +392,39 @@ public class StmtUtil {
             BasicEvent.QueryState.SENDING_QUERY,
             String.format(QueryState.SENDING_QUERY.getArgString(), stmtInput.requestId));
 
-        resultAsString =
-            HttpUtil.executeRequest(
-                httpRequest,
-                stmtInput.networkTimeoutInMillis / 1000,
-                stmtInput.socketTimeout,
-                0,
-                stmtInput.maxRetries,
-                stmtInput.injectSocketTimeout,
-                stmtInput.canceling,
-                true, // include retry parameters
-                false, // no retry on HTTP 403
-                stmtInput.httpClientSettingsKey,
-                execTimeData);
+        if (stmtInput.streamingResponseParsing) {
+          streamedResult =
+              HttpUtil.executeRequest(
+                  httpRequest,
+                  stmtInput.networkTimeoutInMillis / 1000,
+                  stmtInput.socketTimeout,
+                  0,
+                  stmtInput.maxRetries,
+                  stmtInput.injectSocketTimeout,
+                  stmtInput.canceling,
+                  true, // include retry parameters
+                  false, // no retry on HTTP 403
+                  stmtInput.httpClientSettingsKey,
+                  execTimeData,
+                  StmtUtil::parseResponse);
+        } else {
+          resultAsString =
+              HttpUtil.executeRequest(
+                  httpRequest,
+                  stmtInput.networkTimeoutInMillis / 1000,
+                  stmtInput.socketTimeout,
+                  0,
+                  stmtInput.maxRetries,
+                  stmtInput.injectSocketTimeout,
+                  stmtInput.canceling,
+                  true, // include retry parameters
+                  false, // no retry on HTTP 403
+                  stmtInput.httpClientSettingsKey,
+                  execTimeData);
+        }
       }
 
-      return pollForOutput(resultAsString, stmtInput, httpRequest, execTimeData);
+      return pollForOutput(resultAsString, streamedResult, stmtInput, httpRequest, execTimeData);
     } catch (Exception ex) {
       if (!(ex instanceof SnowflakeSQLException)) {
         if (ex instanceof IOException) {
@@ -428,8 +458,37 @@ public class StmtUtil {
     }
   }
 
+  /**
+   * Parse a response from the HTTP stream
+   *
+   * @param content response content
+   * @return the response, null if it is not valid JSON, like a response read into a String which
+   *     fails to parse
+   * @throws IOException if the response cannot be read
+   */
+  private static JsonNode parseResponse(InputStream content) throws IOException {
+    try {
+      return responseParser.parse(content);
+    } catch (JsonProcessingException ex) {
+      logger.error("Bad result json, JSON parsing exception: {}", ex.getLocalizedMessage());
+      logger.error("Exception stack trace", ex);
+      return null;
+    }
+  }
+
+  /**
+   * Poll for the result of a query
+   *
+   * @param resultAsString first response read into a String, null if none or parsed from the stream
+   * @param streamedResult first response parsed from the stream, null if none or read into a String
+   * @param stmtInput input statement
+   * @param httpRequest request of the first response, for logging
+   * @param execTimeData ExecTimeTelemetryData
+   * @return the final response
+   */
   private static StmtOutput pollForOutput(
       String resultAsString,
+      JsonNode streamedResult,
       StmtInput stmtInput,
       HttpPost httpRequest,
       ExecTimeTelemetryData execTimeData)
@@ -448,9 +507,10 @@ public class StmtUtil {
     final int MAX_RETRIES = 3;
 
     do {
-      pingPongResponseJson = null;
+      pingPongResponseJson = streamedResult;
+      streamedResult = null;
 
-      if (resultAsString != null) {
+      if (pingPongResponseJson == null && resultAsString != null) {
         try {
           pingPongResponseJson = mapper.readTree(resultAsString);
         } catch (Exception ex) {
@@ -522,7 +582,12 @@ public class StmtUtil {
         }
         execTimeData.incrementRetryCount();
         execTimeData.addRetryLocation("StmtUtil queryInProgress");
-        resultAsString = getQueryResult(pingPongResponseJson, previousGetResultPath, stmtInput);
+        if (stmtInput.streamingResponseParsing) {
+          streamedResult =
+              getStreamedQueryResult(pingPongResponseJson, previousGetResultPath, stmtInput);
+        } else {
+          resultAsString = getQueryResult(pingPongResponseJson, previousGetResultPath, stmtInput);
+        }
 
         // save the previous get result path in case we run into session
         // expiration
@@ -562,6 +627,29 @@ public class StmtUtil {
   protected static String getQueryResult(
       JsonNode inProgressResponse, String previousGetResultPath, StmtInput stmtInput)
       throws SFException, SnowflakeSQLException {
+    return getQueryResult(getResultPath(inProgressResponse, previousGetResultPath), stmtInput);
+  }
+
+  /**
+   * Issue get-result call to get query result given an in-progress response, and parse the result
+   * from the HTTP stream.
+   *
+   * @param inProgressResponse In progress response in JSON form
+   * @param previousGetResultPath previous get results path
+   * @param stmtInput input statement
+   * @return results in JSON, null if the response is not valid JSON
+   * @throws SFException exception raised from Snowflake components
+   * @throws SnowflakeSQLException exception raised from Snowflake components
+   */
+  private static JsonNode getStreamedQueryResult(
+      JsonNode inProgressResponse, String previousGetResultPath, StmtInput stmtInput)
+      throws SFException, SnowflakeSQLException {
+    return getStreamedQueryResult(
+        getResultPath(inProgressResponse, previousGetResultPath), stmtInput);
+  }
+
+  private static String getResultPath(JsonNode inProgressResponse, String previousGetResultPath)
+      throws SFException {
     String getResultPath = null;
 
     // get result url better not be empty
@@ -579,7 +667,7 @@ public class StmtUtil {
     } else {
       getResultPath = inProgressResponse.path("data").path("getResultUrl").asText();
     }
-    return getQueryResult(getResultPath, stmtInput);
+    return getResultPath;
   }
 
   /**
@@ -597,29 +685,44 @@ public class StmtUtil {
     logger.debug("Get query result: {}", getResultPath);
 
     try {
-      URIBuilder uriBuilder = new URIBuilder(stmtInput.serverUrl);
-
-      uriBuilder.setPath(getResultPath);
-
-      uriBuilder.addParameter(SFSession.SF_QUERY_REQUEST_ID, UUIDUtils.getUUID().toString());
+      httpRequest = createGetResultRequest(getResultPath, stmtInput);
 
-      httpRequest = new HttpGet(uriBuilder.build());
-      // Add custom headers before adding common headers
-      HttpUtil.applyAdditionalHeadersForSnowsight(
-          httpRequest, stmtInput.additionalHttpHeadersForSnowsight);
+      return HttpUtil.executeRequest(
+          httpRequest,
+          stmtInput.networkTimeoutInMillis / 1000,
+          stmtInput.socketTimeout,
+          0,
+          stmtInput.maxRetries,
+          0,
+          stmtInput.canceling,
+          false, // no retry parameter
+          false, // no retry on HTTP 403
+          stmtInput.httpClientSettingsKey,
+          new ExecTimeTelemetryData());
+    } catch (URISyntaxException | IOException ex) {
+      logger.error("Exception encountered when getting result for " + httpRequest, ex);
 
-      httpRequest.addHeader("accept", stmtInput.mediaType);
+      // raise internal exception if this is not a snowflake exception
+      throw new SFException(ex, ErrorCode.INTERNAL_ERROR, ex.getLocalizedMessage());
+    }
+  }
 
-      httpRequest.setHeader(
-          SFSession.SF_HEADER_AUTHORIZATION,
-          SFSession.SF_HEADER_SNOWFLAKE_AUTHTYPE
-              + " "
-              + SFSession.SF_HEADER_TOKEN_TAG
-              + "=\""
-              + stmtInput.sessionToken
-              + "\"");
+  /**
+   * Issue get-result call to get query result and parse it from the HTTP stream.
+   *
+   * @param getResultPath path to results
+   * @param stmtInput object with context information
+   * @return results in JSON, null if the response is not valid JSON
+   * @throws SFException exception raised from Snowflake components
+   * @throws SnowflakeSQLException exception raised from Snowflake components
+   */
+  private static JsonNode getStreamedQueryResult(String getResultPath, StmtInput stmtInput)
+      throws SFException, SnowflakeSQLException {
+    HttpGet httpRequest = null;
+    logger.debug("Get query result: {}", getResultPath);
 
-      setServiceNameHeader(stmtInput, httpRequest);
+    try {
+      httpRequest = createGetResultRequest(getResultPath, stmtInput);
 
       return HttpUtil.executeRequest(
           httpRequest,
@@ -632,7 +735,8 @@ public class StmtUtil {
           false, // no retry parameter
           false, // no retry on HTTP 403
           stmtInput.httpClientSettingsKey,
-          new ExecTimeTelemetryData());
+          new ExecTimeTelemetryData(),
+          StmtUtil::parseResponse);
     } catch (URISyntaxException | IOException ex) {
       logger.error("Exception encountered when getting result for " + httpRequest, ex);
 
@@ -641,6 +745,34 @@ public class StmtUtil {
     }
   }
 
+  private static HttpGet createGetResultRequest(String getResultPath, StmtInput stmtInput)
+      throws URISyntaxException {
+    URIBuilder uriBuilder = new URIBuilder(stmtInput.serverUrl);
+
+    uriBuilder.setPath(getResultPath);
+
+    uriBuilder.addParameter(SFSession.SF_QUERY_REQUEST_ID, UUIDUtils.getUUID().toString());
+
+    HttpGet httpRequest = new HttpGet(uriBuilder.build());
+    // Add custom headers before adding common headers
+    HttpUtil.applyAdditionalHeadersForSnowsight(
+        httpRequest, stmtInput.additionalHttpHeadersForSnowsight);
+
+    httpRequest.addHeader("accept", stmtInput.mediaType);
+
+    httpRequest.setHeader(
+        SFSession.SF_HEADER_AUTHORIZATION,
+        SFSession.SF_HEADER_SNOWFLAKE_AUTHTYPE
+            + " "
+            + SFSession.SF_HEADER_TOKEN_TAG
+            + "=\""
+            + stmtInput.sessionToken
+            + "\"");
+
+    setServiceNameHeader(stmtInput, httpRequest);
+    return httpRequest;
+  }
+
   /**
    * Issue get-result call to get query result given an in progress response.
    *
@@ -663,12 +795,19 @@ public class StmtUtil {
             .setServiceName(session.getServiceName())
             .setOCSPMode(session.getOCSPMode())
             .setHttpClientSettingsKey(session.getHttpClientKey())
-            .setMaxRetries(session.getMaxHttpRetries());
+            .setMaxRetries(session.getMaxHttpRetries())
+            .setStreamingResponseParsing(session.getEnableStreamingQueryResponse());
 
-    String resultAsString = getQueryResult(getResultPath, stmtInput);
+    String resultAsString = null;
+    JsonNode streamedResult = null;
+    if (stmtInput.streamingResponseParsing) {
+      streamedResult = getStreamedQueryResult(getResultPath, stmtInput);
+    } else {
+      resultAsString = getQueryResult(getResultPath, stmtInput);
+    }
 
     StmtOutput stmtOutput =
-        pollForOutput(resultAsString, stmtInput, null, new ExecTimeTelemetryData());
+        pollForOutput(resultAsString, streamedResult, stmtInput, null, new ExecTimeTelemetryData());
     return stmtOutput.getResult();
   }
 
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Driver-wide timer for timeouts, such as query timeouts, and other delays, such as the delays
+ * before hedged chunk downloads, retries of async requests and polls of async queries.
+ *
+ * <p>All timeouts are armed on a single daemon timer thread, so arming a timeout does not create a
+ * thread. Cancelled timeouts are removed from the timer right away, as most timeouts are cancelled
+ * long before they expire. Expired timeouts run on a pool of daemon worker threads, so a task which
+ * blocks, e.g. to cancel a query on the server, does not delay the other timeouts.
+ *
+ * <p>Delays which are not timeouts are armed with {@link #scheduleDelay} and counted apart from the
+ * timeouts.
+ */
+@SnowflakeJdbcInternalApi
+public class TimeoutScheduler {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(TimeoutScheduler.class);
+
+  private static final ScheduledThreadPoolExecutor timer = createTimer();
+
+  private static final ExecutorService workers =
+      Executors.newCachedThreadPool(daemonThreadFactory("snowflake-timeout-worker-"));
+
+  private static final AtomicInteger armedTimeouts = new AtomicInteger();
+  private static final AtomicLong expiredTimeouts = new AtomicLong();
+  private static final AtomicLong expiredDelays = new AtomicLong();
+
+  /**
+   * Arm a timeout
+   *
+   * @param task task to run when the timeout expires
+   * @param delay time until the timeout expires
+   * @param unit unit of the delay
+   * @return the timeout, to cancel it
+   */
+  public static Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    return schedule(Executors.callable(task), delay, unit, expiredTimeouts);
+  }
+
+  /**
+   * Arm a timeout whose task may fail, the failure is logged
+   *
+   * @param task task to run when the timeout expires
+   * @param delay time until the timeout expires
+   * @param unit unit of the delay
+   * @return the timeout, to cancel it
+   */
+  public static Timeout schedule(Callable<?> task, long delay, TimeUnit unit) {
+    return schedule(task, delay, unit, expiredTimeouts);
+  }
+
+  /**
+   * Arm a delay which is not a timeout, e.g. before a retry or a hedged request. Expired delays are
+   * not counted as expired timeouts.
+   *
+   * @param task task to run when the delay expires
+   * @param delay the delay
+   * @param unit unit of the delay
+   * @return the delay, as a timeout to cancel it
+   */
+  public static Timeout scheduleDelay(Runnable task, long delay, TimeUnit unit) {
+    return schedule(Executors.callable(task), delay, unit, expiredDelays);
+  }
+
+  private static Timeout schedule(
+      Callable<?> task, long delay, TimeUnit unit, AtomicLong expiredCounter) {
+    Timeout timeout = new Timeout(task, expiredCounter);
+    armedTimeouts.incrementAndGet();
+    timeout.future = timer.schedule(timeout::expire, delay, unit);
+    if (timeout.state.get() != Timeout.ARMED) {
+      // cancelled before the timer returned
+      timeout.future.cancel(false);
+    }
+    return timeout;
+  }
+
+  /**
+   * @return number of timeouts which are armed, neither expired nor cancelled
+   */
+  public static int getArmedTimeouts() {
+    return armedTimeouts.get();
+  }
+
+  /**
+   * @return number of timeouts which expired since the driver was loaded
+   */
+  public static long getExpiredTimeouts() {
+    return expiredTimeouts.get();
+  }
+
+  /**
+   * @return number of delays armed with {@link #scheduleDelay} which expired since the driver was
+   *     loaded
+   */
+  public static long getExpiredDelays() {
+    return expiredDelays.get();
+  }
+
+  /** An armed timeout */
+  public static final class Timeout {
+    private static final int ARMED = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final Callable<?> task;
+    private final AtomicLong expiredCounter;
+    private final AtomicInteger state = new AtomicInteger(ARMED);
+    private volatile ScheduledFuture<?> future;
+
+    private Timeout(Callable<?> task, AtomicLong expiredCounter) {
+      this.task = task;
+      this.expiredCounter = expiredCounter;
+    }
+
+    /**
+     * Cancel the timeout, if it did not expire yet
+     *
+     * @return true if the timeout was cancelled, false if it already expired or was cancelled
+     */
+    public boolean cancel() {
+      if (!state.compareAndSet(ARMED, CANCELLED)) {
+        return false;
+      }
+      armedTimeouts.decrementAndGet();
+      ScheduledFuture<?> currentFuture = future;
+      if (currentFuture != null) {
+        currentFuture.cancel(false);
+      }
+      return true;
+    }
+
+    /**
+     * @return true if the timeout expired
+     */
+    public boolean isExpired() {
+      return state.get() == EXPIRED;
+    }
+
+    private void expire() {
+      if (!state.compareAndSet(ARMED, EXPIRED)) {
+        return;
+      }
+      armedTimeouts.decrementAndGet();
+      expiredCounter.incrementAndGet();
+      try {
+        workers.execute(
+            () -> {
+              try {
+                task.call();
+              } catch (Throwable th) {
+                logger.debug("Timeout task failed: {}", th.getMessage());
+              }
+            });
+      } catch (Exception ex) {
+        logger.debug("Failed to run timeout task: {}", ex.getMessage());
+      }
+    }
+  }
+
+  private static ThreadFactory daemonThreadFactory(String namePrefix) {
+    AtomicInteger threadCount = new AtomicInteger(1);
+    return r -> {
+      Thread thread = new Thread(r);
+      thread.setName(namePrefix + threadCount.getAndIncrement());
+      thread.setDaemon(true);
+      thread.setUncaughtExceptionHandler(
+          (t, e) -> logger.error("Uncaught Exception in thread {}: {}", t, e));
+      return thread;
+    };
+  }
+
+  private static ScheduledThreadPoolExecutor createTimer() {
+    ScheduledThreadPoolExecutor executor =
+        new ScheduledThreadPoolExecutor(1, daemonThreadFactory("snowflake-timeout-timer-"));
+    // most timeouts are cancelled, do not keep them queued until they would have expired
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+}
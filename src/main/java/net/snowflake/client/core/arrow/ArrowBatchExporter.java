@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.core.arrow;
+
+import static net.snowflake.client.core.arrow.AbstractArrowVectorConverter.FIELD_NAME_EPOCH;
+import static net.snowflake.client.core.arrow.AbstractArrowVectorConverter.FIELD_NAME_FRACTION;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import net.snowflake.client.core.SFException;
+import net.snowflake.client.core.SnowflakeJdbcInternalApi;
+import net.snowflake.client.jdbc.ErrorCode;
+import net.snowflake.client.jdbc.SnowflakeType;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.util.TransferPair;
+import org.apache.arrow.vector.util.VectorAppender;
+
+/**
+ * Exports record batches of a result chunk as {@link VectorSchemaRoot}s owned by a given allocator.
+ *
+ * <p>Timestamp columns are normalized to Arrow nanosecond timestamps, using the same epoch,
+ * fraction and scale interpretation as the timestamp converters:
+ *
+ * <ul>
+ *   <li>TIMESTAMP_NTZ becomes a timestamp without time zone (wall clock time)
+ *   <li>TIMESTAMP_LTZ becomes a timestamp in the session time zone
+ *   <li>TIMESTAMP_TZ becomes a timestamp in UTC, the offset of each value is not kept
+ * </ul>
+ *
+ * <p>All other columns are exported as they are; the Snowflake field metadata (logicalType, scale,
+ * ...) is kept on every column. Vectors are transferred without copying when the target allocator
+ * shares the root of the result set allocator, otherwise they are copied.
+ */
+@SnowflakeJdbcInternalApi
+public class ArrowBatchExporter {
+  private final BufferAllocator allocator;
+
+  private final TimeZone sessionTimeZone;
+
+  private final String queryId;
+
+  /**
+   * @param allocator allocator which owns the exported batches
+   * @param sessionTimeZone time zone of TIMESTAMP_LTZ columns
+   * @param queryId query ID, used for error reporting
+   */
+  public ArrowBatchExporter(BufferAllocator allocator, TimeZone sessionTimeZone, String queryId) {
+    this.allocator = allocator;
+    this.sessionTimeZone = sessionTimeZone == null ? TimeZone.getDefault() : sessionTimeZone;
+    this.queryId = queryId;
+  }
+
+  /**
+   * Export a record batch. The vectors of the batch are empty afterwards if they could be
+   * transferred.
+   *
+   * @param batch vectors of the record batch
+   * @return the record batch, to be closed by the caller
+   * @throws SFException if a timestamp cannot be represented in nanoseconds
+   */
+  public VectorSchemaRoot export(List<ValueVector> batch) throws SFException {
+    int rowCount = batch.isEmpty() ? 0 : batch.get(0).getValueCount();
+    List<Field> fields = new ArrayList<>(batch.size());
+    List<FieldVector> vectors = new ArrayList<>(batch.size());
+    try {
+      for (ValueVector vector : batch) {
+        FieldVector exported = exportVector((FieldVector) vector);
+        vectors.add(exported);
+        fields.add(exported.getField());
+      }
+    } catch (SFException | RuntimeException ex) {
+      vectors.forEach(FieldVector::close);
+      throw ex;
+    }
+    return new VectorSchemaRoot(fields, vectors, rowCount);
+  }
+
+  private FieldVector exportVector(FieldVector vector) throws SFException {
+    SnowflakeType type =
+        ArrowVectorConverterUtil.getSnowflakeTypeFromFieldMetadata(vector.getField());
+    if (type != null) {
+      switch (type) {
+        case TIMESTAMP_NTZ:
+          return toTimestamp(vector, type, null);
+        case TIMESTAMP_LTZ:
+          return toTimestamp(vector, type, sessionTimeZone.getID());
+        case TIMESTAMP_TZ:
+          return toTimestamp(vector, type, "UTC");
+        default:
+          break;
+      }
+    }
+    return moveToAllocator(vector);
+  }
+
+  private FieldVector moveToAllocator(FieldVector vector) {
+    if (vector.getAllocator().getRoot() == allocator.getRoot()) {
+      // transfer will not copy data but transfer ownership of memory
+      TransferPair t = vector.getTransferPair(allocator);
+      t.transfer();
+      return (FieldVector) t.getTo();
+    }
+    // buffers cannot be shared between allocators with different roots
+    FieldVector copy = vector.getField().createVector(allocator);
+    try {
+      vector.accept(new VectorAppender(copy), null);
+    } catch (RuntimeException ex) {
+      copy.close();
+      throw ex;
+    }
+    return copy;
+  }
+
+  private FieldVector toTimestamp(FieldVector vector, SnowflakeType type, String timeZone)
+      throws SFException {
+    Field field = vector.getField();
+    Map<String, String> metadata = field.getMetadata();
+    int scale =
+        metadata != null && metadata.containsKey("scale")
+            ? Integer.parseInt(metadata.get("scale"))
+            : ArrowResultUtil.MAX_SCALE_POWERS_OF_10;
+    FieldType fieldType =
+        new FieldType(
+            field.isNullable(),
+            new ArrowType.Timestamp(TimeUnit.NANOSECOND, timeZone),
+            null,
+            metadata);
+    TimeStampVector result =
+        (TimeStampVector) new Field(field.getName(), fieldType, null).createVector(allocator);
+    int rowCount = vector.getValueCount();
+    try {
+      result.allocateNew(rowCount);
+      if (vector instanceof BigIntVector) {
+        // epoch scaled by 10^scale
+        BigIntVector values = (BigIntVector) vector;
+        for (int i = 0; i < rowCount; i++) {
+          if (values.isNull(i)) {
+            result.setNull(i);
+          } else {
+            result.set(i, scaledToNanos(values.get(i), scale, type));
+          }
+        }
+      } else {
+        StructVector struct = (StructVector) vector;
+        BigIntVector epochs = struct.getChild(FIELD_NAME_EPOCH, BigIntVector.class);
+        // the two-field TIMESTAMP_TZ struct has a scaled epoch and no fraction
+        IntVector fractions = struct.getChild(FIELD_NAME_FRACTION, IntVector.class);
+        for (int i = 0; i < rowCount; i++) {
+          if (struct.isNull(i) || epochs.isNull(i)) {
+            result.setNull(i);
+          } else if (fractions == null) {
+            result.set(i, scaledToNanos(epochs.get(i), scale, type));
+          } else {
+            result.set(i, secondsToNanos(epochs.get(i), fractions.get(i), type));
+          }
+        }
+      }
+      result.setValueCount(rowCount);
+    } catch (SFException | RuntimeException ex) {
+      result.close();
+      throw ex;
+    }
+    return result;
+  }
+
+  private long scaledToNanos(long value, int scale, SnowflakeType type) throws SFException {
+    try {
+      return Math.multiplyExact(
+          value, ArrowResultUtil.powerOfTen(ArrowResultUtil.MAX_SCALE_POWERS_OF_10 - scale));
+    } catch (ArithmeticException ex) {
+      throw new SFException(
+          queryId,
+          ex,
+          ErrorCode.INVALID_VALUE_CONVERT,
+          type.name(),
+          "TIMESTAMP(NANOSECOND)",
+          value);
+    }
+  }
+
+  private long secondsToNanos(long seconds, int fraction, SnowflakeType type) throws SFException {
+    try {
+      // the fraction is always positive, e.g. -0.1 is epoch -1 and fraction 900,000,000
+      return Math.addExact(
+          Math.multiplyExact(
+              seconds, ArrowResultUtil.powerOfTen(ArrowResultUtil.MAX_SCALE_POWERS_OF_10)),
+          fraction);
+    } catch (ArithmeticException ex) {
+      throw new SFException(
+          queryId,
+          ex,
+          ErrorCode.INVALID_VALUE_CONVERT,
+          type.name(),
+          "TIMESTAMP(NANOSECOND)",
+          seconds + "." + fraction);
+    }
+  }
+}
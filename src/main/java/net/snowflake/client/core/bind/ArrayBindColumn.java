@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.core.bind;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import net.snowflake.client.core.SnowflakeJdbcInternalApi;
+import net.snowflake.client.jdbc.SnowflakeType;
+
+/**
+ * Values of a parameter in an array bind, one per row of the batch.
+ *
+ * <p>Values are kept in a primitive column as long as all values of the column are numbers or
+ * booleans of the same kind; otherwise values are kept UTF-8 encoded in a byte slab. Null values
+ * are recorded in a bitmap. The memory used is therefore proportional to the size of the raw data,
+ * and a value is converted to its string representation only when it is read, e.g. to serialize the
+ * binds in the request or to write them to a CSV file uploaded to the bind stage.
+ */
+@SnowflakeJdbcInternalApi
+public final class ArrayBindColumn extends AbstractList<String> implements RandomAccess {
+  private static final byte EMPTY = 0;
+  private static final byte LONGS = 1;
+  private static final byte BOOLEANS = 2;
+  private static final byte FLOATS = 3;
+  private static final byte DOUBLES = 4;
+  private static final byte BYTES = 5;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** Kind of the values of the column, all values are kept in bytes once kinds are mixed */
+  private byte mode = EMPTY;
+
+  private int size = 0;
+  private int nullCount = 0;
+
+  // bit i is set if the value of row i is null
+  private long[] nulls = new long[1];
+
+  // LONGS and BOOLEANS
+  private long[] longs;
+
+  // FLOATS and DOUBLES
+  private double[] doubles;
+
+  // BYTES, row i is bytes[ends[i - 1]..ends[i]), with ends[-1] == 0
+  private byte[] bytes;
+  private int[] ends;
+  private int byteCount = 0;
+
+  public void addNull() {
+    ensureCapacity(size + 1);
+    nulls[size >>> 6] |= 1L << size;
+    if (mode == BYTES) {
+      ends[size] = byteCount;
+    }
+    nullCount++;
+    size++;
+  }
+
+  public void addLong(long value) {
+    if (prepare(LONGS)) {
+      longs[size++] = value;
+    } else {
+      addBytes(String.valueOf(value));
+    }
+  }
+
+  public void addBoolean(boolean value) {
+    if (prepare(BOOLEANS)) {
+      longs[size++] = value ? 1 : 0;
+    } else {
+      addBytes(String.valueOf(value));
+    }
+  }
+
+  public void addFloat(float value) {
+    if (prepare(FLOATS)) {
+      doubles[size++] = value;
+    } else {
+      addBytes(String.valueOf(value));
+    }
+  }
+
+  public void addDouble(double value) {
+    if (prepare(DOUBLES)) {
+      doubles[size++] = value;
+    } else {
+      addBytes(String.valueOf(value));
+    }
+  }
+
+  /**
+   * @param value the value, or null
+   */
+  public void addString(String value) {
+    if (value == null) {
+      addNull();
+    } else {
+      prepare(BYTES);
+      addBytes(value);
+    }
+  }
+
+  /**
+   * @return true if all values of the column are null
+   */
+  public boolean isAllNull() {
+    return nullCount == size;
+  }
+
+  public boolean isNull(int row) {
+    checkIndex(row);
+    return (nulls[row >>> 6] & (1L << row)) != 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param row row index
+   * @return string representation of the value of the row, or null
+   */
+  @Override
+  public String get(int row) {
+    if (isNull(row)) {
+      return null;
+    }
+    switch (mode) {
+      case LONGS:
+        return String.valueOf(longs[row]);
+      case BOOLEANS:
+        return String.valueOf(longs[row] != 0);
+      case FLOATS:
+        return String.valueOf((float) doubles[row]);
+      case DOUBLES:
+        return String.valueOf(doubles[row]);
+      default:
+        int start = row == 0 ? 0 : ends[row - 1];
+        return new String(bytes, start, ends[row] - start, UTF_8);
+    }
+  }
+
+  /**
+   * Append the value of a row to a CSV record, without creating an intermediate string for
+   * primitive values
+   *
+   * @param row row index
+   * @param record CSV record
+   */
+  void appendCsv(int row, StringBuilder record) {
+    if (isNull(row)) {
+      return;
+    }
+    switch (mode) {
+      case LONGS:
+        record.append(longs[row]);
+        break;
+      case BOOLEANS:
+        record.append(longs[row] != 0);
+        break;
+      case FLOATS:
+        record.append((float) doubles[row]);
+        break;
+      case DOUBLES:
+        record.append(doubles[row]);
+        break;
+      default:
+        record.append(SnowflakeType.escapeForCSV(get(row)));
+    }
+  }
+
+  /**
+   * Make room for a value of the given kind
+   *
+   * @return true if the value is kept in the primitive column of its kind
+   */
+  private boolean prepare(byte valueMode) {
+    if (mode == EMPTY) {
+      mode = valueMode;
+      allocate(Math.max(INITIAL_CAPACITY, nulls.length << 6));
+    } else if (mode != valueMode && mode != BYTES) {
+      convertToBytes();
+    }
+    ensureCapacity(size + 1);
+    return mode == valueMode;
+  }
+
+  private void addBytes(String value) {
+    byte[] encoded = value.getBytes(UTF_8);
+    if (byteCount + encoded.length > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(byteCount + encoded.length, bytes.length * 2));
+    }
+    System.arraycopy(encoded, 0, bytes, byteCount, encoded.length);
+    byteCount += encoded.length;
+    ends[size++] = byteCount;
+  }
+
+  /** Keep the values of the column in bytes, once a value of another kind is added */
+  private void convertToBytes() {
+    String[] values = new String[size];
+    for (int row = 0; row < size; row++) {
+      values[row] = get(row);
+    }
+    longs = null;
+    doubles = null;
+    mode = BYTES;
+    allocate(Math.max(INITIAL_CAPACITY, nulls.length << 6));
+    int rows = size;
+    size = 0;
+    for (String value : values) {
+      if (value == null) {
+        ends[size++] = byteCount;
+      } else {
+        addBytes(value);
+      }
+    }
+    size = rows;
+  }
+
+  private void allocate(int capacity) {
+    switch (mode) {
+      case LONGS:
+      case BOOLEANS:
+        longs = new long[capacity];
+        break;
+      case FLOATS:
+      case DOUBLES:
+        doubles = new double[capacity];
+        break;
+      default:
+        ends = new int[capacity];
+        bytes = new byte[capacity * 8];
+        byteCount = 0;
+    }
+  }
+
+  private void ensureCapacity(int minCapacity) {
+    if (minCapacity > nulls.length << 6) {
+      nulls = Arrays.copyOf(nulls, Math.max((minCapacity + 63) >>> 6, nulls.length * 2));
+    }
+    if (longs != null && minCapacity > longs.length) {
+      longs = Arrays.copyOf(longs, Math.max(minCapacity, longs.length * 2));
+    }
+    if (doubles != null && minCapacity > doubles.length) {
+      doubles = Arrays.copyOf(doubles, Math.max(minCapacity, doubles.length * 2));
+    }
+    if (ends != null && minCapacity > ends.length) {
+      ends = Arrays.copyOf(ends, Math.max(minCapacity, ends.length * 2));
+    }
+  }
+
+  private void checkIndex(int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Index: " + row + ", Size: " + size);
+    }
+  }
+}
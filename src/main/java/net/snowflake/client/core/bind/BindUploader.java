@@ -7,10 +7,10 @@ package net.snowflake.client.core.bind;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.ByteBuffer;
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
@@ -19,12 +19,19 @@ import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import net.snowflake.client.core.ExecTimeTelemetryData;
 import net.snowflake.client.core.ParameterBindingDTO;
 import net.snowflake.client.core.SFBaseSession;
@@ -34,6 +41,7 @@ import net.snowflake.client.jdbc.ErrorCode;
 import net.snowflake.client.jdbc.SFBaseFileTransferAgent;
 import net.snowflake.client.jdbc.SnowflakeSQLLoggedException;
 import net.snowflake.client.jdbc.SnowflakeType;
+import net.snowflake.client.jdbc.SnowflakeUtil;
 import net.snowflake.client.log.SFLogger;
 import net.snowflake.client.log.SFLoggerFactory;
 import net.snowflake.client.util.SFPair;
@@ -54,8 +62,16 @@ public class BindUploader implements Closeable {
   // size (bytes) of max input stream (10MB default)
   private long inputStreamBufferSize = 1024 * 1024 * 10;
 
+  // number of bind files uploaded concurrently while the following ones are encoded, 0 to upload
+  // them one after the other
+  private int uploadParallelism = 0;
+
   private int fileCount = 0;
 
+  // size (bytes) of the binds uploaded, before compression, and time spent by the last upload
+  private long uploadedBytes = 0;
+  private long uploadTimeNanos = 0;
+
   private final DateFormat timestampFormat;
   private final DateFormat dateFormat;
   private final SimpleDateFormat timeFormat;
@@ -90,6 +106,11 @@ public class BindUploader implements Closeable {
             + " field_optionally_enclosed_by='\"'"
             + ")";
 
+    if (session.getBindUploadPartSize() > 0) {
+      this.inputStreamBufferSize = session.getBindUploadPartSize() * 1024L * 1024L;
+    }
+    this.uploadParallelism = Math.max(0, session.getBindUploadParallelism());
+
     cal = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
     cal.clear();
 
@@ -212,40 +233,153 @@ public class BindUploader implements Closeable {
       throws BindException, SQLException {
     if (!closed) {
       List<ColumnTypeDataPair> columns = getColumnValues(bindValues);
-      List<byte[]> bindingRows = buildRowsAsBytes(columns);
-      int startIndex = 0;
-      int numBytes = 0;
-      int rowNum = 0;
+      int numRows = getRowCount(columns);
+      long startTime = System.nanoTime();
       fileCount = 0;
-
-      while (rowNum < bindingRows.size()) {
-        // create a list of byte arrays
-        while (numBytes < inputStreamBufferSize && rowNum < bindingRows.size()) {
-          numBytes += bindingRows.get(rowNum).length;
-          rowNum++;
+      uploadedBytes = 0;
+
+      // rows are encoded straight from the columns into the buffer of the file being built
+      StringBuilder record = new StringBuilder(1024);
+      try (PartUploader parts = new PartUploader(compressData)) {
+        RowBuffer buffer = parts.nextBuffer();
+        for (int rowIdx = 0; rowIdx < numRows; rowIdx++) {
+          record.setLength(0);
+          appendCSVRecord(columns, rowIdx, record);
+          buffer.write(record.toString().getBytes(UTF_8));
+          if (buffer.size() >= inputStreamBufferSize || rowIdx == numRows - 1) {
+            parts.upload(buffer);
+            if (rowIdx < numRows - 1) {
+              buffer = parts.nextBuffer();
+            }
+          }
         }
-        // concatenate all byte arrays into 1 and put into input stream
-        ByteBuffer bb = ByteBuffer.allocate(numBytes);
-        for (int i = startIndex; i < rowNum; i++) {
-          bb.put(bindingRows.get(i));
+        parts.awaitAll();
+      } catch (IOException ex) {
+        throw new BindException(
+            String.format(
+                "Failure using inputstream to upload bind data. Message: %s", ex.getMessage()),
+            BindException.Type.SERIALIZATION);
+      } catch (ClassCastException ex) {
+        throw new BindException(
+            "Value in binding DTO could not be cast to a list", BindException.Type.SERIALIZATION);
+      }
+      uploadTimeNanos = System.nanoTime() - startTime;
+      logger.debug(
+          "Uploaded {} bytes of binds in {} files in {} ms, {} bytes/s",
+          uploadedBytes,
+          fileCount,
+          TimeUnit.NANOSECONDS.toMillis(uploadTimeNanos),
+          getUploadThroughput());
+    }
+  }
+
+  /**
+   * Uploads the bind files. With an upload parallelism, files are uploaded on a bounded pool while
+   * the following files are encoded, and at most as many files as the parallelism are held in
+   * memory besides the one being encoded; otherwise files are uploaded one after the other on the
+   * calling thread.
+   */
+  private class PartUploader implements Closeable {
+    private final boolean compressData;
+
+    // null if files are uploaded on the calling thread
+    private final ExecutorService uploadPool;
+
+    // uploads in flight, oldest first
+    private final ArrayDeque<SFPair<RowBuffer, Future<Void>>> pendingUploads = new ArrayDeque<>();
+
+    private final ArrayDeque<RowBuffer> freeBuffers = new ArrayDeque<>();
+
+    PartUploader(boolean compressData) {
+      this.compressData = compressData;
+      this.uploadPool =
+          uploadParallelism > 0
+              ? SnowflakeUtil.createDefaultExecutorService(
+                  "sf-bind-upload-worker-", uploadParallelism)
+              : null;
+    }
+
+    /**
+     * @return an empty buffer for the next file, once an upload completed if all are in flight
+     */
+    RowBuffer nextBuffer() throws BindException, SQLException {
+      if (pendingUploads.size() >= uploadParallelism && !pendingUploads.isEmpty()) {
+        await(pendingUploads.poll());
+      }
+      RowBuffer buffer = freeBuffers.poll();
+      return buffer == null ? new RowBuffer() : buffer;
+    }
+
+    void upload(RowBuffer buffer) throws BindException, SQLException {
+      String fileName = Integer.toString(++fileCount);
+      uploadedBytes += buffer.size();
+      if (uploadPool == null) {
+        uploadFile(buffer, fileName, compressData);
+        buffer.reset();
+        freeBuffers.add(buffer);
+      } else {
+        pendingUploads.add(
+            SFPair.of(
+                buffer,
+                uploadPool.submit(
+                    () -> {
+                      uploadFile(buffer, fileName, compressData);
+                      return null;
+                    })));
+      }
+    }
+
+    void awaitAll() throws BindException, SQLException {
+      while (!pendingUploads.isEmpty()) {
+        await(pendingUploads.poll());
+      }
+    }
+
+    private void await(SFPair<RowBuffer, Future<Void>> upload) throws BindException, SQLException {
+      try {
+        upload.right.get();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new BindException("Interrupted while uploading bind data", BindException.Type.UPLOAD);
+      } catch (ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof BindException) {
+          throw (BindException) cause;
+        } else if (cause instanceof SQLException) {
+          throw (SQLException) cause;
         }
-        byte[] finalBytearray = bb.array();
-        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(finalBytearray)) {
-          // do the upload
-          String fileName = Integer.toString(++fileCount);
-          uploadStreamInternal(inputStream, fileName, compressData);
-          startIndex = rowNum;
-          numBytes = 0;
-        } catch (IOException ex) {
-          throw new BindException(
-              String.format(
-                  "Failure using inputstream to upload bind data. Message: %s", ex.getMessage()),
-              BindException.Type.SERIALIZATION);
+        throw new BindException(
+            String.format("Failure uploading bind data. Message: %s", cause.getMessage()),
+            BindException.Type.UPLOAD);
+      }
+      upload.left.reset();
+      freeBuffers.add(upload.left);
+    }
+
+    /** Stop the uploads still in flight, after a failure */
+    @Override
+    public void close() {
+      if (uploadPool != null) {
+        for (SFPair<RowBuffer, Future<Void>> upload : pendingUploads) {
+          upload.right.cancel(true);
         }
+        uploadPool.shutdown();
       }
     }
   }
 
+  private void uploadFile(RowBuffer buffer, String fileName, boolean compressData)
+      throws BindException, SQLException {
+    try (InputStream inputStream = buffer.toInputStream()) {
+      uploadStreamInternal(inputStream, fileName, compressData);
+    } catch (IOException ex) {
+      throw new BindException(
+          String.format(
+              "Failure using inputstream to upload bind data. Message: %s", ex.getMessage()),
+          BindException.Type.SERIALIZATION);
+    }
+  }
+
   /**
    * Method to put data from a stream at a stage location. The data will be uploaded as one file. No
    * splitting is done in this method. Similar to uploadStreamInternal() in SnowflakeConnectionV1.
@@ -315,7 +449,7 @@ public class BindUploader implements Closeable {
 
   /**
    * Convert bind map to a list of values for each column Perform necessary type casts and invariant
-   * checks
+   * checks. Values are converted lazily, when rows are built.
    *
    * @param bindValues the bind map to convert
    * @return list of values for each column
@@ -338,23 +472,17 @@ public class BindUploader implements Closeable {
       try {
         String type = value.getType();
         List<?> list = (List<?>) value.getValue();
-        List<String> convertedList = new ArrayList<>(list.size());
+        List<String> convertedList;
         if ("TIMESTAMP_LTZ".equals(type) || "TIMESTAMP_NTZ".equals(type)) {
-          for (Object e : list) {
-            convertedList.add(synchronizedTimestampFormat((String) e, type));
-          }
+          convertedList = convert(list, e -> synchronizedTimestampFormat(e, type));
         } else if ("DATE".equals(type)) {
-          for (Object e : list) {
-            convertedList.add(synchronizedDateFormat((String) e));
-          }
+          convertedList = convert(list, this::synchronizedDateFormat);
         } else if ("TIME".equals(type)) {
-          for (Object e : list) {
-            convertedList.add(synchronizedTimeFormat((String) e));
-          }
+          convertedList = convert(list, this::synchronizedTimeFormat);
+        } else if (list instanceof ArrayBindColumn) {
+          convertedList = (ArrayBindColumn) list;
         } else {
-          for (Object e : list) {
-            convertedList.add((String) e);
-          }
+          convertedList = convert(list, Function.identity());
         }
         columns.add(i - 1, new ColumnTypeDataPair(type, convertedList));
       } catch (ClassCastException ex) {
@@ -366,14 +494,32 @@ public class BindUploader implements Closeable {
   }
 
   /**
-   * Transpose a list of columns and their values to a list of rows in bytes instead of strings
+   * @param list bind values
+   * @param converter conversion of a value
+   * @return view of the converted values
+   */
+  private static List<String> convert(List<?> list, Function<String, String> converter) {
+    return new AbstractList<String>() {
+      @Override
+      public String get(int index) {
+        return converter.apply((String) list.get(index));
+      }
+
+      @Override
+      public int size() {
+        return list.size();
+      }
+    };
+  }
+
+  /**
+   * Check that the columns have binds, and as many binds each
    *
-   * @param columns the list of columns to transpose
-   * @return list of rows
+   * @param columns the list of columns
+   * @return number of rows
    * @throws BindException if columns improperly formed
    */
-  private List<byte[]> buildRowsAsBytes(List<ColumnTypeDataPair> columns) throws BindException {
-    List<byte[]> rows = new ArrayList<>();
+  private static int getRowCount(List<ColumnTypeDataPair> columns) throws BindException {
     int numColumns = columns.size();
     // columns should have binds
     if (columns.get(0).data.isEmpty()) {
@@ -384,7 +530,7 @@ public class BindUploader implements Closeable {
     // every column should have the same number of binds
     for (int i = 0; i < numColumns; i++) {
       int iNumRows = columns.get(i).data.size();
-      if (columns.get(i).data.size() != numRows) {
+      if (iNumRows != numRows) {
         throw new BindException(
             String.format(
                 "Column %d has a different number of binds (%d) than column 1 (%d)",
@@ -392,35 +538,37 @@ public class BindUploader implements Closeable {
             BindException.Type.SERIALIZATION);
       }
     }
-
-    for (int rowIdx = 0; rowIdx < numRows; rowIdx++) {
-      String[] row = new String[numColumns];
-      for (int colIdx = 0; colIdx < numColumns; colIdx++) {
-        row[colIdx] = columns.get(colIdx).data.get(rowIdx);
-      }
-      rows.add(createCSVRecord(row));
-    }
-
-    return rows;
+    return numRows;
   }
 
   /**
-   * Serialize row to a csv Duplicated from StreamLoader class
+   * Serialize a row to a csv record. Duplicated from StreamLoader class
    *
-   * @param data the row to create a csv record from
-   * @return serialized csv for row
+   * @param columns the list of columns
+   * @param rowIdx index of the row
+   * @param record the record to append the row to
    */
-  private byte[] createCSVRecord(String[] data) {
-    StringBuilder sb = new StringBuilder(1024);
-
-    for (int i = 0; i < data.length; ++i) {
-      if (i > 0) {
-        sb.append(',');
+  private static void appendCSVRecord(
+      List<ColumnTypeDataPair> columns, int rowIdx, StringBuilder record) {
+    for (int colIdx = 0; colIdx < columns.size(); colIdx++) {
+      if (colIdx > 0) {
+        record.append(',');
+      }
+      List<String> data = columns.get(colIdx).data;
+      if (data instanceof ArrayBindColumn) {
+        ((ArrayBindColumn) data).appendCsv(rowIdx, record);
+      } else {
+        record.append(SnowflakeType.escapeForCSV(data.get(rowIdx)));
       }
-      sb.append(SnowflakeType.escapeForCSV(data[i]));
     }
-    sb.append('\n');
-    return sb.toString().getBytes(UTF_8);
+    record.append('\n');
+  }
+
+  /** Buffer of the rows of a bind file, read in place by the upload */
+  private static class RowBuffer extends ByteArrayOutputStream {
+    InputStream toInputStream() {
+      return new ByteArrayInputStream(buf, 0, count);
+    }
   }
 
   /**
@@ -474,6 +622,30 @@ public class BindUploader implements Closeable {
     this.inputStreamBufferSize = bufferSize;
   }
 
+  /**
+   * Set the number of bind files uploaded concurrently while the following ones are encoded
+   *
+   * @param uploadParallelism number of concurrent uploads, 0 to upload files one after the other
+   */
+  public void setUploadParallelism(int uploadParallelism) {
+    this.uploadParallelism = Math.max(0, uploadParallelism);
+  }
+
+  /**
+   * @return size in bytes of the binds uploaded by the last upload, before compression
+   */
+  public long getUploadedBytes() {
+    return this.uploadedBytes;
+  }
+
+  /**
+   * @return end-to-end throughput of the last upload, from the encoding of the first row to the
+   *     upload of the last file, in bytes of binds per second
+   */
+  public long getUploadThroughput() {
+    return uploadTimeNanos > 0 ? (long) (uploadedBytes * 1e9 / uploadTimeNanos) : 0;
+  }
+
   /**
    * Return the number of files that binding data is split into on internal stage. Used for testing
    * purposes.
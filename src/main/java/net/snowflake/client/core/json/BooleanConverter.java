@@ -14,15 +14,7 @@ public class BooleanConverter {
       return (Boolean) obj;
     }
     // if type is an approved type that can be converted to Boolean, do this
-    if (columnType == Types.BOOLEAN
-        || columnType == Types.INTEGER
-        || columnType == Types.SMALLINT
-        || columnType == Types.TINYINT
-        || columnType == Types.BIGINT
-        || columnType == Types.BIT
-        || columnType == Types.VARCHAR
-        || columnType == Types.CHAR
-        || columnType == Types.DECIMAL) {
+    if (isConvertibleToBoolean(columnType)) {
       String type = obj.toString();
       if ("1".equals(type) || Boolean.TRUE.toString().equalsIgnoreCase(type)) {
         return true;
@@ -34,4 +26,20 @@ public class BooleanConverter {
     throw new SFException(
         ErrorCode.INVALID_VALUE_CONVERT, columnType, SnowflakeUtil.BOOLEAN_STR, obj);
   }
+
+  /**
+   * @param columnType column type
+   * @return true if values of the column type can be converted to boolean
+   */
+  public static boolean isConvertibleToBoolean(int columnType) {
+    return columnType == Types.BOOLEAN
+        || columnType == Types.INTEGER
+        || columnType == Types.SMALLINT
+        || columnType == Types.TINYINT
+        || columnType == Types.BIGINT
+        || columnType == Types.BIT
+        || columnType == Types.VARCHAR
+        || columnType == Types.CHAR
+        || columnType == Types.DECIMAL;
+  }
 }
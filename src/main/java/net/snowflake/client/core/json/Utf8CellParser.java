@@ -0,0 +1,260 @@
+package net.snowflake.client.core.json;
+
+import net.snowflake.client.core.SnowflakeJdbcInternalApi;
+
+/**
+ * Parses primitive values directly from the UTF-8 bytes of a JSON result cell, so that getLong,
+ * getInt, getDouble and getBoolean do not have to create a String for every cell.
+ *
+ * <p>Only the plain forms the server sends are accepted. The parse methods return false for
+ * anything else (e.g. "inf", overflow, non ASCII digits), in which case the caller falls back to
+ * the String based converters, which keep their conversion rules and error reporting. An instance
+ * is reused for all cells of a result set and is not thread safe.
+ */
+@SnowflakeJdbcInternalApi
+public final class Utf8CellParser {
+  // 2^53, largest integer up to which all integers are exactly representable as double
+  private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+
+  // powers of ten exactly representable as double
+  private static final double[] EXACT_POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private byte[] bytes;
+  private int offset;
+  private int length;
+
+  // holds cells which are split over two blocks of a chunk
+  private byte[] scratch = new byte[64];
+
+  private long longValue;
+  private boolean hasFraction;
+  private double doubleValue;
+  private boolean booleanValue;
+
+  /**
+   * Set the cell to parse
+   *
+   * @param bytes UTF-8 bytes containing the cell
+   * @param offset start of the cell
+   * @param length length of the cell in bytes
+   */
+  public void wrap(byte[] bytes, int offset, int length) {
+    this.bytes = bytes;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Get a buffer to copy a cell to when it is not contiguous in memory. The buffer is reused by the
+   * next call.
+   *
+   * @param length length of the cell in bytes
+   * @return buffer of at least the given length
+   */
+  public byte[] getScratchBuffer(int length) {
+    if (scratch.length < length) {
+      scratch = new byte[Math.max(length, scratch.length * 2)];
+    }
+    return scratch;
+  }
+
+  /**
+   * Parse the cell as long. Like {@link NumberConverter#getLong(Object, int)} for FLOAT and DOUBLE
+   * columns, everything from a decimal point on is ignored; {@link #hasFraction()} tells whether
+   * this happened.
+   *
+   * @return true if the cell is an integer in the range of long
+   */
+  public boolean parseLong() {
+    int pos = offset;
+    final int end = offset + length;
+    boolean negative = false;
+    if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+')) {
+      negative = bytes[pos] == '-';
+      pos++;
+    }
+    final int digitsStart = pos;
+    // accumulate negatively to be able to represent Long.MIN_VALUE, like Long.parseLong
+    final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    final long multiplyLimit = limit / 10;
+    long result = 0;
+    for (; pos < end; pos++) {
+      int digit = bytes[pos] - '0';
+      if (digit < 0 || digit > 9) {
+        break;
+      }
+      if (result < multiplyLimit) {
+        return false;
+      }
+      result *= 10;
+      if (result < limit + digit) {
+        return false;
+      }
+      result -= digit;
+    }
+    if (pos == digitsStart) {
+      return false;
+    }
+    if (pos < end && bytes[pos] != '.') {
+      return false;
+    }
+    hasFraction = pos < end;
+    longValue = negative ? result : -result;
+    return true;
+  }
+
+  /**
+   * Parse the cell as int, see {@link #parseLong()}. The value is returned by {@link
+   * #getLongValue()}.
+   *
+   * @return true if the cell is an integer in the range of int
+   */
+  public boolean parseInt() {
+    return parseLong() && longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE;
+  }
+
+  /**
+   * Parse the cell as double. Only decimal numbers whose digits fit into the 53 bit mantissa and
+   * whose exponent is an exactly representable power of ten are accepted, so that a single
+   * multiplication or division gives the same correctly rounded value as {@link
+   * Double#parseDouble(String)}.
+   *
+   * @return true if the cell could be parsed
+   */
+  public boolean parseDouble() {
+    int pos = offset;
+    final int end = offset + length;
+    boolean negative = false;
+    if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+')) {
+      negative = bytes[pos] == '-';
+      pos++;
+    }
+    long mantissa = 0;
+    int digitCount = 0;
+    int exponent = 0;
+    boolean inFraction = false;
+    for (; pos < end; pos++) {
+      byte b = bytes[pos];
+      if (b >= '0' && b <= '9') {
+        mantissa = mantissa * 10 + (b - '0');
+        if (mantissa > MAX_EXACT_DOUBLE_MANTISSA) {
+          return false;
+        }
+        digitCount++;
+        if (inFraction) {
+          exponent--;
+        }
+      } else if (b == '.' && !inFraction) {
+        inFraction = true;
+      } else {
+        break;
+      }
+    }
+    if (digitCount == 0) {
+      return false;
+    }
+    if (pos < end) {
+      if (bytes[pos] != 'e' && bytes[pos] != 'E') {
+        return false;
+      }
+      pos++;
+      boolean negativeExponent = false;
+      if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+')) {
+        negativeExponent = bytes[pos] == '-';
+        pos++;
+      }
+      if (pos == end) {
+        return false;
+      }
+      int explicitExponent = 0;
+      for (; pos < end; pos++) {
+        int digit = bytes[pos] - '0';
+        if (digit < 0 || digit > 9 || explicitExponent > EXACT_POWERS_OF_TEN.length * 2) {
+          return false;
+        }
+        explicitExponent = explicitExponent * 10 + digit;
+      }
+      exponent += negativeExponent ? -explicitExponent : explicitExponent;
+    }
+    double value = mantissa;
+    if (exponent < 0) {
+      if (-exponent >= EXACT_POWERS_OF_TEN.length) {
+        return false;
+      }
+      value /= EXACT_POWERS_OF_TEN[-exponent];
+    } else if (exponent > 0) {
+      if (exponent >= EXACT_POWERS_OF_TEN.length) {
+        return false;
+      }
+      value *= EXACT_POWERS_OF_TEN[exponent];
+    }
+    doubleValue = negative ? -value : value;
+    return true;
+  }
+
+  /**
+   * Parse the cell as boolean, accepting the values {@link BooleanConverter} accepts for String
+   * cells: 1, 0, true and false (case insensitive).
+   *
+   * @return true if the cell could be parsed
+   */
+  public boolean parseBoolean() {
+    if (length == 1 && (bytes[offset] == '1' || bytes[offset] == '0')) {
+      booleanValue = bytes[offset] == '1';
+      return true;
+    }
+    if (equalsIgnoreCase("true")) {
+      booleanValue = true;
+      return true;
+    }
+    if (equalsIgnoreCase("false")) {
+      booleanValue = false;
+      return true;
+    }
+    return false;
+  }
+
+  private boolean equalsIgnoreCase(String ascii) {
+    if (length != ascii.length()) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      // setting 0x20 lower cases ASCII letters
+      if ((bytes[offset + i] | 0x20) != ascii.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return value of the last successful {@link #parseLong()} or {@link #parseInt()}
+   */
+  public long getLongValue() {
+    return longValue;
+  }
+
+  /**
+   * @return true if the last parsed long had a fractional part which was ignored
+   */
+  public boolean hasFraction() {
+    return hasFraction;
+  }
+
+  /**
+   * @return value of the last successful {@link #parseDouble()}
+   */
+  public double getDoubleValue() {
+    return doubleValue;
+  }
+
+  /**
+   * @return value of the last successful {@link #parseBoolean()}
+   */
+  public boolean getBooleanValue() {
+    return booleanValue;
+  }
+}
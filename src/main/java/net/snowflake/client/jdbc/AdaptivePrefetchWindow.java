@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.jdbc;
+
+/**
+ * Number of result chunks a {@link SnowflakeChunkDownloader} keeps in flight ahead of the consumer.
+ *
+ * <p>If a chunk takes D ms to download and parse and the application consumes a chunk in C ms,
+ * about D / C chunks have to be in flight for the next chunk to be ready when the consumer asks for
+ * it. The window tracks moving averages of both and moves towards that target plus one chunk of
+ * slack: it grows right away, and whenever the consumer had to wait for a chunk, and shrinks by one
+ * chunk at a time, so a slowly consuming application does not hold memory for chunks it will not
+ * read soon. The window stays within its bounds; the memory budget may allow fewer chunks.
+ *
+ * <p>Download times are reported by the download threads, consumer times by the consumer thread.
+ */
+class AdaptivePrefetchWindow {
+  // weight of the newest sample in the moving averages
+  private static final double SMOOTHING = 0.3;
+
+  private final int minWindow;
+  private final int maxWindow;
+
+  private volatile int window;
+
+  // moving averages in millis, negative until the first sample
+  private double avgChunkMillis = -1;
+  private double avgConsumeMillis = -1;
+
+  /**
+   * @param initialWindow window until the first chunk has been consumed
+   * @param minWindow minimum window, at least 1
+   * @param maxWindow maximum window
+   */
+  AdaptivePrefetchWindow(int initialWindow, int minWindow, int maxWindow) {
+    this.minWindow = Math.max(1, minWindow);
+    this.maxWindow = Math.max(this.minWindow, maxWindow);
+    this.window = clamp(initialWindow);
+  }
+
+  /**
+   * @param window the fixed window
+   * @return a window which never changes
+   */
+  static AdaptivePrefetchWindow fixed(int window) {
+    return new AdaptivePrefetchWindow(window, window, window);
+  }
+
+  /**
+   * @return number of chunks to keep in flight ahead of the consumer
+   */
+  int getWindow() {
+    return window;
+  }
+
+  /**
+   * Report the time a chunk took to download and parse
+   *
+   * @param millis download and parse time of the chunk
+   */
+  synchronized void chunkDownloaded(long millis) {
+    avgChunkMillis = average(avgChunkMillis, millis);
+  }
+
+  /**
+   * Report the time the consumer spent on a chunk and adapt the window
+   *
+   * @param millis time between handing out the chunk and the request for the next one
+   * @param consumerWaited true if the consumer had to wait for the chunk to be downloaded
+   * @return the new window
+   */
+  synchronized int chunkConsumed(long millis, boolean consumerWaited) {
+    avgConsumeMillis = average(avgConsumeMillis, millis);
+    int target = window;
+    if (avgChunkMillis >= 0) {
+      double chunksInFlight = avgChunkMillis / Math.max(avgConsumeMillis, 1.0);
+      target = clamp((int) Math.min(maxWindow, Math.ceil(chunksInFlight)) + 1);
+    }
+    if (consumerWaited) {
+      window = clamp(Math.max(window + 1, target));
+    } else if (target > window) {
+      window = target;
+    } else if (target < window) {
+      window = clamp(window - 1);
+    }
+    return window;
+  }
+
+  private static double average(double average, long sample) {
+    return average < 0 ? sample : average + SMOOTHING * (sample - average);
+  }
+
+  private int clamp(int value) {
+    return Math.max(minWindow, Math.min(maxWindow, value));
+  }
+}
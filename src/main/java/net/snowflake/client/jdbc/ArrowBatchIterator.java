@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import java.sql.SQLException;
+import org.apache.arrow.vector.VectorSchemaRoot;
+
+/**
+ * Iterator over the Arrow record batches of a result set, returned by {@link
+ * SnowflakeResultSet#getArrowBatches()}. Every batch is a {@link VectorSchemaRoot} owned by the
+ * caller, who must close it once done with it.
+ *
+ * <p>Timestamp columns are converted to Arrow nanosecond timestamps: TIMESTAMP_NTZ without time
+ * zone, TIMESTAMP_LTZ in the session time zone and TIMESTAMP_TZ in UTC. All other columns keep the
+ * Arrow type of the query result; the Snowflake type of each column is in the field metadata
+ * (logicalType, precision, scale).
+ *
+ * <p>Note that the Arrow classes are relocated in the shaded driver jar. Use the thin jar to share
+ * them with the application.
+ */
+public interface ArrowBatchIterator {
+  /**
+   * @return true if the result set has another record batch
+   * @throws SQLException if the next record batch cannot be fetched
+   */
+  boolean hasNext() throws SQLException;
+
+  /**
+   * @return the next record batch, to be closed by the caller
+   * @throws SQLException if the next record batch cannot be fetched or converted
+   * @throws java.util.NoSuchElementException if there are no more record batches
+   */
+  VectorSchemaRoot next() throws SQLException;
+}
@@ -7,10 +7,14 @@ import static net.snowflake.client.core.arrow.ArrowVectorConverterUtil.initConve
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.channels.ClosedByInterruptException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
 import net.snowflake.client.core.DataConversionContext;
+import net.snowflake.client.core.HttpUtil;
 import net.snowflake.client.core.SFBaseSession;
 import net.snowflake.client.core.SFException;
 import net.snowflake.client.core.arrow.ArrowResultChunkIndexSorter;
@@ -56,6 +60,57 @@ public class ArrowResultChunk extends SnowflakeResultChunk {
   private VectorSchemaRoot root;
   private SFBaseSession session;
 
+  /** Timeout that the consumer waits for the next record batch of a streamed chunk */
+  private static final long batchAvailableTimeoutInSeconds =
+      HttpUtil.getDownloadedConditionTimeoutInSeconds();
+
+  /**
+   * true if record batches are handed to the iterator while the rest of the chunk is still being
+   * decoded
+   */
+  private boolean streaming = false;
+
+  /** memory accounting of the streamed record batches */
+  private BatchMemoryAccounting batchMemoryAccounting;
+
+  // The fields below are only used in streaming mode and are guarded by getLock()
+
+  /** signalled when a record batch is added or the stream ends */
+  private final Condition batchAvailable = getLock().newCondition();
+
+  /** reserved bytes of each record batch, 0 once the batch is released */
+  private final List<Long> batchMemorySizes = new ArrayList<>();
+
+  /** true once the decoder has read the whole stream or failed */
+  private boolean streamComplete = false;
+
+  /** error of the decoder, if any */
+  private String streamError;
+
+  /** true once the data is freed, late batches of the decoder are dropped */
+  private boolean streamClosed = false;
+
+  /** incremented on reset so that a cancelled decoder cannot add batches to a retried download */
+  private int streamGeneration = 0;
+
+  /** Reserves and releases memory of record batches in streaming mode */
+  interface BatchMemoryAccounting {
+    /**
+     * Reserve memory for a decoded record batch, may block until memory is available
+     *
+     * @param bytes size of the record batch
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void reserve(long bytes) throws InterruptedException;
+
+    /**
+     * Release memory of a record batch the consumer has moved past
+     *
+     * @param bytes size of the record batch
+     */
+    void release(long bytes);
+  }
+
   public ArrowResultChunk(
       String url,
       int rowCount,
@@ -73,6 +128,143 @@ public class ArrowResultChunk extends SnowflakeResultChunk {
     batchOfVectors.add(batch);
   }
 
+  /**
+   * Make record batches available to the iterator while the chunk is still being decoded. Memory of
+   * each batch is reserved when it is decoded and released when the iterator moves past it, so
+   * {@link #computeNeededChunkMemory()} no longer reserves the whole chunk up front.
+   *
+   * @param batchMemoryAccounting memory accounting for the record batches
+   */
+  void enableStreaming(BatchMemoryAccounting batchMemoryAccounting) {
+    this.streaming = true;
+    this.batchMemoryAccounting = batchMemoryAccounting;
+  }
+
+  boolean isStreaming() {
+    return streaming;
+  }
+
+  /**
+   * Publish a decoded record batch to the iterator.
+   *
+   * @param batch the batch
+   * @param generation stream generation when the decoder started
+   * @return true if the batch was added, false if the chunk is closed or reset
+   */
+  private boolean addStreamedBatch(List<ValueVector> batch, int generation)
+      throws InterruptedIOException {
+    long batchSize = 0;
+    for (ValueVector vector : batch) {
+      batchSize += vector.getBufferSize();
+    }
+    try {
+      batchMemoryAccounting.reserve(batchSize);
+    } catch (InterruptedException ex) {
+      throw new InterruptedIOException("Interrupted while waiting for memory for a record batch");
+    }
+    getLock().lock();
+    try {
+      if (!streamClosed && generation == streamGeneration) {
+        batchOfVectors.add(batch);
+        batchMemorySizes.add(batchSize);
+        batchAvailable.signalAll();
+        return true;
+      }
+    } finally {
+      getLock().unlock();
+    }
+    batchMemoryAccounting.release(batchSize);
+    return false;
+  }
+
+  /** Mark the end of the stream and wake up the iterator */
+  private void completeStream(int generation, String error) {
+    getLock().lock();
+    try {
+      if (generation == streamGeneration) {
+        streamComplete = true;
+        streamError = error;
+        batchAvailable.signalAll();
+      }
+    } finally {
+      getLock().unlock();
+    }
+  }
+
+  /**
+   * Wait until the record batch at the given index is decoded or the stream ends
+   *
+   * @param index index of the record batch
+   * @return the record batch or null if the chunk has no more record batches
+   * @throws SnowflakeSQLException if the decoder failed or the wait timed out
+   */
+  private List<ValueVector> awaitStreamedBatch(int index) throws SnowflakeSQLException {
+    getLock().lock();
+    try {
+      long nanos = TimeUnit.SECONDS.toNanos(batchAvailableTimeoutInSeconds);
+      while (index >= batchOfVectors.size() && !streamComplete) {
+        if (nanos <= 0) {
+          throw new SnowflakeSQLLoggedException(
+              session,
+              ErrorCode.INTERNAL_ERROR.getMessageCode(),
+              SqlState.INTERNAL_ERROR,
+              "Timeout waiting for record batch #" + index + " of " + getScrubbedUrl());
+        }
+        nanos = batchAvailable.awaitNanos(nanos);
+      }
+      if (index < batchOfVectors.size()) {
+        return batchOfVectors.get(index);
+      }
+      if (streamError != null) {
+        throw new SnowflakeSQLLoggedException(
+            session,
+            ErrorCode.INTERNAL_ERROR.getMessageCode(),
+            SqlState.INTERNAL_ERROR,
+            "Failed to decode record batch #" + index + ": " + streamError);
+      }
+      return null;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SnowflakeSQLLoggedException(
+          session, ErrorCode.INTERRUPTED.getMessageCode(), SqlState.QUERY_CANCELED);
+    } finally {
+      getLock().unlock();
+    }
+  }
+
+  /**
+   * @param index index of the record batch
+   * @return true if the chunk has a record batch at the given index, waits for the decoder if
+   *     needed
+   */
+  private boolean hasStreamedBatch(int index) {
+    try {
+      return awaitStreamedBatch(index) != null;
+    } catch (SnowflakeSQLException ex) {
+      // the error is reported when the iterator moves to the batch
+      return true;
+    }
+  }
+
+  /** Free a record batch the iterator has moved past */
+  private void releaseStreamedBatch(int index) {
+    long batchSize = 0;
+    getLock().lock();
+    try {
+      if (index < batchOfVectors.size()) {
+        batchOfVectors.get(index).forEach(ValueVector::close);
+        batchOfVectors.set(index, new ArrayList<>());
+        batchSize = batchMemorySizes.get(index);
+        batchMemorySizes.set(index, 0L);
+      }
+    } finally {
+      getLock().unlock();
+    }
+    if (batchSize > 0) {
+      batchMemoryAccounting.release(batchSize);
+    }
+  }
+
   /**
    * Read an inputStream of arrow data bytes and load them into java vectors of value. Note, there
    * is no copy of data involved once data is loaded into memory. a.k.a ArrowStreamReader originally
@@ -84,6 +276,22 @@ public class ArrowResultChunk extends SnowflakeResultChunk {
    * @throws IOException if failed to read data as arrow file
    */
   public void readArrowStream(InputStream is) throws IOException {
+    readArrowStream(is, null);
+  }
+
+  /**
+   * Read an inputStream of arrow data bytes and load them into java vectors of value. In streaming
+   * mode every record batch is published to the iterator as soon as it is loaded.
+   *
+   * @param is inputStream which contains arrow data file in bytes
+   * @param onFirstBatch in streaming mode, called once the first record batch is available
+   * @throws IOException if failed to read data as arrow file
+   */
+  void readArrowStream(InputStream is, Runnable onFirstBatch) throws IOException {
+    if (streaming) {
+      readArrowStreamBatches(is, onFirstBatch);
+      return;
+    }
     ArrayList<ValueVector> valueVectors = new ArrayList<>();
     try (ArrowStreamReader reader = new ArrowStreamReader(is, rootAllocator)) {
       root = reader.getVectorSchemaRoot();
@@ -113,19 +321,91 @@ public class ArrowResultChunk extends SnowflakeResultChunk {
     }
   }
 
+  private void readArrowStreamBatches(InputStream is, Runnable onFirstBatch) throws IOException {
+    int generation;
+    getLock().lock();
+    try {
+      generation = streamGeneration;
+    } finally {
+      getLock().unlock();
+    }
+    ArrayList<ValueVector> valueVectors = new ArrayList<>();
+    boolean published = false;
+    String error = null;
+    try (ArrowStreamReader reader = new ArrowStreamReader(is, rootAllocator)) {
+      root = reader.getVectorSchemaRoot();
+      while (reader.loadNextBatch()) {
+        valueVectors = new ArrayList<>();
+
+        for (FieldVector f : root.getFieldVectors()) {
+          // transfer will not copy data but transfer ownership of memory
+          // from streamReader to resultChunk
+          TransferPair t = f.getTransferPair(rootAllocator);
+          t.transfer();
+          valueVectors.add(t.getTo());
+        }
+        root.clear();
+
+        if (!addStreamedBatch(valueVectors, generation)) {
+          // the chunk has been freed or reset, stop decoding
+          valueVectors.forEach(ValueVector::close);
+          return;
+        }
+        valueVectors = new ArrayList<>();
+        if (!published) {
+          published = true;
+          if (onFirstBatch != null) {
+            onFirstBatch.run();
+          }
+        }
+      }
+    } catch (ClosedByInterruptException cbie) {
+      // happens when the statement is closed before finish parsing
+      logger.debug("Interrupted when loading Arrow result", cbie);
+      valueVectors.forEach(ValueVector::close);
+      error = "Interrupted when loading Arrow result";
+    } catch (Exception ex) {
+      valueVectors.forEach(ValueVector::close);
+      error = ex.getLocalizedMessage();
+      if (!published) {
+        // nothing handed to the consumer yet, the downloader can retry the chunk
+        freeData();
+      }
+      throw ex;
+    } finally {
+      completeStream(generation, error);
+    }
+  }
+
   @Override
   public void reset() {
     freeData();
     this.batchOfVectors.clear();
+    if (streaming) {
+      getLock().lock();
+      try {
+        streamGeneration++;
+        streamComplete = false;
+        streamError = null;
+        streamClosed = false;
+      } finally {
+        getLock().unlock();
+      }
+    }
   }
 
   @Override
   public long computeNeededChunkMemory() {
-    return getUncompressedSize();
+    // in streaming mode memory is reserved per record batch
+    return streaming ? 0 : getUncompressedSize();
   }
 
   @Override
   public void freeData() {
+    if (streaming) {
+      freeStreamedData();
+      return;
+    }
     batchOfVectors.forEach(list -> list.forEach(ValueVector::close));
     this.batchOfVectors.clear();
     if (firstResultChunkSortedIndices != null) {
@@ -137,6 +417,26 @@ public class ArrowResultChunk extends SnowflakeResultChunk {
     }
   }
 
+  private void freeStreamedData() {
+    long batchSize = 0;
+    getLock().lock();
+    try {
+      streamClosed = true;
+      batchOfVectors.forEach(list -> list.forEach(ValueVector::close));
+      batchOfVectors.clear();
+      for (long size : batchMemorySizes) {
+        batchSize += size;
+      }
+      batchMemorySizes.clear();
+      // the schema root belongs to the stream reader of the decoder and is closed with it
+    } finally {
+      getLock().unlock();
+    }
+    if (batchSize > 0) {
+      batchMemoryAccounting.release(batchSize);
+    }
+  }
+
   /**
    * @param dataConversionContext DataConversionContext
    * @return an iterator to iterate over current chunk
@@ -181,7 +481,8 @@ public class ArrowResultChunk extends SnowflakeResultChunk {
 
     ArrowChunkIterator(DataConversionContext dataConversionContext) {
       this.currentRecordBatchIndex = -1;
-      this.totalRecordBatch = batchOfVectors.size();
+      // in streaming mode the number of record batches is only known at the end of the stream
+      this.totalRecordBatch = streaming ? Integer.MAX_VALUE : batchOfVectors.size();
       this.currentRowInRecordBatch = -1;
       this.rowCountInCurrentRecordBatch = 0;
       this.dataConversionContext = dataConversionContext;
@@ -215,6 +516,8 @@ public class ArrowResultChunk extends SnowflakeResultChunk {
       if (currentRowInRecordBatch < rowCountInCurrentRecordBatch) {
         // still in current recordbatch
         return true;
+      } else if (streaming) {
+        return nextStreamedBatch();
       } else {
         currentRecordBatchIndex++;
         if (currentRecordBatchIndex < totalRecordBatch) {
@@ -242,7 +545,50 @@ public class ArrowResultChunk extends SnowflakeResultChunk {
       return false;
     }
 
+    /**
+     * Skip the remaining rows of the current record batch and move to the next one, to read the
+     * chunk batch by batch instead of row by row
+     *
+     * @return vectors of the next record batch, or null at the end of the chunk
+     * @throws SnowflakeSQLException if the next record batch cannot be read
+     */
+    public List<ValueVector> nextRecordBatch() throws SnowflakeSQLException {
+      currentRowInRecordBatch = Math.max(currentRowInRecordBatch, rowCountInCurrentRecordBatch - 1);
+      if (!next()) {
+        return null;
+      }
+      return streaming
+          ? awaitStreamedBatch(currentRecordBatchIndex)
+          : batchOfVectors.get(currentRecordBatchIndex);
+    }
+
+    /** Move to the next record batch of a streamed chunk, freeing the one we leave */
+    private boolean nextStreamedBatch() throws SnowflakeSQLException {
+      if (currentRecordBatchIndex >= totalRecordBatch) {
+        return false;
+      }
+      if (currentRecordBatchIndex >= 0) {
+        releaseStreamedBatch(currentRecordBatchIndex);
+      }
+      currentRecordBatchIndex++;
+      List<ValueVector> batch = awaitStreamedBatch(currentRecordBatchIndex);
+      if (batch == null) {
+        totalRecordBatch = currentRecordBatchIndex;
+        rowCountInCurrentRecordBatch = 0;
+        return false;
+      }
+      this.currentRowInRecordBatch = 0;
+      this.rowCountInCurrentRecordBatch = batch.get(0).getValueCount();
+      currentConverters = initConverters(batch);
+      return true;
+    }
+
     public boolean isLast() {
+      if (streaming) {
+        return currentRowInRecordBatch + 1 == rowCountInCurrentRecordBatch
+            && currentRecordBatchIndex < totalRecordBatch
+            && !hasStreamedBatch(currentRecordBatchIndex + 1);
+      }
       return currentRecordBatchIndex + 1 == totalRecordBatch
           && currentRowInRecordBatch + 1 == rowCountInCurrentRecordBatch;
     }
@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.jdbc;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.net.ssl.SSLHandshakeException;
+import javax.net.ssl.SSLKeyException;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLProtocolException;
+import net.snowflake.client.core.AsyncHttpUtil;
+import net.snowflake.client.core.SnowflakeJdbcInternalApi;
+import net.snowflake.client.core.TimeoutScheduler;
+import net.snowflake.client.core.URLUtil;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+import net.snowflake.client.util.DecorrelatedJitterBackoff;
+import net.snowflake.client.util.SecretDetector;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.http.client.methods.HttpRequestBase;
+
+/**
+ * Non-blocking counterpart of {@link RestRequest} for the async HTTP transport.
+ *
+ * <p>A request is retried with the rules of {@link RestRequest#execute}: the same status codes and
+ * exceptions are retried, with the same backoff, retry timeout, maximum number of retries and retry
+ * parameters. Instead of sleeping, the next attempt is scheduled on a timer, so no thread waits for
+ * a response or for a retry.
+ *
+ * <p>Login and authenticator requests, which renew their credentials between retries, are not
+ * supported and use the blocking transport.
+ */
+@SnowflakeJdbcInternalApi
+public class AsyncRestRequest {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(AsyncRestRequest.class);
+
+  /**
+   * Execute an HTTP request with retry logic.
+   *
+   * <p>The returned future completes on a thread of the HTTP client or of the {@link
+   * TimeoutScheduler}; dependent stages which block must use an executor.
+   *
+   * @param httpClient client executing the request
+   * @param httpRequest request, its URI is updated with the parameters of each retry
+   * @param retryTimeout retry timeout (in seconds)
+   * @param maxRetries max retry count for the request
+   * @param canceling canceling flag
+   * @param includeRetryParameters whether to include retry parameters in retried requests
+   * @param includeRequestGuid whether to include request_guid parameter
+   * @param retryHTTP403 whether to retry on HTTP 403 or not
+   * @param noRetry should we disable retry on non-successful http resp code
+   * @return future of the last response, which may not be successful, or of a {@link
+   *     SnowflakeSQLException} if the last attempt failed without a response. Cancelling the future
+   *     aborts the request.
+   */
+  public static CompletableFuture<SimpleHttpResponse> execute(
+      CloseableHttpAsyncClient httpClient,
+      HttpRequestBase httpRequest,
+      long retryTimeout,
+      int maxRetries,
+      AtomicBoolean canceling,
+      boolean includeRetryParameters,
+      boolean includeRequestGuid,
+      boolean retryHTTP403,
+      boolean noRetry) {
+    Execution execution =
+        new Execution(
+            httpClient,
+            httpRequest,
+            retryTimeout,
+            maxRetries,
+            canceling,
+            includeRetryParameters,
+            includeRequestGuid,
+            retryHTTP403,
+            noRetry);
+    execution.attempt();
+    return execution.result;
+  }
+
+  /** State of the retry loop of one request */
+  private static class Execution implements FutureCallback<SimpleHttpResponse> {
+    private final CloseableHttpAsyncClient httpClient;
+    private final HttpRequestBase httpRequest;
+    private final long retryTimeout;
+    private final int maxRetries;
+    private final AtomicBoolean canceling;
+    private final boolean includeRetryParameters;
+    private final boolean includeRequestGuid;
+    private final boolean retryHTTP403;
+    private final boolean noRetry;
+
+    private final String requestInfoScrubbed;
+    private final String requestIdStr;
+    private final CompletableFuture<SimpleHttpResponse> result = new CompletableFuture<>();
+
+    // time the client started attempting to submit request
+    private final long startTime = System.currentTimeMillis();
+
+    // retry timeout (ms)
+    private final long retryTimeoutInMilliseconds;
+
+    private final DecorrelatedJitterBackoff backoff =
+        new DecorrelatedJitterBackoff(RestRequest.minBackoffInMilli, RestRequest.maxBackoffInMilli);
+
+    // the following fields are only accessed by the attempt in progress
+    private long startTimePerRequest;
+    private long elapsedMilliForTransientIssues = 0;
+    private long backoffInMilli = RestRequest.minBackoffInMilli;
+    private int retryCount = 0;
+    private String lastStatusCodeForRetry = "";
+
+    private volatile Future<SimpleHttpResponse> inFlight;
+
+    Execution(
+        CloseableHttpAsyncClient httpClient,
+        HttpRequestBase httpRequest,
+        long retryTimeout,
+        int maxRetries,
+        AtomicBoolean canceling,
+        boolean includeRetryParameters,
+        boolean includeRequestGuid,
+        boolean retryHTTP403,
+        boolean noRetry) {
+      this.httpClient = httpClient;
+      this.httpRequest = httpRequest;
+      this.retryTimeout = retryTimeout;
+      this.retryTimeoutInMilliseconds = retryTimeout * 1000;
+      this.maxRetries = maxRetries;
+      this.canceling = canceling;
+      this.includeRetryParameters = includeRetryParameters;
+      this.includeRequestGuid = includeRequestGuid;
+      this.retryHTTP403 = retryHTTP403;
+      this.noRetry = noRetry;
+      this.requestInfoScrubbed = SecretDetector.maskSASToken(httpRequest.toString());
+      this.requestIdStr = URLUtil.getRequestIdLogStr(httpRequest.getURI());
+      result.whenComplete(
+          (response, ex) -> {
+            Future<SimpleHttpResponse> current = inFlight;
+            if (result.isCancelled() && current != null) {
+              current.cancel(true);
+            }
+          });
+    }
+
+    void attempt() {
+      if (result.isDone()) {
+        return;
+      }
+      logger.debug(
+          "{}Retry count: {}, max retries: {}, retry timeout: {} s, backoff: {} ms. Attempting async request: {}",
+          requestIdStr,
+          retryCount,
+          maxRetries,
+          retryTimeout,
+          backoffInMilli,
+          requestInfoScrubbed);
+      startTimePerRequest = System.currentTimeMillis();
+      try {
+        RestRequest.setRequestURI(
+            httpRequest,
+            requestIdStr,
+            includeRetryParameters,
+            includeRequestGuid,
+            retryCount,
+            lastStatusCodeForRetry,
+            startTime,
+            requestInfoScrubbed);
+        inFlight = httpClient.execute(AsyncHttpUtil.toAsyncRequest(httpRequest), this);
+      } catch (Exception ex) {
+        failed(ex);
+      }
+    }
+
+    @Override
+    public void completed(SimpleHttpResponse response) {
+      attemptDone(response, null);
+    }
+
+    @Override
+    public void failed(Exception ex) {
+      if (ex instanceof IllegalStateException) {
+        // e.g. the client was closed, fail immediately and stop retrying
+        result.completeExceptionally(
+            new SnowflakeSQLLoggedException(null, ErrorCode.INVALID_STATE, ex, ex.getMessage()));
+        return;
+      }
+      if (ex instanceof SSLHandshakeException
+          || ex instanceof SSLKeyException
+          || ex instanceof SSLPeerUnverifiedException
+          || ex instanceof SSLProtocolException) {
+        // if an SSL issue occurs then fail immediately and stop retrying the requests
+        result.completeExceptionally(
+            new SnowflakeSQLLoggedException(
+                null, ErrorCode.NETWORK_ERROR, ex, RestRequest.getSSLErrorMessage(ex)));
+        return;
+      }
+      logger.debug(
+          "{}Exception encountered for: {}, {}",
+          requestIdStr,
+          requestInfoScrubbed,
+          ex.getLocalizedMessage());
+      attemptDone(null, ex);
+    }
+
+    @Override
+    public void cancelled() {
+      result.completeExceptionally(new CancellationException("HTTP request was cancelled"));
+    }
+
+    private void attemptDone(SimpleHttpResponse response, Exception savedEx) {
+      if (result.isDone()) {
+        return;
+      }
+      if (noRetry
+          || RestRequest.isCertificateRevoked(savedEx)
+          || (response != null
+              && RestRequest.isNonRetryableHTTPCode(response.getCode(), retryHTTP403))) {
+        if (noRetry) {
+          logger.debug(
+              "{}HTTP retry disabled for this request. noRetry: {}", requestIdStr, noRetry);
+        }
+        complete(response, savedEx);
+        return;
+      }
+
+      if (response != null) {
+        logger.debug(
+            "{}HTTP response not ok: status code: {}, request: {}",
+            requestIdStr,
+            response.getCode(),
+            requestInfoScrubbed);
+      } else {
+        logger.debug(
+            "{}Null response for cause: {}, request: {}",
+            requestIdStr,
+            RestRequest.getRootCause(savedEx).getMessage(),
+            requestInfoScrubbed);
+      }
+
+      long elapsedMilliForLastCall = System.currentTimeMillis() - startTimePerRequest;
+
+      // check canceling flag
+      if (canceling != null && canceling.get()) {
+        logger.debug("{}Stop retrying since canceling is requested", requestIdStr);
+        complete(response, savedEx);
+        return;
+      }
+
+      boolean stopRetrying = false;
+      if (retryTimeoutInMilliseconds > 0) {
+        elapsedMilliForTransientIssues += elapsedMilliForLastCall;
+        if (elapsedMilliForTransientIssues > retryTimeoutInMilliseconds
+            && retryCount >= RestRequest.MIN_RETRY_COUNT) {
+          logger.error(
+              "{}Stop retrying since elapsed time due to network "
+                  + "issues has reached timeout. "
+                  + "Elapsed: {} ms, timeout: {} ms",
+              requestIdStr,
+              elapsedMilliForTransientIssues,
+              retryTimeoutInMilliseconds);
+          stopRetrying = true;
+        }
+      }
+      if (maxRetries > 0 && retryCount > maxRetries) {
+        logger.error(
+            "{}Stop retrying as max retries have been reached for request: {}! Max retry count: {}",
+            requestIdStr,
+            requestInfoScrubbed,
+            maxRetries);
+        stopRetrying = true;
+      }
+      if (stopRetrying) {
+        complete(response, savedEx);
+        return;
+      }
+
+      long delayInMilli = 0;
+      if (backoffInMilli > elapsedMilliForLastCall) {
+        logger.debug(
+            "{}Retry request {}: backing off for {} ms",
+            requestIdStr,
+            requestInfoScrubbed,
+            backoffInMilli);
+        delayInMilli = backoffInMilli;
+        elapsedMilliForTransientIssues += backoffInMilli;
+        backoffInMilli =
+            RestRequest.getNewBackoffInMilli(
+                backoffInMilli,
+                false,
+                backoff,
+                retryCount,
+                retryTimeoutInMilliseconds,
+                elapsedMilliForTransientIssues);
+      }
+
+      retryCount++;
+      lastStatusCodeForRetry = response == null ? "0" : String.valueOf(response.getCode());
+      try {
+        TimeoutScheduler.scheduleDelay(this::attempt, delayInMilli, TimeUnit.MILLISECONDS);
+      } catch (Exception ex) {
+        complete(response, ex);
+      }
+    }
+
+    /** Complete with the last response, or the exception of the last attempt */
+    private void complete(SimpleHttpResponse response, Exception savedEx) {
+      if (response == null) {
+        logger.error(
+            "{}Returning null response. Cause: {}, request: {}",
+            requestIdStr,
+            RestRequest.getRootCause(savedEx),
+            requestInfoScrubbed);
+        result.completeExceptionally(
+            new SnowflakeSQLException(
+                savedEx,
+                ErrorCode.NETWORK_ERROR,
+                "Exception encountered for HTTP request: " + savedEx.getMessage()));
+        return;
+      }
+      if (response.getCode() != 200) {
+        logger.error(
+            "{}Error response: HTTP Response code: {}, request: {}",
+            requestIdStr,
+            response.getCode(),
+            requestInfoScrubbed);
+      }
+      logger.debug(
+          "{}Execution of async request {} took {} ms with total of {} retries",
+          requestIdStr,
+          requestInfoScrubbed,
+          System.currentTimeMillis() - startTime,
+          retryCount);
+      result.complete(response);
+    }
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.jdbc;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Driver-wide thread pool for the decode stage of the chunk pipeline.
+ *
+ * <p>Downloading a chunk is bound by the network, decompressing and parsing it by the CPU. With the
+ * pipeline enabled, download threads only fetch the compressed bytes and hand them to this pool,
+ * which is sized to the number of cores by default, independently of the number of download
+ * threads. As decoding is CPU bound, one pool is shared by all result sets; more threads than cores
+ * would not decode faster. The number of threads of the pool is fixed; each result set submits to a
+ * {@link DecodeQueue}, which may run fewer of its decodes at a time.
+ *
+ * <p>Threads are created on demand and exit after being idle for a while.
+ */
+class ChunkDecodeExecutor {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(ChunkDecodeExecutor.class);
+
+  private static final String THREAD_NAME_PREFIX = "result-chunk-decoder-";
+
+  /** Default number of decode threads */
+  static final int DEFAULT_MAX_THREADS = Runtime.getRuntime().availableProcessors();
+
+  /** Time an idle thread is kept around before it exits */
+  private static final long KEEP_ALIVE_MILLIS = 60 * 1000;
+
+  private static final ChunkDecodeExecutor instance =
+      new ChunkDecodeExecutor(DEFAULT_MAX_THREADS, KEEP_ALIVE_MILLIS);
+
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * @return the driver-wide decode executor
+   */
+  static ChunkDecodeExecutor getInstance() {
+    return instance;
+  }
+
+  ChunkDecodeExecutor(int maxThreads, long keepAliveMillis) {
+    if (maxThreads < 1) {
+      throw new IllegalArgumentException("maxThreads must be positive: " + maxThreads);
+    }
+    AtomicInteger threadCount = new AtomicInteger(1);
+    ThreadFactory threadFactory =
+        r -> {
+          Thread thread = new Thread(r);
+          thread.setName(THREAD_NAME_PREFIX + threadCount.getAndIncrement());
+          thread.setDaemon(true);
+          thread.setUncaughtExceptionHandler(
+              (t, e) -> logger.error("Uncaught Exception in thread {}: {}", t, e));
+          return thread;
+        };
+    // the queue is bounded by the compressed chunks which have memory reserved by their downloader
+    executor =
+        new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            keepAliveMillis,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            threadFactory);
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  int getMaxThreads() {
+    return executor.getMaximumPoolSize();
+  }
+
+  /**
+   * @param maxThreads maximum number of decodes of the queue running at a time, 0 for the number of
+   *     threads of the pool
+   * @return a queue a downloader submits its decode tasks to
+   */
+  DecodeQueue newQueue(int maxThreads) {
+    return new DecodeQueue(maxThreads);
+  }
+
+  /** Decode tasks of one result set, the tasks over its limit wait in the queue */
+  final class DecodeQueue {
+    private final int maxThreads;
+
+    // guarded by this
+    private final Deque<DecodeTask> pending = new ArrayDeque<>();
+    private int running = 0;
+
+    private DecodeQueue(int maxThreads) {
+      this.maxThreads =
+          maxThreads > 0
+              ? Math.min(maxThreads, executor.getMaximumPoolSize())
+              : executor.getMaximumPoolSize();
+    }
+
+    int getMaxThreads() {
+      return maxThreads;
+    }
+
+    /**
+     * @param task decode task
+     * @param discard called instead of the task if the task is cancelled before it starts, to
+     *     release what the task would have released
+     * @return future of the task, cancelling it interrupts a running decode
+     */
+    Future<?> submit(Runnable task, Runnable discard) {
+      DecodeTask decodeTask = new DecodeTask(task, discard);
+      synchronized (this) {
+        if (running >= maxThreads) {
+          pending.addLast(decodeTask);
+          return decodeTask;
+        }
+        running++;
+      }
+      execute(decodeTask);
+      return decodeTask;
+    }
+
+    private void execute(DecodeTask task) {
+      executor.execute(
+          () -> {
+            try {
+              task.run();
+            } finally {
+              taskFinished();
+            }
+          });
+    }
+
+    /** Run the next pending task in place of a finished one */
+    private void taskFinished() {
+      DecodeTask next;
+      synchronized (this) {
+        next = pending.pollFirst();
+        if (next == null) {
+          running--;
+          return;
+        }
+      }
+      execute(next);
+    }
+  }
+
+  /** Either the task or its discard action runs, exactly once */
+  private static final class DecodeTask extends FutureTask<Void> {
+    private final AtomicBoolean claimed;
+    private final Runnable discard;
+
+    private DecodeTask(Runnable task, Runnable discard) {
+      this(task, discard, new AtomicBoolean());
+    }
+
+    private DecodeTask(Runnable task, Runnable discard, AtomicBoolean claimed) {
+      super(
+          () -> {
+            if (claimed.compareAndSet(false, true)) {
+              task.run();
+            }
+          },
+          null);
+      this.claimed = claimed;
+      this.discard = discard;
+    }
+
+    @Override
+    protected void done() {
+      if (isCancelled() && claimed.compareAndSet(false, true)) {
+        discard.run();
+      }
+    }
+  }
+}
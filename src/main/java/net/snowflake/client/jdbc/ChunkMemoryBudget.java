@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.jdbc;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import net.snowflake.client.core.SFBaseSession;
+
+/**
+ * Memory budget for result chunks, shared by all chunk downloaders in the JVM.
+ *
+ * <p>Every reservation is charged against a chain of accounts: the statement (result set) account,
+ * its connection account and the global total. The global total is checked against the memory limit
+ * of the caller (CLIENT_MEMORY_LIMIT); connection and statement accounts may carry their own, lower
+ * limits. A caller that cannot reserve memory can park until another chunk is released instead of
+ * polling.
+ *
+ * <p>A single reservation larger than a limit is allowed when nothing else is reserved against that
+ * limit, otherwise a big chunk could never be downloaded.
+ */
+class ChunkMemoryBudget {
+  private static final ChunkMemoryBudget instance = new ChunkMemoryBudget();
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition memoryReleased = lock.newCondition();
+
+  // connection accounts, dropped together with their session
+  private final Map<SFBaseSession, Account> connectionAccounts = new WeakHashMap<>();
+
+  private long reservedBytes = 0;
+
+  private int waiterCount = 0;
+
+  /**
+   * @return the budget shared by all result sets in the JVM
+   */
+  static ChunkMemoryBudget getInstance() {
+    return instance;
+  }
+
+  /**
+   * Get the account of a connection, creating it if needed.
+   *
+   * @param session the session, may be null
+   * @param limit limit in bytes for all result sets of this connection, 0 means no limit
+   * @return connection account, or null if session is null
+   */
+  Account getConnectionAccount(SFBaseSession session, long limit) {
+    if (session == null) {
+      return null;
+    }
+    lock.lock();
+    try {
+      Account account = connectionAccounts.get(session);
+      if (account == null) {
+        account = new Account(null, limit);
+        connectionAccounts.put(session, account);
+      } else {
+        account.limit = limit;
+      }
+      return account;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Create an account for one result set.
+   *
+   * @param connectionAccount parent account, may be null
+   * @param limit limit in bytes for this result set, 0 means no limit
+   * @return statement account
+   */
+  Account newStatementAccount(Account connectionAccount, long limit) {
+    return new Account(connectionAccount, limit);
+  }
+
+  /**
+   * Reserve memory if it is available right now.
+   *
+   * @param account statement account to charge
+   * @param bytes bytes to reserve
+   * @param globalLimit limit of the JVM-wide reserved memory for this caller
+   * @return true if the memory was reserved
+   */
+  boolean tryReserve(Account account, long bytes, long globalLimit) {
+    lock.lock();
+    try {
+      if (!fits(account, bytes, globalLimit)) {
+        return false;
+      }
+      add(account, bytes);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reserve memory, waiting until enough is released by other result sets.
+   *
+   * @param account statement account to charge
+   * @param bytes bytes to reserve
+   * @param globalLimit limit of the JVM-wide reserved memory for this caller
+   * @param timeoutMillis maximum time to wait
+   * @return true if the memory was reserved, false on timeout
+   * @throws InterruptedException if interrupted while waiting
+   */
+  boolean reserve(Account account, long bytes, long globalLimit, long timeoutMillis)
+      throws InterruptedException {
+    lock.lock();
+    try {
+      if (fits(account, bytes, globalLimit)) {
+        add(account, bytes);
+        return true;
+      }
+      long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+      updateWaiters(account, 1);
+      try {
+        while (!fits(account, bytes, globalLimit)) {
+          if (nanos <= 0) {
+            return false;
+          }
+          nanos = memoryReleased.awaitNanos(nanos);
+        }
+      } finally {
+        updateWaiters(account, -1);
+      }
+      add(account, bytes);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reserve memory regardless of the limits. Used to guarantee progress when a consumer has waited
+   * too long.
+   *
+   * @param account statement account to charge
+   * @param bytes bytes to reserve
+   */
+  void forceReserve(Account account, long bytes) {
+    lock.lock();
+    try {
+      add(account, bytes);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Release memory and wake up the waiters.
+   *
+   * @param account statement account the memory was charged to
+   * @param bytes bytes to release
+   */
+  void release(Account account, long bytes) {
+    lock.lock();
+    try {
+      add(account, -bytes);
+      if (waiterCount > 0) {
+        memoryReleased.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return bytes currently reserved in the JVM
+   */
+  long getReservedBytes() {
+    lock.lock();
+    try {
+      return reservedBytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return number of threads currently waiting for memory
+   */
+  int getWaiterCount() {
+    lock.lock();
+    try {
+      return waiterCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean fits(Account account, long bytes, long globalLimit) {
+    if (reservedBytes > 0 && reservedBytes + bytes > globalLimit) {
+      return false;
+    }
+    for (Account a = account; a != null; a = a.parent) {
+      if (a.limit > 0 && a.reservedBytes > 0 && a.reservedBytes + bytes > a.limit) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void add(Account account, long bytes) {
+    reservedBytes += bytes;
+    for (Account a = account; a != null; a = a.parent) {
+      a.reservedBytes += bytes;
+    }
+  }
+
+  private void updateWaiters(Account account, int delta) {
+    waiterCount += delta;
+    for (Account a = account; a != null; a = a.parent) {
+      a.waiterCount += delta;
+    }
+  }
+
+  /** Memory account of a connection or a result set. Guarded by the budget lock. */
+  final class Account {
+    private final Account parent;
+
+    private long limit;
+
+    private long reservedBytes = 0;
+
+    private int waiterCount = 0;
+
+    private Account(Account parent, long limit) {
+      this.parent = parent;
+      this.limit = limit;
+    }
+
+    /**
+     * @return bytes reserved by this account and its children
+     */
+    long getReservedBytes() {
+      lock.lock();
+      try {
+        return reservedBytes;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * @return number of threads waiting for memory on this account or its children
+     */
+    int getWaiterCount() {
+      lock.lock();
+      try {
+        return waiterCount;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.jdbc;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import net.snowflake.client.core.TimeoutScheduler;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+import org.apache.http.client.methods.HttpRequestBase;
+
+/**
+ * Hedged requests for the result chunks of a query.
+ *
+ * <p>A chunk download is only retried after it failed or its socket timed out, so a single slow
+ * response delays the whole result set. When the download of a chunk has taken longer than a
+ * percentile of the download times of the chunks already completed for the query, the hedger issues
+ * a second download of the same chunk. Whichever download completes first is used, the other one is
+ * aborted. If one of the downloads fails, the result of the other one is used.
+ *
+ * <p>Hedging starts once enough chunks have completed to estimate the percentile. The number of
+ * hedged downloads of a query is capped, so a uniformly slow storage does not double the load. A
+ * download is not hedged if the memory for the duplicate response cannot be reserved.
+ *
+ * <p>The first download runs on the calling thread; hedged downloads are started by the driver-wide
+ * {@link TimeoutScheduler} and run on a bounded pool of daemon threads. A download is not hedged
+ * while all of them are busy.
+ */
+class ChunkRequestHedger {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(ChunkRequestHedger.class);
+
+  /** Percentile of the completed download times after which a download is hedged */
+  static final double HEDGE_PERCENTILE = 0.95;
+
+  /** Completed downloads needed before hedging starts */
+  static final int MIN_SAMPLES = 5;
+
+  /** Downloads are never hedged earlier than this */
+  static final long MIN_HEDGE_DELAY_MILLIS = 50;
+
+  /** Share of the chunks of a query which may be hedged */
+  static final double HEDGE_BUDGET_RATIO = 0.05;
+
+  /** Maximum number of hedged downloads running at the same time in the driver */
+  static final int MAX_HEDGE_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+  /** Memory of a hedged download which reserves none */
+  static final HedgeMemory NO_HEDGE_MEMORY =
+      new HedgeMemory() {
+        @Override
+        public boolean tryReserve() {
+          return true;
+        }
+
+        @Override
+        public void release() {}
+      };
+
+  private static final ExecutorService hedgeExecutor = createHedgeExecutor();
+
+  private final int maxHedges;
+
+  private final AtomicInteger hedgesIssued = new AtomicInteger();
+  private final AtomicInteger hedgesWon = new AtomicInteger();
+
+  // completed download times in millis, sorted lazily
+  private long[] samples = new long[16];
+  private int sampleCount = 0;
+  private long hedgeDelayMillis = -1;
+  private boolean hedgeDelayValid = false;
+
+  /**
+   * @param maxHedges maximum number of hedged downloads
+   */
+  ChunkRequestHedger(int maxHedges) {
+    this.maxHedges = maxHedges;
+  }
+
+  /**
+   * @param chunkCount number of chunks of the query
+   * @return a hedger with the default budget for the query
+   */
+  static ChunkRequestHedger forChunkCount(int chunkCount) {
+    return new ChunkRequestHedger(Math.max(1, (int) Math.ceil(chunkCount * HEDGE_BUDGET_RATIO)));
+  }
+
+  /**
+   * @return number of hedged downloads issued
+   */
+  int getHedgesIssued() {
+    return hedgesIssued.get();
+  }
+
+  /**
+   * @return number of hedged downloads which completed before the download they hedged
+   */
+  int getHedgesWon() {
+    return hedgesWon.get();
+  }
+
+  /**
+   * @return time after which a download is hedged, -1 if downloads are not hedged (yet)
+   */
+  synchronized long getHedgeDelayMillis() {
+    if (!hedgeDelayValid) {
+      hedgeDelayValid = true;
+      if (sampleCount < MIN_SAMPLES) {
+        hedgeDelayMillis = -1;
+      } else {
+        Arrays.sort(samples, 0, sampleCount);
+        int index = (int) Math.ceil(HEDGE_PERCENTILE * sampleCount) - 1;
+        hedgeDelayMillis = Math.max(MIN_HEDGE_DELAY_MILLIS, samples[index]);
+      }
+    }
+    return hedgeDelayMillis;
+  }
+
+  /**
+   * @param millis time a completed download took
+   */
+  synchronized void recordDownloadTime(long millis) {
+    if (sampleCount == samples.length) {
+      samples = Arrays.copyOf(samples, 2 * samples.length);
+    }
+    samples[sampleCount++] = millis;
+    hedgeDelayValid = false;
+  }
+
+  private boolean tryAcquireHedge() {
+    int issued;
+    do {
+      issued = hedgesIssued.get();
+      if (issued >= maxHedges) {
+        return false;
+      }
+    } while (!hedgesIssued.compareAndSet(issued, issued + 1));
+    return true;
+  }
+
+  /**
+   * Run a download, hedged if it takes too long
+   *
+   * @param download the download, run once or twice concurrently
+   * @param discard called with the result of a download which completed after the other one
+   * @param <T> download result type
+   * @return result of the download which completed first
+   * @throws Exception exception of the first download if both downloads failed
+   */
+  <T> T execute(Download<T> download, Consumer<T> discard) throws Exception {
+    return execute(download, discard, NO_HEDGE_MEMORY);
+  }
+
+  /**
+   * Run a download, hedged if it takes too long and the memory of the hedged download is reserved
+   *
+   * @param download the download, run once or twice concurrently
+   * @param discard called with the result of a download which completed after the other one
+   * @param hedgeMemory memory reserved while a hedged download runs
+   * @param <T> download result type
+   * @return result of the download which completed first
+   * @throws Exception exception of the first download if both downloads failed
+   */
+  <T> T execute(Download<T> download, Consumer<T> discard, HedgeMemory hedgeMemory)
+      throws Exception {
+    long startTime = System.currentTimeMillis();
+    long delay = getHedgeDelayMillis();
+    if (delay < 0 || hedgesIssued.get() >= maxHedges) {
+      T result = download.download(new Attempt());
+      recordDownloadTime(System.currentTimeMillis() - startTime);
+      return result;
+    }
+
+    Race<T> race = new Race<>();
+    TimeoutScheduler.Timeout hedgeTimer =
+        TimeoutScheduler.scheduleDelay(
+            () -> {
+              try {
+                hedgeExecutor.execute(() -> hedge(race, download, discard, hedgeMemory));
+              } catch (RejectedExecutionException ex) {
+                logger.debug("All hedged chunk download threads are busy, not hedging");
+              } catch (Exception ex) {
+                logger.debug("Failed to start a hedged chunk download: {}", ex.getMessage());
+              }
+            },
+            delay,
+            TimeUnit.MILLISECONDS);
+
+    T result = null;
+    Exception failure = null;
+    try {
+      result = download.download(race.primary);
+    } catch (Exception ex) {
+      failure = ex;
+    }
+
+    boolean primaryWon;
+    Attempt hedge;
+    synchronized (race) {
+      primaryWon = !race.done;
+      hedge = race.hedge;
+      // a failed download waits for the hedged one, if there is one
+      if (failure == null || hedge == null) {
+        race.done = true;
+      }
+    }
+    hedgeTimer.cancel();
+
+    if (failure == null) {
+      if (primaryWon) {
+        if (hedge != null) {
+          hedge.cancel();
+        }
+        recordDownloadTime(System.currentTimeMillis() - startTime);
+        return result;
+      }
+      // the hedged download completed first, this one only finished before it was aborted
+      discard.accept(result);
+      return race.getHedgeResult(hedge);
+    }
+    if (hedge == null) {
+      throw failure;
+    }
+    try {
+      return race.getHedgeResult(hedge);
+    } catch (InterruptedException ex) {
+      throw ex;
+    } catch (Exception hedgeFailure) {
+      throw failure;
+    }
+  }
+
+  private <T> void hedge(
+      Race<T> race, Download<T> download, Consumer<T> discard, HedgeMemory hedgeMemory) {
+    if (!hedgeMemory.tryReserve()) {
+      logger.debug("Not enough memory for a hedged chunk download, not hedging");
+      return;
+    }
+    Attempt attempt;
+    synchronized (race) {
+      if (race.done || !tryAcquireHedge()) {
+        hedgeMemory.release();
+        return;
+      }
+      attempt = new Attempt();
+      race.hedge = attempt;
+    }
+    logger.debug("Issuing hedged chunk download #{}", hedgesIssued.get());
+    long startTime = System.currentTimeMillis();
+    try {
+      T result = download.download(attempt);
+      boolean won;
+      synchronized (race) {
+        won = !race.done;
+        race.done = true;
+      }
+      if (won) {
+        hedgesWon.incrementAndGet();
+        recordDownloadTime(System.currentTimeMillis() - startTime);
+        race.hedgeResult.complete(result);
+        race.primary.cancel();
+      } else {
+        discard.accept(result);
+      }
+    } catch (Throwable th) {
+      race.hedgeResult.completeExceptionally(th);
+    } finally {
+      // once the race is decided only one response of the chunk is kept
+      hedgeMemory.release();
+    }
+  }
+
+  /** Memory charged for the duplicate response of a hedged download */
+  interface HedgeMemory {
+    /**
+     * @return true if the memory has been reserved, the download is not hedged otherwise
+     */
+    boolean tryReserve();
+
+    /** Release the memory reserved by {@link #tryReserve()} */
+    void release();
+  }
+
+  /** A download of a chunk, run by the hedger */
+  @FunctionalInterface
+  interface Download<T> {
+    /**
+     * @param attempt the attempt to register the request with, so it can be aborted
+     * @return the downloaded chunk
+     * @throws Exception if the download fails or is aborted
+     */
+    T download(Attempt attempt) throws Exception;
+  }
+
+  /** One of the downloads of a chunk, aborted if the other download completes first */
+  static class Attempt {
+    private final AtomicBoolean canceling = new AtomicBoolean(false);
+    private volatile HttpRequestBase request;
+
+    /**
+     * @return flag to stop retrying the request once the attempt is cancelled
+     */
+    AtomicBoolean getCanceling() {
+      return canceling;
+    }
+
+    /**
+     * @param request the request of this attempt, aborted if the attempt is cancelled
+     */
+    void setRequest(HttpRequestBase request) {
+      this.request = request;
+      if (canceling.get()) {
+        request.abort();
+      }
+    }
+
+    void cancel() {
+      canceling.set(true);
+      HttpRequestBase currentRequest = request;
+      if (currentRequest != null) {
+        currentRequest.abort();
+      }
+    }
+  }
+
+  /** State shared by the first and the hedged download of a chunk */
+  private static class Race<T> {
+    private final Attempt primary = new Attempt();
+    private final CompletableFuture<T> hedgeResult = new CompletableFuture<>();
+
+    // guarded by this: a download won, or the first one completed and no hedge may start
+    private boolean done = false;
+    private Attempt hedge = null;
+
+    private T getHedgeResult(Attempt hedgeAttempt) throws Exception {
+      try {
+        return hedgeResult.get();
+      } catch (InterruptedException ex) {
+        hedgeAttempt.cancel();
+        throw ex;
+      } catch (ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof Exception) {
+          throw (Exception) cause;
+        }
+        throw ex;
+      }
+    }
+  }
+
+  private static ThreadFactory daemonThreadFactory(String namePrefix) {
+    AtomicInteger threadCount = new AtomicInteger(1);
+    return r -> {
+      Thread thread = new Thread(r);
+      thread.setName(namePrefix + threadCount.getAndIncrement());
+      thread.setDaemon(true);
+      thread.setUncaughtExceptionHandler(
+          (t, e) -> logger.error("Uncaught Exception in thread {}: {}", t, e));
+      return thread;
+    };
+  }
+
+  private static ExecutorService createHedgeExecutor() {
+    // no queue: a hedge which cannot start right away is pointless, it is rejected instead
+    return new ThreadPoolExecutor(
+        0,
+        MAX_HEDGE_THREADS,
+        60L,
+        TimeUnit.SECONDS,
+        new SynchronousQueue<>(),
+        daemonThreadFactory("result-chunk-hedger-"));
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.jdbc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import net.snowflake.client.core.PooledBufferAllocator;
+import org.apache.http.Header;
+
+/**
+ * Compressed bytes of a result chunk, downloaded by the I/O stage of the chunk pipeline and handed
+ * to the decode stage, which decompresses and parses them.
+ *
+ * <p>The bytes are stored in fixed size segments borrowed from {@link PooledBufferAllocator}, so
+ * that steady state downloads do not allocate. {@link #release()} returns the segments to the pool.
+ */
+class CompressedChunkBuffer {
+  static final int SEGMENT_SIZE = 128 * 1024;
+
+  private final List<byte[]> segments = new ArrayList<>();
+
+  // Content-Encoding of the response, null if the compression is to be detected
+  private final Header encoding;
+
+  private long size = 0;
+
+  private volatile boolean released = false;
+
+  CompressedChunkBuffer(Header encoding) {
+    this.encoding = encoding;
+  }
+
+  /**
+   * Read a stream to its end
+   *
+   * @param is stream of compressed bytes, not closed by this method
+   * @param encoding Content-Encoding of the response
+   * @return buffer holding all bytes of the stream
+   * @throws IOException if the stream cannot be read
+   */
+  static CompressedChunkBuffer readFully(InputStream is, Header encoding) throws IOException {
+    CompressedChunkBuffer buffer = new CompressedChunkBuffer(encoding);
+    try {
+      buffer.readFrom(is);
+    } catch (IOException | RuntimeException ex) {
+      buffer.release();
+      throw ex;
+    }
+    return buffer;
+  }
+
+  private void readFrom(InputStream is) throws IOException {
+    byte[] segment = null;
+    int segmentPosition = SEGMENT_SIZE;
+    while (true) {
+      if (segmentPosition == SEGMENT_SIZE) {
+        segment = acquireSegment();
+        segments.add(segment);
+        segmentPosition = 0;
+      }
+      int len = is.read(segment, segmentPosition, SEGMENT_SIZE - segmentPosition);
+      if (len < 0) {
+        return;
+      }
+      segmentPosition += len;
+      size += len;
+    }
+  }
+
+  /**
+   * @return number of compressed bytes
+   */
+  long size() {
+    return size;
+  }
+
+  /**
+   * @return Content-Encoding of the response, null if the compression is to be detected
+   */
+  Header getEncoding() {
+    return encoding;
+  }
+
+  /**
+   * @return stream over the compressed bytes, valid until the buffer is released
+   */
+  InputStream getInputStream() {
+    return new SegmentInputStream();
+  }
+
+  /** Return the segments to the pool, the buffer must not be used afterwards */
+  synchronized void release() {
+    if (!released) {
+      released = true;
+      for (byte[] segment : segments) {
+        PooledBufferAllocator.heap().release(segment);
+      }
+      segments.clear();
+    }
+  }
+
+  private static byte[] acquireSegment() {
+    return PooledBufferAllocator.heap().allocate(SEGMENT_SIZE);
+  }
+
+  private class SegmentInputStream extends InputStream {
+    private long position = 0;
+
+    @Override
+    public int read() throws IOException {
+      if (position >= size) {
+        return -1;
+      }
+      byte b = segment()[(int) (position % SEGMENT_SIZE)];
+      position++;
+      return b & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      if (position >= size) {
+        return -1;
+      }
+      int segmentOffset = (int) (position % SEGMENT_SIZE);
+      int n = (int) Math.min(Math.min(len, SEGMENT_SIZE - segmentOffset), size - position);
+      System.arraycopy(segment(), segmentOffset, b, off, n);
+      position += n;
+      return n;
+    }
+
+    @Override
+    public int available() {
+      return (int) Math.min(Integer.MAX_VALUE, size - position);
+    }
+
+    private byte[] segment() throws IOException {
+      if (released) {
+        throw new IOException("Compressed chunk buffer was released");
+      }
+      return segments.get((int) (position / SEGMENT_SIZE));
+    }
+  }
+}
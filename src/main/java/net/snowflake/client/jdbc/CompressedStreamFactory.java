@@ -4,10 +4,13 @@ import static net.snowflake.client.core.Constants.MB;
 import static net.snowflake.common.core.FileCompressionType.GZIP;
 import static net.snowflake.common.core.FileCompressionType.ZSTD;
 
+import com.github.luben.zstd.BufferPool;
 import com.github.luben.zstd.ZstdInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.zip.GZIPInputStream;
+import net.snowflake.client.core.PooledBufferAllocator;
 import net.snowflake.common.core.SqlState;
 import org.apache.http.Header;
 
@@ -15,6 +18,20 @@ class CompressedStreamFactory {
 
   private static final int STREAM_BUFFER_SIZE = MB;
 
+  /** Lets ZSTD streams borrow their input and output buffers from the driver-wide pool */
+  private static final BufferPool ZSTD_BUFFER_POOL =
+      new BufferPool() {
+        @Override
+        public ByteBuffer get(int capacity) {
+          return ByteBuffer.wrap(PooledBufferAllocator.heap().allocate(capacity));
+        }
+
+        @Override
+        public void release(ByteBuffer buffer) {
+          PooledBufferAllocator.heap().release(buffer.array());
+        }
+      };
+
   /**
    * Determine the format of the response, if it is not either plain text or gzip, raise an error.
    */
@@ -22,9 +39,9 @@ class CompressedStreamFactory {
       throws IOException, SnowflakeSQLException {
     if (encoding != null) {
       if (GZIP.name().equalsIgnoreCase(encoding.getValue())) {
-        return new GZIPInputStream(is, STREAM_BUFFER_SIZE);
+        return new PooledGZIPInputStream(is);
       } else if (ZSTD.name().equalsIgnoreCase(encoding.getValue())) {
-        return new ZstdInputStream(is);
+        return new ZstdInputStream(is, ZSTD_BUFFER_POOL);
       } else {
         throw new SnowflakeSQLException(
             SqlState.INTERNAL_ERROR,
@@ -35,4 +52,27 @@ class CompressedStreamFactory {
       return DefaultResultStreamProvider.detectGzipAndGetStream(is);
     }
   }
+
+  /** GZIPInputStream whose input buffer is borrowed from the driver-wide pool */
+  static class PooledGZIPInputStream extends GZIPInputStream {
+    private boolean closed = false;
+
+    PooledGZIPInputStream(InputStream is) throws IOException {
+      // the gzip header is read without the buffer, so the tiny buffer is replaced right away
+      super(is, 1);
+      buf = PooledBufferAllocator.heap().allocate(STREAM_BUFFER_SIZE);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        if (!closed) {
+          closed = true;
+          PooledBufferAllocator.heap().release(buf);
+        }
+      }
+    }
+  }
 }
@@ -40,9 +40,86 @@ public class DefaultResultStreamProvider implements ResultStreamProvider {
 
   @Override
   public InputStream getInputStream(ChunkDownloadContext context) throws Exception {
+    HttpResponse response = getSuccessfulResponse(context, null);
+
+    InputStream inputStream;
+    final HttpEntity entity = response.getEntity();
+    Header encoding = response.getFirstHeader("Content-Encoding");
+    try {
+      // create stream based on compression type
+      inputStream =
+          compressedStreamFactory.createBasedOnEncodingHeader(entity.getContent(), encoding);
+    } catch (Exception ex) {
+      logger.error("Failed to decompress data: {}", response);
+
+      throw new SnowflakeSQLLoggedException(
+          context.getSession(),
+          ErrorCode.INTERNAL_ERROR.getMessageCode(),
+          SqlState.INTERNAL_ERROR,
+          "Failed to decompress data: " + response.toString());
+    }
+
+    // trace the response if requested
+    logger.debug("Json response: {}", response);
+
+    return inputStream;
+  }
+
+  /**
+   * Download the compressed bytes of a result chunk, without decompressing them. Used by the I/O
+   * stage of the chunk pipeline, the decode stage decompresses them with {@link
+   * #getDecompressedInputStream(CompressedChunkBuffer)}.
+   *
+   * @param context chunk download context
+   * @return the compressed bytes, to be released by the caller
+   * @throws Exception if the chunk cannot be downloaded
+   */
+  CompressedChunkBuffer downloadCompressedChunk(ChunkDownloadContext context) throws Exception {
+    return downloadCompressedChunk(context, null);
+  }
+
+  /**
+   * Download the compressed bytes of a result chunk as an attempt of a hedged download
+   *
+   * @param context chunk download context
+   * @param attempt attempt which may abort the request, null if the download is not hedged
+   * @return the compressed bytes, to be released by the caller
+   * @throws Exception if the chunk cannot be downloaded or the attempt was cancelled
+   */
+  CompressedChunkBuffer downloadCompressedChunk(
+      ChunkDownloadContext context, ChunkRequestHedger.Attempt attempt) throws Exception {
+    HttpResponse response = getSuccessfulResponse(context, attempt);
+    try (InputStream content = response.getEntity().getContent()) {
+      return CompressedChunkBuffer.readFully(content, response.getFirstHeader("Content-Encoding"));
+    } catch (IOException ex) {
+      throw new SnowflakeSQLLoggedException(
+          context.getSession(),
+          ErrorCode.NETWORK_ERROR.getMessageCode(),
+          SqlState.IO_ERROR,
+          "Error encountered when reading a result chunk: "
+              + context.getResultChunk().getScrubbedUrl()
+              + " "
+              + ex.getLocalizedMessage());
+    }
+  }
+
+  /**
+   * @param buffer compressed bytes of a result chunk
+   * @return stream of the decompressed bytes
+   * @throws IOException if the decompression cannot be started
+   * @throws SnowflakeSQLException if the compression is not supported
+   */
+  InputStream getDecompressedInputStream(CompressedChunkBuffer buffer)
+      throws IOException, SnowflakeSQLException {
+    return compressedStreamFactory.createBasedOnEncodingHeader(
+        buffer.getInputStream(), buffer.getEncoding());
+  }
+
+  private HttpResponse getSuccessfulResponse(
+      ChunkDownloadContext context, ChunkRequestHedger.Attempt attempt) throws Exception {
     HttpResponse response;
     try {
-      response = getResultChunk(context);
+      response = getResultChunk(context, attempt);
     } catch (URISyntaxException | IOException ex) {
       throw new SnowflakeSQLLoggedException(
           context.getSession(),
@@ -70,34 +147,18 @@ public class DefaultResultStreamProvider implements ResultStreamProvider {
               + "status: "
               + ((response != null) ? response.getStatusLine().getStatusCode() : "null response"));
     }
-
-    InputStream inputStream;
-    final HttpEntity entity = response.getEntity();
-    Header encoding = response.getFirstHeader("Content-Encoding");
-    try {
-      // create stream based on compression type
-      inputStream =
-          compressedStreamFactory.createBasedOnEncodingHeader(entity.getContent(), encoding);
-    } catch (Exception ex) {
-      logger.error("Failed to decompress data: {}", response);
-
-      throw new SnowflakeSQLLoggedException(
-          context.getSession(),
-          ErrorCode.INTERNAL_ERROR.getMessageCode(),
-          SqlState.INTERNAL_ERROR,
-          "Failed to decompress data: " + response.toString());
-    }
-
-    // trace the response if requested
-    logger.debug("Json response: {}", response);
-
-    return inputStream;
+    return response;
   }
 
-  private HttpResponse getResultChunk(ChunkDownloadContext context) throws Exception {
+  private HttpResponse getResultChunk(
+      ChunkDownloadContext context, ChunkRequestHedger.Attempt attempt) throws Exception {
     URIBuilder uriBuilder = new URIBuilder(context.getResultChunk().getUrl());
 
     HttpGet httpRequest = new HttpGet(uriBuilder.build());
+    if (attempt != null) {
+      // the attempt aborts the request if the other download of the chunk completes first
+      attempt.setRequest(httpRequest);
+    }
 
     if (context.getChunkHeadersMap() != null && context.getChunkHeadersMap().size() != 0) {
       for (Map.Entry<String, String> entry : context.getChunkHeadersMap().entrySet()) {
@@ -131,7 +192,7 @@ public class DefaultResultStreamProvider implements ResultStreamProvider {
             context.getSocketTimeout(),
             0,
             0, // no socket timeout injection
-            null, // no canceling
+            attempt != null ? attempt.getCanceling() : null, // canceled by a hedged download
             false, // no cookie
             false, // no retry parameters in url
             false, // no request_guid
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.jdbc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+import net.snowflake.client.core.SnowflakeJdbcInternalApi;
+
+/**
+ * Stream of the GZIP compressed content of a source stream, with the SHA-256 digest of the
+ * compressed content computed while it is read.
+ *
+ * <p>The source is compressed as the stream is read, a buffer of the source at a time, so the
+ * compressed content is never held in memory or written to a temporary file; the digest and the
+ * compressed size are known once the stream has been read to the end.
+ *
+ * <p>A stream created with a {@link SourceOpener} can be restarted from the beginning of a new
+ * source, so an upload that failed midway can be retried.
+ */
+@SnowflakeJdbcInternalApi
+public class GzipDigestInputStream extends InputStream {
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final SourceOpener sourceOpener;
+  private final MessageDigest digest;
+  private final CompressedBuffer compressed = new CompressedBuffer();
+  private InputStream source;
+  private GZIPOutputStream gzipStream;
+  private final byte[] sourceBuffer = new byte[BUFFER_SIZE];
+
+  // position of the next byte of the compressed buffer to read
+  private int position = 0;
+  private boolean sourceFinished = false;
+  private long compressedSize = 0;
+  private String base64Digest;
+
+  /**
+   * @param source source stream, closed with this stream
+   * @param computeDigest whether the digest of the compressed content is computed
+   * @throws IOException if the GZIP header could not be written
+   */
+  public GzipDigestInputStream(InputStream source, boolean computeDigest) throws IOException {
+    this(source, null, computeDigest);
+  }
+
+  /**
+   * @param source source stream, closed with this stream
+   * @param sourceOpener opens the source again when the stream is restarted, or null if the stream
+   *     cannot be restarted
+   * @param computeDigest whether the digest of the compressed content is computed
+   * @throws IOException if the GZIP header could not be written
+   */
+  public GzipDigestInputStream(InputStream source, SourceOpener sourceOpener, boolean computeDigest)
+      throws IOException {
+    this.source = source;
+    this.sourceOpener = sourceOpener;
+    try {
+      this.digest = computeDigest ? MessageDigest.getInstance("SHA-256") : null;
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IOException(ex);
+    }
+    // same sync flush mode as the compression to a temporary stream
+    this.gzipStream = new GZIPOutputStream(compressed, BUFFER_SIZE, true);
+    // the header is written right away
+    onCompressed(0);
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] single = new byte[1];
+    int read = read(single, 0, 1);
+    return read < 0 ? -1 : single[0] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    while (position == compressed.size()) {
+      if (sourceFinished) {
+        return -1;
+      }
+      compressNextBuffer();
+    }
+    int read = Math.min(len, compressed.size() - position);
+    System.arraycopy(compressed.buffer(), position, b, off, read);
+    position += read;
+    return read;
+  }
+
+  @Override
+  public int available() {
+    return compressed.size() - position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    source.close();
+  }
+
+  /**
+   * @return true if the stream can be restarted from the beginning of its source
+   */
+  public boolean canRestart() {
+    return sourceOpener != null;
+  }
+
+  /**
+   * Close the source and compress a newly opened source from its beginning, the compressed size and
+   * the digest start over.
+   *
+   * @throws IOException if the stream cannot be restarted or the source could not be opened
+   */
+  public void restart() throws IOException {
+    if (sourceOpener == null) {
+      throw new IOException("The source of the stream cannot be opened again");
+    }
+    source.close();
+    source = sourceOpener.open();
+    // closing the previous GZIP stream releases its deflater, its trailer is discarded
+    gzipStream.close();
+    compressed.reset();
+    position = 0;
+    sourceFinished = false;
+    compressedSize = 0;
+    base64Digest = null;
+    if (digest != null) {
+      digest.reset();
+    }
+    gzipStream = new GZIPOutputStream(compressed, BUFFER_SIZE, true);
+    onCompressed(0);
+  }
+
+  /**
+   * @return true once the source has been compressed to its end
+   */
+  public boolean isFinished() {
+    return sourceFinished;
+  }
+
+  /**
+   * @return size of the compressed content, once the stream has been read to the end
+   */
+  public long getCompressedSize() {
+    return compressedSize;
+  }
+
+  /**
+   * @return Base64 encoded SHA-256 digest of the compressed content, or null if the stream has not
+   *     been read to the end or no digest is computed
+   */
+  public String getDigest() {
+    return base64Digest;
+  }
+
+  private void compressNextBuffer() throws IOException {
+    if (position == compressed.size()) {
+      compressed.reset();
+      position = 0;
+    }
+    int from = compressed.size();
+    int read = source.read(sourceBuffer);
+    if (read < 0) {
+      gzipStream.finish();
+      sourceFinished = true;
+    } else if (read > 0) {
+      gzipStream.write(sourceBuffer, 0, read);
+    }
+    onCompressed(from);
+  }
+
+  /** Account for the bytes compressed into the buffer from the given offset */
+  private void onCompressed(int from) {
+    int count = compressed.size() - from;
+    compressedSize += count;
+    if (digest != null) {
+      digest.update(compressed.buffer(), from, count);
+      if (sourceFinished) {
+        base64Digest = Base64.getEncoder().encodeToString(digest.digest());
+      }
+    }
+  }
+
+  /** Opens the source of a stream, each time it is started */
+  public interface SourceOpener {
+    InputStream open() throws IOException;
+  }
+
+  /** Compressed bytes not read yet, the buffer is reused for each buffer of the source */
+  private static class CompressedBuffer extends ByteArrayOutputStream {
+    CompressedBuffer() {
+      super(BUFFER_SIZE);
+    }
+
+    byte[] buffer() {
+      return buf;
+    }
+  }
+}
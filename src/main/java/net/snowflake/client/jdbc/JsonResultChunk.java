@@ -12,6 +12,7 @@ import java.util.BitSet;
 import java.util.LinkedList;
 import java.util.List;
 import net.snowflake.client.core.SFBaseSession;
+import net.snowflake.client.core.json.Utf8CellParser;
 import net.snowflake.client.log.SFLogger;
 import net.snowflake.client.log.SFLoggerFactory;
 import net.snowflake.common.core.SqlState;
@@ -63,6 +64,18 @@ public class JsonResultChunk extends SnowflakeResultChunk {
     return data.get(colCount * rowIdx + colIdx);
   }
 
+  /**
+   * Points the parser to the UTF-8 bytes of the given cell, without creating a String
+   *
+   * @param rowIdx zero based row
+   * @param colIdx zero based column
+   * @param parser parser to set the cell on
+   * @return false if the cell is null, in which case the parser is not changed
+   */
+  public final boolean wrapCell(int rowIdx, int colIdx, Utf8CellParser parser) {
+    return data.wrap(colCount * rowIdx + colIdx, parser);
+  }
+
   public final void addRow(Object[] row) throws SnowflakeSQLException {
     if (row.length != colCount) {
       throw new SnowflakeSQLLoggedException(
@@ -188,6 +201,15 @@ public class JsonResultChunk extends SnowflakeResultChunk {
      */
     String get(int index);
 
+    /**
+     * Set the bytes of an element on a parser
+     *
+     * @param index determines the element
+     * @param parser parser to set the bytes on
+     * @return false if the element is null
+     */
+    boolean wrap(int index, Utf8CellParser parser);
+
     /**
      * Compute the necessary memory to store this chunk
      *
@@ -373,19 +395,8 @@ public class JsonResultChunk extends SnowflakeResultChunk {
 
         // Create string from the char arrays
         if (spaceLeftOnBlock(offset) < length) {
-          int copied = 0;
           byte[] cell = new byte[length];
-          while (copied < length) {
-            final int copySize = Math.min(length - copied, spaceLeftOnBlock(offset + copied));
-            System.arraycopy(
-                data.get(getBlock(offset + copied)),
-                getBlockOffset(offset + copied),
-                cell,
-                copied,
-                copySize);
-
-            copied += copySize;
-          }
+          copyCell(offset, length, cell);
           return new String(cell, StandardCharsets.UTF_8);
         } else {
           return new String(
@@ -394,6 +405,39 @@ public class JsonResultChunk extends SnowflakeResultChunk {
       }
     }
 
+    @Override
+    public boolean wrap(int index, Utf8CellParser parser) {
+      if (isNulls.get(getMetaBlock(index)).get(getMetaBlockIndex(index))) {
+        return false;
+      }
+      final int offset = offsets.get(getMetaBlock(index))[getMetaBlockIndex(index)];
+      final int length = getLength(index, offset);
+      if (spaceLeftOnBlock(offset) < length) {
+        byte[] cell = parser.getScratchBuffer(length);
+        copyCell(offset, length, cell);
+        parser.wrap(cell, 0, length);
+      } else {
+        parser.wrap(data.get(getBlock(offset)), getBlockOffset(offset), length);
+      }
+      return true;
+    }
+
+    /** Copy a cell which spans multiple blocks */
+    private void copyCell(int offset, int length, byte[] cell) {
+      int copied = 0;
+      while (copied < length) {
+        final int copySize = Math.min(length - copied, spaceLeftOnBlock(offset + copied));
+        System.arraycopy(
+            data.get(getBlock(offset + copied)),
+            getBlockOffset(offset + copied),
+            cell,
+            copied,
+            copySize);
+
+        copied += copySize;
+      }
+    }
+
     @Override
     public long computeNeededChunkMemory() {
       long dataRequirement = blockCount * blockLength * 1L;
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.jdbc;
+
+import com.google.common.io.CountingOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+import net.snowflake.client.jdbc.SnowflakeFileTransferAgent.InputStreamWithMetadata;
+
+/**
+ * Compresses a file with GZIP on several threads.
+ *
+ * <p>The file is split into parts which are read and compressed concurrently, each into a separate
+ * GZIP member. The members are written in order to the compressed output, where the digest is
+ * computed; a sequence of GZIP members is a valid GZIP file (RFC 1952, section 2.2) which
+ * decompresses to the concatenation of the parts. At most twice as many parts as threads, and no
+ * more than {@link #MAX_PARTS_IN_MEMORY} parts, are held in memory whatever the parallelism; their
+ * buffers are reused from part to part.
+ */
+class ParallelGzipCompressor {
+  /** Size of the parts of the file compressed concurrently */
+  static final int PART_SIZE = 8 * 1024 * 1024;
+
+  /** Maximum number of parts read or compressed at a time, about 128 MB with their GZIP members */
+  static final int MAX_PARTS_IN_MEMORY = 8;
+
+  private ParallelGzipCompressor() {}
+
+  /**
+   * @param file file to compress
+   * @param parallel number of threads compressing parts of the file
+   * @param computeDigest whether the SHA-256 digest of the compressed file is computed
+   * @return compressed size, digest if computed, and compressed file
+   * @throws IOException if the file could not be read or compressed
+   * @throws InterruptedException if interrupted while waiting for a part to be compressed
+   */
+  static InputStreamWithMetadata compress(File file, int parallel, boolean computeDigest)
+      throws IOException, InterruptedException {
+    FileBackedOutputStream tempStream =
+        new FileBackedOutputStream(SnowflakeFileTransferAgent.MAX_BUFFER_SIZE, true);
+    int maxParts = getMaxPartsInMemory(parallel);
+    // more threads than parts in memory would be idle
+    ExecutorService executor =
+        SnowflakeUtil.createDefaultExecutorService(
+            "sf-file-compress-worker-", Math.min(parallel, maxParts));
+    // buffers of the parts which are not in use, at most maxParts of each are allocated
+    Queue<byte[]> freeReadBuffers = new ConcurrentLinkedQueue<>();
+    Queue<ExposedByteArrayOutputStream> freeMembers = new ConcurrentLinkedQueue<>();
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+      FileChannel channel = randomAccessFile.getChannel();
+      long fileSize = channel.size();
+
+      MessageDigest digest = computeDigest ? MessageDigest.getInstance("SHA-256") : null;
+      OutputStream digestStream =
+          computeDigest ? new DigestOutputStream(tempStream, digest) : tempStream;
+      CountingOutputStream countingStream = new CountingOutputStream(digestStream);
+
+      // parts being compressed, in order
+      ArrayDeque<Future<ExposedByteArrayOutputStream>> parts = new ArrayDeque<>();
+      long position = 0;
+      while (position < fileSize || !parts.isEmpty()) {
+        while (position < fileSize && parts.size() < maxParts) {
+          long partPosition = position;
+          int partSize = (int) Math.min(PART_SIZE, fileSize - position);
+          parts.add(
+              executor.submit(
+                  () ->
+                      compressPart(channel, partPosition, partSize, freeReadBuffers, freeMembers)));
+          position += partSize;
+        }
+        ExposedByteArrayOutputStream member = parts.poll().get();
+        member.writeTo(countingStream);
+        freeMembers.add(member);
+      }
+      if (fileSize == 0) {
+        // an empty file compresses to an empty member
+        compressPart(channel, 0, 0, freeReadBuffers, freeMembers).writeTo(countingStream);
+      }
+      countingStream.flush();
+
+      return new InputStreamWithMetadata(
+          countingStream.getCount(),
+          computeDigest ? Base64.getEncoder().encodeToString(digest.digest()) : null,
+          tempStream);
+    } catch (NoSuchAlgorithmException ex) {
+      tempStream.reset();
+      throw new IOException(ex);
+    } catch (ExecutionException ex) {
+      tempStream.reset();
+      Throwable cause = ex.getCause();
+      throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    } catch (IOException | InterruptedException | RuntimeException ex) {
+      tempStream.reset();
+      throw ex;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * @param parallel number of threads compressing parts of the file
+   * @return maximum number of parts read or compressed at a time
+   */
+  static int getMaxPartsInMemory(int parallel) {
+    return Math.max(1, Math.min(2 * parallel, MAX_PARTS_IN_MEMORY));
+  }
+
+  /**
+   * @return the GZIP member of the part, to be returned to the free members once written
+   */
+  private static ExposedByteArrayOutputStream compressPart(
+      FileChannel channel,
+      long position,
+      int size,
+      Queue<byte[]> freeReadBuffers,
+      Queue<ExposedByteArrayOutputStream> freeMembers)
+      throws IOException {
+    byte[] readBuffer = freeReadBuffers.poll();
+    if (readBuffer == null) {
+      readBuffer = new byte[PART_SIZE];
+    }
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(readBuffer, 0, size);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + buffer.position()) < 0) {
+          throw new IOException("File was truncated while being compressed");
+        }
+      }
+      ExposedByteArrayOutputStream compressed = freeMembers.poll();
+      if (compressed == null) {
+        compressed = new ExposedByteArrayOutputStream(PART_SIZE / 2 + 64);
+      }
+      compressed.reset();
+      // same sync flush mode as the sequential compression
+      try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed, true)) {
+        gzipStream.write(readBuffer, 0, size);
+      }
+      return compressed;
+    } finally {
+      freeReadBuffers.add(readBuffer);
+    }
+  }
+
+  private static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+    ExposedByteArrayOutputStream(int size) {
+      super(size);
+    }
+  }
+}
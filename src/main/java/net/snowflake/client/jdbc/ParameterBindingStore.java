@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.jdbc;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import net.snowflake.client.core.ParameterBindingDTO;
+import net.snowflake.client.core.bind.ArrayBindColumn;
+
+/**
+ * Bind values of a prepared statement, indexed by parameter position.
+ *
+ * <p>Numbers and booleans are kept in primitive slots, other values by reference, along with the
+ * Snowflake type of the parameter. Setting a parameter allocates nothing once the slots have grown
+ * to the number of parameters; values are converted to their wire format, a {@link
+ * ParameterBindingDTO} per parameter, only when a request is built.
+ */
+final class ParameterBindingStore {
+  private static final byte UNSET = 0;
+  private static final byte NULL = 1;
+  private static final byte LONG = 2;
+  private static final byte FLOAT = 3;
+  private static final byte DOUBLE = 4;
+  private static final byte BOOLEAN = 5;
+  /** Value kept by reference, its string representation is sent */
+  private static final byte REFERENCE = 6;
+  /** Binding with a format or schema, sent as is */
+  private static final byte BINDING = 7;
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  /** Bind names of the first parameters, the bind name of a parameter is its index */
+  private static final String[] BIND_NAMES = new String[256];
+
+  static {
+    for (int i = 0; i < BIND_NAMES.length; i++) {
+      BIND_NAMES[i] = String.valueOf(i);
+    }
+  }
+
+  // slot i holds parameter i + 1
+  private byte[] kinds = new byte[INITIAL_CAPACITY];
+  private String[] types = new String[INITIAL_CAPACITY];
+  private long[] longs = new long[INITIAL_CAPACITY];
+  private double[] doubles = new double[INITIAL_CAPACITY];
+  private Object[] references = new Object[INITIAL_CAPACITY];
+
+  /** Highest parameter index set */
+  private int maxIndex = 0;
+
+  /** Number of parameters set */
+  private int size = 0;
+
+  /**
+   * @param parameterIndex parameter index, starting at 1
+   * @return the bind name of the parameter
+   */
+  static String bindName(int parameterIndex) {
+    return parameterIndex >= 0 && parameterIndex < BIND_NAMES.length
+        ? BIND_NAMES[parameterIndex]
+        : String.valueOf(parameterIndex);
+  }
+
+  void setNull(int parameterIndex, String type) throws SnowflakeSQLException {
+    int slot = slot(parameterIndex, type, NULL);
+    references[slot] = null;
+  }
+
+  void setLong(int parameterIndex, String type, long value) throws SnowflakeSQLException {
+    int slot = slot(parameterIndex, type, LONG);
+    longs[slot] = value;
+    references[slot] = null;
+  }
+
+  void setFloat(int parameterIndex, String type, float value) throws SnowflakeSQLException {
+    int slot = slot(parameterIndex, type, FLOAT);
+    doubles[slot] = value;
+    references[slot] = null;
+  }
+
+  void setDouble(int parameterIndex, String type, double value) throws SnowflakeSQLException {
+    int slot = slot(parameterIndex, type, DOUBLE);
+    doubles[slot] = value;
+    references[slot] = null;
+  }
+
+  void setBoolean(int parameterIndex, String type, boolean value) throws SnowflakeSQLException {
+    int slot = slot(parameterIndex, type, BOOLEAN);
+    longs[slot] = value ? 1 : 0;
+    references[slot] = null;
+  }
+
+  /**
+   * @param parameterIndex parameter index
+   * @param type Snowflake type
+   * @param value immutable value, sent as its string representation, or null
+   * @throws SnowflakeSQLException if the parameter index is invalid
+   */
+  void setReference(int parameterIndex, String type, Object value) throws SnowflakeSQLException {
+    int slot = slot(parameterIndex, type, value == null ? NULL : REFERENCE);
+    references[slot] = value;
+  }
+
+  void setBinding(int parameterIndex, ParameterBindingDTO binding) throws SnowflakeSQLException {
+    int slot = slot(parameterIndex, binding.getType(), BINDING);
+    references[slot] = binding;
+  }
+
+  /**
+   * @return number of parameters set
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * @return highest parameter index set, 0 if no parameter is set
+   */
+  int getMaxIndex() {
+    return maxIndex;
+  }
+
+  boolean isSet(int parameterIndex) {
+    int slot = parameterIndex - 1;
+    return slot >= 0 && slot < maxIndex && kinds[slot] != UNSET;
+  }
+
+  /**
+   * @param parameterIndex index of a parameter which is set
+   * @return true if the value of the parameter is null
+   */
+  boolean isNull(int parameterIndex) {
+    int slot = parameterIndex - 1;
+    return kinds[slot] == NULL
+        || (kinds[slot] == BINDING && ((ParameterBindingDTO) references[slot]).getValue() == null);
+  }
+
+  /**
+   * @param parameterIndex index of a parameter which is set
+   * @return Snowflake type of the parameter
+   */
+  String getType(int parameterIndex) {
+    return types[parameterIndex - 1];
+  }
+
+  /**
+   * @param parameterIndex index of a parameter which is set
+   * @return value of the parameter in wire format
+   */
+  Object getValue(int parameterIndex) {
+    int slot = parameterIndex - 1;
+    switch (kinds[slot]) {
+      case LONG:
+        return String.valueOf(longs[slot]);
+      case FLOAT:
+        return String.valueOf((float) doubles[slot]);
+      case DOUBLE:
+        return String.valueOf(doubles[slot]);
+      case BOOLEAN:
+        return String.valueOf(longs[slot] != 0);
+      case REFERENCE:
+        return String.valueOf(references[slot]);
+      case BINDING:
+        return ((ParameterBindingDTO) references[slot]).getValue();
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Append the value of a parameter to the column of the parameter in an array bind, keeping
+   * numbers and booleans in primitive form
+   *
+   * @param parameterIndex index of a parameter which is set
+   * @param column values of the parameter in the batch
+   */
+  void appendTo(int parameterIndex, ArrayBindColumn column) {
+    int slot = parameterIndex - 1;
+    switch (kinds[slot]) {
+      case LONG:
+        column.addLong(longs[slot]);
+        break;
+      case FLOAT:
+        column.addFloat((float) doubles[slot]);
+        break;
+      case DOUBLE:
+        column.addDouble(doubles[slot]);
+        break;
+      case BOOLEAN:
+        column.addBoolean(longs[slot] != 0);
+        break;
+      default:
+        column.addString((String) getValue(parameterIndex));
+    }
+  }
+
+  /**
+   * @param parameterIndex index of a parameter which is set
+   * @return the binding of the parameter in wire format
+   */
+  ParameterBindingDTO getBinding(int parameterIndex) {
+    int slot = parameterIndex - 1;
+    if (kinds[slot] == BINDING) {
+      return (ParameterBindingDTO) references[slot];
+    }
+    return new ParameterBindingDTO(types[slot], getValue(parameterIndex));
+  }
+
+  /**
+   * @return the bindings in wire format, by bind name
+   */
+  Map<String, ParameterBindingDTO> toParameterBindings() {
+    Map<String, ParameterBindingDTO> bindings = new HashMap<>();
+    for (int parameterIndex = 1; parameterIndex <= maxIndex; parameterIndex++) {
+      if (kinds[parameterIndex - 1] != UNSET) {
+        bindings.put(bindName(parameterIndex), getBinding(parameterIndex));
+      }
+    }
+    return bindings;
+  }
+
+  /** Unset all parameters, keeping the slots */
+  void clear() {
+    Arrays.fill(kinds, 0, maxIndex, UNSET);
+    Arrays.fill(types, 0, maxIndex, null);
+    Arrays.fill(references, 0, maxIndex, null);
+    maxIndex = 0;
+    size = 0;
+  }
+
+  private int slot(int parameterIndex, String type, byte kind) throws SnowflakeSQLException {
+    int slot = parameterIndex - 1;
+    if (slot < 0) {
+      throw new SnowflakeSQLException(
+          ErrorCode.INVALID_PARAMETER_VALUE, parameterIndex, "parameter index");
+    }
+    if (slot >= kinds.length) {
+      grow(slot + 1);
+    }
+    if (kinds[slot] == UNSET) {
+      size++;
+    }
+    kinds[slot] = kind;
+    types[slot] = type;
+    maxIndex = Math.max(maxIndex, parameterIndex);
+    return slot;
+  }
+
+  private void grow(int minCapacity) {
+    int capacity = Math.max(minCapacity, kinds.length * 2);
+    kinds = Arrays.copyOf(kinds, capacity);
+    types = Arrays.copyOf(types, capacity);
+    longs = Arrays.copyOf(longs, capacity);
+    doubles = Arrays.copyOf(doubles, capacity);
+    references = Arrays.copyOf(references, capacity);
+  }
+}
@@ -49,14 +49,14 @@ public class RestRequest {
   private static final String SF_REQUEST_GUID = "request_guid";
 
   // min backoff in milli before we retry due to transient issues
-  private static final long minBackoffInMilli = 1000;
+  static final long minBackoffInMilli = 1000;
 
   // max backoff in milli before we retry due to transient issues
   // we double the backoff after each retry till we reach the max backoff
-  private static final long maxBackoffInMilli = 16000;
+  static final long maxBackoffInMilli = 16000;
 
   // retry at least once even if timeout limit has been reached
-  private static final int MIN_RETRY_COUNT = 1;
+  static final int MIN_RETRY_COUNT = 1;
 
   public static CloseableHttpResponse execute(
       CloseableHttpClient httpClient,
@@ -241,14 +241,8 @@ public class RestRequest {
         // if an SSL issue occurs like an SSLHandshakeException then fail
         // immediately and stop retrying the requests
 
-        String formattedMsg =
-            ex.getMessage()
-                + "\n"
-                + "Verify that the hostnames and portnumbers in SYSTEM$ALLOWLIST are added to your firewall's allowed list.\n"
-                + "To troubleshoot your connection further, you can refer to this article:\n"
-                + "https://docs.snowflake.com/en/user-guide/client-connectivity-troubleshooting/overview";
-
-        throw new SnowflakeSQLLoggedException(null, ErrorCode.NETWORK_ERROR, ex, formattedMsg);
+        throw new SnowflakeSQLLoggedException(
+            null, ErrorCode.NETWORK_ERROR, ex, getSSLErrorMessage(ex));
 
       } catch (Exception ex) {
 
@@ -630,18 +624,34 @@ public class RestRequest {
 
   static boolean isNonRetryableHTTPCode(CloseableHttpResponse response, boolean retryHTTP403) {
     return response != null
-        && (response.getStatusLine().getStatusCode() < 500
+        && isNonRetryableHTTPCode(response.getStatusLine().getStatusCode(), retryHTTP403);
+  }
+
+  static boolean isNonRetryableHTTPCode(int statusCode, boolean retryHTTP403) {
+    return (statusCode < 500
             || // service unavailable
-            response.getStatusLine().getStatusCode() >= 600)
+            statusCode >= 600)
         && // gateway timeout
-        response.getStatusLine().getStatusCode() != 408
+        statusCode != 408
         && // retry
-        response.getStatusLine().getStatusCode() != 429
+        statusCode != 429
         && // request timeout
-        (!retryHTTP403 || response.getStatusLine().getStatusCode() != 403);
+        (!retryHTTP403 || statusCode != 403);
+  }
+
+  /**
+   * @param ex SSL exception which stops retrying
+   * @return message of the exception with hints for troubleshooting
+   */
+  static String getSSLErrorMessage(Exception ex) {
+    return ex.getMessage()
+        + "\n"
+        + "Verify that the hostnames and portnumbers in SYSTEM$ALLOWLIST are added to your firewall's allowed list.\n"
+        + "To troubleshoot your connection further, you can refer to this article:\n"
+        + "https://docs.snowflake.com/en/user-guide/client-connectivity-troubleshooting/overview";
   }
 
-  private static boolean isCertificateRevoked(Exception ex) {
+  static boolean isCertificateRevoked(Exception ex) {
     if (ex == null) {
       return false;
     }
@@ -653,7 +663,7 @@ public class RestRequest {
     return cause.getErrorCode() == OCSPErrorCode.CERTIFICATE_STATUS_REVOKED;
   }
 
-  private static Throwable getRootCause(Throwable ex) {
+  static Throwable getRootCause(Throwable ex) {
     Throwable ex0 = ex;
     while (ex0.getCause() != null) {
       ex0 = ex0.getCause();
@@ -695,7 +705,7 @@ public class RestRequest {
     }
   }
 
-  private static void setRequestURI(
+  static void setRequestURI(
       HttpRequestBase httpRequest,
       String requestIdStr,
       boolean includeRetryParameters,
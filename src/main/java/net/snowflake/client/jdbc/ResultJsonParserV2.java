@@ -258,15 +258,7 @@ public class ResultJsonParserV2 {
               // Check how many characters don't have escape characters
               // copy those with one memcpy
               int inputPositionStart = ((Buffer) in).position() - 1;
-              while (in.hasRemaining()) {
-                byte cur = in.get();
-
-                if (cur == 0x22 /* '"' */ || cur == 0x5c /* '\\' */) {
-                  // end of string chunk
-                  ((Buffer) in).position(((Buffer) in).position() - 1);
-                  break;
-                }
-              }
+              ((Buffer) in).position(findStringPartEnd(in, ((Buffer) in).position()));
 
               addByteArrayToOutput(
                   in.array(),
@@ -322,7 +314,7 @@ public class ResultJsonParserV2 {
 
               // have to have at least 4+2+4=10 chars left to read
               // already saw "\\u", now missing "AAAA\\uAAAA"
-              if (in.remaining() >= 9 || (lastData && in.remaining() >= 3)) {
+              if (in.remaining() >= 10 || (lastData && in.remaining() >= 3)) {
                 if (!parseCodepoint(in)) {
                   throw new SnowflakeSQLLoggedException(
                       session,
@@ -332,7 +324,7 @@ public class ResultJsonParserV2 {
                 }
                 state = State.IN_STRING;
               } else {
-                // if the number of bytes left un-parsed in the buffer is less than 9 (unless it is
+                // if the number of bytes left un-parsed in the buffer is less than 10 (unless it is
                 // the last remaining data in the buffer),
                 // there is not enough bytes to parse the codepoint. Move the position back 1,
                 // so we can re-enter parsing at this position with the ESCAPE state.
@@ -393,6 +385,25 @@ public class ResultJsonParserV2 {
     }
   }
 
+  /**
+   * Find the end of the part of a string which can be copied as it is
+   *
+   * @param in byte buffer backed by an array
+   * @param from absolute position to start searching at
+   * @return absolute position of the next '"' or '\\' at or after from, or the limit of the buffer
+   *     if there is none
+   */
+  protected int findStringPartEnd(ByteBuffer in, int from) {
+    final int limit = ((Buffer) in).limit();
+    for (int pos = from; pos < limit; pos++) {
+      byte cur = in.get(pos);
+      if (cur == 0x22 /* '"' */ || cur == 0x5c /* '\\' */) {
+        return pos;
+      }
+    }
+    return limit;
+  }
+
   private boolean isNull() throws SnowflakeSQLException {
     int pos = outputPosition;
     if (resultChunk.get(--pos) == BNULL[3]
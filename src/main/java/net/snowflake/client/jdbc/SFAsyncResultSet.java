@@ -6,7 +6,6 @@ package net.snowflake.client.jdbc;
 
 import static net.snowflake.client.core.QueryStatus.NO_DATA;
 
-import com.google.api.client.util.Strings;
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.ResultSet;
@@ -17,6 +16,7 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
 import net.snowflake.client.core.QueryStatus;
 import net.snowflake.client.core.SFBaseResultSet;
 import net.snowflake.client.core.SFBaseSession;
@@ -24,6 +24,7 @@ import net.snowflake.client.core.SFSession;
 import net.snowflake.client.log.SFLogger;
 import net.snowflake.client.log.SFLoggerFactory;
 import net.snowflake.common.core.SqlState;
+import org.apache.arrow.memory.BufferAllocator;
 
 /** SFAsyncResultSet implementation. Note: For Snowflake internal use */
 public class SFAsyncResultSet extends SnowflakeBaseResultSet
@@ -125,15 +126,26 @@ public class SFAsyncResultSet extends SnowflakeBaseResultSet
     if (this.queryID == null) {
       throw new SQLException("QueryID unknown");
     }
-    if (this.lastQueriedStatusV2.isSuccess()) {
+    if (!this.lastQueriedStatusV2.isStillRunning()) {
       return this.lastQueriedStatusV2;
     }
-    this.lastQueriedStatusV2 = session.getQueryStatusV2(this.queryID);
-    // if query has completed successfully, cache its metadata to avoid unnecessary future server
-    // calls
+    // the status of running queries is polled by the session, together with its other queries;
+    // once the query has completed, cache its status to avoid unnecessary future calls
+    this.lastQueriedStatusV2 = session.getAsyncQueryPoller().getStatus(this.queryID);
     return this.lastQueriedStatusV2;
   }
 
+  /**
+   * Set the status of the query once it succeeded, so the results are fetched without checking the
+   * status again
+   *
+   * @param status status of the query
+   */
+  void setSucceededStatus(QueryStatusV2 status) {
+    this.lastQueriedStatusV2 = status;
+    this.lastQueriedStatus = QueryStatus.SUCCESS;
+  }
+
   /**
    * helper function for next() and getMetaData(). Calls result_scan to get resultSet after
    * asynchronous query call
@@ -143,49 +155,8 @@ public class SFAsyncResultSet extends SnowflakeBaseResultSet
   private void getRealResults() throws SQLException {
     if (!resultSetForNextInitialized) {
       // If query has already succeeded, go straight to result scan to get results
-      if (this.lastQueriedStatus != QueryStatus.SUCCESS) {
-        QueryStatus qs = this.getStatus();
-        int noDataRetry = 0;
-        final int noDataMaxRetries = 30;
-        final int[] retryPattern = {1, 1, 2, 3, 4, 8, 10};
-        final int maxIndex = retryPattern.length - 1;
-        int retry = 0;
-        while (qs != QueryStatus.SUCCESS) {
-          // if query is not running due to a failure (Aborted, failed with error, etc), generate
-          // exception
-          if (!QueryStatus.isStillRunning(qs) && qs.getValue() != QueryStatus.SUCCESS.getValue()) {
-            String errorMessage = qs.getErrorMessage();
-            if (Strings.isNullOrEmpty(errorMessage)) {
-              errorMessage = "No error message available";
-            }
-            throw new SQLException(
-                "Status of query associated with resultSet is "
-                    + qs.getDescription()
-                    + ". "
-                    + errorMessage
-                    + " Results not generated.");
-          }
-          // if no data about the query is returned after about 2 minutes, give up
-          if (qs == NO_DATA) {
-            noDataRetry++;
-            if (noDataRetry >= noDataMaxRetries) {
-              throw new SQLException(
-                  "Cannot retrieve data on the status of this query. No information returned from server for queryID={}.",
-                  this.queryID);
-            }
-          }
-          try {
-            // Sleep for an amount before trying again. Exponential backoff up to 5 seconds
-            // implemented.
-            Thread.sleep(500 * retryPattern[retry]);
-          } catch (InterruptedException e) {
-            e.printStackTrace();
-          }
-          if (retry < maxIndex) {
-            retry++;
-          }
-          qs = this.getStatus();
-        }
+      if (this.lastQueriedStatus != QueryStatus.SUCCESS && !this.lastQueriedStatusV2.isSuccess()) {
+        waitForSuccess();
       }
 
       resultSetForNext =
@@ -194,6 +165,32 @@ public class SFAsyncResultSet extends SnowflakeBaseResultSet
     }
   }
 
+  /**
+   * Wait until the query succeeded. The status of the query is polled by the session, together with
+   * its other asynchronous queries.
+   *
+   * @throws SQLException if the query failed, or no data about it is returned by the server
+   */
+  private void waitForSuccess() throws SQLException {
+    if (session == null) {
+      throw new SQLException("Session not set");
+    }
+    if (this.queryID == null) {
+      throw new SQLException("QueryID unknown");
+    }
+    try {
+      setSucceededStatus(session.getAsyncQueryPoller().watch(this.queryID).get());
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof SQLException) {
+        throw (SQLException) ex.getCause();
+      }
+      throw new SnowflakeSQLException(ex.getCause(), ErrorCode.INTERNAL_ERROR, ex.getMessage());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SnowflakeSQLException(ex, ErrorCode.INTERRUPTED);
+    }
+  }
+
   /**
    * Advance to next row
    *
@@ -402,4 +399,16 @@ public class SFAsyncResultSet extends SnowflakeBaseResultSet
         .unwrap(SnowflakeResultSet.class)
         .getResultSetSerializables(maxSizeInBytes);
   }
+
+  @Override
+  public ArrowBatchIterator getArrowBatches() throws SQLException {
+    return getArrowBatches(null);
+  }
+
+  @Override
+  public ArrowBatchIterator getArrowBatches(BufferAllocator allocator) throws SQLException {
+    raiseSQLExceptionIfResultSetIsClosed();
+    getRealResults();
+    return resultSetForNext.unwrap(SnowflakeResultSet.class).getArrowBatches(allocator);
+  }
 }
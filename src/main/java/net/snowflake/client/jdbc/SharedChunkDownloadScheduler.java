@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.jdbc;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Driver-wide scheduler for result chunk downloads.
+ *
+ * <p>Instead of creating a thread pool per result set, every chunk downloader that opts in
+ * registers a {@link QueryQueue} here. A bounded set of worker threads serves the queues
+ * round-robin, so that one large result set cannot starve the others, and the total number of
+ * concurrent downloads in the JVM never exceeds {@link #DEFAULT_MAX_CONCURRENCY}. A queue may be
+ * limited to fewer concurrent downloads, the limit of one connection does not change the limits of
+ * the others. A chunk that a consumer is blocked on can be promoted ahead of all prefetch work.
+ *
+ * <p>Worker threads are created lazily and exit after being idle for a while.
+ */
+class SharedChunkDownloadScheduler {
+  private static final SFLogger logger =
+      SFLoggerFactory.getLogger(SharedChunkDownloadScheduler.class);
+
+  private static final String THREAD_NAME_PREFIX = "result-chunk-downloader-shared-";
+
+  /** Default global cap on concurrent chunk downloads */
+  static final int DEFAULT_MAX_CONCURRENCY =
+      Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+
+  /** Time an idle worker thread is kept around before it exits */
+  private static final long KEEP_ALIVE_MILLIS = 60 * 1000;
+
+  private static final SharedChunkDownloadScheduler instance =
+      new SharedChunkDownloadScheduler(DEFAULT_MAX_CONCURRENCY, KEEP_ALIVE_MILLIS);
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition taskAvailable = lock.newCondition();
+
+  // queues with at least one pending task, in round-robin order
+  private final Deque<QueryQueue> readyQueues = new ArrayDeque<>();
+
+  // tasks that a consumer is blocked on, served before any prefetch task
+  private final Deque<DownloadTask> urgentTasks = new ArrayDeque<>();
+
+  private final long keepAliveNanos;
+
+  private final int maxConcurrency;
+
+  private int workerCount = 0;
+
+  private int idleWorkerCount = 0;
+
+  private int activeTaskCount = 0;
+
+  private int queuedTaskCount = 0;
+
+  private int threadCount = 1;
+
+  /**
+   * @return the driver-wide scheduler instance
+   */
+  static SharedChunkDownloadScheduler getInstance() {
+    return instance;
+  }
+
+  SharedChunkDownloadScheduler(int maxConcurrency, long keepAliveMillis) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+    }
+    this.maxConcurrency = maxConcurrency;
+    this.keepAliveNanos = TimeUnit.MILLISECONDS.toNanos(keepAliveMillis);
+  }
+
+  /**
+   * Register a new queue, one per chunk downloader.
+   *
+   * @param queryId query id of the result set, used for logging only
+   * @return a queue the downloader submits its chunk downloads to
+   */
+  QueryQueue register(String queryId) {
+    return register(queryId, 0);
+  }
+
+  /**
+   * Register a new queue, one per chunk downloader, with a limit on its concurrent downloads.
+   *
+   * @param queryId query id of the result set, used for logging only
+   * @param maxActive maximum number of concurrent downloads of the queue, 0 for the global cap
+   * @return a queue the downloader submits its chunk downloads to
+   */
+  QueryQueue register(String queryId, int maxActive) {
+    return new QueryQueue(queryId, maxActive);
+  }
+
+  int getMaxConcurrency() {
+    lock.lock();
+    try {
+      return maxConcurrency;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int getWorkerCount() {
+    lock.lock();
+    try {
+      return workerCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int getActiveTaskCount() {
+    lock.lock();
+    try {
+      return activeTaskCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int getQueuedTaskCount() {
+    lock.lock();
+    try {
+      return queuedTaskCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Wake up or start a worker for a newly queued task. Must be called while holding the lock. */
+  private void dispatch() {
+    if (queuedTaskCount > idleWorkerCount && workerCount < maxConcurrency) {
+      startWorker();
+    }
+    taskAvailable.signal();
+  }
+
+  private void startWorker() {
+    final Thread thread = new Thread(this::runWorker);
+    thread.setName(THREAD_NAME_PREFIX + threadCount++);
+    thread.setDaemon(true);
+    thread.setUncaughtExceptionHandler(
+        (t, e) -> logger.error("Uncaught Exception in thread {}: {}", t, e));
+    workerCount++;
+    thread.start();
+  }
+
+  private void runWorker() {
+    DownloadTask task;
+    while ((task = takeTask()) != null) {
+      try {
+        task.run();
+      } finally {
+        // a cancelled download may leave the interrupt flag set, don't leak it to the next task
+        Thread.interrupted();
+        lock.lock();
+        try {
+          activeTaskCount--;
+          task.queue.activeCount--;
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+  }
+
+  /**
+   * Block until a task is available.
+   *
+   * @return next task to run, or null if the calling worker should exit
+   */
+  private DownloadTask takeTask() {
+    lock.lock();
+    try {
+      long nanos = keepAliveNanos;
+      while (true) {
+        if (workerCount > maxConcurrency) {
+          workerCount--;
+          return null;
+        }
+        DownloadTask task = pollTask();
+        if (task != null) {
+          activeTaskCount++;
+          task.queue.activeCount++;
+          return task;
+        }
+        if (nanos <= 0) {
+          workerCount--;
+          return null;
+        }
+        idleWorkerCount++;
+        try {
+          nanos = taskAvailable.awaitNanos(nanos);
+        } catch (InterruptedException ex) {
+          // workers are only interrupted by cancelled downloads, keep serving
+        } finally {
+          idleWorkerCount--;
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Pick the next task: urgent ones first, then round-robin across queues. The tasks of a queue
+   * which runs as many downloads as it may are skipped.
+   */
+  private DownloadTask pollTask() {
+    DownloadTask task = pollUrgentTask();
+    if (task == null) {
+      QueryQueue queue = pollReadyQueue();
+      if (queue == null) {
+        return null;
+      }
+      task = queue.tasks.pollFirst();
+      if (!queue.tasks.isEmpty()) {
+        readyQueues.addLast(queue);
+      }
+    }
+    queuedTaskCount--;
+    return task;
+  }
+
+  private DownloadTask pollUrgentTask() {
+    Iterator<DownloadTask> it = urgentTasks.iterator();
+    while (it.hasNext()) {
+      DownloadTask task = it.next();
+      if (!task.queue.isSaturated()) {
+        it.remove();
+        return task;
+      }
+    }
+    return null;
+  }
+
+  private QueryQueue pollReadyQueue() {
+    Iterator<QueryQueue> it = readyQueues.iterator();
+    while (it.hasNext()) {
+      QueryQueue queue = it.next();
+      if (!queue.isSaturated()) {
+        it.remove();
+        return queue;
+      }
+    }
+    return null;
+  }
+
+  /** Remove a task that has not started yet from whichever queue holds it. */
+  private void removeQueued(DownloadTask task) {
+    lock.lock();
+    try {
+      boolean removed;
+      if (task.urgent) {
+        removed = urgentTasks.remove(task);
+      } else {
+        removed = task.queue.tasks.remove(task);
+        if (removed && task.queue.tasks.isEmpty()) {
+          readyQueues.remove(task.queue);
+        }
+      }
+      if (removed) {
+        queuedTaskCount--;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Per result set queue of chunk downloads. */
+  final class QueryQueue {
+    private final String queryId;
+
+    // 0 if only the global cap applies
+    private final int maxActive;
+
+    private final Deque<DownloadTask> tasks = new ArrayDeque<>();
+
+    private boolean closed = false;
+
+    // guarded by the scheduler lock
+    private int activeCount = 0;
+
+    private QueryQueue(String queryId, int maxActive) {
+      this.queryId = queryId;
+      this.maxActive = Math.max(0, maxActive);
+    }
+
+    /** Must be called while holding the scheduler lock */
+    private boolean isSaturated() {
+      return maxActive > 0 && activeCount >= maxActive;
+    }
+
+    /**
+     * Queue a chunk download.
+     *
+     * @param callable download task
+     * @param urgent true if a consumer is already waiting for this chunk
+     * @return future of the download
+     */
+    Future<Void> submit(Callable<Void> callable, boolean urgent) {
+      DownloadTask task = new DownloadTask(this, callable, urgent);
+      lock.lock();
+      try {
+        if (closed) {
+          logger.debug("Download queue for query {} is closed, drop the task", queryId);
+          task.cancel(false);
+          return task;
+        }
+        if (urgent) {
+          urgentTasks.addLast(task);
+        } else {
+          if (tasks.isEmpty()) {
+            readyQueues.addLast(this);
+          }
+          tasks.addLast(task);
+        }
+        queuedTaskCount++;
+        dispatch();
+      } finally {
+        lock.unlock();
+      }
+      return task;
+    }
+
+    /**
+     * Move a queued download ahead of all prefetch work, because a consumer is now blocked on it.
+     * No-op if the download has already started.
+     *
+     * @param future future returned by {@link #submit(Callable, boolean)}
+     */
+    void prioritize(Future<?> future) {
+      if (!(future instanceof DownloadTask)) {
+        return;
+      }
+      DownloadTask task = (DownloadTask) future;
+      lock.lock();
+      try {
+        if (task.queue == this && !task.urgent && tasks.remove(task)) {
+          if (tasks.isEmpty()) {
+            readyQueues.remove(this);
+          }
+          task.urgent = true;
+          urgentTasks.addFirst(task);
+          logger.debug("Prioritized queued chunk download for query {}", queryId);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** Cancel all pending downloads of this queue and reject further submissions. */
+    void close() {
+      lock.lock();
+      try {
+        closed = true;
+        queuedTaskCount -= tasks.size();
+        for (DownloadTask task : tasks) {
+          task.cancelQueued();
+        }
+        tasks.clear();
+        readyQueues.remove(this);
+        Iterator<DownloadTask> it = urgentTasks.iterator();
+        while (it.hasNext()) {
+          DownloadTask task = it.next();
+          if (task.queue == this) {
+            it.remove();
+            queuedTaskCount--;
+            task.cancelQueued();
+          }
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private final class DownloadTask extends FutureTask<Void> {
+    private final QueryQueue queue;
+
+    // guarded by the scheduler lock
+    private boolean urgent;
+
+    private DownloadTask(QueryQueue queue, Callable<Void> callable, boolean urgent) {
+      super(callable);
+      this.queue = queue;
+      this.urgent = urgent;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      if (cancelled) {
+        removeQueued(this);
+      }
+      return cancelled;
+    }
+
+    /** Cancel a task that the caller has already removed from its queue. */
+    private void cancelQueued() {
+      super.cancel(false);
+    }
+  }
+}
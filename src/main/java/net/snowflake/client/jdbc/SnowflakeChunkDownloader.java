@@ -9,13 +9,14 @@ import static net.snowflake.client.core.Constants.MB;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.MappingJsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,10 +26,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import net.snowflake.client.core.ChunkDownloader;
 import net.snowflake.client.core.DownloaderMetrics;
@@ -36,10 +37,10 @@ import net.snowflake.client.core.HttpClientSettingsKey;
 import net.snowflake.client.core.HttpUtil;
 import net.snowflake.client.core.OCSPMode;
 import net.snowflake.client.core.ObjectMapperFactory;
+import net.snowflake.client.core.PooledBufferAllocator;
 import net.snowflake.client.core.QueryResultFormat;
 import net.snowflake.client.core.SFArrowResultSet;
 import net.snowflake.client.core.SFBaseSession;
-import net.snowflake.client.core.SessionUtil;
 import net.snowflake.client.jdbc.SnowflakeResultChunk.DownloadState;
 import net.snowflake.client.jdbc.telemetryOOB.TelemetryService;
 import net.snowflake.client.log.ArgSupplier;
@@ -74,8 +75,9 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
       new JsonResultChunk.ResultChunkDataCache();
   private List<SnowflakeResultChunk> chunks;
 
-  // index of next chunk to be consumed (it may not be ready yet)
-  private int nextChunkToConsume = 0;
+  // index of next chunk to be consumed (it may not be ready yet). Read by the download threads of
+  // streamed Arrow chunks.
+  private volatile int nextChunkToConsume = 0;
 
   // index of next chunk to be downloaded
   private int nextChunkToDownload = 0;
@@ -83,21 +85,54 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
   // number of prefetch slots
   private final int prefetchSlots;
 
-  // thread pool
+  // number of chunks to download ahead of the consumer, prefetchSlots unless adaptive
+  private final AdaptivePrefetchWindow prefetchWindow;
+
+  // prefetch window in effect when the consumer asked for each chunk
+  private final int[] prefetchWindows;
+
+  // time the consumer got the last chunk, -1 before the first chunk
+  private long lastChunkHandedOutMillis = -1;
+
+  // whether the consumer had to wait for the last chunk
+  private boolean consumerWaitedForLastChunk = false;
+
+  // thread pool, null when downloads go through the shared scheduler
   private final ThreadPoolExecutor executor;
 
+  // queue on the driver-wide download scheduler, null when using a thread pool per result set
+  private final SharedChunkDownloadScheduler.QueryQueue sharedDownloadQueue;
+
+  // decode stage of the chunk pipeline, null when chunks are decoded on the download threads
+  private final ChunkDecodeExecutor.DecodeQueue decodeQueue;
+
+  // number of threads downloading the chunks of this result set
+  private final int downloadThreads;
+
+  // hedges downloads of slow chunks, null when hedging is disabled
+  private final ChunkRequestHedger chunkHedger;
+
   // number of millis main thread waiting for chunks from downloader
   private long numberMillisWaitingForChunks = 0;
 
   // is the downloader terminated
   private final AtomicBoolean terminated = new AtomicBoolean(false);
 
+  // download and decode tasks of this downloader currently running, waited for by terminate
+  private final AtomicInteger runningTasks = new AtomicInteger();
+
   // number of millis spent on downloading result chunks
   private final AtomicLong totalMillisDownloadingChunks = new AtomicLong(0);
 
   // number of millis spent on parsing result chunks
   private final AtomicLong totalMillisParsingChunks = new AtomicLong(0);
 
+  // number of millis downloaded chunks waited for a decode thread
+  private final AtomicLong totalMillisWaitingForDecode = new AtomicLong(0);
+
+  // number of compressed bytes downloaded for the decode stage
+  private final AtomicLong totalCompressedBytesDownloaded = new AtomicLong(0);
+
   // The query result master key
   private final String qrmk;
 
@@ -110,14 +145,20 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
   private final int socketTimeout;
 
   private final int maxHttpRetries;
-  private long memoryLimit;
+  private volatile long memoryLimit;
+
+  // the memory budget shared by all result sets in the JVM
+  private static final ChunkMemoryBudget memoryBudget = ChunkMemoryBudget.getInstance();
 
-  // the current memory usage across JVM
-  private static final AtomicLong currentMemoryUsage = new AtomicLong();
+  // the account of this result set in the memory budget
+  private final ChunkMemoryBudget.Account memoryAccount;
 
   // used to track the downloading threads
   private Map<Integer, Future> downloaderFutures = new ConcurrentHashMap<>();
 
+  // used to track the decode tasks of downloaded chunks
+  private final Map<Integer, Future> decoderFutures = new ConcurrentHashMap<>();
+
   /** query result format */
   private QueryResultFormat queryResultFormat;
 
@@ -129,19 +170,16 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
   private final int firstChunkRowCount;
 
   static long getCurrentMemoryUsage() {
-    synchronized (currentMemoryUsage) {
-      return currentMemoryUsage.longValue();
-    }
+    return memoryBudget.getReservedBytes();
   }
 
-  // The parameters used to wait for available memory:
-  // starting waiting time will be BASE_WAITING_MS * WAITING_SECS_MULTIPLIER = 100 ms
-  private long BASE_WAITING_MS = 50;
-  private long WAITING_SECS_MULTIPLIER = 2;
-  // the maximum waiting time
-  private long MAX_WAITING_MS = 30 * 1000;
-  // the default jitter ratio 10%
-  private long WAITING_JITTER_RATIO = 10;
+  // the maximum time the consumer waits for other result sets to release memory before it
+  // downloads the chunk it needs anyway
+  private static final long MAX_WAITING_MS = 30 * 1000;
+
+  // a chunk waiting for memory to be decoded wakes up periodically to notice that the consumer has
+  // reached it
+  private static final long DECODE_MEMORY_WAIT_SLICE_MS = 100;
 
   private final ResultStreamProvider resultStreamProvider;
 
@@ -151,11 +189,6 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
 
   private static final int MAX_RETRY_JITTER = 1000; // milliseconds
 
-  // Only controls the max retry number when prefetch runs out of memory
-  // Will wait a while then retry to see if we can allocate the required memory
-  // Default value is 1
-  private int prefetchMaxRetry = 1;
-
   private static Throwable injectedDownloaderException = null; // for testing purpose
 
   // This function should only be used for testing purpose
@@ -235,24 +268,42 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
         (resultSetSerializable.getSession() != null)
             ? resultSetSerializable.getSession().orElse(null)
             : null;
-    if (this.session != null) {
-      Object prefetchMaxRetry =
-          this.session.getOtherParameter(SessionUtil.JDBC_CHUNK_DOWNLOADER_MAX_RETRY);
-      if (prefetchMaxRetry != null) {
-        this.prefetchMaxRetry = (int) prefetchMaxRetry;
-      }
-    }
     this.memoryLimit = resultSetSerializable.getMemoryLimit();
     if (this.session != null
         && session.getMemoryLimitForTesting() != SFBaseSession.MEMORY_LIMIT_UNSET) {
       this.memoryLimit = session.getMemoryLimitForTesting();
     }
+    if (this.session != null) {
+      this.memoryAccount =
+          memoryBudget.newStatementAccount(
+              memoryBudget.getConnectionAccount(
+                  this.session, (long) this.session.getClientMemoryLimitPerConnection() * MB),
+              (long) this.session.getClientMemoryLimitPerStatement() * MB);
+    } else {
+      this.memoryAccount = memoryBudget.newStatementAccount(null, 0);
+    }
+
+    if (this.session != null && this.session.getEnableAdaptivePrefetch()) {
+      this.prefetchWindow = new AdaptivePrefetchWindow(prefetchSlots, 1, 2 * prefetchSlots);
+    } else {
+      this.prefetchWindow = AdaptivePrefetchWindow.fixed(prefetchSlots);
+    }
+    this.prefetchWindows = new int[Math.max(0, resultSetSerializable.getChunkFileCount())];
 
     // create the chunks array
     this.chunks = new ArrayList<>(resultSetSerializable.getChunkFileCount());
 
     this.resultStreamProvider = resultSetSerializable.getResultStreamProvider();
 
+    if (this.session != null
+        && this.session.getEnableChunkHedging()
+        && resultStreamProvider instanceof DefaultResultStreamProvider) {
+      this.chunkHedger =
+          ChunkRequestHedger.forChunkCount(resultSetSerializable.getChunkFileCount());
+    } else {
+      this.chunkHedger = null;
+    }
+
     if (resultSetSerializable.getChunkFileCount() < 1) {
       throw new SnowflakeSQLLoggedException(
           this.session,
@@ -275,6 +326,10 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
                   chunkFileMetadata.getUncompressedByteSize(),
                   this.rootAllocator,
                   this.session);
+          if (this.session != null && this.session.getEnableArrowChunkStreaming()) {
+            ((ArrowResultChunk) chunk)
+                .enableStreaming(new StreamedChunkMemoryAccounting(chunks.size()));
+          }
           break;
 
         case JSON:
@@ -317,11 +372,39 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
         prefetchSlots,
         effectiveThreads);
 
-    // create thread pool
-    executor = createChunkDownloaderExecutorService("result-chunk-downloader-", effectiveThreads);
+    if (this.session != null && this.session.getEnableSharedChunkDownloader()) {
+      // submit to the driver-wide scheduler instead of creating a thread pool
+      // the limit of the connection applies to the queue of this result set, the global cap of
+      // the scheduler is shared by all connections
+      SharedChunkDownloadScheduler scheduler = SharedChunkDownloadScheduler.getInstance();
+      int maxThreads = this.session.getSharedChunkDownloaderMaxThreads();
+      executor = null;
+      sharedDownloadQueue = scheduler.register(queryId, maxThreads);
+      downloadThreads =
+          maxThreads > 0
+              ? Math.min(maxThreads, scheduler.getMaxConcurrency())
+              : scheduler.getMaxConcurrency();
+    } else {
+      // create thread pool
+      executor = createChunkDownloaderExecutorService("result-chunk-downloader-", effectiveThreads);
+      sharedDownloadQueue = null;
+      downloadThreads = effectiveThreads;
+    }
+
+    if (this.session != null
+        && this.session.getEnableChunkDecodePipeline()
+        && resultStreamProvider instanceof DefaultResultStreamProvider) {
+      // download threads only fetch the compressed chunks, a CPU sized pool decodes them
+      // the limit of the connection applies to the decodes of this result set, the size of the
+      // pool is shared by all connections
+      decodeQueue =
+          ChunkDecodeExecutor.getInstance().newQueue(this.session.getChunkDecodeThreads());
+    } else {
+      decodeQueue = null;
+    }
 
     try {
-      startNextDownloaders();
+      startNextDownloaders(false);
     } catch (OutOfMemoryError outOfMemoryError) {
       logOutOfMemoryError();
       StringWriter errors = new StringWriter();
@@ -331,14 +414,16 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
     }
   }
 
-  /** Submit download chunk tasks to executor. Number depends on thread and memory limit */
-  private void startNextDownloaders() throws SnowflakeSQLException {
-    long waitingTime = BASE_WAITING_MS;
-    long getPrefetchMemRetry = 0;
-
+  /**
+   * Submit download chunk tasks to executor. Number depends on thread and memory limit
+   *
+   * @param waitForMemory true if the caller may block until memory is available for the chunk the
+   *     consumer needs next
+   */
+  private void startNextDownloaders(boolean waitForMemory) throws SnowflakeSQLException {
     // submit the chunks to be downloaded up to the prefetch slot capacity
     // and limited by memory
-    while (nextChunkToDownload - nextChunkToConsume < prefetchSlots
+    while (nextChunkToDownload - nextChunkToConsume < prefetchWindow.getWindow()
         && nextChunkToDownload < chunks.size()) {
       // check if memory limit allows more prefetching
       final SnowflakeResultChunk nextChunk = chunks.get(nextChunkToDownload);
@@ -355,153 +440,319 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
         memoryLimit = neededChunkMemory;
       }
 
-      // try to reserve the needed memory
-      long curMem = currentMemoryUsage.addAndGet(neededChunkMemory);
-      // If there is not enough memory available for prefetch, cancel the memory allocation. It's
-      // cancelled when:
-      // 1. We haven't consumed enough chunks to download next chunk (nextChunkToDownload >
-      // nextChunkToConsume)
-      // 2. There is not enough memory for prefetching to begin with (nextChunkToDownload=0 &&
-      // nextChunkToConsume=0)
-      // In all other cases, don't cancel but wait until memory frees up.
-      if (curMem > memoryLimit
-          && (nextChunkToDownload - nextChunkToConsume > 0
-              || (nextChunkToDownload == 0 && nextChunkToConsume == 0))) {
-        // cancel the reserved memory and this downloader too
+      // SNOW-615824 Imagine this scenario to understand the root cause of this issue:
+      // When consuming chunk N, we try to prefetch chunk N+1. The prefetching failed and
+      // the chunk N+1 is marked as FAILED.
+      // After we are done with chunk N, we try to consume chunk N+1.
+      // In getNextChunkToConsume, we first call startNextDownloaders then call waitForChunkReady.
+      // startNextDownloaders sees that the next chunk to download is N+1. With enough memory at
+      // this time, it will try to download the chunk. waitForChunkReady sees that chunk N+1 is
+      // marked as FAILED, it will also try to download the chunk because it thinks that no
+      // prefetching will download the chunk.
+      // Thus we will submit two download jobs, causing chunk N+1 appears to be lost.
+      // Therefore the fix is to only prefetch chunks that are marked as NOT_STARTED here.
+      nextChunk.getLock().lock();
+      try {
+        if (nextChunk.getDownloadState() != DownloadState.NOT_STARTED) {
+          break;
+        }
+      } finally {
+        nextChunk.getLock().unlock();
+      }
+
+      // Only the chunk the consumer needs next may wait for memory. At that point this result set
+      // holds no other chunk memory, so it waits for other result sets to release theirs. Prefetch
+      // of later chunks stops instead and resumes when the consumer frees a chunk.
+      if (!reserveChunkMemory(
+          neededChunkMemory, waitForMemory && nextChunkToDownload == nextChunkToConsume)) {
         logger.debug(
-            "Not enough memory available for prefetch. Cancel reserved memory. MemoryLimit: {},"
-                + " curMem: {}, nextChunkToDownload: {}, nextChunkToConsume: {}, retry: {}",
+            "Not enough memory available for prefetch. MemoryLimit: {}, currentMemoryUsage: {},"
+                + " neededChunkMemory: {}, nextChunkToDownload: {}, nextChunkToConsume: {}",
             memoryLimit,
-            curMem,
+            memoryBudget.getReservedBytes(),
+            neededChunkMemory,
             nextChunkToDownload,
-            nextChunkToConsume,
-            getPrefetchMemRetry);
-        currentMemoryUsage.addAndGet(-neededChunkMemory);
-        nextChunk.getLock().lock();
-        try {
-          nextChunk.setDownloadState(DownloadState.FAILURE);
-        } finally {
-          nextChunk.getLock().unlock();
-        }
+            nextChunkToConsume);
         break;
       }
 
-      // only allocate memory when the future usage is less than the limit
-      if (curMem <= memoryLimit) {
-        if (queryResultFormat == QueryResultFormat.JSON) {
-          ((JsonResultChunk) nextChunk).tryReuse(chunkDataCache);
-        }
+      if (queryResultFormat == QueryResultFormat.JSON) {
+        ((JsonResultChunk) nextChunk).tryReuse(chunkDataCache);
+      }
+
+      logger.debug(
+          "Thread {}: currentMemoryUsage in MB: {}, nextChunkToDownload: {}, "
+              + "nextChunkToConsume: {}, newReservedMemory in B: {} ",
+          (ArgSupplier) () -> Thread.currentThread().getId(),
+          (ArgSupplier) () -> memoryBudget.getReservedBytes() / MB,
+          nextChunkToDownload,
+          nextChunkToConsume,
+          neededChunkMemory);
+
+      logger.debug(
+          "Submit chunk #{} for downloading, url: {}",
+          this.nextChunkToDownload,
+          nextChunk.getScrubbedUrl());
+
+      Future downloaderFuture =
+          submitDownloadTask(
+              getDownloadChunkCallable(
+                  this,
+                  nextChunk,
+                  qrmk,
+                  nextChunkToDownload,
+                  chunkHeadersMap,
+                  networkTimeoutInMilli,
+                  authTimeout,
+                  socketTimeout,
+                  maxHttpRetries,
+                  this.session,
+                  chunks.size(),
+                  queryId),
+              false);
+      downloaderFutures.put(nextChunkToDownload, downloaderFuture);
+      // increment next chunk to download
+      nextChunkToDownload++;
+    }
+
+    // clear the cache, we can't download more at the moment
+    // so we won't need them in the near future
+    chunkDataCache.clear();
+  }
 
+  /**
+   * Reserve memory for a chunk in the shared memory budget
+   *
+   * @param neededChunkMemory bytes to reserve
+   * @param waitForMemory true to block until the memory is released by other result sets
+   * @return true if the memory has been reserved
+   * @throws SnowflakeSQLException if interrupted while waiting
+   */
+  private boolean reserveChunkMemory(long neededChunkMemory, boolean waitForMemory)
+      throws SnowflakeSQLException {
+    if (memoryBudget.tryReserve(memoryAccount, neededChunkMemory, memoryLimit)) {
+      return true;
+    }
+    if (!waitForMemory) {
+      return false;
+    }
+    logger.debug(
+        "Thread {} waiting for memory: currentMemoryUsage in MB: {}, neededChunkMemory in MB: {},"
+            + " nextChunkToDownload: {}, waiters: {}",
+        (ArgSupplier) () -> Thread.currentThread().getId(),
+        (ArgSupplier) () -> memoryBudget.getReservedBytes() / MB,
+        neededChunkMemory / MB,
+        nextChunkToDownload,
+        (ArgSupplier) memoryBudget::getWaiterCount);
+    long startTime = System.currentTimeMillis();
+    try {
+      if (!memoryBudget.reserve(memoryAccount, neededChunkMemory, memoryLimit, MAX_WAITING_MS)) {
+        // memory may be held by result sets which are not consumed while we wait, e.g. by the same
+        // thread. Go over the limit rather than hang.
         logger.debug(
-            "Thread {}: currentMemoryUsage in MB: {}, nextChunkToDownload: {}, "
-                + "nextChunkToConsume: {}, newReservedMemory in B: {} ",
-            (ArgSupplier) () -> Thread.currentThread().getId(),
-            curMem / MB,
+            "Waited {} ms for memory, download chunk#{} over the memory limit {}",
+            MAX_WAITING_MS,
             nextChunkToDownload,
-            nextChunkToConsume,
-            neededChunkMemory);
+            memoryLimit);
+        memoryBudget.forceReserve(memoryAccount, neededChunkMemory);
+      }
+    } catch (InterruptedException ie) {
+      throw new SnowflakeSQLException(
+          SqlState.INTERNAL_ERROR,
+          ErrorCode.INTERNAL_ERROR.getMessageCode(),
+          "Waiting SnowflakeChunkDownloader has been interrupted.");
+    } finally {
+      this.numberMillisWaitingForChunks += (System.currentTimeMillis() - startTime);
+    }
+    return true;
+  }
 
-        logger.debug(
-            "Submit chunk #{} for downloading, url: {}",
-            this.nextChunkToDownload,
-            nextChunk.getScrubbedUrl());
-
-        // SNOW-615824 Imagine this scenario to understand the root cause of this issue:
-        // When consuming chunk N, we try to prefetch chunk N+1. The prefetching failed due to
-        // hitting memoryLimit. We will mark the chunk N+1 as FAILED.
-        // After we are done with chunk N, we try to consume chunk N+1.
-        // In getNextChunkToConsume, we first call startNextDownloaders then call waitForChunkReady.
-        // startNextDownloaders sees that the next chunk to download is N+1. With enough memory at
-        // this time, it will try to download the chunk. waitForChunkReady sees that chunk N+1 is
-        // marked as FAILED, it will also try to download the chunk because it thinks that no
-        // prefetching will download the chunk.
-        // Thus we will submit two download jobs, causing chunk N+1 appears to be lost.
-        // Therefore the fix is to only prefetch chunks that are marked as NOT_STARTED here.
-        nextChunk.getLock().lock();
-        try {
-          if (nextChunk.getDownloadState() != DownloadState.NOT_STARTED) {
-            break;
-          }
-        } finally {
-          nextChunk.getLock().unlock();
-        }
+  /**
+   * Reserve memory in the shared memory budget for data of a chunk held while the chunk is decoded.
+   * The chunk the consumer is reading or waiting for never blocks. A prefetched chunk waits for
+   * memory as long as the consumer is busy with an earlier chunk, but not longer than
+   * MAX_WAITING_MS.
+   *
+   * @param chunkIndex index of the chunk
+   * @param bytes bytes to reserve
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private void reserveDecodeMemory(int chunkIndex, long bytes) throws InterruptedException {
+    if (bytes <= 0 || memoryBudget.tryReserve(memoryAccount, bytes, memoryLimit)) {
+      return;
+    }
+    long deadline = System.currentTimeMillis() + MAX_WAITING_MS;
+    while (chunkIndex > nextChunkToConsume
+        && !terminated.get()
+        && System.currentTimeMillis() < deadline) {
+      if (memoryBudget.reserve(memoryAccount, bytes, memoryLimit, DECODE_MEMORY_WAIT_SLICE_MS)) {
+        return;
+      }
+    }
+    memoryBudget.forceReserve(memoryAccount, bytes);
+  }
 
-        Future downloaderFuture =
-            executor.submit(
-                getDownloadChunkCallable(
-                    this,
-                    nextChunk,
-                    qrmk,
-                    nextChunkToDownload,
-                    chunkHeadersMap,
-                    networkTimeoutInMilli,
-                    authTimeout,
-                    socketTimeout,
-                    maxHttpRetries,
-                    this.session,
-                    chunks.size(),
-                    queryId));
-        downloaderFutures.put(nextChunkToDownload, downloaderFuture);
-        // increment next chunk to download
-        nextChunkToDownload++;
-        // make sure reset waiting time
-        waitingTime = BASE_WAITING_MS;
-        // go to next chunk
-        continue;
-      } else {
-        // cancel the reserved memory
-        logger.debug("Cancel the reserved memory.", false);
-        curMem = currentMemoryUsage.addAndGet(-neededChunkMemory);
-        if (getPrefetchMemRetry > prefetchMaxRetry) {
-          logger.debug(
-              "Retry limit for prefetch has been reached. Cancel reserved memory and prefetch"
-                  + " attempt.",
-              false);
-          nextChunk.getLock().lock();
+  /**
+   * @param bytes bytes reserved by {@link #reserveDecodeMemory(int, long)}
+   */
+  private void releaseDecodeMemory(long bytes) {
+    if (bytes > 0) {
+      memoryBudget.release(memoryAccount, bytes);
+    }
+  }
+
+  /** Charges the record batches of a streamed Arrow chunk to the memory budget while decoded */
+  private class StreamedChunkMemoryAccounting implements ArrowResultChunk.BatchMemoryAccounting {
+    private final int chunkIndex;
+
+    StreamedChunkMemoryAccounting(int chunkIndex) {
+      this.chunkIndex = chunkIndex;
+    }
+
+    @Override
+    public void reserve(long bytes) throws InterruptedException {
+      reserveDecodeMemory(chunkIndex, bytes);
+    }
+
+    @Override
+    public void release(long bytes) {
+      releaseDecodeMemory(bytes);
+    }
+  }
+
+  /**
+   * Submit a chunk download to the thread pool of this downloader or to the shared scheduler
+   *
+   * @param downloadCallable download task
+   * @param urgent true if the consumer is already waiting for this chunk
+   * @return future of the download task
+   */
+  private Future<?> submitDownloadTask(Callable<Void> downloadCallable, boolean urgent) {
+    Callable<Void> trackedCallable =
+        () -> {
+          if (!startTask()) {
+            return null;
+          }
           try {
-            nextChunk.setDownloadState(DownloadState.FAILURE);
+            return downloadCallable.call();
           } finally {
-            nextChunk.getLock().unlock();
+            finishTask();
           }
-          break;
-        }
+        };
+    if (sharedDownloadQueue != null) {
+      return sharedDownloadQueue.submit(trackedCallable, urgent);
+    }
+    return executor.submit(trackedCallable);
+  }
+
+  /**
+   * Count a download or decode task of this downloader as running, so that terminate waits for it
+   * before freeing the chunks and the memory it uses. Must be followed by {@link #finishTask()} if
+   * it returns true.
+   *
+   * @return false if the downloader is terminated and the task must not run
+   */
+  private boolean startTask() {
+    runningTasks.incrementAndGet();
+    // terminate waits only for the tasks counted before it is terminated
+    if (terminated.get()) {
+      finishTask();
+      return false;
+    }
+    return true;
+  }
+
+  /** Count a task started by {@link #startTask()} as completed */
+  private void finishTask() {
+    if (runningTasks.decrementAndGet() == 0) {
+      synchronized (runningTasks) {
+        runningTasks.notifyAll();
       }
+    }
+  }
 
-      // waiting when nextChunkToDownload is equal to nextChunkToConsume but reach memory limit
-      try {
-        waitingTime *= WAITING_SECS_MULTIPLIER;
-        waitingTime = waitingTime > MAX_WAITING_MS ? MAX_WAITING_MS : waitingTime;
-        long jitter = ThreadLocalRandom.current().nextLong(0, waitingTime / WAITING_JITTER_RATIO);
-        waitingTime += jitter;
-        getPrefetchMemRetry++;
-        if (logger.isDebugEnabled()) {
+  /**
+   * Wait for the running download and decode tasks of this downloader, which may run on threads
+   * shared with other downloaders, to complete after they have been cancelled
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private void awaitRunningTasks() throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIME);
+    synchronized (runningTasks) {
+      while (runningTasks.get() > 0) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
           logger.debug(
-              "Thread {} waiting for {} s: currentMemoryUsage in MB: {}, neededChunkMemory in MB:"
-                  + " {}, nextChunkToDownload: {}, nextChunkToConsume: {}, retry: {}",
-              (ArgSupplier) () -> Thread.currentThread().getId(),
-              waitingTime / 1000.0,
-              curMem / MB,
-              neededChunkMemory / MB,
-              nextChunkToDownload,
-              nextChunkToConsume,
-              getPrefetchMemRetry);
+              "{} tasks of the downloader did not complete in the specified time.",
+              runningTasks.get());
+          return;
         }
-        Thread.sleep(waitingTime);
-      } catch (InterruptedException ie) {
-        throw new SnowflakeSQLException(
-            SqlState.INTERNAL_ERROR,
-            ErrorCode.INTERNAL_ERROR.getMessageCode(),
-            "Waiting SnowflakeChunkDownloader has been interrupted.");
+        TimeUnit.NANOSECONDS.timedWait(runningTasks, remaining);
       }
     }
+  }
 
-    // clear the cache, we can't download more at the moment
-    // so we won't need them in the near future
-    chunkDataCache.clear();
+  /**
+   * Download the compressed bytes of a chunk, hedged if hedging is enabled
+   *
+   * @param provider provider downloading the chunk
+   * @param context chunk download context
+   * @return the compressed bytes, to be released by the caller
+   * @throws Exception if the chunk cannot be downloaded
+   */
+  private CompressedChunkBuffer downloadCompressedChunk(
+      DefaultResultStreamProvider provider, ChunkDownloadContext context) throws Exception {
+    if (chunkHedger == null) {
+      return provider.downloadCompressedChunk(context);
+    }
+    // the duplicate response is charged like the chunk itself, with its uncompressed size
+    long hedgeMemory = context.getResultChunk().getUncompressedSize();
+    return chunkHedger.execute(
+        attempt -> provider.downloadCompressedChunk(context, attempt),
+        CompressedChunkBuffer::release,
+        new ChunkRequestHedger.HedgeMemory() {
+          @Override
+          public boolean tryReserve() {
+            return memoryBudget.tryReserve(memoryAccount, hedgeMemory, memoryLimit);
+          }
+
+          @Override
+          public void release() {
+            memoryBudget.release(memoryAccount, hedgeMemory);
+          }
+        });
   }
 
   /**
-   * release the memory usage from currentMemoryUsage
+   * Submit a downloaded chunk to the decode stage
+   *
+   * @param chunkIndex index of the chunk
+   * @param decodeTask decompresses and parses the chunk
+   * @param discard releases the downloaded chunk if it is not decoded
+   */
+  private void submitDecodeTask(int chunkIndex, Runnable decodeTask, Runnable discard) {
+    final long queuedTime = System.currentTimeMillis();
+    Future<?> decoderFuture =
+        decodeQueue.submit(
+            () -> {
+              totalMillisWaitingForDecode.addAndGet(System.currentTimeMillis() - queuedTime);
+              if (!startTask()) {
+                discard.run();
+                return;
+              }
+              try {
+                decodeTask.run();
+              } finally {
+                finishTask();
+              }
+            },
+            discard);
+    decoderFutures.put(chunkIndex, decoderFuture);
+  }
+
+  /**
+   * release the memory usage from the shared memory budget
    *
    * @param chunkId chunk ID
    * @param optionalReleaseSize if present, then release the specified size
@@ -513,7 +764,8 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
             : chunks.get(chunkId).computeNeededChunkMemory();
     if (releaseSize > 0 && !chunks.get(chunkId).isReleased()) {
       // has to be before reusing the memory
-      long curMem = currentMemoryUsage.addAndGet(-releaseSize);
+      memoryBudget.release(memoryAccount, releaseSize);
+      long curMem = memoryBudget.getReservedBytes();
       logger.debug(
           "Thread {} - currentMemoryUsage in MB: {}, released in MB: {}, "
               + "chunk: {}, optionalReleaseSize: {}, JVMFreeMem: {}",
@@ -556,6 +808,10 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
     if (this.nextChunkToConsume > 0) {
       int prevChunk = this.nextChunkToConsume - 1;
 
+      // adapt the prefetch window to the time the consumer spent on the previous chunk
+      prefetchWindow.chunkConsumed(
+          System.currentTimeMillis() - lastChunkHandedOutMillis, consumerWaitedForLastChunk);
+
       // free the chunk data for previous chunk
       logger.debug("Free chunk data for chunk #{}", prevChunk);
 
@@ -585,9 +841,11 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
       return null;
     }
 
+    prefetchWindows[nextChunkToConsume] = prefetchWindow.getWindow();
+
     // prefetch next chunks
     try {
-      startNextDownloaders();
+      startNextDownloaders(true);
     } catch (OutOfMemoryError outOfMemoryError) {
       logOutOfMemoryError();
       StringWriter errors = new StringWriter();
@@ -601,6 +859,8 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
     if (currentChunk.getDownloadState() == DownloadState.SUCCESS) {
       logger.debug("Chunk #{} is ready to consume", nextChunkToConsume);
       nextChunkToConsume++;
+      lastChunkHandedOutMillis = System.currentTimeMillis();
+      consumerWaitedForLastChunk = false;
       if (nextChunkToConsume == this.chunks.size()) {
         // make sure to release the last chunk
         releaseCurrentMemoryUsage(nextChunkToConsume - 1, Optional.empty());
@@ -613,6 +873,14 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
         logger.debug("Chunk#{} is not ready to consume", nextChunkToConsume);
         logger.debug("Consumer get lock to check chunk state", false);
 
+        if (sharedDownloadQueue != null) {
+          // the consumer is blocked on this chunk, don't let it wait behind prefetch work
+          Future downloaderFuture = downloaderFutures.get(nextChunkToConsume);
+          if (downloaderFuture != null) {
+            sharedDownloadQueue.prioritize(downloaderFuture);
+          }
+        }
+
         waitForChunkReady(currentChunk);
 
         // downloader thread encountered an error
@@ -636,6 +904,8 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
         logger.debug("Chunk#{} is ready to consume", nextChunkToConsume);
 
         nextChunkToConsume++;
+        lastChunkHandedOutMillis = System.currentTimeMillis();
+        consumerWaitedForLastChunk = true;
 
         // next chunk to consume is ready for consumption
         return currentChunk;
@@ -716,6 +986,10 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
         if (downloaderFuture != null) {
           downloaderFuture.cancel(true);
         }
+        Future decoderFuture = decoderFutures.remove(nextChunkToConsume);
+        if (decoderFuture != null) {
+          decoderFuture.cancel(true);
+        }
         HttpUtil.closeExpiredAndIdleConnections();
 
         chunks.get(nextChunkToConsume).getLock().lock();
@@ -730,7 +1004,7 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
         Thread.sleep(new Random().nextInt(MAX_RETRY_JITTER));
 
         downloaderFuture =
-            executor.submit(
+            submitDownloadTask(
                 getDownloadChunkCallable(
                     this,
                     chunks.get(nextChunkToConsume),
@@ -743,7 +1017,8 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
                     maxHttpRetries,
                     session,
                     chunks.size(),
-                    queryId));
+                    queryId),
+                true);
         downloaderFutures.put(nextChunkToConsume, downloaderFuture);
         // Only when prefetch fails due to internal memory limitation, nextChunkToDownload
         // equals nextChunkToConsume. In that case we need to increment nextChunkToDownload
@@ -798,7 +1073,7 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
         totalMillisDownloadingChunks.get(),
         totalMillisParsingChunks.get(),
         chunks.size(),
-        currentMemoryUsage,
+        memoryBudget.getReservedBytes(),
         memoryLimit,
         nextChunkToDownload,
         nextChunkToConsume);
@@ -833,7 +1108,16 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
               && injectedDownloaderException instanceof InterruptedException) {
             throw (InterruptedException) SnowflakeChunkDownloader.injectedDownloaderException;
           }
+        } else if (sharedDownloadQueue != null) {
+          // drop queued downloaders and cancel running ones, the shared workers stay alive
+          sharedDownloadQueue.close();
+          downloaderFutures.forEach((k, v) -> v.cancel(true));
         }
+        // the decode threads are shared, only cancel the tasks of this result set
+        decoderFutures.forEach((k, v) -> v.cancel(true));
+        // cancelled tasks may still be running on shared threads, wait for them before their
+        // chunks and memory are freed
+        awaitRunningTasks();
 
         long totalUncompressedSize =
             chunks.stream()
@@ -860,11 +1144,35 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
             firstChunkRowCount + rowsInChunks,
             rowsInChunks / chunksSize,
             Runtime.getRuntime().totalMemory() / MB);
+        logger.debug(
+            "Chunk buffer pool: {} hits, {} misses, {} MB idle",
+            PooledBufferAllocator.heap().getHitCount(),
+            PooledBufferAllocator.heap().getMissCount(),
+            PooledBufferAllocator.heap().getPooledBytes() / MB);
+        logger.debug(
+            "Prefetch window for query {}: initial {}, final {}",
+            queryId,
+            prefetchSlots,
+            prefetchWindow.getWindow());
+        if (chunkHedger != null) {
+          logger.debug(
+              "Hedged chunk downloads for query {}: {} issued, {} won",
+              queryId,
+              chunkHedger.getHedgesIssued(),
+              chunkHedger.getHedgesWon());
+        }
 
         return new DownloaderMetrics(
             numberMillisWaitingForChunks,
             totalMillisDownloadingChunks.get(),
-            totalMillisParsingChunks.get());
+            totalMillisParsingChunks.get(),
+            totalMillisWaitingForDecode.get(),
+            totalCompressedBytesDownloaded.get(),
+            downloadThreads,
+            decodeQueue != null ? decodeQueue.getMaxThreads() : 0,
+            Arrays.copyOf(prefetchWindows, Math.min(nextChunkToConsume, prefetchWindows.length)),
+            chunkHedger != null ? chunkHedger.getHedgesIssued() : 0,
+            chunkHedger != null ? chunkHedger.getHedgesWon() : 0);
       } finally {
         for (SnowflakeResultChunk chunk : chunks) {
           // explicitly free each chunk since Arrow chunk may hold direct memory
@@ -949,16 +1257,30 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
        * @throws SnowflakeSQLException
        */
       private void downloadAndParseChunk(InputStream inputStream) throws SnowflakeSQLException {
-        // remember the download time
+        recordDownloadTime();
+        parseChunk(inputStream);
+      }
+
+      /** remember the download time */
+      private void recordDownloadTime() {
         resultChunk.setDownloadTime(System.currentTimeMillis() - startTime);
         downloader.addDownloadTime(resultChunk.getDownloadTime());
+      }
 
+      /**
+       * Parse the decompressed chunk data into memory and close the stream
+       *
+       * @param inputStream decompressed chunk data
+       * @throws SnowflakeSQLException if the chunk cannot be parsed
+       */
+      private void parseChunk(InputStream inputStream) throws SnowflakeSQLException {
         startTime = System.currentTimeMillis();
 
         // parse the result json
         try {
           if (downloader.queryResultFormat == QueryResultFormat.ARROW) {
-            ((ArrowResultChunk) resultChunk).readArrowStream(inputStream);
+            // a streamed chunk is ready to consume once its first record batch is decoded
+            ((ArrowResultChunk) resultChunk).readArrowStream(inputStream, this::setChunkReady);
           } else {
             parseJsonToChunkV2(inputStream, resultChunk);
           }
@@ -998,6 +1320,44 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
         downloader.addParsingTime(resultChunk.getParseTime());
       }
 
+      /**
+       * Decode stage of the chunk pipeline: decompress and parse a downloaded chunk. Without the
+       * pipeline, a hedged download is decoded on the download thread.
+       *
+       * @param provider provider which downloaded the chunk
+       * @param compressed compressed chunk data, released once parsed
+       * @param compressedMemory memory reserved for the compressed data, released once parsed
+       */
+      private void decodeChunk(
+          DefaultResultStreamProvider provider,
+          CompressedChunkBuffer compressed,
+          long compressedMemory) {
+        try {
+          logger.debug(
+              "Thread {} start decoding chunk#{}", Thread.currentThread().getId(), chunkIndex);
+          parseChunk(provider.getDecompressedInputStream(compressed));
+          chunkDecoded();
+        } catch (Throwable th) {
+          chunkFailed(th);
+        } finally {
+          compressed.release();
+          downloader.releaseDecodeMemory(compressedMemory);
+          downloader.decoderFutures.remove(chunkIndex);
+        }
+      }
+
+      /** Wake up the consumer of a streamed chunk before the chunk is fully decoded */
+      private void setChunkReady() {
+        resultChunk.getLock().lock();
+        try {
+          logger.debug("Chunk#{} has its first record batch, ready to consume", chunkIndex);
+          resultChunk.setDownloadState(DownloadState.SUCCESS);
+          resultChunk.getDownloadCondition().signal();
+        } finally {
+          resultChunk.getLock().unlock();
+        }
+      }
+
       private long startTime;
 
       public Void call() {
@@ -1026,6 +1386,45 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
             throw SnowflakeChunkDownloader.injectedDownloaderException;
           }
 
+          if (downloader.decodeQueue != null || downloader.chunkHedger != null) {
+            // I/O stage of the chunk pipeline or a hedged download: only fetch the compressed
+            // bytes, a hedged download must complete before the chunk is parsed
+            DefaultResultStreamProvider provider =
+                (DefaultResultStreamProvider) downloader.getResultStreamProvider();
+            CompressedChunkBuffer compressed =
+                downloader.downloadCompressedChunk(provider, downloadContext);
+            recordDownloadTime();
+            downloader.totalCompressedBytesDownloaded.addAndGet(compressed.size());
+            if (downloader.decodeQueue == null) {
+              downloader.downloaderFutures.remove(chunkIndex);
+              decodeChunk(provider, compressed, 0);
+              return null;
+            }
+            logger.debug(
+                "Thread {} downloaded {} compressed bytes of chunk#{}, submit for decoding",
+                Thread.currentThread().getId(),
+                compressed.size(),
+                chunkIndex);
+            // the compressed bytes waiting for a decode thread are charged to the memory budget,
+            // so a slow decode stage slows down the downloads
+            long compressedMemory = compressed.size();
+            try {
+              downloader.reserveDecodeMemory(chunkIndex, compressedMemory);
+            } catch (InterruptedException ex) {
+              compressed.release();
+              throw ex;
+            }
+            downloader.submitDecodeTask(
+                chunkIndex,
+                () -> decodeChunk(provider, compressed, compressedMemory),
+                () -> {
+                  compressed.release();
+                  downloader.releaseDecodeMemory(compressedMemory);
+                });
+            downloader.downloaderFutures.remove(chunkIndex);
+            return null;
+          }
+
           InputStream is = downloader.getResultStreamProvider().getInputStream(downloadContext);
           logger.debug(
               "Thread {} start downloading chunk#{}", Thread.currentThread().getId(), chunkIndex);
@@ -1033,82 +1432,93 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
           logger.debug(
               "Thread {} finish downloading chunk#{}", Thread.currentThread().getId(), chunkIndex);
           downloader.downloaderFutures.remove(chunkIndex);
-          if (chunkIndex % 5 == 0) {
-            logger.debug(
-                "Processed {} chunk#{} in {} ms ({} out of {}) for query {}. Download took {} ms, "
-                    + "parsing took {} ms. Chunk uncompressed size: {} kB, cols: {}, rows: {}, scrubbed URL: {}",
-                downloader.queryResultFormat == QueryResultFormat.ARROW ? "ARROW" : "JSON",
-                chunkIndex,
-                resultChunk.getTotalTime(),
-                chunkIndex + 1,
-                totalChunks,
-                queryId,
-                resultChunk.getDownloadTime(),
-                resultChunk.getParseTime(),
-                resultChunk.getUncompressedSize() / 1024,
-                resultChunk.colCount,
-                resultChunk.rowCount,
-                resultChunk.getScrubbedUrl());
-          } else {
-            logger.trace(
-                "Processed {} chunk#{} in {} ms ({} out of {}) for query {}. Download took {} ms, "
-                    + "parsing took {} ms. Chunk uncompressed size: {} kB, cols: {}, rows: {}, scrubbed URL: {}",
-                downloader.queryResultFormat == QueryResultFormat.ARROW ? "ARROW" : "JSON",
-                chunkIndex,
-                resultChunk.getTotalTime(),
-                chunkIndex + 1,
-                totalChunks,
-                queryId,
-                resultChunk.getDownloadTime(),
-                resultChunk.getParseTime(),
-                resultChunk.getUncompressedSize() / 1024,
-                resultChunk.colCount,
-                resultChunk.rowCount,
-                resultChunk.getScrubbedUrl());
-          }
+          chunkDecoded();
+        } catch (Throwable th) {
+          chunkFailed(th);
+        }
 
-          resultChunk.getLock().lock();
-          try {
-            logger.debug("Get lock to change the chunk to be ready to consume", false);
+        return null;
+      }
 
-            logger.debug("Wake up consumer if it is waiting for a chunk to be ready", false);
+      /** Log the chunk statistics and hand the chunk to the consumer */
+      private void chunkDecoded() {
+        downloader.prefetchWindow.chunkDownloaded(resultChunk.getTotalTime());
+        if (chunkIndex % 5 == 0) {
+          logger.debug(
+              "Processed {} chunk#{} in {} ms ({} out of {}) for query {}. Download took {} ms, "
+                  + "parsing took {} ms. Chunk uncompressed size: {} kB, cols: {}, rows: {}, scrubbed URL: {}",
+              downloader.queryResultFormat == QueryResultFormat.ARROW ? "ARROW" : "JSON",
+              chunkIndex,
+              resultChunk.getTotalTime(),
+              chunkIndex + 1,
+              totalChunks,
+              queryId,
+              resultChunk.getDownloadTime(),
+              resultChunk.getParseTime(),
+              resultChunk.getUncompressedSize() / 1024,
+              resultChunk.colCount,
+              resultChunk.rowCount,
+              resultChunk.getScrubbedUrl());
+        } else {
+          logger.trace(
+              "Processed {} chunk#{} in {} ms ({} out of {}) for query {}. Download took {} ms, "
+                  + "parsing took {} ms. Chunk uncompressed size: {} kB, cols: {}, rows: {}, scrubbed URL: {}",
+              downloader.queryResultFormat == QueryResultFormat.ARROW ? "ARROW" : "JSON",
+              chunkIndex,
+              resultChunk.getTotalTime(),
+              chunkIndex + 1,
+              totalChunks,
+              queryId,
+              resultChunk.getDownloadTime(),
+              resultChunk.getParseTime(),
+              resultChunk.getUncompressedSize() / 1024,
+              resultChunk.colCount,
+              resultChunk.rowCount,
+              resultChunk.getScrubbedUrl());
+        }
 
-            resultChunk.setDownloadState(DownloadState.SUCCESS);
-            resultChunk.getDownloadCondition().signal();
-          } finally {
-            logger.debug("Downloaded chunk#{}, free lock", chunkIndex);
+        resultChunk.getLock().lock();
+        try {
+          logger.debug("Get lock to change the chunk to be ready to consume", false);
 
-            resultChunk.getLock().unlock();
-          }
-        } catch (Throwable th) {
-          resultChunk.getLock().lock();
-          try {
-            logger.debug("Get lock to set chunk download error", false);
-            resultChunk.setDownloadState(DownloadState.FAILURE);
-            downloader.releaseCurrentMemoryUsage(chunkIndex, Optional.empty());
-            StringWriter errors = new StringWriter();
-            th.printStackTrace(new PrintWriter(errors));
-            resultChunk.setDownloadError(errors.toString());
+          logger.debug("Wake up consumer if it is waiting for a chunk to be ready", false);
 
-            logger.debug("Wake up consumer if it is waiting for a chunk to be ready", false);
+          resultChunk.setDownloadState(DownloadState.SUCCESS);
+          resultChunk.getDownloadCondition().signal();
+        } finally {
+          logger.debug("Downloaded chunk#{}, free lock", chunkIndex);
 
-            resultChunk.getDownloadCondition().signal();
-          } finally {
-            logger.debug("Failed to download chunk#{}, free lock", chunkIndex);
-            resultChunk.getLock().unlock();
-          }
+          resultChunk.getLock().unlock();
+        }
+      }
 
-          logger.debug(
-              "Thread {} Exception encountered ({}:{}) fetching chunk#{} from: {}, Error {}",
-              Thread.currentThread().getId(),
-              th.getClass().getName(),
-              th.getLocalizedMessage(),
-              chunkIndex,
-              resultChunk.getScrubbedUrl(),
-              resultChunk.getDownloadError());
+      /** Report a download or decode error to the consumer */
+      private void chunkFailed(Throwable th) {
+        resultChunk.getLock().lock();
+        try {
+          logger.debug("Get lock to set chunk download error", false);
+          resultChunk.setDownloadState(DownloadState.FAILURE);
+          downloader.releaseCurrentMemoryUsage(chunkIndex, Optional.empty());
+          StringWriter errors = new StringWriter();
+          th.printStackTrace(new PrintWriter(errors));
+          resultChunk.setDownloadError(errors.toString());
+
+          logger.debug("Wake up consumer if it is waiting for a chunk to be ready", false);
+
+          resultChunk.getDownloadCondition().signal();
+        } finally {
+          logger.debug("Failed to download chunk#{}, free lock", chunkIndex);
+          resultChunk.getLock().unlock();
         }
 
-        return null;
+        logger.debug(
+            "Thread {} Exception encountered ({}:{}) fetching chunk#{} from: {}, Error {}",
+            Thread.currentThread().getId(),
+            th.getClass().getName(),
+            th.getLocalizedMessage(),
+            chunkIndex,
+            resultChunk.getScrubbedUrl(),
+            resultChunk.getDownloadError());
       }
 
       private void parseJsonToChunkV2(InputStream jsonInputStream, SnowflakeResultChunk resultChunk)
@@ -1124,51 +1534,37 @@ public class SnowflakeChunkDownloader implements ChunkDownloader {
          * The number of rows is known and the number of expected columns
          * is also known.
          */
-        ResultJsonParserV2 jp = new ResultJsonParserV2();
+        ResultJsonParserV2 jp =
+            session != null && session.getEnableSwarJsonParser()
+                ? new SwarResultJsonParser()
+                : new ResultJsonParserV2();
         jp.startParsing((JsonResultChunk) resultChunk, session);
 
-        byte[] buf = new byte[STREAM_BUFFER_SIZE];
-
-        // To be used to copy the leftover buffer data in the case of buffer ending in escape state
-        // during parsing.
-        byte[] prevBuffer = null;
-        ByteBuffer bBuf = null;
-        int len;
-        logger.debug(
-            "Thread {} start to read inputstream for chunk#{}",
-            Thread.currentThread().getId(),
-            chunkIndex);
-        while ((len = jsonInputStream.read(buf)) != -1) {
-          if (prevBuffer != null) {
-            // if parsing stopped during an escape sequence in jp.continueParsing() and there is
-            // leftover data in the buffer,
-            // prepend the copied data to the next buffer read from the output stream.
-            ByteArrayOutputStream os = new ByteArrayOutputStream();
-            os.write(prevBuffer);
-            os.write(buf);
-            buf = os.toByteArray();
-            len += prevBuffer.length;
-          }
-          bBuf = ByteBuffer.wrap(buf, 0, len);
-          jp.continueParsing(bBuf, session);
-          if (bBuf.remaining() > 0) {
-            // if there is any data left un-parsed, it will be prepended to the next buffer read.
-            prevBuffer = new byte[bBuf.remaining()];
-            bBuf.get(prevBuffer);
-          } else {
-            prevBuffer = null;
+        byte[] buf = PooledBufferAllocator.heap().allocate(STREAM_BUFFER_SIZE);
+        try {
+          // number of bytes at the start of buf which were left un-parsed by the previous call of
+          // jp.continueParsing(), at most an escape sequence ending the previous read
+          int leftover = 0;
+          int len;
+          logger.debug(
+              "Thread {} start to read inputstream for chunk#{}",
+              Thread.currentThread().getId(),
+              chunkIndex);
+          while ((len = jsonInputStream.read(buf, leftover, buf.length - leftover)) != -1) {
+            ByteBuffer bBuf = ByteBuffer.wrap(buf, 0, leftover + len);
+            jp.continueParsing(bBuf, session);
+            // move the data left un-parsed to the start of the buffer, the next read is appended
+            leftover = bBuf.remaining();
+            System.arraycopy(buf, ((Buffer) bBuf).position(), buf, 0, leftover);
           }
+          logger.debug(
+              "Thread {} finish reading inputstream for chunk#{}",
+              Thread.currentThread().getId(),
+              chunkIndex);
+          jp.endParsing(ByteBuffer.wrap(buf, 0, leftover), session);
+        } finally {
+          PooledBufferAllocator.heap().release(buf);
         }
-        logger.debug(
-            "Thread {} finish reading inputstream for chunk#{}",
-            Thread.currentThread().getId(),
-            chunkIndex);
-        if (prevBuffer != null) {
-          bBuf = ByteBuffer.wrap(prevBuffer);
-        } else {
-          bBuf = ByteBuffer.wrap(new byte[0]);
-        }
-        jp.endParsing(bBuf, session);
       }
     };
   }
@@ -49,6 +49,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPOutputStream;
 import net.snowflake.client.core.ExecTimeTelemetryData;
+import net.snowflake.client.core.FileDigestCache;
 import net.snowflake.client.core.FileUtil;
 import net.snowflake.client.core.HttpClientSettingsKey;
 import net.snowflake.client.core.OCSPMode;
@@ -384,6 +385,90 @@ public class SnowflakeFileTransferAgent extends SFBaseFileTransferAgent {
     }
   }
 
+  /**
+   * Compress a file with GZIP on several threads and return the result size, digest and compressed
+   * stream.
+   *
+   * @param file the file to compress
+   * @param parallel number of threads
+   * @param computeDigest whether to compute the digest of the compressed file
+   * @param session the session
+   * @param queryId last query id
+   * @return result size, digest and compressed stream
+   * @throws SnowflakeSQLException if encountered exception when compressing
+   */
+  private static InputStreamWithMetadata compressFileWithGZIPInParallel(
+      File file, int parallel, boolean computeDigest, SFBaseSession session, String queryId)
+      throws SnowflakeSQLException {
+    try {
+      return ParallelGzipCompressor.compress(file, parallel, computeDigest);
+    } catch (IOException ex) {
+      logger.error("Exception compressing file", ex);
+
+      throw new SnowflakeSQLLoggedException(
+          queryId,
+          session,
+          SqlState.INTERNAL_ERROR,
+          ErrorCode.INTERNAL_ERROR.getMessageCode(),
+          ex,
+          "error encountered for compression");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SnowflakeSQLLoggedException(
+          queryId, session, ErrorCode.INTERRUPTED.getMessageCode(), SqlState.QUERY_CANCELED);
+    }
+  }
+
+  /**
+   * @param session the session
+   * @param parallel number of threads available to upload the file
+   * @param srcFile the file to upload, or null
+   * @return true if the file is compressed on several threads when it is uploaded
+   */
+  private static boolean useParallelCompression(SFBaseSession session, int parallel, File srcFile) {
+    return srcFile != null
+        && parallel > 1
+        && session != null
+        && session.getEnableParallelPutCompression()
+        && srcFile.length() > ParallelGzipCompressor.PART_SIZE;
+  }
+
+  /**
+   * Compress a local file for a digest check the same way it is compressed when it is uploaded, so
+   * that its digest is the one of the file uploaded by an earlier PUT.
+   *
+   * @param file the local file
+   * @return result size, digest and compressed stream
+   * @throws SnowflakeSQLException if encountered exception when compressing
+   * @throws IOException if the file could not be read
+   */
+  InputStreamWithMetadata compressFileForDigestCheck(File file)
+      throws SnowflakeSQLException, IOException {
+    if (isCompressedInParallel(file)) {
+      logger.debug("Compressing file on {} threads for digest check", parallel);
+      return compressFileWithGZIPInParallel(file, parallel, true, session, queryID);
+    }
+    logger.debug("Compressing stream for digest check");
+    try (InputStream fileStream = new FileInputStream(file)) {
+      return compressStreamWithGZIP(fileStream, session, queryID);
+    }
+  }
+
+  /**
+   * @param file a file to upload
+   * @return true if the file is compressed on several threads when uploaded by this agent
+   */
+  private boolean isCompressedInParallel(File file) {
+    // big files are uploaded one after the other with all threads, see uploadFiles; Azure files
+    // are compressed while they are uploaded if the streaming pipeline is enabled
+    return commandType == CommandType.UPLOAD
+        && !(stageInfo.getStageType() == StageInfo.StageType.AZURE
+            && session != null
+            && session.getEnableStreamingPutPipeline())
+        && file.length() > bigFileThreshold
+        && useParallelCompression(session, parallel, file);
+  }
+
   /**
    * Compress an input stream with GZIP and return the result size, digest and compressed stream.
    *
@@ -598,12 +683,37 @@ public class SnowflakeFileTransferAgent extends SFBaseFileTransferAgent {
 
         // SNOW-16082: we should capture exception if we fail to compress or
         // calculate digest.
+        // Stream compressing, and digesting, the content while it is uploaded
+        GzipDigestInputStream pipelineStream = null;
+
         try {
-          if (metadata.requireCompress) {
-            InputStreamWithMetadata compressedSizeAndStream =
-                (encMat == null
-                    ? compressStreamWithGZIPNoDigest(uploadStream, session, queryId)
-                    : compressStreamWithGZIP(uploadStream, session, queryId));
+          if (metadata.requireCompress
+              && stage.getStageType() == StageInfo.StageType.AZURE
+              && session.getEnableStreamingPutPipeline()) {
+            // Azure sets the metadata of a blob once its content is uploaded, so the content is
+            // compressed, digested and encrypted in a single pass while it is uploaded, instead of
+            // being compressed to a temporary stream first. The size is known once uploaded.
+            // A file is opened again if the upload has to be retried
+            pipelineStream =
+                new GzipDigestInputStream(
+                    uploadStream,
+                    inputStream == null ? () -> new FileInputStream(srcFilePath) : null,
+                    encMat != null);
+            uploadStream = pipelineStream;
+            uploadSize = 0;
+          } else if (metadata.requireCompress) {
+            InputStreamWithMetadata compressedSizeAndStream;
+            if (inputStream == null && useParallelCompression(session, parallel, srcFile)) {
+              // big files are uploaded one at a time, compress them on all threads
+              compressedSizeAndStream =
+                  compressFileWithGZIPInParallel(
+                      srcFile, parallel, encMat != null, session, queryId);
+            } else {
+              compressedSizeAndStream =
+                  (encMat == null
+                      ? compressStreamWithGZIPNoDigest(uploadStream, session, queryId)
+                      : compressStreamWithGZIP(uploadStream, session, queryId));
+            }
 
             fileBackedOutputStream = compressedSizeAndStream.fileBackedOutputStream;
 
@@ -695,6 +805,9 @@ public class SnowflakeFileTransferAgent extends SFBaseFileTransferAgent {
               metadata.isEncrypted = encMat != null;
               break;
           }
+          if (pipelineStream != null) {
+            uploadSize = pipelineStream.getCompressedSize();
+          }
         } catch (SnowflakeSimulatedUploadFailure ex) {
           // This code path is used for Simulated failure code in tests.
           // Never happen in production
@@ -2711,15 +2824,13 @@ public class SnowflakeFileTransferAgent extends SFBaseFileTransferAgent {
         InputStream localFileStream = null;
         try {
           // calculate the digest hash of the local file
-          localFileStream = new FileInputStream(localFile);
-
           if (fileMetadataMap.get(mappedSrcFile).requireCompress) {
-            logger.debug("Compressing stream for digest check");
-
-            InputStreamWithMetadata res = compressStreamWithGZIP(localFileStream, session, queryID);
+            InputStreamWithMetadata res = compressFileForDigestCheck(new File(localFile));
             fileBackedOutputStreams.add(res.fileBackedOutputStream);
 
             localFileStream = res.fileBackedOutputStream.asByteSource().openStream();
+          } else {
+            localFileStream = new FileInputStream(localFile);
           }
 
           InputStreamWithMetadata res = computeDigest(localFileStream, false);
@@ -2804,6 +2915,24 @@ public class SnowflakeFileTransferAgent extends SFBaseFileTransferAgent {
   private void compareAndSkipRemoteFiles(
       StorageObjectSummaryCollection objectSummaries, Map<String, String> destFileNameToSrcFileMap)
       throws SnowflakeSQLException {
+    FileDigestCache digestCache =
+        session != null && session.getEnableFileDigestCache()
+            ? FileDigestCache.getInstance()
+            : null;
+    try {
+      compareAndSkipRemoteFiles(objectSummaries, destFileNameToSrcFileMap, digestCache);
+    } finally {
+      if (digestCache != null) {
+        digestCache.flush();
+      }
+    }
+  }
+
+  private void compareAndSkipRemoteFiles(
+      StorageObjectSummaryCollection objectSummaries,
+      Map<String, String> destFileNameToSrcFileMap,
+      FileDigestCache digestCache)
+      throws SnowflakeSQLException {
     for (StorageObjectSummary obj : objectSummaries) {
       logger.debug(
           "Existing object: key: {} size: {} md5: {}", obj.getKey(), obj.getSize(), obj.getMD5());
@@ -2893,33 +3022,66 @@ public class SnowflakeFileTransferAgent extends SFBaseFileTransferAgent {
         InputStream fileStream = null;
         String hashText = null;
 
+        // the size and modification time are read before the file, so that a digest is never
+        // cached for a content of the file other than the one digested
+        File localFileToDigest = new File(localFile);
+        long localFileSize = localFileToDigest.length();
+        long localFileLastModified = localFileToDigest.lastModified();
+        // files compressed on several threads have another digest than when compressed sequentially
+        String digestCompressionType =
+            !fileMetadataMap.get(mappedSrcFile).requireCompress
+                ? "NONE"
+                : isCompressedInParallel(localFileToDigest)
+                    ? FileCompressionType.GZIP.name() + "_PARALLEL"
+                    : FileCompressionType.GZIP.name();
+        boolean digestCached = false;
+        if (objDigest != null && digestCache != null) {
+          hashText =
+              digestCache.getDigest(
+                  localFileToDigest, localFileSize, localFileLastModified, digestCompressionType);
+          digestCached = hashText != null;
+          if (digestCached) {
+            logger.debug("Using cached digest of {}", localFile);
+          }
+        }
+
         // Streams (potentially with temp files) to clean up
         final List<FileBackedOutputStream> fileBackedOutputStreams = new ArrayList<>();
         try {
-          fileStream = new FileInputStream(localFile);
-          if (fileMetadataMap.get(mappedSrcFile).requireCompress) {
-            logger.debug("Compressing stream for digest check");
-
-            InputStreamWithMetadata res = compressStreamWithGZIP(fileStream, session, queryID);
+          // an unchanged file with a cached digest is not read again
+          if (!digestCached) {
+            if (fileMetadataMap.get(mappedSrcFile).requireCompress) {
+              InputStreamWithMetadata res = compressFileForDigestCheck(localFileToDigest);
 
-            fileStream = res.fileBackedOutputStream.asByteSource().openStream();
-            fileBackedOutputStreams.add(res.fileBackedOutputStream);
-          }
-
-          // If the remote file has our digest, compute the SHA-256
-          // for the local file
-          // If the remote file does not have our digest but is unencrypted,
-          // we compare the MD5 of the unencrypted local file to the ETag
-          // of the S3 file.
-          // Otherwise (remote file is encrypted, but has no sfc-digest),
-          // no comparison is performed
-          if (objDigest != null) {
-            InputStreamWithMetadata res = computeDigest(fileStream, false);
-            hashText = res.digest;
-            fileBackedOutputStreams.add(res.fileBackedOutputStream);
+              fileStream = res.fileBackedOutputStream.asByteSource().openStream();
+              fileBackedOutputStreams.add(res.fileBackedOutputStream);
+            } else {
+              fileStream = new FileInputStream(localFile);
+            }
 
-          } else if (!remoteEncrypted) {
-            hashText = DigestUtils.md5Hex(fileStream);
+            // If the remote file has our digest, compute the SHA-256
+            // for the local file
+            // If the remote file does not have our digest but is unencrypted,
+            // we compare the MD5 of the unencrypted local file to the ETag
+            // of the S3 file.
+            // Otherwise (remote file is encrypted, but has no sfc-digest),
+            // no comparison is performed
+            if (objDigest != null) {
+              InputStreamWithMetadata res = computeDigest(fileStream, false);
+              hashText = res.digest;
+              fileBackedOutputStreams.add(res.fileBackedOutputStream);
+
+              if (digestCache != null) {
+                digestCache.putDigest(
+                    localFileToDigest,
+                    localFileSize,
+                    localFileLastModified,
+                    digestCompressionType,
+                    hashText);
+              }
+            } else if (!remoteEncrypted) {
+              hashText = DigestUtils.md5Hex(fileStream);
+            }
           }
         } finally {
           if (fileStream != null) {
@@ -27,13 +27,10 @@ import java.sql.SQLXML;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
@@ -48,6 +45,7 @@ import net.snowflake.client.core.SFPreparedStatementMetaData;
 import net.snowflake.client.core.SfSqlArray;
 import net.snowflake.client.core.SfTimestampUtil;
 import net.snowflake.client.core.StmtUtil;
+import net.snowflake.client.core.bind.ArrayBindColumn;
 import net.snowflake.client.log.SFLogger;
 import net.snowflake.client.log.SFLoggerFactory;
 import net.snowflake.client.util.VariableTypeArray;
@@ -87,18 +85,31 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
   /** statement and result metadata from describe phase */
   private boolean showStatementParameters;
 
+  /** Snowflake types of the parameters set by the typed setters */
+  private static final String BOOLEAN_TYPE = SnowflakeType.BOOLEAN.name();
+
+  private static final String FIXED_TYPE = SnowflakeType.FIXED.name();
+  private static final String REAL_TYPE = SnowflakeType.REAL.name();
+  private static final String TEXT_TYPE = SnowflakeType.TEXT.name();
+  private static final String BINARY_TYPE = SnowflakeType.BINARY.name();
+  private static final String DATE_TYPE = SnowflakeType.DATE.name();
+  private static final String TIME_TYPE = SnowflakeType.TIME.name();
+  private static final String ANY_TYPE = SnowflakeType.ANY.name();
+
   /**
-   * map of bind name to bind values for single query execution
+   * bind values for single query execution, converted to a map of bind name to bind values when the
+   * query is executed
    *
    * <p>Currently, bind name is just value index
    */
-  private Map<String, ParameterBindingDTO> parameterBindings = new HashMap<>();
+  private final ParameterBindingStore parameterBindings = new ParameterBindingStore();
 
-  /** map of bind values for batch query executions */
+  /**
+   * map of bind values for batch query executions, the values of each parameter are kept in an
+   * {@link ArrayBindColumn}
+   */
   private Map<String, ParameterBindingDTO> batchParameterBindings = new HashMap<>();
 
-  private Map<String, Boolean> wasPrevValueNull = new HashMap<>();
-
   /** Counter for batch size if we are executing a statement with array bind supported */
   private int batchSize = 0;
 
@@ -168,7 +179,8 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     } else {
       logger.trace("executeQuery()", false);
     }
-    ResultSet rs = executeQueryInternal(sql, false, parameterBindings, execTimeData);
+    ResultSet rs =
+        executeQueryInternal(sql, false, parameterBindings.toParameterBindings(), execTimeData);
     execTimeData.setQueryEnd();
     execTimeData.generateTelemetry();
     logger.debug("Query completed. {}", execTimeData.getLogString());
@@ -190,7 +202,8 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     } else {
       logger.trace("executeAsyncQuery()", false);
     }
-    ResultSet rs = executeQueryInternal(sql, true, parameterBindings, execTimeData);
+    ResultSet rs =
+        executeQueryInternal(sql, true, parameterBindings.toParameterBindings(), execTimeData);
     execTimeData.setQueryEnd();
     execTimeData.generateTelemetry();
     logger.debug("Query completed. {}", execTimeData.getLogString());
@@ -202,7 +215,9 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     ExecTimeTelemetryData execTimeTelemetryData =
         new ExecTimeTelemetryData("long PreparedStatement.executeLargeUpdate()", this.batchID);
     logger.trace("executeLargeUpdate()", false);
-    long updates = executeUpdateInternal(sql, parameterBindings, true, execTimeTelemetryData);
+    long updates =
+        executeUpdateInternal(
+            sql, parameterBindings.toParameterBindings(), true, execTimeTelemetryData);
     return updates;
   }
 
@@ -220,94 +235,61 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
         SnowflakeType.JavaSQLType.find(sqlType));
     raiseSQLExceptionIfStatementIsClosed();
 
-    ParameterBindingDTO binding = new ParameterBindingDTO(SnowflakeType.ANY.toString(), null);
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setNull(parameterIndex, ANY_TYPE);
   }
 
   @Override
   public void setBoolean(int parameterIndex, boolean x) throws SQLException {
     logger.trace("setBoolean(parameterIndex: {}, boolean x)", parameterIndex);
-    ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.BOOLEAN, connection.getSFBaseSession()),
-            String.valueOf(x));
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setBoolean(parameterIndex, BOOLEAN_TYPE, x);
   }
 
   @Override
   public void setByte(int parameterIndex, byte x) throws SQLException {
     logger.trace("setByte(parameterIndex: {}, byte x)", parameterIndex);
-    ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.TINYINT, connection.getSFBaseSession()),
-            String.valueOf(x));
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setLong(parameterIndex, FIXED_TYPE, x);
   }
 
   @Override
   public void setShort(int parameterIndex, short x) throws SQLException {
     logger.trace("setShort(parameterIndex: {}, short x)", parameterIndex);
 
-    ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.SMALLINT, connection.getSFBaseSession()),
-            String.valueOf(x));
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setLong(parameterIndex, FIXED_TYPE, x);
   }
 
   @Override
   public void setInt(int parameterIndex, int x) throws SQLException {
     logger.trace("setInt(parameterIndex: {}, int x)", parameterIndex);
 
-    ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.INTEGER, connection.getSFBaseSession()),
-            String.valueOf(x));
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setLong(parameterIndex, FIXED_TYPE, x);
   }
 
   @Override
   public void setLong(int parameterIndex, long x) throws SQLException {
     logger.trace("setLong(parameterIndex: {}, long x)", parameterIndex);
 
-    ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.BIGINT, connection.getSFBaseSession()),
-            String.valueOf(x));
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setLong(parameterIndex, FIXED_TYPE, x);
   }
 
   @Override
   public void setBigInteger(int parameterIndex, BigInteger x) throws SQLException {
     logger.trace("setBigInteger(parameterIndex: {}, BigInteger x)", parameterIndex);
 
-    ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.BIGINT, connection.getSFBaseSession()),
-            String.valueOf(x));
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setReference(parameterIndex, FIXED_TYPE, x);
   }
 
   @Override
   public void setFloat(int parameterIndex, float x) throws SQLException {
     logger.trace("setFloat(parameterIndex: {}, float x)", parameterIndex);
 
-    ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.FLOAT, connection.getSFBaseSession()),
-            String.valueOf(x));
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setFloat(parameterIndex, REAL_TYPE, x);
   }
 
   @Override
   public void setDouble(int parameterIndex, double x) throws SQLException {
     logger.trace("setDouble(parameterIndex: {}, double x)", parameterIndex);
 
-    ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.DOUBLE, connection.getSFBaseSession()),
-            String.valueOf(x));
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setDouble(parameterIndex, REAL_TYPE, x);
   }
 
   @Override
@@ -317,11 +299,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     if (x == null) {
       setNull(parameterIndex, Types.DECIMAL);
     } else {
-      ParameterBindingDTO binding =
-          new ParameterBindingDTO(
-              SnowflakeUtil.javaTypeToSFTypeString(Types.DECIMAL, connection.getSFBaseSession()),
-              String.valueOf(x));
-      parameterBindings.put(String.valueOf(parameterIndex), binding);
+      parameterBindings.setReference(parameterIndex, FIXED_TYPE, x);
     }
   }
 
@@ -329,21 +307,14 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
   public void setString(int parameterIndex, String x) throws SQLException {
     logger.trace("setString(parameterIndex: {}, String x)", parameterIndex);
 
-    ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.VARCHAR, connection.getSFBaseSession()), x);
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setReference(parameterIndex, TEXT_TYPE, x);
   }
 
   @Override
   public void setBytes(int parameterIndex, byte[] x) throws SQLException {
     logger.trace("setBytes(parameterIndex: {}, byte[] x)", parameterIndex);
 
-    ParameterBindingDTO binding =
-        new ParameterBindingDTO(
-            SnowflakeUtil.javaTypeToSFTypeString(Types.BINARY, connection.getSFBaseSession()),
-            new SFBinary(x).toHex());
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setReference(parameterIndex, BINARY_TYPE, new SFBinary(x).toHex());
   }
 
   private void setObjectInternal(int parameterIndex, SQLData sqlData) throws SQLException {
@@ -357,7 +328,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
             SnowflakeUtil.javaTypeToSFTypeString(Types.STRUCT, connection.getSFBaseSession()),
             stream.getJsonString(),
             stream.getSchema());
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setBinding(parameterIndex, binding);
   }
 
   @Override
@@ -367,15 +338,12 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     if (x == null) {
       setNull(parameterIndex, Types.DATE);
     } else {
-      ParameterBindingDTO binding =
-          new ParameterBindingDTO(
-              SnowflakeUtil.javaTypeToSFTypeString(Types.DATE, connection.getSFBaseSession()),
-              String.valueOf(
-                  x.getTime()
-                      + TimeZone.getDefault().getOffset(x.getTime())
-                      - ResultUtil.msDiffJulianToGregorian(x)));
-
-      parameterBindings.put(String.valueOf(parameterIndex), binding);
+      parameterBindings.setLong(
+          parameterIndex,
+          DATE_TYPE,
+          x.getTime()
+              + TimeZone.getDefault().getOffset(x.getTime())
+              - ResultUtil.msDiffJulianToGregorian(x));
     }
   }
 
@@ -389,12 +357,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
       // Convert to nanoseconds since midnight using the input time mod 24 hours.
       long nanosSinceMidnight = SfTimestampUtil.getTimeInNanoseconds(x);
 
-      ParameterBindingDTO binding =
-          new ParameterBindingDTO(
-              SnowflakeUtil.javaTypeToSFTypeString(Types.TIME, connection.getSFBaseSession()),
-              String.valueOf(nanosSinceMidnight));
-
-      parameterBindings.put(String.valueOf(parameterIndex), binding);
+      parameterBindings.setLong(parameterIndex, TIME_TYPE, nanosSinceMidnight);
     }
   }
 
@@ -407,14 +370,6 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
 
   private void setTimestampWithType(int parameterIndex, Timestamp x, int snowflakeType)
       throws SQLException {
-    // convert the timestamp from being in local time zone to be in UTC timezone
-    String value =
-        x == null
-            ? null
-            : String.valueOf(
-                BigDecimal.valueOf((x.getTime() - ResultUtil.msDiffJulianToGregorian(x)) / 1000)
-                    .scaleByPowerOfTen(9)
-                    .add(BigDecimal.valueOf(x.getNanos())));
     String bindingTypeName;
     switch (snowflakeType) {
       case SnowflakeUtil.EXTRA_TYPES_TIMESTAMP_LTZ:
@@ -428,8 +383,24 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
         break;
     }
 
-    ParameterBindingDTO binding = new ParameterBindingDTO(bindingTypeName, value);
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    if (x == null) {
+      parameterBindings.setReference(parameterIndex, bindingTypeName, null);
+      return;
+    }
+    // convert the timestamp from being in local time zone to be in UTC timezone
+    long seconds = (x.getTime() - ResultUtil.msDiffJulianToGregorian(x)) / 1000;
+    try {
+      parameterBindings.setLong(
+          parameterIndex,
+          bindingTypeName,
+          Math.addExact(Math.multiplyExact(seconds, 1000_000_000L), x.getNanos()));
+    } catch (ArithmeticException ex) {
+      // nanoseconds since the epoch beyond the range of a long
+      parameterBindings.setReference(
+          parameterIndex,
+          bindingTypeName,
+          BigDecimal.valueOf(seconds).scaleByPowerOfTen(9).add(BigDecimal.valueOf(x.getNanos())));
+    }
   }
 
   @Override
@@ -472,11 +443,10 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
           parameterIndex,
           SnowflakeType.JavaSQLType.find(targetSqlType));
 
-      ParameterBindingDTO binding =
-          new ParameterBindingDTO(
-              SnowflakeUtil.javaTypeToSFTypeString(targetSqlType, connection.getSFBaseSession()),
-              String.valueOf(x));
-      parameterBindings.put(String.valueOf(parameterIndex), binding);
+      parameterBindings.setReference(
+          parameterIndex,
+          SnowflakeUtil.javaTypeToSFTypeString(targetSqlType, connection.getSFBaseSession()),
+          String.valueOf(x));
     }
   }
 
@@ -526,7 +496,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     ExecTimeTelemetryData execTimeData =
         new ExecTimeTelemetryData("boolean PreparedStatement.execute(String)", this.batchID);
     logger.debug("Execute: {}", sql);
-    boolean success = executeInternal(sql, parameterBindings, execTimeData);
+    boolean success = executeInternal(sql, parameterBindings.toParameterBindings(), execTimeData);
 
     execTimeData.setQueryEnd();
     execTimeData.generateTelemetry();
@@ -542,73 +512,66 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
 
     describeSqlIfNotTried();
     if (preparedStatementMetaData.isArrayBindSupported()) {
-      for (Map.Entry<String, ParameterBindingDTO> binding : parameterBindings.entrySet()) {
+      for (int parameterIndex = 1;
+          parameterIndex <= parameterBindings.getMaxIndex();
+          parameterIndex++) {
+        if (!parameterBindings.isSet(parameterIndex)) {
+          continue;
+        }
+        String bindName = ParameterBindingStore.bindName(parameterIndex);
         // get the entry for the bind variable in the batch binding map
-        ParameterBindingDTO bindingValueAndType = batchParameterBindings.get(binding.getKey());
+        ParameterBindingDTO bindingValueAndType = batchParameterBindings.get(bindName);
 
-        List<String> values;
+        ArrayBindColumn values;
 
-        Object newValue = binding.getValue().getValue();
+        boolean isNewValueNull = parameterBindings.isNull(parameterIndex);
+        String newType = parameterBindings.getType(parameterIndex);
         // create binding value and type for the first time
         if (bindingValueAndType == null) {
-          // create the value list
-          values = new ArrayList<>();
+          // create the value column
+          values = new ArrayBindColumn();
 
-          bindingValueAndType = new ParameterBindingDTO(binding.getValue().getType(), values);
+          bindingValueAndType = new ParameterBindingDTO(newType, values);
 
           // put the new map into the batch
-          batchParameterBindings.put(binding.getKey(), bindingValueAndType);
-
-          wasPrevValueNull.put(binding.getKey(), binding.getValue().getValue() == null);
+          batchParameterBindings.put(bindName, bindingValueAndType);
         } else {
+          // found the existing map so just get the value column
+          values = (ArrayBindColumn) bindingValueAndType.getValue();
+
           // make sure type matches except for null values
           String prevType = bindingValueAndType.getType();
-          String newType = binding.getValue().getType();
 
-          if (wasPrevValueNull.get(binding.getKey()) && newValue != null) {
-            // if previous value is null and the current value is not null
+          if (values.isAllNull() && !isNewValueNull) {
+            // if previous values are null and the current value is not null
             // override the data type.
-            bindingValueAndType = batchParameterBindings.remove(binding.getKey());
             bindingValueAndType.setType(newType);
-            batchParameterBindings.put(binding.getKey(), bindingValueAndType);
             prevType = newType;
-            wasPrevValueNull.put(binding.getKey(), false);
           }
 
           // if previous type is null, replace it with new type
           if (SnowflakeType.ANY.name().equalsIgnoreCase(prevType)
               && !SnowflakeType.ANY.name().equalsIgnoreCase(newType)) {
             bindingValueAndType.setType(newType);
-          } else if (binding.getValue().getValue() != null && !prevType.equalsIgnoreCase(newType)) {
-            String row = "Unknown";
-            if (bindingValueAndType.getValue() instanceof Collection) {
-              final List<String> typeCheckedList = (List<String>) bindingValueAndType.getValue();
-              values = typeCheckedList;
-              row = Integer.toString(values.size() + 1);
-            }
+          } else if (!isNewValueNull && !prevType.equalsIgnoreCase(newType)) {
             throw new SnowflakeSQLLoggedException(
                 connection.getSFBaseSession(),
                 ErrorCode.ARRAY_BIND_MIXED_TYPES_NOT_SUPPORTED.getMessageCode(),
                 SqlState.FEATURE_NOT_SUPPORTED,
                 SnowflakeType.getJavaType(SnowflakeType.fromString(prevType), false).name(),
                 SnowflakeType.getJavaType(SnowflakeType.fromString(newType), false).name(),
-                binding.getKey(),
-                row);
+                bindName,
+                Integer.toString(values.size() + 1));
           }
-
-          // found the existing map so just get the value list
-          final List<String> typeCheckedList = (List<String>) bindingValueAndType.getValue();
-          values = typeCheckedList;
         }
 
-        // add the value to the list of values in batch binding map
-        values.add((String) newValue);
-        bindingValueAndType.setValue(values);
+        // add the value to the column of values in batch binding map
+        parameterBindings.appendTo(parameterIndex, values);
       }
       batchSize++;
     } else {
-      batch.add(new BatchEntry(this.sql, parameterBindings));
-      parameterBindings = new HashMap<>();
+      batch.add(new BatchEntry(this.sql, parameterBindings.toParameterBindings()));
+      parameterBindings.clear();
     }
   }
 
@@ -643,7 +606,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
               SnowflakeUtil.javaTypeToSFTypeString(Types.ARRAY, connection.getSFBaseSession()),
               sfArray.getJsonString(),
               sfArray.getSchema());
-      parameterBindings.put(String.valueOf(parameterIndex), binding);
+      parameterBindings.setBinding(parameterIndex, binding);
     } else {
       SfSqlArray sfArray = new SfSqlArray(Types.INTEGER, array);
       ParameterBindingDTO binding =
@@ -652,7 +615,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
               SnowflakeUtil.javaTypeToSFTypeString(Types.ARRAY, connection.getSFBaseSession()),
               sfArray.getJsonString(),
               sfArray.getSchema());
-      parameterBindings.put(String.valueOf(parameterIndex), binding);
+      parameterBindings.setBinding(parameterIndex, binding);
     }
   }
 
@@ -687,7 +650,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     } catch (JsonProcessingException e) {
       throw new RuntimeException(e);
     }
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setBinding(parameterIndex, binding);
   }
 
   @Override
@@ -715,11 +678,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
                   + cal.getTimeZone().getOffset(x.getTime())
                   - ResultUtil.msDiffJulianToGregorian(x));
 
-      ParameterBindingDTO binding =
-          new ParameterBindingDTO(
-              SnowflakeUtil.javaTypeToSFTypeString(Types.DATE, connection.getSFBaseSession()),
-              value);
-      parameterBindings.put(String.valueOf(parameterIndex), binding);
+      parameterBindings.setReference(parameterIndex, DATE_TYPE, value);
     }
   }
 
@@ -767,8 +726,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
       }
     }
 
-    ParameterBindingDTO binding = new ParameterBindingDTO(sfType.name(), value);
-    parameterBindings.put(String.valueOf(parameterIndex), binding);
+    parameterBindings.setReference(parameterIndex, sfType.name(), value);
   }
 
   @Override
@@ -927,7 +885,6 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
     super.clearBatch();
     batchParameterBindings.clear();
     parameterBindings.clear();
-    wasPrevValueNull.clear();
     batchSize = 0;
   }
 
@@ -1066,7 +1023,7 @@ class SnowflakePreparedStatementV1 extends SnowflakeStatementV1
 
   // package private for testing purpose only
   Map<String, ParameterBindingDTO> getParameterBindings() {
-    return parameterBindings;
+    return parameterBindings.toParameterBindings();
   }
 
   // For testing use only
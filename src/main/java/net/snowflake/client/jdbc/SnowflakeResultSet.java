@@ -5,8 +5,10 @@
 package net.snowflake.client.jdbc;
 
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.util.List;
 import net.snowflake.client.core.QueryStatus;
+import org.apache.arrow.memory.BufferAllocator;
 
 /** This interface defines Snowflake specific APIs for ResultSet */
 public interface SnowflakeResultSet {
@@ -63,4 +65,34 @@ public interface SnowflakeResultSet {
    */
   List<SnowflakeResultSetSerializable> getResultSetSerializables(long maxSizeInBytes)
       throws SQLException;
+
+  /**
+   * Read the result set as Arrow record batches instead of row by row. Only available for Arrow
+   * results that have not been read with next() yet; row access is not possible afterwards.
+   *
+   * <p>The batches are allocated from the allocator of the result set. They stay valid after the
+   * result set is closed, but the memory is only given back once every batch is closed.
+   *
+   * @return an iterator over the record batches
+   * @throws SQLException if the result set is not an Arrow result or has been read already
+   * @throws SQLFeatureNotSupportedException if the implementation does not support Arrow batches
+   */
+  default ArrowBatchIterator getArrowBatches() throws SQLException {
+    throw new SQLFeatureNotSupportedException("getArrowBatches is not supported");
+  }
+
+  /**
+   * Read the result set as Arrow record batches owned by the given allocator. The batches are
+   * transferred without copying if the allocator shares the root of the result set allocator,
+   * otherwise they are copied into it.
+   *
+   * @param allocator allocator which owns the returned batches
+   * @return an iterator over the record batches
+   * @throws SQLException if the result set is not an Arrow result or has been read already
+   * @throws SQLFeatureNotSupportedException if the implementation does not support Arrow batches
+   * @see #getArrowBatches()
+   */
+  default ArrowBatchIterator getArrowBatches(BufferAllocator allocator) throws SQLException {
+    throw new SQLFeatureNotSupportedException("getArrowBatches is not supported");
+  }
 }
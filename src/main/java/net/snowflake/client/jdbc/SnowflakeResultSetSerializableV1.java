@@ -16,6 +16,7 @@ import static net.snowflake.client.jdbc.SnowflakeChunkDownloader.NoOpChunkDownlo
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.BinaryNode;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.Serializable;
@@ -130,7 +131,8 @@ public class SnowflakeResultSetSerializableV1
   }
 
   // Below fields are for the data fields that this object wraps
-  // For ARROW, firstChunkStringData is BASE64-encoded arrow file.
+  // For ARROW, firstChunkStringData is BASE64-encoded arrow file. It is null if the response was
+  // parsed from the HTTP stream and the arrow file was decoded into firstChunkByteData right away.
   // For JSON,  it's string data for the json.
   String firstChunkStringData;
   int firstChunkRowCount;
@@ -365,7 +367,14 @@ public class SnowflakeResultSetSerializableV1
 
     // process the content of first chunk.
     if (this.queryResultFormat == QueryResultFormat.ARROW) {
-      this.firstChunkStringData = rootNode.path("data").path("rowsetBase64").asText();
+      JsonNode rowsetBase64Node = rootNode.path("data").path("rowsetBase64");
+      if (rowsetBase64Node.isBinary()) {
+        // decoded while the response was parsed, the BASE64 text is only built on demand
+        this.firstChunkByteData = ((BinaryNode) rowsetBase64Node).binaryValue();
+        this.firstChunkStringData = this.firstChunkByteData.length == 0 ? "" : null;
+      } else {
+        this.firstChunkStringData = rowsetBase64Node.asText();
+      }
       this.rootAllocator = new RootAllocator(Long.MAX_VALUE);
       // Set first chunk row count from firstChunkStringData
       this.setFirstChunkRowCountForArrow();
@@ -686,9 +695,33 @@ public class SnowflakeResultSetSerializableV1
   }
 
   public String getFirstChunkStringData() {
+    if (firstChunkStringData == null && hasDecodedFirstChunkOnly()) {
+      firstChunkStringData = Base64.getEncoder().encodeToString(firstChunkByteData);
+    }
     return firstChunkStringData;
   }
 
+  /**
+   * @return true if the first ARROW chunk is only available decoded, see firstChunkStringData
+   */
+  private boolean hasDecodedFirstChunkOnly() {
+    return firstChunkStringData == null
+        && queryResultFormat == QueryResultFormat.ARROW
+        && firstChunkByteData != null
+        && firstChunkByteData.length > 0;
+  }
+
+  /**
+   * @return length of firstChunkStringData, without encoding a decoded first chunk
+   */
+  private long getFirstChunkStringDataLength() {
+    if (hasDecodedFirstChunkOnly()) {
+      // length of the BASE64 encoding with padding
+      return 4L * ((firstChunkByteData.length + 2) / 3);
+    }
+    return firstChunkStringData != null ? firstChunkStringData.length() : 0;
+  }
+
   public byte[] getFirstChunkByteData() {
     return firstChunkByteData;
   }
@@ -1033,7 +1066,9 @@ public class SnowflakeResultSetSerializableV1
   public List<SnowflakeResultSetSerializable> splitBySize(long maxSizeInBytes) throws SQLException {
     List<SnowflakeResultSetSerializable> resultSetSerializables = new ArrayList<>();
 
-    if (this.chunkFileMetadatas.isEmpty() && this.firstChunkStringData == null) {
+    if (this.chunkFileMetadatas.isEmpty()
+        && this.firstChunkStringData == null
+        && !hasDecodedFirstChunkOnly()) {
       throw new SnowflakeSQLLoggedException(
           queryId,
           this.possibleSession.orElse(/* session = */ null),
@@ -1182,9 +1217,12 @@ public class SnowflakeResultSetSerializableV1
   // Set the row count for first result chunk by parsing the chunk data.
   private void setFirstChunkRowCountForArrow() throws SnowflakeSQLException {
     firstChunkRowCount = 0;
-    firstChunkByteData = new byte[0];
+    boolean decoded = hasDecodedFirstChunkOnly();
+    if (!decoded) {
+      firstChunkByteData = new byte[0];
+    }
     // If the first chunk doesn't exist or empty, set it as 0
-    if (firstChunkStringData == null || firstChunkStringData.isEmpty()) {
+    if (!decoded && (firstChunkStringData == null || firstChunkStringData.isEmpty())) {
       firstChunkRowCount = 0;
       firstChunkByteData = new byte[0];
     }
@@ -1192,7 +1230,8 @@ public class SnowflakeResultSetSerializableV1
     else if (getQueryResultFormat().equals(QueryResultFormat.ARROW)) {
       // Below code is developed based on SFArrowResultSet.buildFirstChunk
       // and ArrowResultChunk.readArrowStream()
-      byte[] bytes = Base64.getDecoder().decode(firstChunkStringData);
+      byte[] bytes =
+          decoded ? firstChunkByteData : Base64.getDecoder().decode(firstChunkStringData);
       firstChunkByteData = bytes;
       VectorSchemaRoot root = null;
       RootAllocator localRootAllocator =
@@ -1264,9 +1303,7 @@ public class SnowflakeResultSetSerializableV1
     long totalCompressedDataSize = 0;
 
     // Count the data size for the first chunk if it exists.
-    if (firstChunkStringData != null) {
-      totalCompressedDataSize += firstChunkStringData.length();
-    }
+    totalCompressedDataSize += getFirstChunkStringDataLength();
 
     for (ChunkFileMetadata chunkFileMetadata : chunkFileMetadatas) {
       totalCompressedDataSize += chunkFileMetadata.compressedByteSize;
@@ -1287,9 +1324,7 @@ public class SnowflakeResultSetSerializableV1
     long totalUncompressedDataSize = 0;
 
     // Count the data size for the first chunk if it exists.
-    if (firstChunkStringData != null) {
-      totalUncompressedDataSize += firstChunkStringData.length();
-    }
+    totalUncompressedDataSize += getFirstChunkStringDataLength();
 
     for (ChunkFileMetadata chunkFileMetadata : chunkFileMetadatas) {
       totalUncompressedDataSize += chunkFileMetadata.uncompressedByteSize;
@@ -1301,7 +1336,10 @@ public class SnowflakeResultSetSerializableV1
   public String toString() {
     StringBuilder builder = new StringBuilder(16 * 1024);
 
-    builder.append("hasFirstChunk: ").append(this.firstChunkStringData != null).append("\n");
+    builder
+        .append("hasFirstChunk: ")
+        .append(this.firstChunkStringData != null || hasDecodedFirstChunkOnly())
+        .append("\n");
 
     builder.append("RowCountInFirstChunk: ").append(this.firstChunkRowCount).append("\n");
 
@@ -34,6 +34,7 @@ import net.snowflake.client.core.SFException;
 import net.snowflake.client.core.arrow.StructObjectWrapper;
 import net.snowflake.client.log.SFLogger;
 import net.snowflake.client.log.SFLoggerFactory;
+import org.apache.arrow.memory.BufferAllocator;
 
 /** Snowflake ResultSet implementation */
 public class SnowflakeResultSetV1 extends SnowflakeBaseResultSet
@@ -402,6 +403,17 @@ public class SnowflakeResultSetV1 extends SnowflakeBaseResultSet
     return sfBaseResultSet.getResultSetSerializables(maxSizeInBytes);
   }
 
+  @Override
+  public ArrowBatchIterator getArrowBatches() throws SQLException {
+    return getArrowBatches(null);
+  }
+
+  @Override
+  public ArrowBatchIterator getArrowBatches(BufferAllocator allocator) throws SQLException {
+    raiseSQLExceptionIfResultSetIsClosed();
+    return sfBaseResultSet.getArrowBatches(allocator);
+  }
+
   /** Empty result set */
   static class EmptyResultSet implements ResultSet {
     private boolean isClosed;
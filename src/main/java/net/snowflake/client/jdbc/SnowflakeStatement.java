@@ -6,7 +6,9 @@ package net.snowflake.client.jdbc;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import net.snowflake.client.core.SFBaseResultSet;
 
 /** This interface defines Snowflake specific APIs for Statement */
@@ -49,6 +51,24 @@ public interface SnowflakeStatement {
    */
   ResultSet executeAsyncQuery(String sql) throws SQLException;
 
+  /**
+   * Execute SQL query asynchronously, without blocking a thread until the query completes.
+   *
+   * <p>The query is submitted before this method returns. Its status is then polled by a poller
+   * shared by the queries of the session. The returned future completes with the result set once
+   * the query succeeded, on a thread of the poller; dependent stages which block must use an
+   * executor. Cancelling the future stops polling the query, but does not cancel the query.
+   *
+   * @param sql sql statement
+   * @return future of the result set, completed exceptionally with a SnowflakeSQLException if the
+   *     query failed
+   * @throws SQLException if the query could not be submitted
+   * @throws SQLFeatureNotSupportedException if the implementation does not support it
+   */
+  default CompletableFuture<ResultSet> executeQueryAsync(String sql) throws SQLException {
+    throw new SQLFeatureNotSupportedException("executeQueryAsync is not supported");
+  }
+
   /**
    * This method exposes SFBaseResultSet to the sub-classes of SnowflakeStatementV1.java. This is
    * required as SnowflakeStatementV1 doesn't directly expose ResultSet to the sub-classes making it
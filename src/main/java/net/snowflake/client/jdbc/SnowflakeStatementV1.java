@@ -19,6 +19,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import net.snowflake.client.core.CancellationReason;
 import net.snowflake.client.core.ExecTimeTelemetryData;
@@ -175,6 +176,30 @@ class SnowflakeStatementV1 implements Statement, SnowflakeStatement {
     return rs;
   }
 
+  @Override
+  public CompletableFuture<ResultSet> executeQueryAsync(String sql) throws SQLException {
+    ResultSet rs = executeAsyncQuery(sql);
+    String asyncQueryID = rs.unwrap(SnowflakeResultSet.class).getQueryID();
+    CompletableFuture<QueryStatusV2> status =
+        connection.getSFBaseSession().getAsyncQueryPoller().watch(asyncQueryID);
+    CompletableFuture<ResultSet> result =
+        status.thenApply(
+            queryStatus -> {
+              if (rs instanceof SFAsyncResultSet) {
+                // the results are fetched right away, without checking the status again
+                ((SFAsyncResultSet) rs).setSucceededStatus(queryStatus);
+              }
+              return rs;
+            });
+    result.whenComplete(
+        (resultSet, ex) -> {
+          if (result.isCancelled()) {
+            status.cancel(false);
+          }
+        });
+    return result;
+  }
+
   @Override
   public void resultSetMetadataHandler(SFBaseResultSet resultSet) throws SQLException {
     // No-Op.
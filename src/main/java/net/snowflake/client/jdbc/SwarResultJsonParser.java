@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Variant of {@link ResultJsonParserV2} which scans strings eight bytes at a time for the next
+ * quote or backslash, using SIMD within a register (SWAR) arithmetic on longs instead of comparing
+ * every byte. Strings hold nearly all bytes of a result chunk, the state machine between values is
+ * shared with ResultJsonParserV2, so both parsers produce the same chunk data.
+ *
+ * <p>Enabled with the connection property enableSwarJsonParser.
+ */
+public class SwarResultJsonParser extends ResultJsonParserV2 {
+  private static final long QUOTES = 0x2222222222222222L;
+  private static final long BACKSLASHES = 0x5c5c5c5c5c5c5c5cL;
+  private static final long LOW_SEVEN_BITS = 0x7f7f7f7f7f7f7f7fL;
+
+  @Override
+  protected int findStringPartEnd(ByteBuffer in, int from) {
+    final int limit = ((Buffer) in).limit();
+    final boolean bigEndian = in.order() == ByteOrder.BIG_ENDIAN;
+    int pos = from;
+    for (; pos <= limit - Long.BYTES; pos += Long.BYTES) {
+      long word = in.getLong(pos);
+      long matches = zeroBytes(word ^ QUOTES) | zeroBytes(word ^ BACKSLASHES);
+      if (matches != 0) {
+        // the first byte in memory is the most significant one in big endian order
+        int bit =
+            bigEndian ? Long.numberOfLeadingZeros(matches) : Long.numberOfTrailingZeros(matches);
+        return pos + (bit >>> 3);
+      }
+    }
+    // less than eight bytes left
+    return super.findStringPartEnd(in, pos);
+  }
+
+  /**
+   * @param x eight bytes
+   * @return a long with 0x80 in every byte which is zero in x, and 0 in all other bytes. Unlike the
+   *     shorter (x - 0x01..01) & ~x & 0x80..80 variant, there are no false positives in bytes
+   *     following a zero byte, as no carry can cross a byte boundary.
+   */
+  static long zeroBytes(long x) {
+    long t = (x & LOW_SEVEN_BITS) + LOW_SEVEN_BITS;
+    return ~(t | x | LOW_SEVEN_BITS);
+  }
+}
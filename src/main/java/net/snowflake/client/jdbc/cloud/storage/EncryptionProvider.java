@@ -26,9 +26,11 @@ import javax.crypto.CipherInputStream;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import net.snowflake.client.jdbc.MatDesc;
+import net.snowflake.client.util.SFPair;
 import net.snowflake.common.core.RemoteStoreFileEncryptionMaterial;
 
 /**
@@ -39,6 +41,9 @@ import net.snowflake.common.core.RemoteStoreFileEncryptionMaterial;
 public class EncryptionProvider {
   private static final String AES = "AES";
   private static final String FILE_CIPHER = "AES/CBC/PKCS5Padding";
+  // ranges of a file other than the last one are not padded
+  private static final String RANGE_CIPHER = "AES/CBC/NoPadding";
+  static final int BLOCK_SIZE = 16;
   private static final String KEY_CIPHER = "AES/ECB/PKCS5Padding";
   private static final int BUFFER_SIZE = 2 * 1024 * 1024; // 2 MB
   private static ThreadLocal<SecureRandom> secRnd =
@@ -67,14 +72,8 @@ public class EncryptionProvider {
       RemoteStoreFileEncryptionMaterial encMat)
       throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException,
           BadPaddingException, IllegalBlockSizeException, InvalidAlgorithmParameterException {
-    byte[] kekBytes = Base64.getDecoder().decode(encMat.getQueryStageMasterKey());
-    byte[] keyBytes = Base64.getDecoder().decode(keyBase64);
     byte[] ivBytes = Base64.getDecoder().decode(ivBase64);
-    SecretKey kek = new SecretKeySpec(kekBytes, 0, kekBytes.length, AES);
-    Cipher keyCipher = Cipher.getInstance(KEY_CIPHER);
-    keyCipher.init(Cipher.DECRYPT_MODE, kek);
-    byte[] fileKeyBytes = keyCipher.doFinal(keyBytes);
-    SecretKey fileKey = new SecretKeySpec(fileKeyBytes, AES);
+    SecretKey fileKey = decryptFileKey(keyBase64, encMat);
     Cipher dataCipher = Cipher.getInstance(FILE_CIPHER);
     IvParameterSpec ivy = new IvParameterSpec(ivBytes);
     dataCipher.init(Cipher.DECRYPT_MODE, fileKey, ivy);
@@ -90,54 +89,142 @@ public class EncryptionProvider {
       throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
           IllegalBlockSizeException, BadPaddingException, InvalidAlgorithmParameterException,
           IOException {
-    byte[] keyBytes = Base64.getDecoder().decode(keyBase64);
     byte[] ivBytes = Base64.getDecoder().decode(ivBase64);
-    byte[] kekBytes = Base64.getDecoder().decode(encMat.getQueryStageMasterKey());
-    final SecretKey fileKey;
-
-    // Decrypt file key
-    {
-      final Cipher keyCipher = Cipher.getInstance(KEY_CIPHER);
-      SecretKey kek = new SecretKeySpec(kekBytes, 0, kekBytes.length, AES);
-      keyCipher.init(Cipher.DECRYPT_MODE, kek);
-      byte[] fileKeyBytes = keyCipher.doFinal(keyBytes);
-
-      // previous version: fileKey = new SecretKeySpec(fileKeyBytes, offset = 0, len = qsmk.length,
-      // AES);
-      // This incorrectly assumes fileKey is always same length as qsmk. If we perform put from
-      // jdbc, fileKey and qsmk are same length,
-      // but in the case of AwsStorageClient.putObjectInternal() in GS code, they are not. This
-      // leads to some decryption bugs.
-      // See: SnowflakeDriverLatestIt.testS3PutInGs
-      fileKey = new SecretKeySpec(fileKeyBytes, AES);
-    }
+    final SecretKey fileKey = decryptFileKey(keyBase64, encMat);
 
     // Decrypt file
     {
       final Cipher fileCipher = Cipher.getInstance(FILE_CIPHER);
       final IvParameterSpec iv = new IvParameterSpec(ivBytes);
-      final byte[] buffer = new byte[BUFFER_SIZE];
       fileCipher.init(Cipher.DECRYPT_MODE, fileKey, iv);
 
-      long totalBytesRead = 0;
+      long totalBytesWritten;
       // Overwrite file contents buffer-wise with decrypted data
       try (InputStream is = Files.newInputStream(file.toPath(), READ);
-          InputStream cis = new CipherInputStream(is, fileCipher);
           OutputStream os = Files.newOutputStream(file.toPath(), CREATE); ) {
-        int bytesRead;
-        while ((bytesRead = cis.read(buffer)) > -1) {
-          os.write(buffer, 0, bytesRead);
-          totalBytesRead += bytesRead;
-        }
+        totalBytesWritten = decrypt(fileCipher, is, os).left;
       }
 
       // Discard any padding that the encrypted file had
       try (FileChannel fc = new FileOutputStream(file, true).getChannel()) {
-        fc.truncate(totalBytesRead);
+        fc.truncate(totalBytesWritten);
+      }
+    }
+  }
+
+  /**
+   * Decrypt a stream into a file as the stream is read, so that the encrypted content is never
+   * written to disk.
+   *
+   * @param inputStream encrypted content, closed when decrypted
+   * @param file decrypted file, overwritten
+   * @param keyBase64 keyBase64
+   * @param ivBase64 ivBase64
+   * @param encMat RemoteStoreFileEncryptionMaterial
+   * @return time spent decrypting, in nanoseconds
+   */
+  static long decryptToFile(
+      InputStream inputStream,
+      File file,
+      String keyBase64,
+      String ivBase64,
+      RemoteStoreFileEncryptionMaterial encMat)
+      throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
+          IllegalBlockSizeException, BadPaddingException, InvalidAlgorithmParameterException,
+          IOException {
+    byte[] ivBytes = Base64.getDecoder().decode(ivBase64);
+    final SecretKey fileKey = decryptFileKey(keyBase64, encMat);
+    final Cipher fileCipher = Cipher.getInstance(FILE_CIPHER);
+    fileCipher.init(Cipher.DECRYPT_MODE, fileKey, new IvParameterSpec(ivBytes));
+
+    try (InputStream is = inputStream;
+        OutputStream os = new FileOutputStream(file)) {
+      return decrypt(fileCipher, is, os).right;
+    }
+  }
+
+  /**
+   * Decrypt a stream buffer-wise, with the same input and output buffers for the whole stream
+   *
+   * @return number of decrypted bytes written, and time spent decrypting in nanoseconds
+   */
+  private static SFPair<Long, Long> decrypt(Cipher fileCipher, InputStream is, OutputStream os)
+      throws IOException, IllegalBlockSizeException, BadPaddingException {
+    final byte[] buffer = new byte[BUFFER_SIZE];
+    final byte[] output = new byte[fileCipher.getOutputSize(BUFFER_SIZE)];
+    long totalBytesWritten = 0;
+    long decryptionNanos = 0;
+    try {
+      int bytesRead;
+      while ((bytesRead = is.read(buffer)) > -1) {
+        long start = System.nanoTime();
+        int bytesDecrypted = fileCipher.update(buffer, 0, bytesRead, output, 0);
+        decryptionNanos += System.nanoTime() - start;
+        os.write(output, 0, bytesDecrypted);
+        totalBytesWritten += bytesDecrypted;
       }
+      long start = System.nanoTime();
+      int bytesDecrypted = fileCipher.doFinal(output, 0);
+      decryptionNanos += System.nanoTime() - start;
+      os.write(output, 0, bytesDecrypted);
+      return SFPair.of(totalBytesWritten + bytesDecrypted, decryptionNanos);
+    } catch (ShortBufferException ex) {
+      // the output buffer is sized for the input buffer
+      throw new IllegalStateException(ex);
     }
   }
 
+  /**
+   * Decrypt the key of a file with the query stage master key
+   *
+   * @param keyBase64 encrypted file key
+   * @param encMat RemoteStoreFileEncryptionMaterial
+   * @return the file key
+   */
+  static SecretKey decryptFileKey(String keyBase64, RemoteStoreFileEncryptionMaterial encMat)
+      throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
+          IllegalBlockSizeException, BadPaddingException {
+    byte[] keyBytes = Base64.getDecoder().decode(keyBase64);
+    byte[] kekBytes = Base64.getDecoder().decode(encMat.getQueryStageMasterKey());
+    final Cipher keyCipher = Cipher.getInstance(KEY_CIPHER);
+    SecretKey kek = new SecretKeySpec(kekBytes, 0, kekBytes.length, AES);
+    keyCipher.init(Cipher.DECRYPT_MODE, kek);
+    byte[] fileKeyBytes = keyCipher.doFinal(keyBytes);
+
+    // previous version: fileKey = new SecretKeySpec(fileKeyBytes, offset = 0, len = qsmk.length,
+    // AES);
+    // This incorrectly assumes fileKey is always same length as qsmk. If we perform put from
+    // jdbc, fileKey and qsmk are same length,
+    // but in the case of AwsStorageClient.putObjectInternal() in GS code, they are not. This
+    // leads to some decryption bugs.
+    // See: SnowflakeDriverLatestIt.testS3PutInGs
+    return new SecretKeySpec(fileKeyBytes, AES);
+  }
+
+  /**
+   * Decrypt a range of a file in place. The decryption of an AES CBC block only depends on the
+   * previous encrypted block, so ranges of a file starting at a block boundary can be decrypted
+   * independently, given the block preceding them.
+   *
+   * @param fileKey the file key
+   * @param iv the iv of the file for the first range, or the encrypted block preceding the range
+   * @param data encrypted range, replaced by the decrypted range
+   * @param offset offset of the range in data
+   * @param length length of the range, a multiple of the block size
+   * @param last whether the range ends the file, the padding is discarded from the last range
+   * @return length of the decrypted range, written at the start of data
+   */
+  static int decryptRange(
+      SecretKey fileKey, byte[] iv, byte[] data, int offset, int length, boolean last)
+      throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
+          InvalidAlgorithmParameterException, IllegalBlockSizeException, BadPaddingException,
+          ShortBufferException {
+    final Cipher fileCipher = Cipher.getInstance(last ? FILE_CIPHER : RANGE_CIPHER);
+    fileCipher.init(Cipher.DECRYPT_MODE, fileKey, new IvParameterSpec(iv));
+    // Cipher is copy-safe, the output may overlap the input
+    return fileCipher.doFinal(data, offset, length, data, 0);
+  }
+
   /*
    * encrypt
    * Encrypts a file using AES encryption. The key and iv are generated.
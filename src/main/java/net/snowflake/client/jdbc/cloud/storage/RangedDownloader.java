@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.jdbc.cloud.storage;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.SecretKey;
+import net.snowflake.client.jdbc.SnowflakeUtil;
+import net.snowflake.client.log.SFLogger;
+import net.snowflake.client.log.SFLoggerFactory;
+
+/**
+ * Downloads an object of a stage as ranges fetched concurrently.
+ *
+ * <p>Each range is decrypted by the thread which fetched it, if the object is encrypted with AES
+ * CBC, and the ranges are reassembled either into an ordered stream or into a file, where each
+ * range is written at its position. At most twice as many ranges as threads, and no more than
+ * {@link #MAX_READ_AHEAD_BYTES}, are fetched ahead of the range being read or written, whatever the
+ * parallelism. Ranges start at a block boundary, and the encrypted block preceding a range is
+ * fetched with it as the iv of the range.
+ */
+class RangedDownloader {
+  private static final SFLogger logger = SFLoggerFactory.getLogger(RangedDownloader.class);
+
+  /** Size of the ranges of an object fetched concurrently, a multiple of the AES block size */
+  static final int PART_SIZE = 8 * 1024 * 1024;
+
+  /** Maximum size of the ranges fetched ahead and held in memory */
+  static final long MAX_READ_AHEAD_BYTES = 64 * 1024 * 1024;
+
+  /** Reads a range of the object from the stage */
+  @FunctionalInterface
+  interface RangeReader {
+    /**
+     * @param position position of the range in the object
+     * @param length length of the range
+     * @return the bytes of the range
+     * @throws Exception if the range could not be read
+     */
+    byte[] read(long position, int length) throws Exception;
+  }
+
+  private final SnowflakeStorageClient client;
+  private final RangeReader reader;
+  private final long size;
+  private final int partSize;
+  private final int partCount;
+
+  // ranges fetched ahead at most, and number of threads fetching them
+  private final int maxPartsAhead;
+  private final int threadCount;
+
+  // file key and iv of the object, null if the object is not encrypted
+  private final SecretKey fileKey;
+  private final byte[] iv;
+
+  // time spent decrypting ranges, by all threads
+  private final AtomicLong decryptionNanos = new AtomicLong();
+
+  /**
+   * @param client client of the stage, the retry settings of which are used to fetch ranges
+   * @param reader reader of the ranges of the object
+   * @param size size of the object
+   * @param parallelism number of threads fetching ranges
+   * @param fileKey file key if the object is encrypted with AES CBC, or null
+   * @param iv iv of the object if it is encrypted, or null
+   */
+  RangedDownloader(
+      SnowflakeStorageClient client,
+      RangeReader reader,
+      long size,
+      int parallelism,
+      SecretKey fileKey,
+      byte[] iv) {
+    this(client, reader, size, parallelism, fileKey, iv, PART_SIZE);
+  }
+
+  RangedDownloader(
+      SnowflakeStorageClient client,
+      RangeReader reader,
+      long size,
+      int parallelism,
+      SecretKey fileKey,
+      byte[] iv,
+      int partSize) {
+    this(client, reader, size, parallelism, fileKey, iv, partSize, MAX_READ_AHEAD_BYTES);
+  }
+
+  RangedDownloader(
+      SnowflakeStorageClient client,
+      RangeReader reader,
+      long size,
+      int parallelism,
+      SecretKey fileKey,
+      byte[] iv,
+      int partSize,
+      long maxReadAheadBytes) {
+    this.client = client;
+    this.reader = reader;
+    this.size = size;
+    this.fileKey = fileKey;
+    this.iv = iv;
+    this.partSize = partSize;
+    this.partCount = (int) ((size + partSize - 1) / partSize);
+    this.maxPartsAhead =
+        (int) Math.max(1, Math.min(2L * parallelism, maxReadAheadBytes / partSize));
+    // more threads than ranges fetched ahead would be idle
+    this.threadCount = Math.max(1, Math.min(parallelism, maxPartsAhead));
+  }
+
+  /**
+   * @param size size of the object
+   * @param parallelism number of threads available to download the object
+   * @return true if the object is big enough to be downloaded as ranges fetched concurrently
+   */
+  static boolean isApplicable(long size, int parallelism) {
+    return parallelism > 1 && size >= 2L * PART_SIZE;
+  }
+
+  /**
+   * @return number of ranges the object is downloaded as
+   */
+  int getPartCount() {
+    return partCount;
+  }
+
+  /**
+   * @return time spent decrypting the ranges fetched so far, summed over all threads
+   */
+  long getDecryptionMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(decryptionNanos.get());
+  }
+
+  /**
+   * Open a stream of the (decrypted) object. Ranges are fetched while the stream is read, and the
+   * threads fetching them are stopped when the stream is closed or read to the end.
+   *
+   * @return stream of the object
+   */
+  InputStream openStream() {
+    return new PartStream();
+  }
+
+  /**
+   * Download the (decrypted) object to a file
+   *
+   * @param file local file, overwritten
+   * @return size of the file
+   * @throws IOException if a range could not be fetched, decrypted or written
+   * @throws InterruptedException if interrupted while waiting for a range
+   */
+  long downloadToFile(File file) throws IOException, InterruptedException {
+    ExecutorService executor =
+        SnowflakeUtil.createDefaultExecutorService("sf-ranged-download-worker-", threadCount);
+    try (FileChannel channel = FileChannel.open(file.toPath(), CREATE, WRITE, TRUNCATE_EXISTING)) {
+      // ranges are written at their position in the file as soon as they are fetched
+      ArrayDeque<Future<Long>> parts = new ArrayDeque<>();
+      long fileSize = 0;
+      int nextPart = 0;
+      while (nextPart < partCount || !parts.isEmpty()) {
+        while (nextPart < partCount && parts.size() < maxPartsAhead) {
+          int part = nextPart++;
+          parts.add(
+              executor.submit(
+                  () -> {
+                    Part decrypted = fetchPart(part);
+                    long position = (long) part * partSize;
+                    ByteBuffer buffer = ByteBuffer.wrap(decrypted.data, 0, decrypted.length);
+                    while (buffer.hasRemaining()) {
+                      channel.write(buffer, position + buffer.position());
+                    }
+                    return position + decrypted.length;
+                  }));
+        }
+        fileSize = Math.max(fileSize, await(parts.poll()));
+      }
+      // the padding of the last range is discarded
+      channel.truncate(fileSize);
+      return fileSize;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Fetch a range of the object and decrypt it */
+  private Part fetchPart(int part) throws Exception {
+    long position = (long) part * partSize;
+    int length = (int) Math.min(partSize, size - position);
+    if (fileKey == null) {
+      return new Part(read(position, length), length);
+    }
+    int ivLength = part == 0 ? 0 : EncryptionProvider.BLOCK_SIZE;
+    byte[] data = read(position - ivLength, ivLength + length);
+    byte[] rangeIv = part == 0 ? iv : Arrays.copyOf(data, ivLength);
+    boolean last = part == partCount - 1;
+    long start = System.nanoTime();
+    int decrypted = EncryptionProvider.decryptRange(fileKey, rangeIv, data, ivLength, length, last);
+    decryptionNanos.addAndGet(System.nanoTime() - start);
+    return new Part(data, decrypted);
+  }
+
+  /** Read a range of the object, retrying as the client retries its requests */
+  private byte[] read(long position, int length) throws Exception {
+    int retryCount = 0;
+    while (true) {
+      try {
+        byte[] data = reader.read(position, length);
+        if (data.length != length) {
+          throw new IOException(
+              "Expected " + length + " bytes at " + position + " but got " + data.length);
+        }
+        return data;
+      } catch (InterruptedException | InterruptedIOException ex) {
+        throw ex;
+      } catch (Exception ex) {
+        if (++retryCount > client.getMaxRetries()) {
+          throw ex;
+        }
+        // exponential backoff up to a limit
+        int backoffInMillis =
+            client.getRetryBackoffMin()
+                << Math.min(retryCount - 1, client.getRetryBackoffMaxExponent());
+        logger.debug(
+            "Reading range at {} failed: {}. Retry {} in {} milliseconds",
+            position,
+            ex.getMessage(),
+            retryCount,
+            backoffInMillis);
+        Thread.sleep(backoffInMillis);
+      }
+    }
+  }
+
+  private static <T> T await(Future<T> future) throws IOException, InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    }
+  }
+
+  private static class Part {
+    final byte[] data;
+    final int length;
+
+    Part(byte[] data, int length) {
+      this.data = data;
+      this.length = length;
+    }
+  }
+
+  /** Stream of the ranges of the object, in order */
+  private class PartStream extends InputStream {
+    private final ExecutorService executor =
+        SnowflakeUtil.createDefaultExecutorService("sf-ranged-download-worker-", threadCount);
+    private final ArrayDeque<Future<Part>> parts = new ArrayDeque<>();
+    private int nextPart = 0;
+    private Part current;
+    private int position = 0;
+    private boolean closed = false;
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      int read = read(single, 0, 1);
+      return read < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (closed) {
+        throw new IOException("Stream closed");
+      }
+      if (len == 0) {
+        return 0;
+      }
+      while (current == null || position == current.length) {
+        if (!nextPart()) {
+          return -1;
+        }
+      }
+      int read = Math.min(len, current.length - position);
+      System.arraycopy(current.data, position, b, off, read);
+      position += read;
+      return read;
+    }
+
+    @Override
+    public int available() {
+      return current == null ? 0 : current.length - position;
+    }
+
+    @Override
+    public void close() {
+      if (!closed) {
+        closed = true;
+        for (Future<Part> part : parts) {
+          part.cancel(true);
+        }
+        parts.clear();
+        current = null;
+        executor.shutdownNow();
+      }
+    }
+
+    /**
+     * @return false if the object has been read to its end
+     */
+    private boolean nextPart() throws IOException {
+      while (nextPart < partCount && parts.size() < maxPartsAhead) {
+        int part = nextPart++;
+        parts.add(executor.submit(() -> fetchPart(part)));
+      }
+      Future<Part> next = parts.poll();
+      if (next == null) {
+        executor.shutdown();
+        return false;
+      }
+      try {
+        current = await(next);
+        position = 0;
+        return true;
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        close();
+        throw new InterruptedIOException("Interrupted while waiting for a range of the object");
+      } catch (IOException ex) {
+        close();
+        throw ex;
+      }
+    }
+  }
+}
@@ -12,6 +12,7 @@ import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.storage.AccessCondition;
 import com.microsoft.azure.storage.OperationContext;
 import com.microsoft.azure.storage.StorageCredentials;
 import com.microsoft.azure.storage.StorageCredentialsAnonymous;
@@ -38,17 +39,21 @@ import java.security.InvalidKeyException;
 import java.util.AbstractMap;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
 import net.snowflake.client.core.ObjectMapperFactory;
 import net.snowflake.client.core.SFBaseSession;
 import net.snowflake.client.core.SFSession;
 import net.snowflake.client.core.SFSessionProperty;
 import net.snowflake.client.jdbc.ErrorCode;
 import net.snowflake.client.jdbc.FileBackedOutputStream;
+import net.snowflake.client.jdbc.GzipDigestInputStream;
 import net.snowflake.client.jdbc.MatDesc;
 import net.snowflake.client.jdbc.SnowflakeFileTransferAgent;
 import net.snowflake.client.jdbc.SnowflakeSQLException;
@@ -342,18 +347,61 @@ public class SnowflakeAzureClient implements SnowflakeStorageClient {
         BlobRequestOptions transferOptions = new BlobRequestOptions();
         transferOptions.setConcurrentRequestCount(parallelism);
 
+        // Pull object metadata from Azure
+        blob.downloadAttributes(null, transferOptions, opContext);
+
+        boolean decrypt = this.isEncrypting() && this.getEncryptionKeySize() <= 256;
+        boolean bigObject =
+            RangedDownloader.isApplicable(blob.getProperties().getLength(), parallelism);
+        boolean ranged = bigObject && session != null && session.getEnableParallelRangedDownload();
+
+        // The file is decrypted while it is downloaded, so the encrypted file is never written to
+        // disk, unless it is big enough for the Azure client to download it on several threads
+        if (decrypt && (ranged || !bigObject)) {
+          long decryptMillis;
+          if (ranged) {
+            RangedDownloader downloader =
+                newRangedDownloader(session, container, stageFilePath, blob, parallelism, queryId);
+            downloader.downloadToFile(localFile);
+            decryptMillis = downloader.getDecryptionMillis();
+          } else {
+            SimpleEntry<String, String> encryptionData = getEncryptionData(session, blob, queryId);
+            // the content is read from the version of the blob the metadata was read from
+            InputStream stream =
+                blob.openInputStream(
+                    AccessCondition.generateIfMatchCondition(blob.getProperties().getEtag()),
+                    transferOptions,
+                    opContext);
+            decryptMillis =
+                TimeUnit.NANOSECONDS.toMillis(
+                    EncryptionProvider.decryptToFile(
+                        stream,
+                        localFile,
+                        encryptionData.getKey(),
+                        encryptionData.getValue(),
+                        this.encMat));
+          }
+          stopwatch.stop();
+          logger.info(
+              "Azure file {} downloaded to {}. It took {} ms (decryption: {} ms while downloading, "
+                  + "no separate decryption pass) with {} retries",
+              remoteStorageLocation,
+              localFile.getAbsolutePath(),
+              stopwatch.elapsedMillis(),
+              decryptMillis,
+              retryCount);
+          return;
+        }
+
         blob.downloadToFile(localFilePath, null, transferOptions, opContext);
         stopwatch.stop();
         long downloadMillis = stopwatch.elapsedMillis();
 
-        // Pull object metadata from Azure
-        blob.downloadAttributes(null, transferOptions, opContext);
-
         // Get the user-defined BLOB metadata
         Map<String, String> userDefinedMetadata =
             SnowflakeUtil.createCaseInsensitiveMap(blob.getMetadata());
 
-        if (this.isEncrypting() && this.getEncryptionKeySize() <= 256) {
+        if (decrypt) {
           if (!userDefinedMetadata.containsKey(AZ_ENCRYPTIONDATAPROP)) {
             throw new SnowflakeSQLLoggedException(
                 queryId,
@@ -455,6 +503,24 @@ public class SnowflakeAzureClient implements SnowflakeStorageClient {
 
         CloudBlob blob = container.getBlockBlobReference(stageFilePath);
 
+        if (session != null && session.getEnableParallelRangedDownload() && parallelism > 1) {
+          blob.downloadAttributes(null, null, opContext);
+          if (RangedDownloader.isApplicable(blob.getProperties().getLength(), parallelism)) {
+            InputStream stream =
+                newRangedDownloader(session, container, stageFilePath, blob, parallelism, queryId)
+                    .openStream();
+            stopwatch.stop();
+            logger.info(
+                "Azure file {} downloading to input stream in ranges on {} threads. "
+                    + "Setup took {} ms with {} retries",
+                stageFilePath,
+                parallelism,
+                stopwatch.elapsedMillis(),
+                retryCount);
+            return stream;
+          }
+        }
+
         InputStream stream = blob.openInputStream(null, null, opContext);
         stopwatch.stop();
         long downloadMillis = stopwatch.elapsedMillis();
@@ -526,6 +592,82 @@ public class SnowflakeAzureClient implements SnowflakeStorageClient {
         "Unexpected: download unsuccessful without exception!");
   }
 
+  /**
+   * @param session session object
+   * @param container container of the blob
+   * @param stageFilePath name of the blob
+   * @param blob the blob, with its attributes downloaded
+   * @param parallelism number of threads fetching ranges
+   * @param queryId last query id
+   * @return downloader of the blob as ranges fetched, and decrypted, concurrently
+   */
+  private RangedDownloader newRangedDownloader(
+      SFSession session,
+      CloudBlobContainer container,
+      String stageFilePath,
+      CloudBlob blob,
+      int parallelism,
+      String queryId)
+      throws Exception {
+    SecretKey fileKey = null;
+    byte[] ivBytes = null;
+    if (this.isEncrypting() && this.getEncryptionKeySize() <= 256) {
+      SimpleEntry<String, String> encryptionData = getEncryptionData(session, blob, queryId);
+      fileKey = EncryptionProvider.decryptFileKey(encryptionData.getKey(), encMat);
+      ivBytes = Base64.getDecoder().decode(encryptionData.getValue());
+    }
+    // all ranges are read from the same version of the blob
+    AccessCondition sameVersion =
+        AccessCondition.generateIfMatchCondition(blob.getProperties().getEtag());
+    return new RangedDownloader(
+        this,
+        (position, length) -> {
+          byte[] range = new byte[length];
+          int read =
+              container
+                  .getBlockBlobReference(stageFilePath)
+                  .downloadRangeToByteArray(
+                      position, (long) length, range, 0, sameVersion, null, opContext);
+          return read == length ? range : Arrays.copyOf(range, read);
+        },
+        blob.getProperties().getLength(),
+        parallelism,
+        fileKey,
+        ivBytes);
+  }
+
+  /**
+   * @param session session object
+   * @param blob the blob, with its attributes downloaded
+   * @param queryId last query id
+   * @return encrypted file key and iv of the blob
+   * @throws SnowflakeSQLException if the encryption data is missing
+   */
+  private SimpleEntry<String, String> getEncryptionData(
+      SFSession session, CloudBlob blob, String queryId) throws SnowflakeSQLException {
+    Map<String, String> userDefinedMetadata =
+        SnowflakeUtil.createCaseInsensitiveMap(blob.getMetadata());
+    if (!userDefinedMetadata.containsKey(AZ_ENCRYPTIONDATAPROP)) {
+      throw new SnowflakeSQLLoggedException(
+          queryId,
+          session,
+          ErrorCode.INTERNAL_ERROR.getMessageCode(),
+          SqlState.INTERNAL_ERROR,
+          "Encryption data not found in the metadata of a file being downloaded");
+    }
+    SimpleEntry<String, String> encryptionData =
+        parseEncryptionData(userDefinedMetadata.get(AZ_ENCRYPTIONDATAPROP), queryId);
+    if (encryptionData.getKey() == null || encryptionData.getValue() == null) {
+      throw new SnowflakeSQLLoggedException(
+          queryId,
+          session,
+          ErrorCode.INTERNAL_ERROR.getMessageCode(),
+          SqlState.INTERNAL_ERROR,
+          "File metadata incomplete");
+    }
+    return encryptionData;
+  }
+
   /**
    * Upload a file/stream to remote storage
    *
@@ -604,6 +746,13 @@ public class SnowflakeAzureClient implements SnowflakeStorageClient {
             opContext);
         stopwatch.stop();
 
+        if (inputStream instanceof GzipDigestInputStream) {
+          // the digest of content compressed while it is uploaded is known once uploaded, it is
+          // set with the rest of the metadata below
+          addDigestMetadata(meta, ((GzipDigestInputStream) inputStream).getDigest());
+          blob.setMetadata(new HashMap<>(meta.getUserMetadata()));
+        }
+
         if (uploadFromStream) {
           logger.info(
               "Uploaded data from input stream to Azure location: {}. It took {} ms with {} retries",
@@ -630,7 +779,11 @@ public class SnowflakeAzureClient implements SnowflakeStorageClient {
       } catch (Exception ex) {
         handleAzureException(ex, ++retryCount, "upload", session, command, this, queryId);
 
-        if (uploadFromStream && fileBackedOutputStream == null) {
+        if (inputStream instanceof GzipDigestInputStream
+            && ((GzipDigestInputStream) inputStream).canRestart()) {
+          // content compressed while it is uploaded is compressed again from its source
+          restartUploadStream((GzipDigestInputStream) inputStream, ex, queryId);
+        } else if (uploadFromStream && fileBackedOutputStream == null) {
           throw new SnowflakeSQLException(
               queryId,
               ex,
@@ -665,6 +818,25 @@ public class SnowflakeAzureClient implements SnowflakeStorageClient {
         "Unexpected: upload unsuccessful without exception!");
   }
 
+  private static void restartUploadStream(
+      GzipDigestInputStream inputStream, Exception uploadException, String queryId)
+      throws SnowflakeSQLException {
+    try {
+      inputStream.restart();
+    } catch (IOException ex) {
+      ex.addSuppressed(uploadException);
+      throw new SnowflakeSQLException(
+          queryId,
+          ex,
+          SqlState.SYSTEM_ERROR,
+          ErrorCode.IO_ERROR.getMessageCode(),
+          "Encountered exception during upload: "
+              + uploadException.getMessage()
+              + "\nCannot restart the upload stream: "
+              + ex.getMessage());
+    }
+  }
+
   /**
    * Handles exceptions thrown by Azure Storage
    *
@@ -19,6 +19,7 @@ import com.google.api.gax.rpc.FixedHeaderProvider;
 import com.google.auth.oauth2.AccessToken;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.cloud.NoCredentials;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
@@ -37,14 +38,18 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.SocketTimeoutException;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.security.InvalidKeyException;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
 import net.snowflake.client.core.ExecTimeTelemetryData;
 import net.snowflake.client.core.HttpClientSettingsKey;
 import net.snowflake.client.core.HttpUtil;
@@ -270,6 +275,8 @@ public class SnowflakeGCSClient implements SnowflakeStorageClient {
         String key = null;
         String iv = null;
         long downloadMillis = 0;
+        // time spent decrypting the file while it was downloaded, or -1 if it was not
+        long decryptMillisWhileDownloading = -1;
         if (!Strings.isNullOrEmpty(presignedUrl)) {
           logger.debug("Starting download with presigned URL", false);
           URIBuilder uriBuilder = new URIBuilder(presignedUrl);
@@ -304,16 +311,6 @@ public class SnowflakeGCSClient implements SnowflakeStorageClient {
               (ArgSupplier) () -> scrubPresignedUrl(this.stageInfo.getPresignedUrl()));
           if (isSuccessStatusCode(response.getStatusLine().getStatusCode())) {
             try {
-              InputStream bodyStream = response.getEntity().getContent();
-              byte[] buffer = new byte[8 * 1024];
-              int bytesRead;
-              OutputStream outStream = new FileOutputStream(localFile);
-              while ((bytesRead = bodyStream.read(buffer)) != -1) {
-                outStream.write(buffer, 0, bytesRead);
-              }
-              outStream.flush();
-              outStream.close();
-              bodyStream.close();
               if (isEncrypting()) {
                 Map<String, String> userDefinedHeaders =
                     createCaseInsensitiveMap(response.getAllHeaders());
@@ -324,6 +321,25 @@ public class SnowflakeGCSClient implements SnowflakeStorageClient {
                 key = encryptionData.getKey();
                 iv = encryptionData.getValue();
               }
+              InputStream bodyStream = response.getEntity().getContent();
+              if (requiresDecryption(key, iv)) {
+                // the encryption data is in the headers, so the body is decrypted while it is
+                // downloaded and the encrypted file is never written to disk
+                decryptMillisWhileDownloading =
+                    TimeUnit.NANOSECONDS.toMillis(
+                        EncryptionProvider.decryptToFile(
+                            bodyStream, localFile, key, iv, this.encMat));
+              } else {
+                byte[] buffer = new byte[8 * 1024];
+                int bytesRead;
+                OutputStream outStream = new FileOutputStream(localFile);
+                while ((bytesRead = bodyStream.read(buffer)) != -1) {
+                  outStream.write(buffer, 0, bytesRead);
+                }
+                outStream.flush();
+                outStream.close();
+                bodyStream.close();
+              }
               stopwatch.stop();
               downloadMillis = stopwatch.elapsedMillis();
               logger.debug("Download successful", false);
@@ -348,13 +364,6 @@ public class SnowflakeGCSClient implements SnowflakeStorageClient {
                     "Blob" + blobId.getName() + " not found in bucket " + blobId.getBucket()));
           }
 
-          logger.debug("Starting download without presigned URL", false);
-          blob.downloadTo(
-              localFile.toPath(), Blob.BlobSourceOption.shouldReturnRawInputStream(true));
-          stopwatch.stop();
-          downloadMillis = stopwatch.elapsedMillis();
-          logger.debug("Download successful", false);
-
           // Get the user-defined BLOB metadata
           Map<String, String> userDefinedMetadata =
               SnowflakeUtil.createCaseInsensitiveMap(blob.getMetadata());
@@ -367,12 +376,50 @@ public class SnowflakeGCSClient implements SnowflakeStorageClient {
               iv = encryptionData.getValue();
             }
           }
+
+          logger.debug("Starting download without presigned URL", false);
+          // the file is decrypted while it is downloaded, the encrypted file is never written to
+          // disk
+          boolean decrypt = requiresDecryption(key, iv);
+          if (session != null
+              && session.getEnableParallelRangedDownload()
+              && RangedDownloader.isApplicable(blob.getSize(), parallelism)) {
+            logger.debug("Downloading in ranges on {} threads", parallelism);
+            RangedDownloader downloader =
+                newRangedDownloader(session, blob, parallelism, decrypt, queryId);
+            downloader.downloadToFile(localFile);
+            if (decrypt) {
+              decryptMillisWhileDownloading = downloader.getDecryptionMillis();
+            }
+          } else if (decrypt) {
+            // the content is read from the generation of the blob the metadata was read from
+            InputStream stream =
+                Channels.newInputStream(
+                    blob.reader(
+                        Blob.BlobSourceOption.generationMatch(),
+                        Blob.BlobSourceOption.shouldReturnRawInputStream(true)));
+            decryptMillisWhileDownloading =
+                TimeUnit.NANOSECONDS.toMillis(
+                    EncryptionProvider.decryptToFile(stream, localFile, key, iv, this.encMat));
+          } else {
+            blob.downloadTo(
+                localFile.toPath(), Blob.BlobSourceOption.shouldReturnRawInputStream(true));
+          }
+          stopwatch.stop();
+          downloadMillis = stopwatch.elapsedMillis();
+          logger.debug("Download successful", false);
         }
 
-        if (!Strings.isNullOrEmpty(iv)
-            && !Strings.isNullOrEmpty(key)
-            && this.isEncrypting()
-            && this.getEncryptionKeySize() <= 256) {
+        if (decryptMillisWhileDownloading >= 0) {
+          logger.info(
+              "GCS file {} downloaded to {}. It took {} ms (decryption: {} ms while downloading, "
+                  + "no separate decryption pass) with {} retries",
+              stageFilePath,
+              localFile.getAbsolutePath(),
+              downloadMillis,
+              decryptMillisWhileDownloading,
+              retryCount);
+        } else if (requiresDecryption(key, iv)) {
           if (key == null || iv == null) {
             throw new SnowflakeSQLLoggedException(
                 queryId,
@@ -533,6 +580,27 @@ public class SnowflakeGCSClient implements SnowflakeStorageClient {
                     404, // because blob not found
                     "Blob" + blobId.getName() + " not found in bucket " + blobId.getBucket()));
           }
+          if (session != null
+              && session.getEnableParallelRangedDownload()
+              && RangedDownloader.isApplicable(blob.getSize(), parallelism)) {
+            InputStream stream =
+                newRangedDownloader(
+                        session,
+                        blob,
+                        parallelism,
+                        this.isEncrypting() && this.getEncryptionKeySize() <= 256,
+                        queryId)
+                    .openStream();
+            stopwatch.stop();
+            logger.info(
+                "GCS file {} downloading to stream in ranges on {} threads. "
+                    + "Setup took {} ms with {} retries",
+                stageFilePath,
+                parallelism,
+                stopwatch.elapsedMillis(),
+                retryCount);
+            return stream;
+          }
           inputStream = Channels.newInputStream(blob.reader());
           if (isEncrypting()) {
             // Get the user-defined BLOB metadata
@@ -606,6 +674,71 @@ public class SnowflakeGCSClient implements SnowflakeStorageClient {
         "Unexpected: download unsuccessful without exception!");
   }
 
+  /**
+   * @param key encrypted file key from the metadata of the blob, or null
+   * @param iv iv from the metadata of the blob, or null
+   * @return true if the downloaded blob is decrypted by the driver
+   */
+  private boolean requiresDecryption(String key, String iv) {
+    return !Strings.isNullOrEmpty(iv)
+        && !Strings.isNullOrEmpty(key)
+        && this.isEncrypting()
+        && this.getEncryptionKeySize() <= 256;
+  }
+
+  /**
+   * @param session session object
+   * @param blob the blob to download
+   * @param parallelism number of threads fetching ranges
+   * @param decrypt whether the ranges are decrypted
+   * @param queryId last query id
+   * @return downloader of the blob as ranges fetched concurrently
+   */
+  private RangedDownloader newRangedDownloader(
+      SFSession session, Blob blob, int parallelism, boolean decrypt, String queryId)
+      throws Exception {
+    SecretKey fileKey = null;
+    byte[] ivBytes = null;
+    if (decrypt) {
+      Map<String, String> userDefinedMetadata =
+          SnowflakeUtil.createCaseInsensitiveMap(blob.getMetadata());
+      AbstractMap.SimpleEntry<String, String> encryptionData =
+          parseEncryptionData(userDefinedMetadata.get(GCS_ENCRYPTIONDATAPROP), queryId);
+      if (Strings.isNullOrEmpty(encryptionData.getKey())
+          || Strings.isNullOrEmpty(encryptionData.getValue())) {
+        throw new SnowflakeSQLLoggedException(
+            queryId,
+            session,
+            ErrorCode.INTERNAL_ERROR.getMessageCode(),
+            SqlState.INTERNAL_ERROR,
+            "File metadata incomplete");
+      }
+      fileKey = EncryptionProvider.decryptFileKey(encryptionData.getKey(), encMat);
+      ivBytes = Base64.getDecoder().decode(encryptionData.getValue());
+    }
+    return new RangedDownloader(
+        this,
+        (position, length) -> {
+          // all ranges are read from the same generation of the blob
+          try (ReadChannel channel =
+              blob.reader(
+                  Blob.BlobSourceOption.generationMatch(),
+                  Blob.BlobSourceOption.shouldReturnRawInputStream(true))) {
+            channel.seek(position);
+            channel.limit(position + length);
+            ByteBuffer range = ByteBuffer.allocate(length);
+            while (range.hasRemaining() && channel.read(range) >= 0) {}
+            return range.hasRemaining()
+                ? Arrays.copyOf(range.array(), range.position())
+                : range.array();
+          }
+        },
+        blob.getSize(),
+        parallelism,
+        fileKey,
+        ivBytes);
+  }
+
   /**
    * Upload a file (-stream) to remote storage with Pre-signed URL without JDBC session.
    *
@@ -28,6 +28,7 @@ import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.CryptoConfiguration;
 import com.amazonaws.services.s3.model.CryptoMode;
 import com.amazonaws.services.s3.model.EncryptionMaterials;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
@@ -52,6 +53,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import net.snowflake.client.core.HttpUtil;
@@ -360,6 +362,69 @@ public class SnowflakeS3Client implements SnowflakeStorageClient {
       try {
         File localFile = new File(localFilePath);
 
+        // Pull object metadata from S3
+        ObjectMetadata meta = amazonClient.getObjectMetadata(remoteStorageLocation, stageFilePath);
+
+        Map<String, String> metaMap =
+            SnowflakeUtil.createCaseInsensitiveMap(meta.getUserMetadata());
+        String key = metaMap.get(AMZ_KEY);
+        String iv = metaMap.get(AMZ_IV);
+
+        boolean decrypt = this.isEncrypting() && this.getEncryptionKeySize() < 256;
+        boolean bigObject = RangedDownloader.isApplicable(meta.getContentLength(), parallelism);
+        boolean ranged = bigObject && session != null && session.getEnableParallelRangedDownload();
+
+        // The file is decrypted while it is downloaded, so the encrypted file is never written to
+        // disk, unless it is big enough for the transfer manager to download it on several threads
+        if (decrypt && (ranged || !bigObject)) {
+          if (key == null || iv == null) {
+            throw new SnowflakeSQLLoggedException(
+                queryId,
+                session,
+                ErrorCode.INTERNAL_ERROR.getMessageCode(),
+                SqlState.INTERNAL_ERROR,
+                "File metadata incomplete");
+          }
+
+          long decryptMillis;
+          if (ranged) {
+            RangedDownloader downloader =
+                newRangedDownloader(
+                    session,
+                    remoteStorageLocation,
+                    stageFilePath,
+                    meta,
+                    key,
+                    iv,
+                    parallelism,
+                    queryId);
+            downloader.downloadToFile(localFile);
+            decryptMillis = downloader.getDecryptionMillis();
+          } else {
+            S3Object object =
+                amazonClient.getObject(
+                    new GetObjectRequest(remoteStorageLocation, stageFilePath)
+                        .withMatchingETagConstraint(meta.getETag()));
+            if (object == null) {
+              throw new IOException("File " + stageFilePath + " changed while downloaded");
+            }
+            decryptMillis =
+                TimeUnit.NANOSECONDS.toMillis(
+                    EncryptionProvider.decryptToFile(
+                        object.getObjectContent(), localFile, key, iv, this.encMat));
+          }
+          stopwatch.stop();
+          logger.info(
+              "S3 file {} downloaded to {}. It took {} ms (decryption: {} ms while downloading, "
+                  + "no separate decryption pass) with {} retries",
+              stageFilePath,
+              localFile.getAbsolutePath(),
+              stopwatch.elapsedMillis(),
+              decryptMillis,
+              retryCount);
+          return;
+        }
+
         logger.debug("Creating executor service for transfer manager with {} threads", parallelism);
 
         // download files from s3
@@ -378,19 +443,11 @@ public class SnowflakeS3Client implements SnowflakeStorageClient {
 
         Download myDownload = tx.download(remoteStorageLocation, stageFilePath, localFile);
 
-        // Pull object metadata from S3
-        ObjectMetadata meta = amazonClient.getObjectMetadata(remoteStorageLocation, stageFilePath);
-
-        Map<String, String> metaMap =
-            SnowflakeUtil.createCaseInsensitiveMap(meta.getUserMetadata());
-        String key = metaMap.get(AMZ_KEY);
-        String iv = metaMap.get(AMZ_IV);
-
         myDownload.waitForCompletion();
         stopwatch.stop();
         long downloadMillis = stopwatch.elapsedMillis();
 
-        if (this.isEncrypting() && this.getEncryptionKeySize() < 256) {
+        if (decrypt) {
           stopwatch.restart();
           if (key == null || iv == null) {
             throw new SnowflakeSQLLoggedException(
@@ -478,17 +535,45 @@ public class SnowflakeS3Client implements SnowflakeStorageClient {
     int retryCount = 0;
     do {
       try {
-        S3Object file = amazonClient.getObject(remoteStorageLocation, stageFilePath);
         ObjectMetadata meta = amazonClient.getObjectMetadata(remoteStorageLocation, stageFilePath);
-        InputStream stream = file.getObjectContent();
-        stopwatch.stop();
-        long downloadMillis = stopwatch.elapsedMillis();
         Map<String, String> metaMap =
             SnowflakeUtil.createCaseInsensitiveMap(meta.getUserMetadata());
 
         String key = metaMap.get(AMZ_KEY);
         String iv = metaMap.get(AMZ_IV);
 
+        // objects encrypted with 256 bit keys are decrypted by the S3 encryption client
+        if (session != null
+            && session.getEnableParallelRangedDownload()
+            && !(this.isEncrypting() && this.getEncryptionKeySize() >= 256)
+            && RangedDownloader.isApplicable(meta.getContentLength(), parallelism)) {
+          InputStream stream =
+              newRangedDownloader(
+                      session,
+                      remoteStorageLocation,
+                      stageFilePath,
+                      meta,
+                      key,
+                      iv,
+                      parallelism,
+                      queryId)
+                  .openStream();
+          stopwatch.stop();
+          logger.info(
+              "S3 file {} downloading to input stream in ranges on {} threads. "
+                  + "Setup took {} ms with {} retries",
+              stageFilePath,
+              parallelism,
+              stopwatch.elapsedMillis(),
+              retryCount);
+          return stream;
+        }
+
+        S3Object file = amazonClient.getObject(remoteStorageLocation, stageFilePath);
+        InputStream stream = file.getObjectContent();
+        stopwatch.stop();
+        long downloadMillis = stopwatch.elapsedMillis();
+
         if (this.isEncrypting() && this.getEncryptionKeySize() < 256) {
           stopwatch.restart();
           if (key == null || iv == null) {
@@ -539,6 +624,64 @@ public class SnowflakeS3Client implements SnowflakeStorageClient {
         "Unexpected: download unsuccessful without exception!");
   }
 
+  /**
+   * @param session session object
+   * @param remoteStorageLocation bucket of the object
+   * @param stageFilePath key of the object
+   * @param meta metadata of the object
+   * @param key encrypted file key, if the object is encrypted
+   * @param iv iv of the object, if the object is encrypted
+   * @param parallelism number of threads fetching ranges
+   * @param queryId last query id
+   * @return downloader of the object as ranges fetched, and decrypted, concurrently
+   */
+  private RangedDownloader newRangedDownloader(
+      SFSession session,
+      String remoteStorageLocation,
+      String stageFilePath,
+      ObjectMetadata meta,
+      String key,
+      String iv,
+      int parallelism,
+      String queryId)
+      throws Exception {
+    SecretKey fileKey = null;
+    byte[] ivBytes = null;
+    if (this.isEncrypting()) {
+      if (key == null || iv == null) {
+        throw new SnowflakeSQLLoggedException(
+            queryId,
+            session,
+            ErrorCode.INTERNAL_ERROR.getMessageCode(),
+            SqlState.INTERNAL_ERROR,
+            "File metadata incomplete");
+      }
+      fileKey = EncryptionProvider.decryptFileKey(key, encMat);
+      ivBytes = Base64.getDecoder().decode(iv);
+    }
+    String eTag = meta.getETag();
+    return new RangedDownloader(
+        this,
+        (position, length) -> {
+          // all ranges are read from the same version of the object
+          GetObjectRequest request =
+              new GetObjectRequest(remoteStorageLocation, stageFilePath)
+                  .withRange(position, position + length - 1)
+                  .withMatchingETagConstraint(eTag);
+          S3Object range = amazonClient.getObject(request);
+          if (range == null) {
+            throw new IOException("File " + stageFilePath + " changed while downloaded");
+          }
+          try (InputStream rangeStream = range.getObjectContent()) {
+            return IOUtils.toByteArray(rangeStream, length);
+          }
+        },
+        meta.getContentLength(),
+        parallelism,
+        fileKey,
+        ivBytes);
+  }
+
   /**
    * Upload a file (-stream) to S3.
    *
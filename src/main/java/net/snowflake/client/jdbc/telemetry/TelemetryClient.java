@@ -12,7 +12,11 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.LinkedList;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Future;
+import net.snowflake.client.core.AsyncHttpUtil;
+import net.snowflake.client.core.HttpClientSettingsKey;
 import net.snowflake.client.core.HttpUtil;
 import net.snowflake.client.core.ObjectMapperFactory;
 import net.snowflake.client.core.SFBaseSession;
@@ -297,6 +301,9 @@ public class TelemetryClient implements Telemetry {
 
   @Override
   public Future<Boolean> sendBatchAsync() {
+    if (this.session != null && this.session.getEnableAsyncHttpTransport()) {
+      return sendBatchNonBlocking();
+    }
     return TelemetryThreadPool.getInstance()
         .submit(
             () -> {
@@ -321,44 +328,15 @@ public class TelemetryClient implements Telemetry {
    * @throws IOException if closed or uploading batch fails
    */
   private boolean sendBatch() throws IOException {
-    if (isClosed) {
-      throw new IOException("Telemetry connector is closed");
-    }
-    if (!isTelemetryEnabled()) {
+    LinkedList<TelemetryData> tmpList = takeBatch();
+    if (tmpList == null) {
       return false;
     }
 
-    LinkedList<TelemetryData> tmpList;
-    synchronized (locker) {
-      tmpList = this.logBatch;
-      this.logBatch = new LinkedList<>();
-    }
-
-    if (this.session != null && this.session.isClosed()) {
-      throw new UnexpectedException("Session is closed when sending log");
-    }
-
     if (!tmpList.isEmpty()) {
       Stopwatch stopwatch = new Stopwatch();
       stopwatch.start();
-      // session shared with JDBC
-      String payload = logsToString(tmpList);
-
-      logger.debugNoMask("Payload of telemetry is : " + payload);
-
-      HttpPost post = new HttpPost(this.telemetryUrl);
-      post.setEntity(new StringEntity(payload));
-      post.setHeader("Content-type", "application/json");
-
-      if (this.session == null) {
-        post.setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + this.token);
-        post.setHeader("X-Snowflake-Authorization-Token-Type", this.authType);
-        post.setHeader(HttpHeaders.ACCEPT, "application/json");
-      } else {
-        post.setHeader(
-            HttpHeaders.AUTHORIZATION,
-            "Snowflake Token=\"" + this.session.getSessionToken() + "\"");
-      }
+      HttpPost post = createPost(tmpList);
 
       String response = null;
 
@@ -395,6 +373,110 @@ public class TelemetryClient implements Telemetry {
     return true;
   }
 
+  /**
+   * Send all cached logs to server with the async HTTP transport, without blocking a thread of the
+   * telemetry pool while the request is in flight
+   *
+   * @return future of whether the logs were sent successfully
+   */
+  private CompletableFuture<Boolean> sendBatchNonBlocking() {
+    LinkedList<TelemetryData> tmpList;
+    HttpPost post;
+    HttpClientSettingsKey key;
+    try {
+      tmpList = takeBatch();
+      if (tmpList == null || tmpList.isEmpty()) {
+        return CompletableFuture.completedFuture(tmpList != null);
+      }
+      post = createPost(tmpList);
+      key = this.session.getHttpClientKey();
+    } catch (Throwable e) {
+      logger.debug("Failed to send telemetry data, {}", e);
+      return CompletableFuture.completedFuture(false);
+    }
+
+    Stopwatch stopwatch = new Stopwatch();
+    stopwatch.start();
+    return AsyncHttpUtil.executeGeneralRequest(
+            post,
+            TELEMETRY_HTTP_RETRY_TIMEOUT_IN_SEC,
+            this.session.getHttpClientSocketTimeout(),
+            0,
+            key)
+        .handle(
+            (response, ex) -> {
+              if (ex == null) {
+                stopwatch.stop();
+                logger.debug(
+                    "Sending telemetry took {} ms. Batch size: {}",
+                    stopwatch.elapsedMillis(),
+                    tmpList.size());
+                return true;
+              }
+              Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+              if (cause instanceof SnowflakeSQLException) {
+                disableTelemetry(); // when got error like 404 or bad request, disable telemetry in
+                // this telemetry instance
+                logger.error("Telemetry request failed, exception: {}", cause.getMessage());
+              } else {
+                logger.debug("Failed to send telemetry data, {}", cause);
+              }
+              return false;
+            });
+  }
+
+  /**
+   * Take the cached logs to send
+   *
+   * @return the cached logs, null if telemetry is disabled
+   * @throws IOException if closed or the session is closed
+   */
+  private LinkedList<TelemetryData> takeBatch() throws IOException {
+    if (isClosed) {
+      throw new IOException("Telemetry connector is closed");
+    }
+    if (!isTelemetryEnabled()) {
+      return null;
+    }
+
+    LinkedList<TelemetryData> tmpList;
+    synchronized (locker) {
+      tmpList = this.logBatch;
+      this.logBatch = new LinkedList<>();
+    }
+
+    if (this.session != null && this.session.isClosed()) {
+      throw new UnexpectedException("Session is closed when sending log");
+    }
+    return tmpList;
+  }
+
+  /**
+   * @param tmpList logs to send
+   * @return the telemetry request for the logs
+   * @throws IOException if the payload cannot be encoded
+   */
+  private HttpPost createPost(LinkedList<TelemetryData> tmpList) throws IOException {
+    // session shared with JDBC
+    String payload = logsToString(tmpList);
+
+    logger.debugNoMask("Payload of telemetry is : " + payload);
+
+    HttpPost post = new HttpPost(this.telemetryUrl);
+    post.setEntity(new StringEntity(payload));
+    post.setHeader("Content-type", "application/json");
+
+    if (this.session == null) {
+      post.setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + this.token);
+      post.setHeader("X-Snowflake-Authorization-Token-Type", this.authType);
+      post.setHeader(HttpHeaders.ACCEPT, "application/json");
+    } else {
+      post.setHeader(
+          HttpHeaders.AUTHORIZATION, "Snowflake Token=\"" + this.session.getSessionToken() + "\"");
+    }
+    return post;
+  }
+
   /**
    * Send a log to the server, along with any existing logs waiting to be sent
    *
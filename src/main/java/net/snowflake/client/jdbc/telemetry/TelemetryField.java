@@ -14,6 +14,7 @@ public enum TelemetryField {
   FAILED_BIND_SERIALIZATION("client_failed_bind_serialization"),
   FAILED_BIND_UPLOAD("client_failed_bind_upload"),
   FAILED_BIND_OTHER("client_failed_bind_other"),
+  BIND_UPLOAD_THROUGHPUT("client_bind_upload_throughput"),
 
   SQL_EXCEPTION("client_sql_exception"),
 
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.reactor.IOReactorStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.junit.jupiter.api.Test;
+
+public class AsyncHttpUtilTest {
+  @Test
+  public void testToAsyncRequestCopiesRequest() throws Exception {
+    HttpPost post = new HttpPost("https://account.snowflakecomputing.com/queries/v1/query-request");
+    post.setEntity(new StringEntity("{\"sqlText\":\"select 1\"}", "UTF-8"));
+    post.setHeader("Content-Type", "application/json");
+    post.setHeader("Authorization", "Snowflake Token=\"abc\"");
+    post.setHeader("Connection", "keep-alive");
+    post.setHeader("Content-Length", "21");
+    post.setConfig(RequestConfig.custom().setSocketTimeout(12345).build());
+
+    SimpleHttpRequest request = AsyncHttpUtil.toAsyncRequest(post);
+
+    assertEquals("POST", request.getMethod());
+    assertEquals(post.getURI(), request.getUri());
+    assertEquals("Snowflake Token=\"abc\"", request.getFirstHeader("Authorization").getValue());
+    assertEquals("application/json", request.getFirstHeader("Content-Type").getValue());
+    // connection specific headers are set by the client
+    assertNull(request.getFirstHeader("Connection"));
+    assertNull(request.getFirstHeader("Content-Length"));
+    assertArrayEquals(
+        "{\"sqlText\":\"select 1\"}".getBytes(StandardCharsets.UTF_8), request.getBodyBytes());
+    assertEquals(12345, request.getConfig().getResponseTimeout().toMilliseconds());
+  }
+
+  @Test
+  public void testToAsyncRequestWithoutBody() throws Exception {
+    HttpGet get = new HttpGet(new URI("https://account.snowflakecomputing.com/session?a=b"));
+
+    SimpleHttpRequest request = AsyncHttpUtil.toAsyncRequest(get);
+
+    assertEquals("GET", request.getMethod());
+    assertEquals(get.getURI(), request.getUri());
+    assertNull(request.getBody());
+    assertNull(request.getConfig());
+  }
+
+  @Test
+  public void testReadBody() throws Exception {
+    String json = "{\"success\":true,\"data\":\"été\"}";
+
+    SimpleHttpResponse plain = new SimpleHttpResponse(200);
+    plain.setBody(json, ContentType.APPLICATION_JSON);
+    assertEquals(json, AsyncHttpUtil.readBody(plain));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(json.getBytes(StandardCharsets.UTF_8));
+    }
+    SimpleHttpResponse compressed = new SimpleHttpResponse(200);
+    compressed.setBody(bytes.toByteArray(), ContentType.APPLICATION_JSON);
+    compressed.addHeader("Content-Encoding", "gzip");
+    assertEquals(json, AsyncHttpUtil.readBody(compressed));
+
+    assertEquals("", AsyncHttpUtil.readBody(new SimpleHttpResponse(200)));
+  }
+
+  @Test
+  public void testClosedClientsAreRebuilt() {
+    HttpClientSettingsKey key = new HttpClientSettingsKey(OCSPMode.DISABLE_OCSP_CHECKS);
+    CloseableHttpAsyncClient client = AsyncHttpUtil.getAsyncHttpClient(key);
+    assertSame(client, AsyncHttpUtil.getAsyncHttpClient(key));
+
+    AsyncHttpUtil.closeAsyncHttpClients();
+    assertEquals(IOReactorStatus.SHUT_DOWN, client.getStatus());
+    assertTrue(AsyncHttpUtil.asyncHttpClient.isEmpty());
+
+    CloseableHttpAsyncClient rebuilt = AsyncHttpUtil.getAsyncHttpClient(key);
+    assertNotSame(client, rebuilt);
+    assertNotEquals(IOReactorStatus.SHUT_DOWN, rebuilt.getStatus());
+    AsyncHttpUtil.closeAsyncHttpClients();
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.snowflake.client.jdbc.QueryStatusV2;
+import net.snowflake.client.jdbc.SnowflakeSQLException;
+import org.junit.jupiter.api.Test;
+
+public class AsyncQueryPollerTest {
+  /** Returns the statuses of each query in turn, the last one is repeated */
+  private static class StatusSource implements AsyncQueryPoller.QueryStatusSource {
+    private final Map<String, Deque<String>> statuses = new ConcurrentHashMap<>();
+    private final List<List<String>> requests = new CopyOnWriteArrayList<>();
+
+    StatusSource add(String queryID, String... names) {
+      statuses.put(queryID, new ArrayDeque<>(Arrays.asList(names)));
+      return this;
+    }
+
+    @Override
+    public Map<String, QueryStatusV2> getQueryStatuses(
+        List<String> queryIDs, Map<String, SQLException> failures) {
+      requests.add(new ArrayList<>(queryIDs));
+      Map<String, QueryStatusV2> result = new HashMap<>();
+      for (String queryID : queryIDs) {
+        Deque<String> names = statuses.get(queryID);
+        if (names != null) {
+          String name = names.size() > 1 ? names.poll() : names.peek();
+          result.put(queryID, status(queryID, name));
+        }
+      }
+      return result;
+    }
+  }
+
+  private static QueryStatusV2 status(String queryID, String name) {
+    int errorCode = "SUCCESS".equals(name) || "RUNNING".equals(name) ? 0 : 2003;
+    return new QueryStatusV2(
+        0, errorCode, "error " + errorCode, queryID, name, 0, "", 0, "", 0, null, 0, null, null);
+  }
+
+  @Test
+  public void testStatusChangesArePublished() throws Exception {
+    StatusSource source = new StatusSource().add("q1", "QUEUED", "RUNNING", "SUCCESS");
+    AsyncQueryPoller poller = new AsyncQueryPoller(source);
+    List<String> transitions = new CopyOnWriteArrayList<>();
+    poller.addStatusListener(
+        (queryID, previous, current) ->
+            transitions.add(
+                queryID
+                    + ":"
+                    + (previous == null ? null : previous.getName())
+                    + "->"
+                    + current.getName()));
+
+    QueryStatusV2 status = poller.watch("q1").get(10, TimeUnit.SECONDS);
+
+    assertTrue(status.isSuccess());
+    assertEquals(
+        Arrays.asList("q1:null->QUEUED", "q1:QUEUED->RUNNING", "q1:RUNNING->SUCCESS"), transitions);
+    assertEquals(3, source.requests.size());
+    assertEquals(0, poller.getPendingQueryCount());
+  }
+
+  @Test
+  public void testQueriesArePolledInBatches() throws Exception {
+    StatusSource source = new StatusSource();
+    int queryCount = AsyncQueryPoller.MAX_BATCH_SIZE * 2 + 50;
+    for (int i = 0; i < queryCount; i++) {
+      source.add("q" + i, "RUNNING", "SUCCESS");
+    }
+    AsyncQueryPoller poller = new AsyncQueryPoller(source);
+
+    List<CompletableFuture<QueryStatusV2>> futures = new ArrayList<>();
+    for (int i = 0; i < queryCount; i++) {
+      futures.add(poller.watch("q" + i));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+    int polledQueries = 0;
+    for (List<String> request : source.requests) {
+      assertTrue(request.size() <= AsyncQueryPoller.MAX_BATCH_SIZE);
+      polledQueries += request.size();
+    }
+    // each query is polled twice, in far fewer requests than queries
+    assertEquals(queryCount * 2, polledQueries);
+    assertTrue(source.requests.size() < queryCount / 10, source.requests.toString());
+  }
+
+  @Test
+  public void testStatusIsReadFromSharedState() throws Exception {
+    StatusSource source = new StatusSource().add("q1", "RUNNING", "RUNNING", "FAILED_WITH_ERROR");
+    AsyncQueryPoller poller = new AsyncQueryPoller(source);
+
+    // the status of a query which is not tracked is retrieved, and the query is tracked
+    assertEquals("RUNNING", poller.getStatus("q1").getName());
+    assertEquals(1, poller.getPendingQueryCount());
+
+    ExecutionException ex =
+        assertThrows(ExecutionException.class, () -> poller.watch("q1").get(10, TimeUnit.SECONDS));
+    SnowflakeSQLException cause = assertInstanceOf(SnowflakeSQLException.class, ex.getCause());
+    assertEquals("q1", cause.getQueryId());
+    assertEquals(2003, cause.getErrorCode());
+    assertTrue(cause.getMessage().contains("error 2003"), cause.getMessage());
+
+    int requests = source.requests.size();
+    QueryStatusV2 failed = poller.getStatus("q1");
+    assertEquals("FAILED_WITH_ERROR", failed.getName());
+    assertSame(failed, poller.getStatus("q1"));
+    assertTrue(poller.watch("q1").isCompletedExceptionally());
+    assertEquals(requests, source.requests.size());
+  }
+
+  @Test
+  public void testFailedStatusRequestIsRetried() throws Exception {
+    StatusSource statuses = new StatusSource().add("q1", "RUNNING", "SUCCESS");
+    AtomicInteger failures = new AtomicInteger();
+    AsyncQueryPoller poller =
+        new AsyncQueryPoller(
+            (queryIDs, failed) -> {
+              if (failures.getAndIncrement() < 2) {
+                throw new SQLException("connection reset");
+              }
+              return statuses.getQueryStatuses(queryIDs, failed);
+            });
+
+    CompletableFuture<QueryStatusV2> future = poller.watch("q1");
+
+    assertTrue(future.get(10, TimeUnit.SECONDS).isSuccess());
+    assertEquals(4, failures.get());
+  }
+
+  @Test
+  public void testFailedQueryDoesNotFailItsBatch() throws Exception {
+    StatusSource statuses =
+        new StatusSource().add("q1", "RUNNING", "SUCCESS").add("q2", "QUEUED", "SUCCESS");
+    SFBaseSession session = mock(SFBaseSession.class, CALLS_REAL_METHODS);
+    when(session.getQueryStatusV2(anyString()))
+        .thenAnswer(
+            invocation -> {
+              String queryID = invocation.getArgument(0);
+              if ("bad".equals(queryID)) {
+                throw new SQLException("Query not found");
+              }
+              return statuses
+                  .getQueryStatuses(Collections.singletonList(queryID), new HashMap<>())
+                  .get(queryID);
+            });
+    AsyncQueryPoller poller = new AsyncQueryPoller(session::getQueryStatusesV2);
+
+    CompletableFuture<QueryStatusV2> bad = poller.watch("bad");
+    CompletableFuture<QueryStatusV2> q1 = poller.watch("q1");
+    CompletableFuture<QueryStatusV2> q2 = poller.watch("q2");
+
+    assertTrue(q1.get(10, TimeUnit.SECONDS).isSuccess());
+    assertTrue(q2.get(10, TimeUnit.SECONDS).isSuccess());
+    // the query whose status cannot be retrieved is still polled, until it failed too often
+    assertFalse(bad.isDone());
+    assertEquals(1, poller.getPendingQueryCount());
+    assertThrows(SQLException.class, () -> poller.getStatus("bad"));
+    poller.close();
+  }
+
+  @Test
+  public void testCloseFailsPendingQueries() throws Exception {
+    StatusSource source = new StatusSource().add("q1", "RUNNING");
+    AsyncQueryPoller poller = new AsyncQueryPoller(source);
+
+    CompletableFuture<QueryStatusV2> future = poller.watch("q1");
+    poller.close();
+
+    ExecutionException ex =
+        assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+    assertInstanceOf(SnowflakeSQLException.class, ex.getCause());
+    assertTrue(poller.watch("q2").isCompletedExceptionally());
+    assertEquals(0, poller.getPendingQueryCount());
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FileDigestCacheTest {
+  private static final String CACHE_DIR_PROP = "net.snowflake.jdbc.fileDigestCacheTestDir";
+
+  @TempDir private Path tempDir;
+
+  private File file;
+  private long lastModified;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    System.setProperty(CACHE_DIR_PROP, tempDir.resolve("cache").toString());
+    file = Files.write(tempDir.resolve("data.csv"), "1,2,3\n".getBytes()).toFile();
+    lastModified = System.currentTimeMillis() - 60_000L;
+    file.setLastModified(lastModified);
+    lastModified = file.lastModified();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    System.clearProperty(CACHE_DIR_PROP);
+  }
+
+  @Test
+  public void testDigestIsReadFromCacheFile() {
+    FileDigestCache cache = newCache();
+    assertNull(cache.getDigest(file, file.length(), lastModified, "GZIP"));
+    cache.putDigest(file, file.length(), lastModified, "GZIP", "digest");
+    cache.flush();
+
+    FileDigestCache otherCache = newCache();
+    assertEquals("digest", otherCache.getDigest(file, file.length(), lastModified, "GZIP"));
+    assertNull(otherCache.getDigest(file, file.length(), lastModified, "NONE"));
+  }
+
+  @Test
+  public void testDigestOfChangedFileIsNotUsed() {
+    FileDigestCache cache = newCache();
+    cache.putDigest(file, file.length(), lastModified, "GZIP", "digest");
+
+    assertNull(cache.getDigest(file, file.length() + 1, lastModified, "GZIP"));
+    assertNull(cache.getDigest(file, file.length(), lastModified + 1000, "GZIP"));
+  }
+
+  @Test
+  public void testDigestOfRecentlyModifiedFileIsNotCached() {
+    FileDigestCache cache = newCache();
+    long now = System.currentTimeMillis();
+    cache.putDigest(file, file.length(), now, "GZIP", "digest");
+
+    assertNull(cache.getDigest(file, file.length(), now, "GZIP"));
+  }
+
+  private static FileDigestCache newCache() {
+    return new FileDigestCache(
+        FileCacheManager.builder()
+            .setCacheDirectorySystemProperty(CACHE_DIR_PROP)
+            .setBaseCacheFileName("file_digest_cache_test.json")
+            .setCacheFileLockExpirationInSeconds(60L)
+            .setOnlyOwnerPermissions(true)
+            .build());
+  }
+}
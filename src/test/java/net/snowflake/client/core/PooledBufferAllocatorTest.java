@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.jupiter.api.Test;
+
+public class PooledBufferAllocatorTest {
+  @Test
+  public void testCapacityIsRoundedUpToSizeClass() {
+    PooledBufferAllocator<byte[]> allocator = new PooledBufferAllocator.HeapAllocator(1 << 30);
+    assertEquals(PooledBufferAllocator.MIN_POOLED_CAPACITY, allocator.allocate(0).length);
+    assertEquals(PooledBufferAllocator.MIN_POOLED_CAPACITY, allocator.allocate(1).length);
+    assertEquals(4096, allocator.allocate(4096).length);
+    assertEquals(8192, allocator.allocate(4097).length);
+    assertEquals(1 << 20, allocator.allocate((1 << 20) - 1).length);
+    assertEquals(
+        PooledBufferAllocator.MAX_POOLED_CAPACITY,
+        allocator.allocate(PooledBufferAllocator.MAX_POOLED_CAPACITY).length);
+    // larger buffers are allocated with the exact capacity
+    assertEquals(
+        PooledBufferAllocator.MAX_POOLED_CAPACITY + 1,
+        allocator.allocate(PooledBufferAllocator.MAX_POOLED_CAPACITY + 1).length);
+    assertThrows(IllegalArgumentException.class, () -> allocator.allocate(-1));
+  }
+
+  @Test
+  public void testReleasedBuffersAreReused() {
+    PooledBufferAllocator<byte[]> allocator = new PooledBufferAllocator.HeapAllocator(1 << 30);
+    byte[] buffer = allocator.allocate(100_000);
+    assertEquals(0, allocator.getHitCount());
+    assertEquals(1, allocator.getMissCount());
+
+    allocator.release(buffer);
+    assertEquals(buffer.length, allocator.getPooledBytes());
+    // any request of the same size class gets the buffer
+    assertSame(buffer, allocator.allocate(70_000));
+    assertEquals(1, allocator.getHitCount());
+    assertEquals(0, allocator.getPooledBytes());
+
+    // other size classes do not
+    allocator.release(buffer);
+    assertEquals(1 << 16, allocator.allocate(1 << 16).length);
+    assertEquals(2, allocator.getMissCount());
+  }
+
+  @Test
+  public void testBuffersNotOfASizeClassAreNotPooled() {
+    PooledBufferAllocator<byte[]> allocator = new PooledBufferAllocator.HeapAllocator(1 << 30);
+    allocator.release(new byte[5000]);
+    allocator.release(new byte[100]);
+    allocator.release(allocator.allocate(PooledBufferAllocator.MAX_POOLED_CAPACITY + 1));
+    allocator.release(null);
+    assertEquals(0, allocator.getPooledBytes());
+  }
+
+  @Test
+  public void testPooledBytesAreBounded() {
+    PooledBufferAllocator<byte[]> allocator = new PooledBufferAllocator.HeapAllocator(3 * 8192);
+    byte[][] buffers = new byte[4][];
+    for (int i = 0; i < buffers.length; i++) {
+      buffers[i] = allocator.allocate(8192);
+    }
+    for (byte[] buffer : buffers) {
+      allocator.release(buffer);
+    }
+    assertEquals(3 * 8192, allocator.getPooledBytes());
+
+    allocator.clear();
+    assertEquals(0, allocator.getPooledBytes());
+    allocator.allocate(8192);
+    assertEquals(5, allocator.getMissCount());
+  }
+
+  @Test
+  public void testDirectBuffersAreResetWhenReused() {
+    PooledBufferAllocator<ByteBuffer> allocator =
+        new PooledBufferAllocator.DirectAllocator(1 << 20);
+    ByteBuffer buffer = allocator.allocate(10_000);
+    assertTrue(buffer.isDirect());
+    assertEquals(16384, buffer.capacity());
+    buffer.order(ByteOrder.LITTLE_ENDIAN).putLong(1L).limit(100);
+    allocator.release(buffer);
+
+    ByteBuffer reused = allocator.allocate(16384);
+    assertSame(buffer, reused);
+    assertEquals(0, reused.position());
+    assertEquals(16384, reused.limit());
+    assertEquals(ByteOrder.BIG_ENDIAN, reused.order());
+
+    // heap buffers are not pooled
+    allocator.release(ByteBuffer.allocate(16384));
+    assertEquals(0, allocator.getPooledBytes());
+  }
+}
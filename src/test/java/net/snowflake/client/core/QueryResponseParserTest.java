@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+public class QueryResponseParserTest {
+  private static final ObjectMapper mapper = ObjectMapperFactory.getObjectMapper();
+
+  private final QueryResponseParser parser = new QueryResponseParser(mapper);
+
+  private static InputStream stream(String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testTreeMatchesReadTree() throws IOException {
+    String json =
+        "{\"success\":true,\"code\":null,\"message\":\"ok\",\"data\":{\"queryId\":\"01ab\","
+            + "\"rowtype\":[{\"name\":\"C1\",\"type\":\"fixed\"}],"
+            + "\"rowset\":[[\"1\",null],[\"2\",\"\\u00e9\\\"\"]],\"total\":2,\"chunks\":[]},"
+            + "\"tail\":[1.5,{\"a\":false}]}";
+    assertEquals(mapper.readTree(json), parser.parse(stream(json)));
+  }
+
+  @Test
+  public void testRowsetBase64IsDecoded() throws IOException {
+    byte[] arrow = new byte[1000];
+    for (int i = 0; i < arrow.length; i++) {
+      arrow[i] = (byte) (i * 31);
+    }
+    String json =
+        "{\"data\":{\"queryResultFormat\":\"arrow\",\"rowsetBase64\":\""
+            + Base64.getEncoder().encodeToString(arrow)
+            + "\"},\"success\":true}";
+    JsonNode root = parser.parse(stream(json));
+    JsonNode rowsetBase64 = root.path("data").path("rowsetBase64");
+    assertTrue(rowsetBase64.isBinary());
+    assertArrayEquals(arrow, rowsetBase64.binaryValue());
+    assertEquals("arrow", root.path("data").path("queryResultFormat").asText());
+    assertTrue(root.path("success").asBoolean());
+  }
+
+  @Test
+  public void testEmptyAndNullRowsetBase64() throws IOException {
+    JsonNode empty = parser.parse(stream("{\"data\":{\"rowsetBase64\":\"\"}}"));
+    assertTrue(empty.path("data").path("rowsetBase64").isBinary());
+    assertEquals(0, empty.path("data").path("rowsetBase64").binaryValue().length);
+
+    JsonNode missing = parser.parse(stream("{\"data\":{\"rowsetBase64\":null}}"));
+    assertTrue(missing.path("data").path("rowsetBase64").isNull());
+  }
+
+  @Test
+  public void testOnlyDataRowsetBase64IsDecoded() throws IOException {
+    String json = "{\"rowsetBase64\":\"AAAA\",\"data\":{\"nested\":{\"rowsetBase64\":\"AAAA\"}}}";
+    JsonNode root = parser.parse(stream(json));
+    assertTrue(root.path("rowsetBase64").isTextual());
+    assertTrue(root.path("data").path("nested").path("rowsetBase64").isTextual());
+  }
+
+  @Test
+  public void testNonObjectAndEmptyResponses() throws IOException {
+    assertNull(parser.parse(stream("")));
+    assertEquals(mapper.readTree("[1,2]"), parser.parse(stream("[1,2]")));
+    assertEquals(mapper.readTree("\"text\""), parser.parse(stream("\"text\"")));
+  }
+
+  @Test
+  public void testInvalidJson() {
+    assertThrows(JsonProcessingException.class, () -> parser.parse(stream("{\"data\":{")));
+    assertThrows(
+        JsonProcessingException.class,
+        () -> parser.parse(stream("{\"data\":{\"rowsetBase64\":\"not base64!\"}}")));
+  }
+}
@@ -4,13 +4,50 @@ import static net.snowflake.client.core.SessionUtil.CLIENT_MEMORY_LIMIT;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.CertificateException;
 import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.snowflake.client.jdbc.OCSPErrorCode;
 import net.snowflake.client.jdbc.SnowflakeResultSetSerializable;
 import net.snowflake.client.jdbc.SnowflakeResultSetSerializableV1;
+import net.snowflake.client.util.SFPair;
+import org.bouncycastle.asn1.ocsp.CertID;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.Certificate;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.BasicOCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.RespID;
+import org.bouncycastle.cert.ocsp.RevokedStatus;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -187,4 +224,220 @@ public class SFTrustManagerTest {
         SFTrustManager.SF_OCSP_RESPONSE_CACHE_SERVER_RETRY_URL_PATTERN,
         equalTo("http://ocsp.sfctest0.us-west-2.privatelink.snowflakecomputing.com/retry/%s/%s"));
   }
+
+  @Test
+  public void testRevocationStatusChecksRunConcurrently() throws Exception {
+    // each check waits for all checks to start, which only completes if they run concurrently
+    CountDownLatch started = new CountDownLatch(3);
+    List<SFTrustManager.RevocationStatusCheck> checks = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      checks.add(
+          () -> {
+            started.countDown();
+            try {
+              assertTrue(started.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException ex) {
+              throw new CertificateException(ex);
+            }
+          });
+    }
+    assertThat(
+        SFTrustManager.executeRevocationStatusChecksInParallel(checks, 20000),
+        equalTo(Collections.emptyList()));
+  }
+
+  @Test
+  public void testFailedRevocationStatusCheckCancelsTheOthers() {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch cancelled = new CountDownLatch(1);
+    CertificateException revoked = new CertificateException("The certificate has been revoked");
+    List<SFTrustManager.RevocationStatusCheck> checks = new ArrayList<>();
+    checks.add(
+        () -> {
+          started.countDown();
+          try {
+            Thread.sleep(20000);
+          } catch (InterruptedException ex) {
+            cancelled.countDown();
+          }
+        });
+    checks.add(
+        () -> {
+          // fail only once the other check runs, a check which did not start is not interrupted
+          try {
+            started.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+          throw revoked;
+        });
+    long start = System.currentTimeMillis();
+    CertificateException thrown =
+        assertThrows(
+            CertificateException.class,
+            () -> SFTrustManager.executeRevocationStatusChecksInParallel(checks, 20000));
+    assertSame(revoked, thrown);
+    assertTrue(System.currentTimeMillis() - start < 10000);
+    assertDoesNotThrow(() -> assertTrue(cancelled.await(10, TimeUnit.SECONDS)));
+  }
+
+  @Test
+  public void testRevocationStatusChecksDeadline() throws Exception {
+    AtomicInteger completed = new AtomicInteger();
+    List<SFTrustManager.RevocationStatusCheck> checks = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      boolean slow = i % 2 == 1;
+      checks.add(
+          () -> {
+            if (slow) {
+              try {
+                Thread.sleep(20000);
+              } catch (InterruptedException ex) {
+                return;
+              }
+            }
+            completed.incrementAndGet();
+          });
+    }
+    long start = System.currentTimeMillis();
+    assertThat(
+        SFTrustManager.executeRevocationStatusChecksInParallel(checks, 200),
+        equalTo(Arrays.asList(1, 3)));
+    assertTrue(System.currentTimeMillis() - start < 10000);
+    assertThat(completed.get(), equalTo(2));
+  }
+
+  private static final long DAY_IN_MILLISECONDS = 86400000L;
+
+  /** A CA, a certificate it issued, and OCSP responses for the certificate signed by the CA */
+  private static class OcspFixture {
+    final KeyPair issuerKeys;
+    final X509CertificateHolder issuer;
+    final X509CertificateHolder subject;
+    final SFPair<Certificate, Certificate> pairIssuerSubject;
+    final CertificateID certId;
+    final SFTrustManager.OcspResponseCacheKey key;
+
+    OcspFixture() throws Exception {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+      generator.initialize(2048);
+      issuerKeys = generator.generateKeyPair();
+      KeyPair subjectKeys = generator.generateKeyPair();
+      long now = System.currentTimeMillis();
+      X500Name issuerName = new X500Name("CN=Test CA");
+      ContentSigner signer =
+          new JcaContentSignerBuilder("SHA256withRSA").build(issuerKeys.getPrivate());
+      issuer =
+          new JcaX509v3CertificateBuilder(
+                  issuerName,
+                  BigInteger.ONE,
+                  new Date(now - DAY_IN_MILLISECONDS),
+                  new Date(now + 365 * DAY_IN_MILLISECONDS),
+                  issuerName,
+                  issuerKeys.getPublic())
+              .build(signer);
+      subject =
+          new JcaX509v3CertificateBuilder(
+                  issuerName,
+                  BigInteger.valueOf(now),
+                  new Date(now - DAY_IN_MILLISECONDS),
+                  new Date(now + 365 * DAY_IN_MILLISECONDS),
+                  new X500Name("CN=test.snowflakecomputing.com"),
+                  subjectKeys.getPublic())
+              .build(signer);
+      pairIssuerSubject = SFPair.of(issuer.toASN1Structure(), subject.toASN1Structure());
+      certId =
+          new CertificateID(
+              new SFTrustManager.SHA1DigestCalculator(), issuer, subject.getSerialNumber());
+      CertID cid = certId.toASN1Primitive();
+      key =
+          new SFTrustManager.OcspResponseCacheKey(
+              cid.getIssuerNameHash().getEncoded(),
+              cid.getIssuerKeyHash().getEncoded(),
+              cid.getSerialNumber().getValue());
+    }
+
+    String response(CertificateStatus status, long thisUpdate, long nextUpdate) throws Exception {
+      BasicOCSPResp basicResp =
+          new BasicOCSPRespBuilder(new RespID(issuer.getSubject()))
+              .addResponse(certId, status, new Date(thisUpdate), new Date(nextUpdate), null)
+              .build(
+                  new JcaContentSignerBuilder("SHA256withRSA").build(issuerKeys.getPrivate()),
+                  null,
+                  new Date());
+      OCSPResp resp = new OCSPRespBuilder().build(OCSPRespBuilder.SUCCESSFUL, basicResp);
+      return org.apache.commons.codec.binary.Base64.encodeBase64String(resp.getEncoded());
+    }
+  }
+
+  @Test
+  public void testVerifiedOcspResponseIsNotVerifiedAgain() throws Throwable {
+    OcspFixture fixture = new OcspFixture();
+    SFTrustManager trustManager =
+        new SFTrustManager(new HttpClientSettingsKey(OCSPMode.FAIL_OPEN), null);
+    long now = System.currentTimeMillis();
+    String response =
+        fixture.response(
+            CertificateStatus.GOOD, now - DAY_IN_MILLISECONDS, now + DAY_IN_MILLISECONDS);
+
+    trustManager.validateRevocationStatusMain(
+        fixture.pairIssuerSubject, response, fixture.key, null);
+    SFTrustManager.ValidatedOcspResponse validated =
+        SFTrustManager.getValidatedOcspResponse(fixture.key);
+    assertNotNull(validated);
+    assertTrue(validated.verifiedAt >= now);
+    assertThat(validated.validUntil > now + DAY_IN_MILLISECONDS, equalTo(true));
+
+    // a hit does not decode or verify the response again
+    trustManager.validateRevocationStatusMain(
+        fixture.pairIssuerSubject, response, fixture.key, null);
+    assertSame(validated, SFTrustManager.getValidatedOcspResponse(fixture.key));
+    assertTrue(validated.used);
+
+    // a new response for the certificate is verified
+    String newResponse =
+        fixture.response(CertificateStatus.GOOD, now, now + 2 * DAY_IN_MILLISECONDS);
+    trustManager.validateRevocationStatusMain(
+        fixture.pairIssuerSubject, newResponse, fixture.key, null);
+    SFTrustManager.ValidatedOcspResponse newValidated =
+        SFTrustManager.getValidatedOcspResponse(fixture.key);
+    assertNotSame(validated, newValidated);
+    assertTrue(newValidated.isValid(newResponse, now));
+    assertFalse(newValidated.isValid(response, now));
+    assertFalse(newValidated.isValid(newResponse, newValidated.validUntil + 1));
+  }
+
+  @Test
+  public void testInvalidOcspResponseIsNotCached() throws Throwable {
+    OcspFixture fixture = new OcspFixture();
+    SFTrustManager trustManager =
+        new SFTrustManager(new HttpClientSettingsKey(OCSPMode.FAIL_OPEN), null);
+    long now = System.currentTimeMillis();
+
+    String revoked =
+        fixture.response(
+            new RevokedStatus(new Date(now - DAY_IN_MILLISECONDS), 1),
+            now - DAY_IN_MILLISECONDS,
+            now + DAY_IN_MILLISECONDS);
+    SFOCSPException ex =
+        assertThrows(
+            SFOCSPException.class,
+            () ->
+                trustManager.validateRevocationStatusMain(
+                    fixture.pairIssuerSubject, revoked, fixture.key, null));
+    assertThat(ex.getErrorCode(), equalTo(OCSPErrorCode.CERTIFICATE_STATUS_REVOKED));
+    assertNull(SFTrustManager.getValidatedOcspResponse(fixture.key));
+
+    String expired =
+        fixture.response(
+            CertificateStatus.GOOD, now - 30 * DAY_IN_MILLISECONDS, now - 20 * DAY_IN_MILLISECONDS);
+    ex =
+        assertThrows(
+            SFOCSPException.class,
+            () ->
+                trustManager.validateRevocationStatusMain(
+                    fixture.pairIssuerSubject, expired, fixture.key, null));
+    assertThat(ex.getErrorCode(), equalTo(OCSPErrorCode.INVALID_OCSP_RESPONSE_VALIDITY));
+    assertNull(SFTrustManager.getValidatedOcspResponse(fixture.key));
+  }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class TimeoutSchedulerTest {
+  @Test
+  public void testTimeoutExpires() throws Exception {
+    CountDownLatch fired = new CountDownLatch(1);
+    long expiredBefore = TimeoutScheduler.getExpiredTimeouts();
+    long start = System.nanoTime();
+
+    TimeoutScheduler.Timeout timeout =
+        TimeoutScheduler.schedule(fired::countDown, 100, TimeUnit.MILLISECONDS);
+
+    assertTrue(fired.await(10, TimeUnit.SECONDS));
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+    assertTrue(timeout.isExpired());
+    assertFalse(timeout.cancel());
+    assertTrue(TimeoutScheduler.getExpiredTimeouts() > expiredBefore);
+  }
+
+  @Test
+  public void testCancelledTimeoutDoesNotExpire() throws Exception {
+    AtomicInteger fired = new AtomicInteger();
+
+    TimeoutScheduler.Timeout timeout =
+        TimeoutScheduler.schedule(fired::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+
+    assertTrue(timeout.cancel());
+    assertFalse(timeout.cancel());
+    Thread.sleep(300);
+    assertEquals(0, fired.get());
+    assertFalse(timeout.isExpired());
+  }
+
+  @Test
+  public void testBlockingTaskDoesNotDelayOtherTimeouts() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch fired = new CountDownLatch(1);
+
+    TimeoutScheduler.schedule(
+        () -> {
+          try {
+            release.await();
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+        },
+        0,
+        TimeUnit.MILLISECONDS);
+    TimeoutScheduler.schedule(fired::countDown, 50, TimeUnit.MILLISECONDS);
+
+    try {
+      assertTrue(fired.await(10, TimeUnit.SECONDS));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void testManyCancelledTimeoutsAreNotArmed() {
+    int armedBefore = TimeoutScheduler.getArmedTimeouts();
+    TimeoutScheduler.Timeout[] timeouts = new TimeoutScheduler.Timeout[10000];
+    for (int i = 0; i < timeouts.length; i++) {
+      timeouts[i] = TimeoutScheduler.schedule(() -> {}, 1, TimeUnit.HOURS);
+    }
+    assertTrue(TimeoutScheduler.getArmedTimeouts() >= armedBefore + timeouts.length);
+    for (TimeoutScheduler.Timeout timeout : timeouts) {
+      assertTrue(timeout.cancel());
+    }
+    assertTrue(TimeoutScheduler.getArmedTimeouts() <= armedBefore);
+  }
+
+  @Test
+  public void testExpiredDelaysAreNotCountedAsTimeouts() throws Exception {
+    CountDownLatch fired = new CountDownLatch(1);
+    long expiredTimeoutsBefore = TimeoutScheduler.getExpiredTimeouts();
+    long expiredDelaysBefore = TimeoutScheduler.getExpiredDelays();
+
+    TimeoutScheduler.Timeout delay =
+        TimeoutScheduler.scheduleDelay(fired::countDown, 10, TimeUnit.MILLISECONDS);
+
+    assertTrue(fired.await(10, TimeUnit.SECONDS));
+    assertTrue(delay.isExpired());
+    assertTrue(TimeoutScheduler.getExpiredDelays() > expiredDelaysBefore);
+    assertEquals(expiredTimeoutsBefore, TimeoutScheduler.getExpiredTimeouts());
+  }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.core.arrow;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import net.snowflake.client.core.SFArrowResultSet;
+import net.snowflake.client.core.SFException;
+import net.snowflake.client.jdbc.ArrowBatchIterator;
+import net.snowflake.client.jdbc.SnowflakeResultSetSerializableV1;
+import net.snowflake.client.jdbc.telemetry.NoOpTelemetryClient;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampNanoTZVector;
+import org.apache.arrow.vector.TimeStampNanoVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.jupiter.api.Test;
+
+public class ArrowBatchExporterTest {
+  private static final TimeZone SESSION_TIME_ZONE = TimeZone.getTimeZone("America/Los_Angeles");
+
+  @Test
+  public void testTimestampColumnsAreNormalized() throws Throwable {
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE)) {
+      // 1.5 seconds after epoch with scale 3
+      BigIntVector ltz =
+          new BigIntVector(field("ltz", "TIMESTAMP_LTZ", 3, Types.MinorType.BIGINT), allocator);
+      ltz.allocateNew(2);
+      ltz.set(0, 1500);
+      ltz.setNull(1);
+      ltz.setValueCount(2);
+
+      // -0.1 seconds is epoch -1 and fraction 900000000
+      StructVector ntz = struct("ntz", "TIMESTAMP_NTZ", allocator, true);
+      setEpochAndFraction(ntz, 0, -1, 900000000);
+      ntz.setNull(1);
+      ntz.setValueCount(2);
+
+      StructVector tz = struct("tz", "TIMESTAMP_TZ", allocator, true);
+      setEpochAndFraction(tz, 0, 1546391837, 10);
+      setEpochAndFraction(tz, 1, 0, 0);
+      tz.setValueCount(2);
+
+      IntVector fixed = new IntVector(field("fixed", "FIXED", 0, Types.MinorType.INT), allocator);
+      fixed.allocateNew(2);
+      fixed.set(0, 42);
+      fixed.set(1, 43);
+      fixed.setValueCount(2);
+
+      List<ValueVector> batch = Arrays.asList(ltz, ntz, tz, fixed);
+      ArrowBatchExporter exporter = new ArrowBatchExporter(allocator, SESSION_TIME_ZONE, "queryId");
+      try (VectorSchemaRoot root = exporter.export(batch)) {
+        assertThat(root.getRowCount(), is(2));
+
+        TimeStampNanoTZVector ltzNanos = (TimeStampNanoTZVector) root.getVector("ltz");
+        assertThat(ltzNanos.getTimeZone(), is("America/Los_Angeles"));
+        assertThat(ltzNanos.get(0), is(1500000000L));
+        assertThat(ltzNanos.isNull(1), is(true));
+        assertThat(ltzNanos.getField().getMetadata().get("logicalType"), is("TIMESTAMP_LTZ"));
+
+        assertThat(root.getVector("ntz"), instanceOf(TimeStampNanoVector.class));
+        TimeStampNanoVector ntzNanos = (TimeStampNanoVector) root.getVector("ntz");
+        assertThat(ntzNanos.get(0), is(-100000000L));
+        assertThat(ntzNanos.isNull(1), is(true));
+
+        TimeStampNanoTZVector tzNanos = (TimeStampNanoTZVector) root.getVector("tz");
+        assertThat(tzNanos.getTimeZone(), is("UTC"));
+        assertThat(tzNanos.get(0), is(1546391837000000010L));
+        assertThat(tzNanos.get(1), is(0L));
+
+        // other columns are transferred as they are
+        IntVector exportedFixed = (IntVector) root.getVector("fixed");
+        assertThat(exportedFixed.get(1), is(43));
+        assertThat(fixed.getValueCount(), is(0));
+      } finally {
+        batch.forEach(ValueVector::close);
+      }
+      assertThat(allocator.getAllocatedMemory(), is(0L));
+    }
+  }
+
+  @Test
+  public void testBatchIsCopiedToAllocatorWithAnotherRoot() throws Throwable {
+    try (BufferAllocator resultAllocator = new RootAllocator(Long.MAX_VALUE);
+        BufferAllocator callerAllocator = new RootAllocator(Long.MAX_VALUE)) {
+      IntVector fixed =
+          new IntVector(field("fixed", "FIXED", 0, Types.MinorType.INT), resultAllocator);
+      fixed.allocateNew(3);
+      fixed.set(0, 1);
+      fixed.setNull(1);
+      fixed.set(2, 3);
+      fixed.setValueCount(3);
+
+      ArrowBatchExporter exporter =
+          new ArrowBatchExporter(callerAllocator, SESSION_TIME_ZONE, "queryId");
+      try (VectorSchemaRoot root = exporter.export(Arrays.asList(fixed))) {
+        IntVector copy = (IntVector) root.getVector("fixed");
+        assertThat(copy.getAllocator(), is(callerAllocator));
+        assertThat(copy.get(0), is(1));
+        assertThat(copy.getObject(1), is(nullValue()));
+        assertThat(copy.get(2), is(3));
+        assertThat(callerAllocator.getAllocatedMemory() > 0, is(true));
+      } finally {
+        fixed.close();
+      }
+    }
+  }
+
+  @Test
+  public void testTimestampOutOfNanosecondRange() {
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE)) {
+      BigIntVector ntz =
+          new BigIntVector(field("ntz", "TIMESTAMP_NTZ", 0, Types.MinorType.BIGINT), allocator);
+      ntz.allocateNew(1);
+      ntz.set(0, Long.MAX_VALUE / 10);
+      ntz.setValueCount(1);
+
+      ArrowBatchExporter exporter = new ArrowBatchExporter(allocator, SESSION_TIME_ZONE, "queryId");
+      assertThrows(SFException.class, () -> exporter.export(Arrays.asList(ntz)));
+      ntz.close();
+      assertThat(allocator.getAllocatedMemory(), is(0L));
+    }
+  }
+
+  @Test
+  public void testResultSetReadAsArrowBatches() throws Throwable {
+    try (BufferAllocator callerAllocator = new RootAllocator(Long.MAX_VALUE)) {
+      byte[] data = createArrowStream(3, 10);
+      SnowflakeResultSetSerializableV1 resultSetSerializable =
+          new SnowflakeResultSetSerializableV1();
+      resultSetSerializable.setRootAllocator(new RootAllocator(Long.MAX_VALUE));
+      resultSetSerializable.setFirstChunkStringData(Base64.getEncoder().encodeToString(data));
+      resultSetSerializable.setFirstChunkByteData(data);
+      resultSetSerializable.setChunkFileCount(0);
+      SFArrowResultSet resultSet =
+          new SFArrowResultSet(resultSetSerializable, new NoOpTelemetryClient(), false);
+
+      ArrowBatchIterator batches = resultSet.getArrowBatches(callerAllocator);
+      int rows = 0;
+      int batchCount = 0;
+      while (batches.hasNext()) {
+        try (VectorSchemaRoot root = batches.next()) {
+          IntVector column = (IntVector) root.getVector(0);
+          for (int i = 0; i < root.getRowCount(); i++) {
+            assertThat(column.get(i), is(rows++));
+          }
+          batchCount++;
+        }
+      }
+      assertThat(batchCount, is(3));
+      assertThat(rows, is(30));
+      assertThrows(SFException.class, resultSet::next);
+      resultSet.close();
+      assertThat(callerAllocator.getAllocatedMemory(), is(0L));
+    }
+  }
+
+  private static Field field(String name, String logicalType, int scale, Types.MinorType type) {
+    Map<String, String> customFieldMeta = new HashMap<>();
+    customFieldMeta.put("logicalType", logicalType);
+    customFieldMeta.put("scale", String.valueOf(scale));
+    return new Field(name, new FieldType(true, type.getType(), null, customFieldMeta), null);
+  }
+
+  private static StructVector struct(
+      String name, String logicalType, BufferAllocator allocator, boolean withFraction) {
+    Field struct = field(name, logicalType, 9, Types.MinorType.STRUCT);
+    StructVector vector = (StructVector) struct.createVector(allocator);
+    List<Field> children = new ArrayList<>();
+    children.add(
+        new Field(
+            AbstractArrowVectorConverter.FIELD_NAME_EPOCH,
+            FieldType.nullable(Types.MinorType.BIGINT.getType()),
+            null));
+    if (withFraction) {
+      children.add(
+          new Field(
+              AbstractArrowVectorConverter.FIELD_NAME_FRACTION,
+              FieldType.nullable(Types.MinorType.INT.getType()),
+              null));
+    }
+    vector.initializeChildrenFromFields(children);
+    return vector;
+  }
+
+  private static void setEpochAndFraction(
+      StructVector vector, int index, long epoch, int fraction) {
+    vector
+        .getChild(AbstractArrowVectorConverter.FIELD_NAME_EPOCH, BigIntVector.class)
+        .setSafe(index, epoch);
+    vector
+        .getChild(AbstractArrowVectorConverter.FIELD_NAME_FRACTION, IntVector.class)
+        .setSafe(index, fraction);
+    vector.setIndexDefined(index);
+  }
+
+  private static byte[] createArrowStream(int batchCount, int rowsPerBatch) throws IOException {
+    Schema schema = new Schema(Arrays.asList(field("col", "FIXED", 0, Types.MinorType.INT)));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+        VectorSchemaRoot root = VectorSchemaRoot.create(schema, allocator);
+        ArrowStreamWriter writer =
+            new ArrowStreamWriter(root, new DictionaryProvider.MapDictionaryProvider(), out)) {
+      writer.start();
+      IntVector vector = (IntVector) root.getVector(0);
+      for (int batch = 0; batch < batchCount; batch++) {
+        vector.allocateNew(rowsPerBatch);
+        for (int i = 0; i < rowsPerBatch; i++) {
+          vector.set(i, batch * rowsPerBatch + i);
+        }
+        root.setRowCount(rowsPerBatch);
+        writer.writeBatch();
+      }
+      writer.end();
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.core.bind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class ArrayBindColumnTest {
+  @Test
+  public void testPrimitiveValuesAreReadAsStrings() {
+    ArrayBindColumn longs = new ArrayBindColumn();
+    ArrayBindColumn floats = new ArrayBindColumn();
+    ArrayBindColumn booleans = new ArrayBindColumn();
+    for (int row = 0; row < 1000; row++) {
+      if (row % 3 == 0) {
+        longs.addNull();
+        floats.addNull();
+        booleans.addNull();
+      } else {
+        longs.addLong(-row);
+        floats.addFloat(row / 10f);
+        booleans.addBoolean(row % 2 == 0);
+      }
+    }
+
+    assertEquals(1000, longs.size());
+    for (int row = 0; row < 1000; row++) {
+      if (row % 3 == 0) {
+        assertTrue(longs.isNull(row));
+        assertEquals(null, longs.get(row));
+        assertEquals(null, floats.get(row));
+        assertEquals(null, booleans.get(row));
+      } else {
+        assertFalse(longs.isNull(row));
+        assertEquals(String.valueOf(-row), longs.get(row));
+        assertEquals(String.valueOf(row / 10f), floats.get(row));
+        assertEquals(String.valueOf(row % 2 == 0), booleans.get(row));
+      }
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> longs.get(1000));
+  }
+
+  @Test
+  public void testMixedValuesAreKeptAsBytes() {
+    ArrayBindColumn column = new ArrayBindColumn();
+    column.addNull();
+    column.addLong(1);
+    column.addDouble(2.5);
+    column.addString("");
+    column.addString("été, \"quoted\"");
+    column.addNull();
+    column.addBoolean(false);
+
+    assertEquals(Arrays.asList(null, "1", "2.5", "", "été, \"quoted\"", null, "false"), column);
+    assertFalse(column.isAllNull());
+  }
+
+  @Test
+  public void testValuesAreAppendedToCsvRecords() {
+    ArrayBindColumn doubles = new ArrayBindColumn();
+    doubles.addDouble(1e20);
+    doubles.addNull();
+    ArrayBindColumn strings = new ArrayBindColumn();
+    strings.addString("a,b");
+    strings.addString("");
+
+    StringBuilder record = new StringBuilder();
+    for (int row = 0; row < 2; row++) {
+      doubles.appendCsv(row, record);
+      record.append(',');
+      strings.appendCsv(row, record);
+      record.append('\n');
+    }
+
+    assertEquals("1.0E20,\"a,b\"\n,\"\"\n", record.toString());
+  }
+
+  @Test
+  public void testColumnOfNullsIsAllNull() {
+    ArrayBindColumn column = new ArrayBindColumn();
+    assertTrue(column.isAllNull());
+    for (int row = 0; row < 100; row++) {
+      column.addString(null);
+    }
+    assertTrue(column.isAllNull());
+    assertEquals(100, column.size());
+    column.addString("x");
+    assertEquals("x", column.get(100));
+    assertFalse(column.isAllNull());
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.core.bind;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.snowflake.client.core.ParameterBindingDTO;
+import net.snowflake.client.core.SFBaseSession;
+import net.snowflake.client.core.SFBaseStatement;
+import net.snowflake.client.jdbc.SFBaseFileTransferAgent;
+import net.snowflake.client.jdbc.SFConnectionHandler;
+import net.snowflake.client.jdbc.SnowflakeSQLException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BindUploaderTest {
+  private static final int ROWS = 1000;
+
+  // uploaded files by file name
+  private final Map<String, String> files = new ConcurrentHashMap<>();
+  private final AtomicInteger concurrentUploads = new AtomicInteger();
+  private final AtomicInteger maxConcurrentUploads = new AtomicInteger();
+  private volatile String failingFile;
+  // if set, uploads block until two of them run at the same time
+  private volatile CountDownLatch concurrentUploadStarted;
+
+  private SFBaseSession session;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    SFConnectionHandler handler = mock(SFConnectionHandler.class);
+    when(handler.getBindStageName()).thenReturn("SYSTEM$BIND");
+    when(handler.getSFStatement()).thenAnswer(invocation -> mock(SFBaseStatement.class));
+    when(handler.getFileTransferAgent(anyString(), any()))
+        .thenAnswer(invocation -> newTransferAgent());
+    session = mock(SFBaseSession.class);
+    when(session.getSfConnectionHandler()).thenReturn(handler);
+    when(session.getArrayBindStage()).thenReturn("SYSTEM$BIND");
+  }
+
+  @Test
+  public void testFilesAreUploadedOneAfterTheOther() throws Exception {
+    BindUploader uploader = newUploader(0);
+    uploader.upload(binds(), false);
+
+    assertUploaded(uploader);
+    assertEquals(1, maxConcurrentUploads.get());
+  }
+
+  @Test
+  public void testFilesAreUploadedConcurrently() throws Exception {
+    concurrentUploadStarted = new CountDownLatch(1);
+    BindUploader uploader = newUploader(3);
+    uploader.upload(binds(), false);
+
+    assertUploaded(uploader);
+    assertTrue(maxConcurrentUploads.get() > 1);
+    assertTrue(maxConcurrentUploads.get() <= 3);
+    assertTrue(uploader.getUploadThroughput() > 0);
+  }
+
+  @Test
+  public void testFailedUploadFailsTheUpload() throws Exception {
+    failingFile = "2";
+    BindUploader uploader = newUploader(3);
+    assertThrows(SQLException.class, () -> uploader.upload(binds(), false));
+  }
+
+  private BindUploader newUploader(int parallelism) {
+    BindUploader uploader = BindUploader.newInstance(session, "request-id");
+    uploader.setInputStreamBufferSize(1000);
+    uploader.setUploadParallelism(parallelism);
+    return uploader;
+  }
+
+  private void assertUploaded(BindUploader uploader) {
+    StringBuilder expected = new StringBuilder();
+    for (int row = 0; row < ROWS; row++) {
+      expected.append(row).append(",\"a,").append(row).append("\",").append(row % 2 == 0);
+      expected.append('\n');
+    }
+    StringBuilder uploaded = new StringBuilder();
+    for (int file = 1; file <= uploader.getFileCount(); file++) {
+      uploaded.append(files.get(Integer.toString(file)));
+    }
+    assertTrue(uploader.getFileCount() > 1);
+    assertEquals(uploader.getFileCount(), files.size());
+    assertEquals(expected.toString(), uploaded.toString());
+    assertEquals(expected.length(), uploader.getUploadedBytes());
+  }
+
+  private static Map<String, ParameterBindingDTO> binds() {
+    ArrayBindColumn numbers = new ArrayBindColumn();
+    ArrayBindColumn texts = new ArrayBindColumn();
+    ArrayBindColumn booleans = new ArrayBindColumn();
+    for (int row = 0; row < ROWS; row++) {
+      numbers.addLong(row);
+      texts.addString("a," + row);
+      booleans.addBoolean(row % 2 == 0);
+    }
+    Map<String, ParameterBindingDTO> binds = new HashMap<>();
+    binds.put("1", new ParameterBindingDTO("FIXED", numbers));
+    binds.put("2", new ParameterBindingDTO("TEXT", texts));
+    binds.put("3", new ParameterBindingDTO("BOOLEAN", booleans));
+    return binds;
+  }
+
+  private SFBaseFileTransferAgent newTransferAgent() throws Exception {
+    SFBaseFileTransferAgent agent = mock(SFBaseFileTransferAgent.class);
+    InputStream[] source = new InputStream[1];
+    String[] fileName = new String[1];
+    doAnswer(invocation -> source[0] = invocation.getArgument(0))
+        .when(agent)
+        .setSourceStream(any());
+    doAnswer(invocation -> fileName[0] = invocation.getArgument(0))
+        .when(agent)
+        .setDestFileNameForStreamSource(anyString());
+    when(agent.execute())
+        .thenAnswer(
+            invocation -> {
+              int concurrent = concurrentUploads.incrementAndGet();
+              maxConcurrentUploads.accumulateAndGet(concurrent, Math::max);
+              try {
+                CountDownLatch latch = concurrentUploadStarted;
+                if (latch != null) {
+                  if (concurrent > 1) {
+                    latch.countDown();
+                  }
+                  latch.await(10, TimeUnit.SECONDS);
+                }
+                Thread.sleep(5);
+                if (fileName[0].equals(failingFile)) {
+                  throw new SnowflakeSQLException("upload failed");
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[256];
+                int read;
+                while ((read = source[0].read(buffer)) != -1) {
+                  out.write(buffer, 0, read);
+                }
+                files.put(fileName[0], new String(out.toByteArray(), UTF_8));
+                return true;
+              } finally {
+                concurrentUploads.decrementAndGet();
+              }
+            });
+    return agent;
+  }
+}
@@ -0,0 +1,160 @@
+package net.snowflake.client.core.json;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class Utf8CellParserTest {
+  private final Utf8CellParser parser = new Utf8CellParser();
+
+  @Test
+  public void testLongMatchesParseLong() {
+    String[] values = {
+      "0",
+      "-0",
+      "+7",
+      "123456789",
+      "-123456789",
+      String.valueOf(Long.MAX_VALUE),
+      String.valueOf(Long.MIN_VALUE),
+      String.valueOf(Integer.MAX_VALUE),
+      String.valueOf(Integer.MIN_VALUE),
+      "000042"
+    };
+    for (String value : values) {
+      wrap(value);
+      assertThat(value, parser.parseLong(), equalTo(true));
+      assertThat(value, parser.getLongValue(), equalTo(Long.parseLong(value)));
+      assertThat(value, parser.hasFraction(), equalTo(false));
+    }
+  }
+
+  @Test
+  public void testLongRejectsValuesParseLongRejects() {
+    String[] values = {"", "-", "+", "9223372036854775808", "-9223372036854775809", "1e5", "0x10"};
+    for (String value : values) {
+      wrap(value);
+      assertThat(value, parser.parseLong(), equalTo(false));
+    }
+  }
+
+  @Test
+  public void testLongWithFraction() {
+    wrap("-12.75");
+    assertThat(parser.parseLong(), equalTo(true));
+    assertThat(parser.getLongValue(), equalTo(-12L));
+    assertThat(parser.hasFraction(), equalTo(true));
+
+    wrap(".5");
+    assertThat(parser.parseLong(), equalTo(false));
+  }
+
+  @Test
+  public void testIntRange() {
+    wrap(String.valueOf(Integer.MIN_VALUE));
+    assertThat(parser.parseInt(), equalTo(true));
+    assertThat(parser.getLongValue(), equalTo((long) Integer.MIN_VALUE));
+
+    wrap(String.valueOf(Integer.MAX_VALUE + 1L));
+    assertThat(parser.parseInt(), equalTo(false));
+  }
+
+  @Test
+  public void testDoubleMatchesParseDouble() {
+    String[] values = {
+      "0",
+      "-0",
+      "1.5",
+      "-1.5",
+      "0.1",
+      "1.",
+      "+3.25",
+      "123456.789",
+      "1e10",
+      "1.5E-7",
+      "-2.5e+3",
+      "9007199254740992",
+      "0.000001"
+    };
+    for (String value : values) {
+      assertParsedAsDouble(value);
+    }
+    Random random = new Random(42);
+    for (int i = 0; i < 10000; i++) {
+      // decimal strings with up to 15 significant digits, like the values of FIXED columns
+      long unscaled = random.nextLong() % 1000000000000000L;
+      int scale = random.nextInt(16);
+      assertParsedAsDouble(new BigDecimal(unscaled).movePointLeft(scale).toPlainString());
+    }
+  }
+
+  @Test
+  public void testDoubleRejectsValuesOutsideOfFastPath() {
+    String[] values = {
+      "",
+      "-",
+      ".",
+      "inf",
+      "-inf",
+      "NaN",
+      "1e",
+      "1e-",
+      "1.2.3",
+      "9007199254740993",
+      "1e23",
+      "1e-23",
+      "1e999999999",
+      "1.7976931348623157",
+      "1.0d"
+    };
+    for (String value : values) {
+      wrap(value);
+      assertThat(value, parser.parseDouble(), equalTo(false));
+    }
+  }
+
+  @Test
+  public void testBoolean() {
+    String[] trueValues = {"1", "true", "TRUE", "True"};
+    for (String value : trueValues) {
+      wrap(value);
+      assertThat(value, parser.parseBoolean(), equalTo(true));
+      assertThat(value, parser.getBooleanValue(), equalTo(true));
+    }
+    String[] falseValues = {"0", "false", "FALSE"};
+    for (String value : falseValues) {
+      wrap(value);
+      assertThat(value, parser.parseBoolean(), equalTo(true));
+      assertThat(value, parser.getBooleanValue(), equalTo(false));
+    }
+    String[] invalidValues = {"", "2", "yes", "truee", "10"};
+    for (String value : invalidValues) {
+      wrap(value);
+      assertThat(value, parser.parseBoolean(), equalTo(false));
+    }
+  }
+
+  @Test
+  public void testCellInsideLargerBuffer() {
+    byte[] bytes = "xx-42yy".getBytes(StandardCharsets.UTF_8);
+    parser.wrap(bytes, 2, 3);
+    assertThat(parser.parseLong(), equalTo(true));
+    assertThat(parser.getLongValue(), equalTo(-42L));
+  }
+
+  private void assertParsedAsDouble(String value) {
+    wrap(value);
+    assertThat(value, parser.parseDouble(), equalTo(true));
+    assertThat(value, parser.getDoubleValue(), equalTo(Double.parseDouble(value)));
+  }
+
+  private void wrap(String value) {
+    // surround the cell with other bytes to check that offset and length are respected
+    byte[] bytes = ("9" + value + "9").getBytes(StandardCharsets.UTF_8);
+    parser.wrap(bytes, 1, bytes.length - 2);
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptivePrefetchWindowTest {
+  @Test
+  public void testFixedWindowNeverChanges() {
+    AdaptivePrefetchWindow window = AdaptivePrefetchWindow.fixed(8);
+    window.chunkDownloaded(1000);
+    assertEquals(8, window.chunkConsumed(1, true));
+    assertEquals(8, window.chunkConsumed(100_000, false));
+  }
+
+  @Test
+  public void testGrowsToKeepAFastConsumerBusy() {
+    AdaptivePrefetchWindow window = new AdaptivePrefetchWindow(4, 1, 16);
+    // a chunk takes 1 s to download, the consumer needs 100 ms per chunk: 10 chunks in flight
+    for (int i = 0; i < 5; i++) {
+      window.chunkDownloaded(1000);
+    }
+    assertEquals(11, window.chunkConsumed(100, false));
+    // a consumer which never waits for work is bounded by the maximum window
+    assertEquals(16, window.chunkConsumed(0, false));
+  }
+
+  @Test
+  public void testShrinksGraduallyForASlowConsumer() {
+    AdaptivePrefetchWindow window = new AdaptivePrefetchWindow(8, 1, 16);
+    window.chunkDownloaded(100);
+    // the consumer needs 1 s per chunk, one chunk of slack is enough
+    int previous = window.getWindow();
+    for (int i = 0; i < 10; i++) {
+      int current = window.chunkConsumed(1000, false);
+      assertEquals(Math.max(2, previous - 1), current);
+      previous = current;
+    }
+    assertEquals(2, window.getWindow());
+  }
+
+  @Test
+  public void testGrowsWhenConsumerWaited() {
+    AdaptivePrefetchWindow window = new AdaptivePrefetchWindow(2, 1, 4);
+    // no download time reported yet, every wait adds one chunk up to the maximum
+    assertEquals(3, window.chunkConsumed(10, true));
+    assertEquals(4, window.chunkConsumed(10, true));
+    assertEquals(4, window.chunkConsumed(10, true));
+  }
+
+  @Test
+  public void testBounds() {
+    assertEquals(1, new AdaptivePrefetchWindow(0, 0, 0).getWindow());
+    assertEquals(5, new AdaptivePrefetchWindow(10, 2, 5).getWindow());
+    assertEquals(3, new AdaptivePrefetchWindow(1, 3, 5).getWindow());
+  }
+}
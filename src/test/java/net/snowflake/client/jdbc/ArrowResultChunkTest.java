@@ -5,10 +5,37 @@ package net.snowflake.client.jdbc;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.Types;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
 import org.junit.jupiter.api.Test;
 
 public class ArrowResultChunkTest {
+  private static final int ROWS_PER_BATCH = 10;
+
   @Test
   public void testEmptyChunkIterator() throws SnowflakeSQLException {
     ArrowResultChunk.ArrowChunkIterator iterator = ArrowResultChunk.getEmptyChunkIterator();
@@ -17,4 +44,163 @@ public class ArrowResultChunkTest {
     assertThat(iterator.isAfterLast(), is(true));
     assertThat(iterator.isLast(), is(false));
   }
+
+  @Test
+  public void testStreamedBatchesAreConsumedBeforeChunkIsDecoded() throws Throwable {
+    try (RootAllocator allocator = new RootAllocator(Long.MAX_VALUE)) {
+      TestAccounting accounting = new TestAccounting();
+      ArrowResultChunk chunk = new ArrowResultChunk("", 3 * ROWS_PER_BATCH, 1, 0, allocator, null);
+      chunk.enableStreaming(accounting);
+      assertThat(chunk.computeNeededChunkMemory(), is(0L));
+
+      PipedOutputStream out = new PipedOutputStream();
+      PipedInputStream in = new PipedInputStream(out, 1024 * 1024);
+      CountDownLatch firstBatch = new CountDownLatch(1);
+      CompletableFuture<Void> decoder =
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  chunk.readArrowStream(in, firstBatch::countDown);
+                } catch (IOException ex) {
+                  throw new RuntimeException(ex);
+                }
+              });
+
+      try (VectorSchemaRoot root = VectorSchemaRoot.create(schema(), allocator);
+          ArrowStreamWriter writer =
+              new ArrowStreamWriter(root, new DictionaryProvider.MapDictionaryProvider(), out)) {
+        writer.start();
+        writeBatch(root, writer, 0);
+        assertTrue(firstBatch.await(10, TimeUnit.SECONDS));
+
+        // the first batch is readable while the decoder waits for the rest of the stream
+        ArrowResultChunk.ArrowChunkIterator iterator = chunk.getIterator(null);
+        int row = 0;
+        for (; row < ROWS_PER_BATCH; row++) {
+          assertThat(iterator.next(), is(true));
+          assertThat(
+              iterator.getCurrentConverter(0).toInt(iterator.getCurrentRowInRecordBatch()),
+              is(row));
+        }
+        assertThat(decoder.isDone(), is(false));
+        long firstBatchSize = accounting.reserved.get();
+        assertTrue(firstBatchSize > 0);
+
+        writeBatch(root, writer, 1);
+        writeBatch(root, writer, 2);
+        writer.end();
+        out.close();
+
+        for (; row < 3 * ROWS_PER_BATCH; row++) {
+          assertThat(iterator.next(), is(true));
+          assertThat(
+              iterator.getCurrentConverter(0).toInt(iterator.getCurrentRowInRecordBatch()),
+              is(row));
+        }
+        // batches are released as the iterator moves past them
+        assertThat(accounting.released.get(), is(2 * firstBatchSize));
+        assertThat(iterator.isLast(), is(true));
+        assertThat(iterator.next(), is(false));
+        assertThat(iterator.isAfterLast(), is(true));
+        decoder.get(10, TimeUnit.SECONDS);
+
+        assertThat(accounting.released.get(), is(3 * firstBatchSize));
+        chunk.freeData();
+        assertThat(accounting.released.get(), is(accounting.reserved.get()));
+      }
+    }
+  }
+
+  @Test
+  public void testDecodeErrorAfterFirstBatchIsReportedToIterator() throws Exception {
+    try (RootAllocator allocator = new RootAllocator(Long.MAX_VALUE)) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      int firstBatchEnd;
+      try (VectorSchemaRoot root = VectorSchemaRoot.create(schema(), allocator);
+          ArrowStreamWriter writer =
+              new ArrowStreamWriter(root, new DictionaryProvider.MapDictionaryProvider(), out)) {
+        writer.start();
+        writeBatch(root, writer, 0);
+        firstBatchEnd = out.size();
+        writeBatch(root, writer, 1);
+        writer.end();
+      }
+
+      TestAccounting accounting = new TestAccounting();
+      ArrowResultChunk chunk = new ArrowResultChunk("", 2 * ROWS_PER_BATCH, 1, 0, allocator, null);
+      chunk.enableStreaming(accounting);
+      InputStream failing = new FailingInputStream(out.toByteArray(), firstBatchEnd + 8);
+      assertThrows(IOException.class, () -> chunk.readArrowStream(failing, null));
+
+      ArrowResultChunk.ArrowChunkIterator iterator = chunk.getIterator(null);
+      for (int row = 0; row < ROWS_PER_BATCH; row++) {
+        assertThat(iterator.next(), is(true));
+      }
+      assertThrows(SnowflakeSQLException.class, iterator::next);
+      chunk.freeData();
+      assertThat(accounting.released.get(), is(accounting.reserved.get()));
+    }
+  }
+
+  private static Schema schema() {
+    Map<String, String> customFieldMeta = new HashMap<>();
+    customFieldMeta.put("logicalType", "FIXED");
+    customFieldMeta.put("scale", "0");
+    FieldType type = new FieldType(false, Types.MinorType.INT.getType(), null, customFieldMeta);
+    return new Schema(Collections.singletonList(new Field("col", type, null)));
+  }
+
+  private static void writeBatch(VectorSchemaRoot root, ArrowStreamWriter writer, int batch)
+      throws IOException {
+    IntVector vector = (IntVector) root.getVector(0);
+    vector.allocateNew(ROWS_PER_BATCH);
+    for (int i = 0; i < ROWS_PER_BATCH; i++) {
+      vector.set(i, batch * ROWS_PER_BATCH + i);
+    }
+    root.setRowCount(ROWS_PER_BATCH);
+    writer.writeBatch();
+  }
+
+  private static class TestAccounting implements ArrowResultChunk.BatchMemoryAccounting {
+    private final AtomicLong reserved = new AtomicLong();
+    private final AtomicLong released = new AtomicLong();
+
+    @Override
+    public void reserve(long bytes) {
+      reserved.addAndGet(bytes);
+    }
+
+    @Override
+    public void release(long bytes) {
+      released.addAndGet(bytes);
+    }
+  }
+
+  /** Fails with an IOException after the given number of bytes */
+  private static class FailingInputStream extends FilterInputStream {
+    private int remaining;
+
+    FailingInputStream(byte[] data, int failAfter) {
+      super(new ByteArrayInputStream(data));
+      this.remaining = failAfter;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (remaining-- <= 0) {
+        throw new IOException("connection reset");
+      }
+      return super.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (remaining <= 0) {
+        throw new IOException("connection reset");
+      }
+      int n = super.read(b, off, Math.min(len, remaining));
+      remaining -= Math.max(n, 0);
+      return n;
+    }
+  }
 }
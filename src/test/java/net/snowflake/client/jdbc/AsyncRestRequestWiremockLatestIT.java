@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import net.snowflake.client.category.TestTags;
+import net.snowflake.client.core.AsyncHttpUtil;
+import net.snowflake.client.core.ExecTimeTelemetryData;
+import net.snowflake.client.core.HttpClientSettingsKey;
+import net.snowflake.client.core.OCSPMode;
+import net.snowflake.client.core.ObjectMapperFactory;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** The async transport retries requests the same way as {@link RestRequest} */
+@Tag(TestTags.OTHERS)
+public class AsyncRestRequestWiremockLatestIT extends BaseWiremockTest {
+  private static final ObjectMapper mapper = ObjectMapperFactory.getObjectMapper();
+
+  /**
+   * @param responses responses to the requests for /endpoint, the last one is repeated
+   * @return mappings of a scenario which returns the responses in order
+   */
+  private static String scenario(String... responses) {
+    StringBuilder mappings = new StringBuilder("{\"mappings\": [");
+    for (int i = 0; i < responses.length; i++) {
+      if (i > 0) {
+        mappings.append(",");
+      }
+      mappings
+          .append("{\"scenarioName\": \"async\", \"requiredScenarioState\": \"")
+          .append(i == 0 ? "Started" : "state" + i)
+          .append("\",");
+      if (i < responses.length - 1) {
+        mappings.append("\"newScenarioState\": \"state").append(i + 1).append("\",");
+      }
+      mappings
+          .append("\"request\": {\"method\": \"GET\", \"urlPath\": \"/endpoint\"},")
+          .append("\"response\": ")
+          .append(responses[i])
+          .append("}");
+    }
+    return mappings
+        .append("], \"importOptions\": {\"duplicatePolicy\": \"IGNORE\",")
+        .append(" \"deleteAllNotInImport\": true}}")
+        .toString();
+  }
+
+  private static String status(int code) {
+    return "{\"status\": " + code + ", \"body\": \"{}\"}";
+  }
+
+  private static final String CONNECTION_RESET = "{\"fault\": \"CONNECTION_RESET_BY_PEER\"}";
+
+  private HttpGet endpointRequest() {
+    return new HttpGet(String.format("http://%s:%d/endpoint", WIREMOCK_HOST, wiremockHttpPort));
+  }
+
+  private JsonNode requestsReceived() throws Exception {
+    HttpPost find =
+        createWiremockPostRequest(
+            "{\"method\": \"GET\", \"urlPath\": \"/endpoint\"}", "/__admin/requests/find");
+    try (CloseableHttpClient client = HttpClients.createDefault();
+        CloseableHttpResponse response = client.execute(find)) {
+      return mapper.readTree(EntityUtils.toString(response.getEntity())).get("requests");
+    }
+  }
+
+  /** Outcome of a request: the final status code, or -1 if the request failed */
+  private static class Outcome {
+    private final int statusCode;
+    private final JsonNode requests;
+
+    Outcome(int statusCode, JsonNode requests) {
+      this.statusCode = statusCode;
+      this.requests = requests;
+    }
+  }
+
+  private Outcome executeBlocking(
+      String mappings, int maxRetries, boolean includeRetryParameters, boolean retryHTTP403)
+      throws Exception {
+    resetWiremock();
+    importMapping(mappings);
+    int statusCode;
+    try (CloseableHttpClient httpClient =
+        HttpClientBuilder.create().disableAutomaticRetries().build()) {
+      try (CloseableHttpResponse response =
+          RestRequest.execute(
+              httpClient,
+              endpointRequest(),
+              60,
+              0,
+              0,
+              maxRetries,
+              0,
+              new AtomicBoolean(false),
+              false,
+              includeRetryParameters,
+              true,
+              retryHTTP403,
+              new ExecTimeTelemetryData())) {
+        statusCode = response.getStatusLine().getStatusCode();
+      } catch (SnowflakeSQLException ex) {
+        statusCode = -1;
+      }
+    }
+    return new Outcome(statusCode, requestsReceived());
+  }
+
+  private Outcome executeAsync(
+      String mappings, int maxRetries, boolean includeRetryParameters, boolean retryHTTP403)
+      throws Exception {
+    resetWiremock();
+    importMapping(mappings);
+    int statusCode;
+    try {
+      SimpleHttpResponse response =
+          AsyncRestRequest.execute(
+                  getAsyncClient(),
+                  endpointRequest(),
+                  60,
+                  maxRetries,
+                  new AtomicBoolean(false),
+                  includeRetryParameters,
+                  true,
+                  retryHTTP403,
+                  false)
+              .get(60, TimeUnit.SECONDS);
+      statusCode = response.getCode();
+    } catch (ExecutionException ex) {
+      assertInstanceOf(SnowflakeSQLException.class, ex.getCause());
+      statusCode = -1;
+    }
+    return new Outcome(statusCode, requestsReceived());
+  }
+
+  @BeforeEach
+  public void setUp() {
+    // the shared async client trusts the certificate of WireMock when it is built
+    setCustomTrustStorePropertyPath();
+  }
+
+  private static CloseableHttpAsyncClient getAsyncClient() {
+    return AsyncHttpUtil.getAsyncHttpClient(
+        new HttpClientSettingsKey(OCSPMode.DISABLE_OCSP_CHECKS));
+  }
+
+  private void assertSameRetries(
+      String mappings,
+      int maxRetries,
+      boolean retryHTTP403,
+      int expectedStatusCode,
+      int expectedRequests)
+      throws Exception {
+    Outcome blocking = executeBlocking(mappings, maxRetries, false, retryHTTP403);
+    Outcome async = executeAsync(mappings, maxRetries, false, retryHTTP403);
+    assertEquals(expectedStatusCode, blocking.statusCode);
+    assertEquals(expectedRequests, blocking.requests.size());
+    assertEquals(blocking.statusCode, async.statusCode);
+    assertEquals(blocking.requests.size(), async.requests.size());
+  }
+
+  @Test
+  public void testRetryOnServiceUnavailable() throws Exception {
+    assertSameRetries(scenario(status(503), status(503), status(200)), 0, false, 200, 3);
+  }
+
+  @Test
+  public void testRetryOnTooManyRequests() throws Exception {
+    assertSameRetries(scenario(status(429), status(200)), 0, false, 200, 2);
+  }
+
+  @Test
+  public void testNoRetryOnBadRequest() throws Exception {
+    assertSameRetries(scenario(status(400), status(200)), 0, false, 400, 1);
+  }
+
+  @Test
+  public void testRetryOnForbiddenOnlyIfRequested() throws Exception {
+    assertSameRetries(scenario(status(403), status(200)), 0, false, 403, 1);
+    assertSameRetries(scenario(status(403), status(200)), 0, true, 200, 2);
+  }
+
+  @Test
+  public void testRetryOnConnectionReset() throws Exception {
+    assertSameRetries(scenario(CONNECTION_RESET, status(200)), 0, false, 200, 2);
+  }
+
+  @Test
+  public void testMaxRetries() throws Exception {
+    // the first request and max retries + 1 retries, as for the blocking transport
+    assertSameRetries(scenario(status(503)), 1, false, 503, 3);
+  }
+
+  @Test
+  public void testRetryParameters() throws Exception {
+    String mappings = scenario(status(503), status(200));
+    Outcome blocking = executeBlocking(mappings, 0, true, false);
+    Outcome async = executeAsync(mappings, 0, true, false);
+    assertEquals(200, async.statusCode);
+    for (Outcome outcome : new Outcome[] {blocking, async}) {
+      assertEquals(2, outcome.requests.size());
+      int retries = 0;
+      for (JsonNode request : outcome.requests) {
+        String url = request.get("url").asText();
+        assertTrue(url.contains("request_guid="), url);
+        if (url.contains("retryCount=1") && url.contains("retryReason=503")) {
+          retries++;
+        }
+      }
+      assertEquals(1, retries);
+    }
+  }
+
+  @Test
+  public void testCanceledRequestIsNotRetried() throws Exception {
+    resetWiremock();
+    importMapping(scenario(status(503)));
+    AtomicBoolean canceling = new AtomicBoolean(true);
+    SimpleHttpResponse response =
+        AsyncRestRequest.execute(
+                getAsyncClient(), endpointRequest(), 60, 0, canceling, false, true, false, false)
+            .get(60, TimeUnit.SECONDS);
+    assertEquals(503, response.getCode());
+    assertEquals(1, requestsReceived().size());
+  }
+
+  @Test
+  public void testRequestsAreMultiplexedOverHttp2() throws Exception {
+    resetWiremock();
+    importMapping(scenario(status(200)));
+    HttpGet request =
+        new HttpGet(String.format("https://%s:%d/endpoint", WIREMOCK_HOST, wiremockHttpsPort));
+    SimpleHttpResponse response =
+        AsyncRestRequest.execute(getAsyncClient(), request, 60, 0, null, false, true, false, false)
+            .get(60, TimeUnit.SECONDS);
+    assertEquals(200, response.getCode());
+    assertEquals(HttpVersion.HTTP_2, response.getVersion());
+  }
+
+  @Test
+  public void testNonOkStatusFailsExecuteRequest() throws Exception {
+    resetWiremock();
+    importMapping(scenario(status(400)));
+    ExecutionException ex =
+        assertThrows(
+            ExecutionException.class,
+            () ->
+                AsyncHttpUtil.executeGeneralRequest(
+                        endpointRequest(),
+                        60,
+                        0,
+                        0,
+                        new HttpClientSettingsKey(OCSPMode.DISABLE_OCSP_CHECKS))
+                    .get(60, TimeUnit.SECONDS));
+    assertInstanceOf(SnowflakeSQLException.class, ex.getCause());
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class ChunkDecodeExecutorTest {
+  @Test
+  public void testTasksRunOnDecoderThreads() throws Exception {
+    ChunkDecodeExecutor.DecodeQueue queue = new ChunkDecodeExecutor(2, 1000).newQueue(0);
+    Set<String> threadNames = ConcurrentHashMap.newKeySet();
+    CountDownLatch bothRunning = new CountDownLatch(2);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      futures.add(
+          queue.submit(
+              () -> {
+                threadNames.add(Thread.currentThread().getName());
+                bothRunning.countDown();
+                try {
+                  // both tasks run concurrently
+                  bothRunning.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                  Thread.currentThread().interrupt();
+                }
+              },
+              () -> {}));
+    }
+    for (Future<?> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    assertEquals(2, threadNames.size());
+    for (String name : threadNames) {
+      assertTrue(name.startsWith("result-chunk-decoder-"), name);
+    }
+  }
+
+  @Test
+  public void testQueueLimitsItsRunningTasks() throws Exception {
+    ChunkDecodeExecutor executor = new ChunkDecodeExecutor(4, 1000);
+    ChunkDecodeExecutor.DecodeQueue limited = executor.newQueue(1);
+    ChunkDecodeExecutor.DecodeQueue unlimited = executor.newQueue(0);
+    assertEquals(1, limited.getMaxThreads());
+    assertEquals(4, unlimited.getMaxThreads());
+    assertEquals(4, executor.newQueue(10).getMaxThreads());
+
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch othersRunning = new CountDownLatch(3);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      futures.add(
+          limited.submit(
+              () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(10);
+                running.decrementAndGet();
+              },
+              () -> {}));
+    }
+    for (int i = 0; i < 3; i++) {
+      futures.add(
+          unlimited.submit(
+              () -> {
+                // the other queue still runs on the rest of the threads
+                othersRunning.countDown();
+                try {
+                  assertTrue(othersRunning.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException ex) {
+                  Thread.currentThread().interrupt();
+                }
+              },
+              () -> {}));
+    }
+    for (Future<?> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    assertEquals(1, maxRunning.get());
+    assertEquals(4, executor.getMaxThreads());
+
+    assertThrows(IllegalArgumentException.class, () -> new ChunkDecodeExecutor(0, 1000));
+  }
+
+  @Test
+  public void testCancelledTaskIsDiscarded() throws Exception {
+    ChunkDecodeExecutor executor = new ChunkDecodeExecutor(1, 1000);
+    ChunkDecodeExecutor.DecodeQueue queue = executor.newQueue(1);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch blocker = new CountDownLatch(1);
+    AtomicInteger discarded = new AtomicInteger();
+    AtomicInteger ran = new AtomicInteger();
+    Future<?> blocking =
+        queue.submit(
+            () -> {
+              started.countDown();
+              try {
+                blocker.await();
+              } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+              }
+            },
+            discarded::incrementAndGet);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    Future<?> pending = queue.submit(ran::incrementAndGet, discarded::incrementAndGet);
+    assertTrue(pending.cancel(true));
+    assertEquals(1, discarded.get());
+
+    blocker.countDown();
+    blocking.get(10, TimeUnit.SECONDS);
+    // the pool is free again, the cancelled task does not run
+    queue.submit(ran::incrementAndGet, discarded::incrementAndGet).get(10, TimeUnit.SECONDS);
+    assertEquals(1, ran.get());
+    assertEquals(1, discarded.get());
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
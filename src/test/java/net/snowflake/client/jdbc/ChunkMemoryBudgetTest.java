@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class ChunkMemoryBudgetTest {
+
+  @Test
+  public void testGlobalLimit() {
+    ChunkMemoryBudget budget = new ChunkMemoryBudget();
+    ChunkMemoryBudget.Account first = budget.newStatementAccount(null, 0);
+    ChunkMemoryBudget.Account second = budget.newStatementAccount(null, 0);
+
+    assertTrue(budget.tryReserve(first, 60, 100));
+    assertFalse(budget.tryReserve(second, 60, 100));
+    assertTrue(budget.tryReserve(second, 40, 100));
+    assertEquals(100, budget.getReservedBytes());
+
+    budget.release(first, 60);
+    assertEquals(40, budget.getReservedBytes());
+    assertEquals(40, second.getReservedBytes());
+    assertEquals(0, first.getReservedBytes());
+  }
+
+  @Test
+  public void testOversizedReservationWhenEmpty() {
+    ChunkMemoryBudget budget = new ChunkMemoryBudget();
+    ChunkMemoryBudget.Account account = budget.newStatementAccount(null, 10);
+    assertTrue(budget.tryReserve(account, 500, 100));
+    assertFalse(budget.tryReserve(account, 1, 1000));
+  }
+
+  @Test
+  public void testConnectionAndStatementLimits() {
+    ChunkMemoryBudget budget = new ChunkMemoryBudget();
+    ChunkMemoryBudget.Account connection = budget.newStatementAccount(null, 100);
+    ChunkMemoryBudget.Account statement1 = budget.newStatementAccount(connection, 50);
+    ChunkMemoryBudget.Account statement2 = budget.newStatementAccount(connection, 0);
+
+    assertTrue(budget.tryReserve(statement1, 40, 1000));
+    // statement limit
+    assertFalse(budget.tryReserve(statement1, 20, 1000));
+    assertTrue(budget.tryReserve(statement2, 60, 1000));
+    // connection limit
+    assertFalse(budget.tryReserve(statement2, 1, 1000));
+    assertEquals(100, connection.getReservedBytes());
+  }
+
+  @Test
+  public void testWaiterIsWokenOnRelease() throws Exception {
+    ChunkMemoryBudget budget = new ChunkMemoryBudget();
+    ChunkMemoryBudget.Account holder = budget.newStatementAccount(null, 0);
+    ChunkMemoryBudget.Account waiter = budget.newStatementAccount(null, 0);
+    assertTrue(budget.tryReserve(holder, 100, 100));
+
+    CompletableFuture<Boolean> reserved =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return budget.reserve(waiter, 50, 100, 60 * 1000);
+              } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+            });
+    long deadline = System.currentTimeMillis() + 10 * 1000;
+    while (budget.getWaiterCount() == 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(1, budget.getWaiterCount());
+    assertEquals(1, waiter.getWaiterCount());
+    assertFalse(reserved.isDone());
+
+    budget.release(holder, 100);
+    assertTrue(reserved.get(10, TimeUnit.SECONDS));
+    assertEquals(0, budget.getWaiterCount());
+    assertEquals(50, budget.getReservedBytes());
+  }
+
+  @Test
+  public void testReserveTimesOut() throws Exception {
+    ChunkMemoryBudget budget = new ChunkMemoryBudget();
+    ChunkMemoryBudget.Account holder = budget.newStatementAccount(null, 0);
+    ChunkMemoryBudget.Account waiter = budget.newStatementAccount(null, 0);
+    assertTrue(budget.tryReserve(holder, 100, 100));
+    assertFalse(budget.reserve(waiter, 50, 100, 50));
+    assertEquals(0, budget.getWaiterCount());
+
+    budget.forceReserve(waiter, 50);
+    assertEquals(150, budget.getReservedBytes());
+  }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class ChunkRequestHedgerTest {
+  private static ChunkRequestHedger primedHedger(int maxHedges) {
+    ChunkRequestHedger hedger = new ChunkRequestHedger(maxHedges);
+    for (int i = 0; i < ChunkRequestHedger.MIN_SAMPLES; i++) {
+      hedger.recordDownloadTime(1);
+    }
+    return hedger;
+  }
+
+  /** Block until the attempt is cancelled, then fail like an aborted request */
+  private static String awaitCancel(ChunkRequestHedger.Attempt attempt) throws Exception {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (!attempt.getCanceling().get()) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new IllegalStateException("attempt was not cancelled");
+      }
+      Thread.sleep(5);
+    }
+    throw new IOException("Request aborted");
+  }
+
+  @Test
+  public void testHedgeDelayIsPercentileOfCompletedDownloads() {
+    ChunkRequestHedger hedger = new ChunkRequestHedger(1);
+    for (int i = 1; i < ChunkRequestHedger.MIN_SAMPLES; i++) {
+      hedger.recordDownloadTime(1000);
+    }
+    assertEquals(-1, hedger.getHedgeDelayMillis());
+
+    hedger = new ChunkRequestHedger(1);
+    for (int i = 20; i >= 1; i--) {
+      hedger.recordDownloadTime(i * 100);
+    }
+    // 95th percentile of 100, 200, ..., 2000
+    assertEquals(1900, hedger.getHedgeDelayMillis());
+    hedger.recordDownloadTime(10_000);
+    assertEquals(2000, hedger.getHedgeDelayMillis());
+
+    hedger = primedHedger(1);
+    assertEquals(ChunkRequestHedger.MIN_HEDGE_DELAY_MILLIS, hedger.getHedgeDelayMillis());
+  }
+
+  @Test
+  public void testBudgetScalesWithChunkCount() throws Exception {
+    ChunkRequestHedger small = ChunkRequestHedger.forChunkCount(3);
+    ChunkRequestHedger large = ChunkRequestHedger.forChunkCount(100);
+    for (int i = 0; i < ChunkRequestHedger.MIN_SAMPLES; i++) {
+      small.recordDownloadTime(1);
+      large.recordDownloadTime(1);
+    }
+    // each slow download is hedged once, and the hedge wins, until the budget is used up
+    for (int i = 0; i < 3; i++) {
+      small.execute(ChunkRequestHedgerTest::hedgeWins, result -> {});
+    }
+    assertEquals(1, small.getHedgesIssued());
+    for (int i = 0; i < 8; i++) {
+      large.execute(ChunkRequestHedgerTest::hedgeWins, result -> {});
+    }
+    assertEquals(5, large.getHedgesIssued());
+    assertEquals(5, large.getHedgesWon());
+  }
+
+  /** Fast on the hedge threads, slow on the calling thread unless cancelled by a hedge */
+  private static String hedgeWins(ChunkRequestHedger.Attempt attempt) throws Exception {
+    if (Thread.currentThread().getName().startsWith("result-chunk-hedger-")) {
+      return "hedge";
+    }
+    long deadline = System.currentTimeMillis() + 500;
+    while (!attempt.getCanceling().get() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    return "primary";
+  }
+
+  @Test
+  public void testNoHedgeBeforeEnoughSamples() throws Exception {
+    ChunkRequestHedger hedger = new ChunkRequestHedger(10);
+    AtomicInteger calls = new AtomicInteger();
+    String result =
+        hedger.execute(
+            attempt -> {
+              calls.incrementAndGet();
+              Thread.sleep(100);
+              return "primary";
+            },
+            r -> {});
+    assertEquals("primary", result);
+    assertEquals(1, calls.get());
+    assertEquals(0, hedger.getHedgesIssued());
+  }
+
+  @Test
+  public void testHedgeWinsAndPrimaryIsCancelled() throws Exception {
+    ChunkRequestHedger hedger = primedHedger(10);
+    List<ChunkRequestHedger.Attempt> attempts = new CopyOnWriteArrayList<>();
+    String result =
+        hedger.execute(
+            attempt -> {
+              attempts.add(attempt);
+              return attempts.size() == 1 ? awaitCancel(attempt) : "hedge";
+            },
+            r -> {});
+    assertEquals("hedge", result);
+    assertEquals(2, attempts.size());
+    assertTrue(attempts.get(0).getCanceling().get());
+    assertEquals(1, hedger.getHedgesIssued());
+    assertEquals(1, hedger.getHedgesWon());
+  }
+
+  @Test
+  public void testPrimaryWinsAndHedgeIsCancelled() throws Exception {
+    ChunkRequestHedger hedger = primedHedger(10);
+    CountDownLatch hedgeStarted = new CountDownLatch(1);
+    List<ChunkRequestHedger.Attempt> attempts = new CopyOnWriteArrayList<>();
+    String result =
+        hedger.execute(
+            attempt -> {
+              attempts.add(attempt);
+              if (attempts.size() == 1) {
+                assertTrue(hedgeStarted.await(10, TimeUnit.SECONDS));
+                return "primary";
+              }
+              hedgeStarted.countDown();
+              awaitCancel(attempt);
+              return "hedge";
+            },
+            r -> {});
+    assertEquals("primary", result);
+    assertTrue(attempts.get(1).getCanceling().get());
+    assertEquals(1, hedger.getHedgesIssued());
+    assertEquals(0, hedger.getHedgesWon());
+  }
+
+  @Test
+  public void testLateResultIsDiscarded() throws Exception {
+    ChunkRequestHedger hedger = primedHedger(10);
+    List<String> discarded = new CopyOnWriteArrayList<>();
+    AtomicInteger calls = new AtomicInteger();
+    String result =
+        hedger.execute(
+            attempt -> {
+              if (calls.incrementAndGet() == 1) {
+                // completes although it was cancelled
+                awaitCancelIgnoringAbort(attempt);
+                return "primary";
+              }
+              return "hedge";
+            },
+            discarded::add);
+    assertEquals("hedge", result);
+    assertEquals(1, discarded.size());
+    assertEquals("primary", discarded.get(0));
+  }
+
+  private static void awaitCancelIgnoringAbort(ChunkRequestHedger.Attempt attempt)
+      throws Exception {
+    try {
+      awaitCancel(attempt);
+    } catch (IOException ex) {
+      // the download completed before the abort reached it
+    }
+  }
+
+  @Test
+  public void testFailedPrimaryUsesHedge() throws Exception {
+    ChunkRequestHedger hedger = primedHedger(10);
+    CountDownLatch hedgeStarted = new CountDownLatch(1);
+    CountDownLatch primaryFailed = new CountDownLatch(1);
+    AtomicInteger calls = new AtomicInteger();
+    String result =
+        hedger.execute(
+            attempt -> {
+              if (calls.incrementAndGet() == 1) {
+                // fail after the hedge started, but before it completed
+                assertTrue(hedgeStarted.await(10, TimeUnit.SECONDS));
+                primaryFailed.countDown();
+                throw new IOException("primary failed");
+              }
+              hedgeStarted.countDown();
+              assertTrue(primaryFailed.await(10, TimeUnit.SECONDS));
+              return "hedge";
+            },
+            r -> {});
+    assertEquals("hedge", result);
+    assertEquals(1, hedger.getHedgesWon());
+  }
+
+  @Test
+  public void testFailureIsThrownIfBothDownloadsFail() throws Exception {
+    ChunkRequestHedger hedger = primedHedger(10);
+    IOException primaryFailure = new IOException("primary failed");
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch hedgeFailed = new CountDownLatch(1);
+    IOException thrown =
+        assertThrows(
+            IOException.class,
+            () ->
+                hedger.execute(
+                    attempt -> {
+                      if (calls.incrementAndGet() == 1) {
+                        assertTrue(hedgeFailed.await(10, TimeUnit.SECONDS));
+                        throw primaryFailure;
+                      }
+                      hedgeFailed.countDown();
+                      throw new IOException("hedge failed");
+                    },
+                    r -> {}));
+    assertSame(primaryFailure, thrown);
+    assertEquals(0, hedger.getHedgesWon());
+  }
+
+  @Test
+  public void testFastFailureIsNotHedged() throws Exception {
+    ChunkRequestHedger hedger = primedHedger(10);
+    AtomicInteger calls = new AtomicInteger();
+    assertThrows(
+        IOException.class,
+        () ->
+            hedger.execute(
+                attempt -> {
+                  calls.incrementAndGet();
+                  throw new IOException("failed");
+                },
+                r -> {}));
+    Thread.sleep(ChunkRequestHedger.MIN_HEDGE_DELAY_MILLIS * 3);
+    assertEquals(1, calls.get());
+    assertEquals(0, hedger.getHedgesIssued());
+  }
+
+  @Test
+  public void testNoHedgeWithoutMemory() throws Exception {
+    ChunkRequestHedger hedger = primedHedger(10);
+    AtomicInteger reserveCalls = new AtomicInteger();
+    String result =
+        hedger.execute(
+            ChunkRequestHedgerTest::hedgeWins,
+            r -> {},
+            new ChunkRequestHedger.HedgeMemory() {
+              @Override
+              public boolean tryReserve() {
+                reserveCalls.incrementAndGet();
+                return false;
+              }
+
+              @Override
+              public void release() {
+                throw new IllegalStateException("nothing was reserved");
+              }
+            });
+    assertEquals("primary", result);
+    assertEquals(1, reserveCalls.get());
+    assertEquals(0, hedger.getHedgesIssued());
+  }
+
+  @Test
+  public void testHedgeMemoryIsReleased() throws Exception {
+    ChunkRequestHedger hedger = primedHedger(10);
+    AtomicInteger reserved = new AtomicInteger();
+    CountDownLatch released = new CountDownLatch(1);
+    String result =
+        hedger.execute(
+            ChunkRequestHedgerTest::hedgeWins,
+            r -> {},
+            new ChunkRequestHedger.HedgeMemory() {
+              @Override
+              public boolean tryReserve() {
+                reserved.incrementAndGet();
+                return true;
+              }
+
+              @Override
+              public void release() {
+                reserved.decrementAndGet();
+                released.countDown();
+              }
+            });
+    assertEquals("hedge", result);
+    assertTrue(released.await(10, TimeUnit.SECONDS));
+    assertEquals(0, reserved.get());
+  }
+}
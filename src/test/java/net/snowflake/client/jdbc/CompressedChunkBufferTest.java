@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import net.snowflake.client.core.PooledBufferAllocator;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+public class CompressedChunkBufferTest {
+  @Test
+  public void testRoundTripAcrossSegments() throws IOException {
+    for (int size :
+        new int[] {
+          0, 1, CompressedChunkBuffer.SEGMENT_SIZE, 3 * CompressedChunkBuffer.SEGMENT_SIZE + 17
+        }) {
+      byte[] data = new byte[size];
+      new Random(size).nextBytes(data);
+      CompressedChunkBuffer buffer =
+          CompressedChunkBuffer.readFully(new ByteArrayInputStream(data), null);
+      try {
+        assertEquals(size, buffer.size());
+        assertArrayEquals(data, IOUtils.toByteArray(buffer.getInputStream()));
+        // single byte reads return the same content
+        InputStream is = buffer.getInputStream();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = is.read()) >= 0) {
+          out.write(b);
+        }
+        assertArrayEquals(data, out.toByteArray());
+      } finally {
+        buffer.release();
+      }
+    }
+  }
+
+  @Test
+  public void testReleaseReturnsSegmentsToPool() throws IOException {
+    byte[] data = new byte[2 * CompressedChunkBuffer.SEGMENT_SIZE + 1];
+    CompressedChunkBuffer buffer =
+        CompressedChunkBuffer.readFully(new ByteArrayInputStream(data), null);
+    buffer.release();
+    // releasing twice does not return the segments twice
+    long pooledBytes = PooledBufferAllocator.heap().getPooledBytes();
+    buffer.release();
+    assertEquals(pooledBytes, PooledBufferAllocator.heap().getPooledBytes());
+    assertThrows(IOException.class, () -> buffer.getInputStream().read());
+
+    // the next buffer reuses the released segments
+    long missCount = PooledBufferAllocator.heap().getMissCount();
+    CompressedChunkBuffer.readFully(new ByteArrayInputStream(data), null).release();
+    assertEquals(missCount, PooledBufferAllocator.heap().getMissCount());
+  }
+}
@@ -1,5 +1,6 @@
 package net.snowflake.client.jdbc;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -8,9 +9,12 @@ import com.github.luben.zstd.ZstdOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Random;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import net.snowflake.client.core.PooledBufferAllocator;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.Header;
 import org.apache.http.message.BasicHeader;
@@ -77,4 +81,39 @@ public class CompressedStreamFactoryTest {
     String decompressedData = IOUtils.toString(resultStream, StandardCharsets.UTF_8);
     assertEquals(originalData, decompressedData);
   }
+
+  @Test
+  public void testPooledBuffersAreReusedAcrossStreams() throws Exception {
+    byte[] originalData = new byte[3 * 1024 * 1024];
+    new Random(3).nextBytes(originalData);
+    for (String encoding : new String[] {"gzip", "zstd"}) {
+      byte[] compressed = compress(encoding, originalData);
+      // the first stream may have to allocate, the following ones borrow the released buffers
+      readAndClose(encoding, compressed, originalData);
+      long missCount = PooledBufferAllocator.heap().getMissCount();
+      for (int i = 0; i < 3; i++) {
+        readAndClose(encoding, compressed, originalData);
+      }
+      assertEquals(missCount, PooledBufferAllocator.heap().getMissCount(), encoding);
+    }
+  }
+
+  private void readAndClose(String encoding, byte[] compressed, byte[] expected) throws Exception {
+    try (InputStream resultStream =
+        factory.createBasedOnEncodingHeader(
+            new ByteArrayInputStream(compressed), new BasicHeader("Content-Encoding", encoding))) {
+      assertArrayEquals(expected, IOUtils.toByteArray(resultStream));
+    }
+  }
+
+  private static byte[] compress(String encoding, byte[] data) throws Exception {
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    try (OutputStream os =
+        "gzip".equals(encoding)
+            ? new GZIPOutputStream(byteArrayOutputStream)
+            : new ZstdOutputStream(byteArrayOutputStream)) {
+      os.write(data);
+    }
+    return byteArrayOutputStream.toByteArray();
+  }
 }
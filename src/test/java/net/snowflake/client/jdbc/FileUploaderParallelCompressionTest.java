@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import net.snowflake.client.core.SFSession;
+import net.snowflake.client.core.SFStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for PUT of files compressed on several threads to a local stage. */
+public class FileUploaderParallelCompressionTest {
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @TempDir private File tmpFolder;
+
+  private File srcFile;
+  private File stageDir;
+  private String command;
+  private SFSession session;
+  private SFStatement statement;
+
+  @BeforeEach
+  public void setUp() throws Throwable {
+    // several parts of the parallel compression
+    byte[] data = new byte[2 * ParallelGzipCompressor.PART_SIZE + 12345];
+    Random random = new Random(42);
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) ('a' + random.nextInt(4));
+    }
+    srcFile = new File(tmpFolder, "data.csv");
+    Files.write(srcFile.toPath(), data);
+    stageDir = new File(tmpFolder, "stage");
+    assertTrue(stageDir.mkdir());
+    command = "PUT file://" + srcFile.getCanonicalPath() + " @~";
+
+    session = mock(SFSession.class);
+    when(session.getEnableParallelPutCompression()).thenReturn(true);
+    statement = mock(SFStatement.class);
+    when(statement.executeHelper(
+            anyString(), anyString(), isNull(), anyBoolean(), anyBoolean(), anyBoolean(), any()))
+        .thenAnswer(invocation -> putResponse());
+  }
+
+  private ObjectNode putResponse() throws Exception {
+    ObjectNode response = mapper.createObjectNode();
+    response.put("success", true);
+    ObjectNode data = response.putObject("data");
+    data.put("command", "UPLOAD");
+    data.putArray("src_locations").add(srcFile.getCanonicalPath());
+    data.put("queryId", "query-id");
+    data.put("parallel", 4);
+    // the file is a big file, uploaded with all threads
+    data.put("threshold", 1);
+    data.put("autoCompress", true);
+    data.put("overwrite", false);
+    data.put("sourceCompression", "auto_detect");
+    ObjectNode stageInfo = data.putObject("stageInfo");
+    stageInfo.put("locationType", "LOCAL_FS");
+    stageInfo.put("location", stageDir.getCanonicalPath());
+    stageInfo.putObject("creds");
+    return response;
+  }
+
+  private String put(SnowflakeFileTransferAgent agent) throws Exception {
+    assertTrue(agent.execute());
+    List<Object> row = agent.getNextRow();
+    // source, target, source_size, target_size, source_compression, target_compression, status
+    return String.valueOf(row.get(6));
+  }
+
+  @Test
+  public void testUnchangedFileCompressedInParallelIsSkipped() throws Exception {
+    assertEquals("UPLOADED", put(new SnowflakeFileTransferAgent(command, session, statement)));
+    File stageFile = new File(stageDir, "data.csv.gz");
+    assertTrue(stageFile.exists());
+
+    SnowflakeFileTransferAgent agent = new SnowflakeFileTransferAgent(command, session, statement);
+    // the digest compared with the one of the uploaded file is computed from the same compression
+    SnowflakeFileTransferAgent.InputStreamWithMetadata compressed =
+        agent.compressFileForDigestCheck(srcFile);
+    try {
+      assertEquals(
+          Base64.getEncoder()
+              .encodeToString(
+                  MessageDigest.getInstance("SHA-256")
+                      .digest(Files.readAllBytes(stageFile.toPath()))),
+          compressed.digest);
+    } finally {
+      compressed.fileBackedOutputStream.reset();
+    }
+    assertEquals("SKIPPED", put(agent));
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+public class GzipDigestInputStreamTest {
+  @Test
+  public void testContentIsCompressedAndDigestedWhileRead() throws Exception {
+    byte[] data = new byte[1_000_000];
+    Random random = new Random(7);
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) ('0' + random.nextInt(10));
+    }
+
+    GzipDigestInputStream stream = new GzipDigestInputStream(new ByteArrayInputStream(data), true);
+    assertNull(stream.getDigest());
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1000];
+    int read;
+    while ((read = stream.read(buffer)) != -1) {
+      compressed.write(buffer, 0, read);
+    }
+    stream.close();
+
+    assertTrue(stream.isFinished());
+    assertEquals(compressed.size(), stream.getCompressedSize());
+    assertEquals(
+        Base64.getEncoder()
+            .encodeToString(MessageDigest.getInstance("SHA-256").digest(compressed.toByteArray())),
+        stream.getDigest());
+    try (InputStream decompressed =
+        new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+      assertArrayEquals(data, IOUtils.toByteArray(decompressed));
+    }
+  }
+
+  @Test
+  public void testEmptySourceWithoutDigest() throws Exception {
+    GzipDigestInputStream stream =
+        new GzipDigestInputStream(new ByteArrayInputStream(new byte[0]), false);
+    assertFalse(stream.isFinished());
+    byte[] compressed = IOUtils.toByteArray(stream);
+
+    assertTrue(stream.isFinished());
+    assertNull(stream.getDigest());
+    try (InputStream decompressed = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      assertEquals(-1, decompressed.read());
+    }
+  }
+
+  @Test
+  public void testRestartCompressesSourceAgain() throws Exception {
+    byte[] data = new byte[200_000];
+    new Random(11).nextBytes(data);
+    GzipDigestInputStream stream =
+        new GzipDigestInputStream(
+            new ByteArrayInputStream(data), () -> new ByteArrayInputStream(data), true);
+    assertTrue(stream.canRestart());
+
+    // an upload failing midway
+    IOUtils.readFully(stream, new byte[1000]);
+    stream.restart();
+    assertNull(stream.getDigest());
+    byte[] compressed = IOUtils.toByteArray(stream);
+
+    assertEquals(compressed.length, stream.getCompressedSize());
+    assertEquals(
+        Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(compressed)),
+        stream.getDigest());
+    try (InputStream decompressed = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      assertArrayEquals(data, IOUtils.toByteArray(decompressed));
+    }
+  }
+
+  @Test
+  public void testStreamWithoutSourceOpenerCannotRestart() throws Exception {
+    GzipDigestInputStream stream =
+        new GzipDigestInputStream(new ByteArrayInputStream(new byte[10]), false);
+    assertFalse(stream.canRestart());
+    assertThrows(IOException.class, stream::restart);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import net.snowflake.client.jdbc.SnowflakeFileTransferAgent.InputStreamWithMetadata;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ParallelGzipCompressorTest {
+  @TempDir private File tmpFolder;
+
+  @Test
+  public void testPartsDecompressToTheFile() throws Exception {
+    // several parts, the last one partial
+    byte[] data = new byte[3 * ParallelGzipCompressor.PART_SIZE + 12345];
+    Random random = new Random(42);
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) ('a' + random.nextInt(4));
+    }
+    File file = new File(tmpFolder, "data.csv");
+    Files.write(file.toPath(), data);
+
+    InputStreamWithMetadata result = ParallelGzipCompressor.compress(file, 3, true);
+    try {
+      byte[] compressed = result.fileBackedOutputStream.asByteSource().read();
+      assertEquals(compressed.length, result.size);
+      assertEquals(
+          Base64.getEncoder()
+              .encodeToString(MessageDigest.getInstance("SHA-256").digest(compressed)),
+          result.digest);
+      try (InputStream decompressed =
+          new GZIPInputStream(result.fileBackedOutputStream.asByteSource().openStream())) {
+        assertArrayEquals(data, IOUtils.toByteArray(decompressed));
+      }
+    } finally {
+      result.fileBackedOutputStream.reset();
+    }
+  }
+
+  @Test
+  public void testPartsInMemoryAreBounded() throws Exception {
+    assertEquals(2, ParallelGzipCompressor.getMaxPartsInMemory(1));
+    assertEquals(
+        ParallelGzipCompressor.MAX_PARTS_IN_MEMORY, ParallelGzipCompressor.getMaxPartsInMemory(99));
+
+    // more parts than parts in memory, the buffers are reused
+    byte[] data = new byte[4 * ParallelGzipCompressor.PART_SIZE + 1];
+    new Random(7).nextBytes(data);
+    File file = new File(tmpFolder, "random.bin");
+    Files.write(file.toPath(), data);
+
+    InputStreamWithMetadata result = ParallelGzipCompressor.compress(file, 1, false);
+    try (InputStream decompressed =
+        new GZIPInputStream(result.fileBackedOutputStream.asByteSource().openStream())) {
+      assertArrayEquals(data, IOUtils.toByteArray(decompressed));
+    } finally {
+      result.fileBackedOutputStream.reset();
+    }
+  }
+
+  @Test
+  public void testEmptyFile() throws Exception {
+    File file = new File(tmpFolder, "empty.csv");
+    Files.write(file.toPath(), new byte[0]);
+
+    InputStreamWithMetadata result = ParallelGzipCompressor.compress(file, 2, false);
+    try {
+      assertNull(result.digest);
+      try (InputStream decompressed =
+          new GZIPInputStream(result.fileBackedOutputStream.asByteSource().openStream())) {
+        assertEquals(0, IOUtils.toByteArray(decompressed).length);
+      }
+    } finally {
+      result.fileBackedOutputStream.reset();
+    }
+  }
+}
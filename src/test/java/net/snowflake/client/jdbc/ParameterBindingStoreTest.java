@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import net.snowflake.client.core.ParameterBindingDTO;
+import net.snowflake.client.core.bind.ArrayBindColumn;
+import org.junit.jupiter.api.Test;
+
+public class ParameterBindingStoreTest {
+  @Test
+  public void testValuesAreConvertedToWireFormat() throws Exception {
+    ParameterBindingStore store = new ParameterBindingStore();
+    store.setLong(1, "FIXED", -42L);
+    store.setFloat(2, "REAL", 0.1f);
+    store.setDouble(3, "REAL", 0.1d);
+    store.setBoolean(4, "BOOLEAN", true);
+    store.setReference(5, "FIXED", new BigDecimal("12.50"));
+    store.setReference(6, "TEXT", null);
+    store.setNull(7, "ANY");
+
+    Map<String, ParameterBindingDTO> bindings = store.toParameterBindings();
+
+    assertEquals(7, bindings.size());
+    assertBinding("FIXED", "-42", bindings.get("1"));
+    // a float is sent as a float, not as the double it widens to
+    assertBinding("REAL", "0.1", bindings.get("2"));
+    assertBinding("REAL", "0.1", bindings.get("3"));
+    assertBinding("BOOLEAN", "true", bindings.get("4"));
+    assertBinding("FIXED", "12.50", bindings.get("5"));
+    assertBinding("TEXT", null, bindings.get("6"));
+    assertBinding("ANY", null, bindings.get("7"));
+  }
+
+  @Test
+  public void testParametersAreIndexedByPosition() throws Exception {
+    ParameterBindingStore store = new ParameterBindingStore();
+    ParameterBindingDTO json = new ParameterBindingDTO("json", "OBJECT", "{}");
+    store.setBinding(300, json);
+    store.setLong(2, "FIXED", 1);
+    store.setLong(2, "FIXED", 2);
+
+    assertEquals(2, store.size());
+    assertEquals(300, store.getMaxIndex());
+    assertTrue(store.isSet(2));
+    assertFalse(store.isSet(1));
+    assertFalse(store.isSet(301));
+    assertEquals("2", store.getValue(2));
+    assertSame(json, store.toParameterBindings().get("300"));
+
+    store.clear();
+    assertEquals(0, store.size());
+    assertFalse(store.isSet(2));
+    assertTrue(store.toParameterBindings().isEmpty());
+
+    store.setDouble(1, "REAL", 1.5);
+    assertEquals(1, store.toParameterBindings().size());
+    assertEquals("1.5", store.getValue(1));
+  }
+
+  @Test
+  public void testInvalidParameterIndex() {
+    ParameterBindingStore store = new ParameterBindingStore();
+    assertThrows(SnowflakeSQLException.class, () -> store.setLong(0, "FIXED", 1));
+    assertEquals(0, store.size());
+  }
+
+  @Test
+  public void testValuesAreAppendedToArrayBindColumns() throws Exception {
+    ParameterBindingStore store = new ParameterBindingStore();
+    ArrayBindColumn numbers = new ArrayBindColumn();
+    ArrayBindColumn texts = new ArrayBindColumn();
+    store.setDouble(1, "REAL", 0.5d);
+    store.setReference(2, "TEXT", "a");
+    store.appendTo(1, numbers);
+    store.appendTo(2, texts);
+    store.setNull(1, "REAL");
+    store.setReference(2, "TEXT", null);
+    assertTrue(store.isNull(1));
+    assertTrue(store.isNull(2));
+    store.appendTo(1, numbers);
+    store.appendTo(2, texts);
+
+    assertEquals(Arrays.asList("0.5", null), numbers);
+    assertEquals(Arrays.asList("a", null), texts);
+  }
+
+  private static void assertBinding(String type, String value, ParameterBindingDTO binding) {
+    assertEquals(type, binding.getType());
+    if (value == null) {
+      assertNull(binding.getValue());
+    } else {
+      assertEquals(value, binding.getValue());
+    }
+    assertNull(binding.getFmt());
+  }
+}
@@ -4,16 +4,25 @@
 package net.snowflake.client.jdbc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import net.snowflake.client.core.SFSession;
+import net.snowflake.client.core.json.Utf8CellParser;
 import org.apache.commons.text.StringEscapeUtils;
 import org.junit.jupiter.api.Test;
 
 /** This is the unit tests for ResultJsonParserV2 */
 public class ResultJsonParserV2Test {
+  /** Parser under test, overridden to run the same tests against other parsers */
+  protected ResultJsonParserV2 createParser() {
+    return new ResultJsonParserV2();
+  }
+
   @Test
   public void simpleTest() throws SnowflakeSQLException {
     SFSession session = null;
@@ -28,7 +37,7 @@ public class ResultJsonParserV2Test {
             + "[\"{\\\"date\\\" : \\\"2017-04-28\\\",\\\"dealership\\\" : \\\"Tindel Toyota\\\"}\", \"[1,2,3,4,5]\"]";
     byte[] data = simple.getBytes(StandardCharsets.UTF_8);
     JsonResultChunk chunk = new JsonResultChunk("", 8, 2, data.length, session);
-    ResultJsonParserV2 jp = new ResultJsonParserV2();
+    ResultJsonParserV2 jp = createParser();
     jp.startParsing(chunk, session);
     ByteBuffer byteBuffer = ByteBuffer.wrap(data);
     jp.continueParsing(byteBuffer, session);
@@ -69,7 +78,7 @@ public class ResultJsonParserV2Test {
             + "[\"{\\\"date\\\" : \\\"2017-04-28\\\",\\\"dealership\\\" : \\\"Tindel Toyota\\\"}\", \"[1,2,3,4,5]\"]";
     byte[] data = simple.getBytes(StandardCharsets.UTF_8);
     JsonResultChunk chunk = new JsonResultChunk("", 8, 2, data.length, session);
-    ResultJsonParserV2 jp = new ResultJsonParserV2();
+    ResultJsonParserV2 jp = createParser();
     jp.startParsing(chunk, session);
     int len = 15;
     ByteBuffer byteBuffer = null;
@@ -143,7 +152,7 @@ public class ResultJsonParserV2Test {
 
     byte[] data = sb.toString().getBytes(StandardCharsets.UTF_8);
     JsonResultChunk chunk = new JsonResultChunk("", 2, 2, data.length, session);
-    ResultJsonParserV2 jp = new ResultJsonParserV2();
+    ResultJsonParserV2 jp = createParser();
     jp.startParsing(chunk, session);
     ByteBuffer byteBuffer = ByteBuffer.wrap(data);
     jp.continueParsing(byteBuffer, session);
@@ -163,7 +172,7 @@ public class ResultJsonParserV2Test {
     String ascii = "[\"\\u0000\\u0000\\u0000\"]";
     byte[] data = ascii.getBytes(StandardCharsets.UTF_8);
     JsonResultChunk chunk = new JsonResultChunk("", 1, 1, data.length, session);
-    ResultJsonParserV2 jp = new ResultJsonParserV2();
+    ResultJsonParserV2 jp = createParser();
     jp.startParsing(chunk, session);
 
     // parse the first null
@@ -191,7 +200,7 @@ public class ResultJsonParserV2Test {
     String ascii = "[\"\\u0003ä\\u0000\"]";
     byte[] data = ascii.getBytes(StandardCharsets.UTF_8);
     JsonResultChunk chunk = new JsonResultChunk("", 1, 1, data.length, session);
-    ResultJsonParserV2 jp = new ResultJsonParserV2();
+    ResultJsonParserV2 jp = createParser();
     jp.startParsing(chunk, session);
 
     // parse ETX and UTF-8 character
@@ -211,6 +220,54 @@ public class ResultJsonParserV2Test {
     assertEquals("03 C3 A4 00 ", stringToHex(chunk.getCell(0, 0).toString()));
   }
 
+  // a surrogate pair escape with only 9 of the 10 bytes after the first u in the buffer
+  @Test
+  public void testSurrogatePairAtEndOfBuffer() throws SnowflakeSQLException {
+    SFSession session = null;
+    String pair = "[\"\\ud841\\udf0e\"]";
+    byte[] data = pair.getBytes(StandardCharsets.UTF_8);
+    JsonResultChunk chunk = new JsonResultChunk("", 1, 1, data.length, session);
+    ResultJsonParserV2 jp = createParser();
+    jp.startParsing(chunk, session);
+
+    // [ " \ u and the following 9 bytes
+    ByteBuffer byteBuffer = ByteBuffer.wrap(Arrays.copyOf(data, 13));
+    jp.continueParsing(byteBuffer, session);
+    byte[] remaining = new byte[byteBuffer.remaining() + data.length - 13];
+    byteBuffer.get(remaining, 0, byteBuffer.remaining());
+    System.arraycopy(data, 13, remaining, remaining.length - (data.length - 13), data.length - 13);
+    jp.endParsing(ByteBuffer.wrap(remaining), session);
+
+    assertEquals("𠜎", chunk.getCell(0, 0).toString());
+  }
+
+  @Test
+  public void testWrapCellForPrimitiveParsing() throws SnowflakeSQLException {
+    SFSession session = null;
+    String simple = "[\"-42\", \"1.25\"],[null, \"true\"]";
+    byte[] data = simple.getBytes(StandardCharsets.UTF_8);
+    JsonResultChunk chunk = new JsonResultChunk("", 2, 2, data.length, session);
+    ResultJsonParserV2 jp = createParser();
+    jp.startParsing(chunk, session);
+    ByteBuffer byteBuffer = ByteBuffer.wrap(data);
+    jp.continueParsing(byteBuffer, session);
+    byte[] remaining = new byte[byteBuffer.remaining()];
+    byteBuffer.get(remaining);
+    jp.endParsing(ByteBuffer.wrap(remaining), session);
+
+    Utf8CellParser parser = new Utf8CellParser();
+    assertTrue(chunk.wrapCell(0, 0, parser));
+    assertTrue(parser.parseLong());
+    assertEquals(-42L, parser.getLongValue());
+    assertTrue(chunk.wrapCell(0, 1, parser));
+    assertTrue(parser.parseDouble());
+    assertEquals(1.25, parser.getDoubleValue());
+    assertFalse(chunk.wrapCell(1, 0, parser));
+    assertTrue(chunk.wrapCell(1, 1, parser));
+    assertTrue(parser.parseBoolean());
+    assertTrue(parser.getBooleanValue());
+  }
+
   public static String stringToHex(String input) {
     byte[] byteArray = input.getBytes(StandardCharsets.UTF_8);
     StringBuilder sb = new StringBuilder();
@@ -5,12 +5,17 @@
 package net.snowflake.client.jdbc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import net.snowflake.client.category.TestTags;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -49,4 +54,26 @@ public class ResultSetAsyncLatestIT extends BaseJDBCTest {
           secretMetaData.getQueryID(), resultSet.unwrap(SnowflakeResultSet.class).getQueryID());
     }
   }
+
+  @Test
+  public void testExecuteQueryAsync() throws Exception {
+    try (Connection connection = getConnection();
+        Statement statement = connection.createStatement()) {
+      SnowflakeStatement snowflakeStatement = statement.unwrap(SnowflakeStatement.class);
+      CompletableFuture<ResultSet> succeeded =
+          snowflakeStatement.executeQueryAsync("select seq4() from table(generator(rowcount=>3))");
+      CompletableFuture<ResultSet> failed =
+          snowflakeStatement.executeQueryAsync("select * from table_which_does_not_exist");
+      try (ResultSet rs = succeeded.get(60, TimeUnit.SECONDS)) {
+        int rows = 0;
+        while (rs.next()) {
+          rows++;
+        }
+        assertEquals(3, rows);
+      }
+      ExecutionException ex =
+          assertThrows(ExecutionException.class, () -> failed.get(60, TimeUnit.SECONDS));
+      assertInstanceOf(SnowflakeSQLException.class, ex.getCause());
+    }
+  }
 }
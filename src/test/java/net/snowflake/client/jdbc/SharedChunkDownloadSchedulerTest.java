@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class SharedChunkDownloadSchedulerTest {
+
+  @Test
+  public void testConcurrencyIsCappedAcrossQueues() throws Exception {
+    SharedChunkDownloadScheduler scheduler = new SharedChunkDownloadScheduler(3, 1000);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<Future<Void>> futures = new ArrayList<>();
+    for (int q = 0; q < 4; q++) {
+      SharedChunkDownloadScheduler.QueryQueue queue = scheduler.register("query" + q);
+      for (int i = 0; i < 5; i++) {
+        futures.add(
+            queue.submit(
+                () -> {
+                  int now = running.incrementAndGet();
+                  maxRunning.accumulateAndGet(now, Math::max);
+                  Thread.sleep(10);
+                  running.decrementAndGet();
+                  return null;
+                },
+                false));
+      }
+    }
+    for (Future<Void> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    assertTrue(maxRunning.get() <= 3, "max running: " + maxRunning.get());
+    assertTrue(scheduler.getWorkerCount() <= 3);
+    assertEquals(0, scheduler.getQueuedTaskCount());
+  }
+
+  @Test
+  public void testQueueLimitDoesNotChangeOtherQueues() throws Exception {
+    SharedChunkDownloadScheduler scheduler = new SharedChunkDownloadScheduler(4, 1000);
+    SharedChunkDownloadScheduler.QueryQueue limited = scheduler.register("limited", 1);
+    SharedChunkDownloadScheduler.QueryQueue unlimited = scheduler.register("unlimited");
+    AtomicInteger limitedRunning = new AtomicInteger();
+    AtomicInteger maxLimitedRunning = new AtomicInteger();
+    CountDownLatch unlimitedRunning = new CountDownLatch(3);
+    List<Future<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      futures.add(
+          limited.submit(
+              () -> {
+                maxLimitedRunning.accumulateAndGet(limitedRunning.incrementAndGet(), Math::max);
+                Thread.sleep(10);
+                limitedRunning.decrementAndGet();
+                return null;
+              },
+              i == 4));
+    }
+    for (int i = 0; i < 3; i++) {
+      futures.add(
+          unlimited.submit(
+              () -> {
+                // the other queue still runs on the rest of the workers
+                unlimitedRunning.countDown();
+                assertTrue(unlimitedRunning.await(10, TimeUnit.SECONDS));
+                return null;
+              },
+              false));
+    }
+    for (Future<Void> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    assertEquals(1, maxLimitedRunning.get());
+    assertEquals(4, scheduler.getMaxConcurrency());
+  }
+
+  @Test
+  public void testQueuesAreServedRoundRobinAndUrgentFirst() throws Exception {
+    SharedChunkDownloadScheduler scheduler = new SharedChunkDownloadScheduler(1, 1000);
+    SharedChunkDownloadScheduler.QueryQueue queueA = scheduler.register("A");
+    SharedChunkDownloadScheduler.QueryQueue queueB = scheduler.register("B");
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch blocker = new CountDownLatch(1);
+    List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+    // occupy the only worker so that everything else stays queued
+    Future<Void> blocking =
+        queueA.submit(
+            () -> {
+              started.countDown();
+              blocker.await();
+              return null;
+            },
+            false);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    List<Future<Void>> futures = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      String name = "A" + i;
+      futures.add(queueA.submit(() -> record(order, name), false));
+    }
+    futures.add(queueB.submit(() -> record(order, "B1"), false));
+    futures.add(queueB.submit(() -> record(order, "B2"), false));
+    futures.add(queueB.submit(() -> record(order, "urgent"), true));
+    // the consumer is now blocked on A3
+    queueA.prioritize(futures.get(2));
+
+    blocker.countDown();
+    blocking.get(10, TimeUnit.SECONDS);
+    for (Future<Void> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    assertEquals(Arrays.asList("A3", "urgent", "A1", "B1", "A2", "B2"), order);
+  }
+
+  @Test
+  public void testCloseCancelsPendingTasks() throws Exception {
+    SharedChunkDownloadScheduler scheduler = new SharedChunkDownloadScheduler(1, 1000);
+    SharedChunkDownloadScheduler.QueryQueue queue = scheduler.register("query");
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch blocker = new CountDownLatch(1);
+    Future<Void> blocking =
+        queue.submit(
+            () -> {
+              started.countDown();
+              blocker.await();
+              return null;
+            },
+            false);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    Future<Void> pending = queue.submit(() -> null, false);
+    Future<Void> pendingUrgent = queue.submit(() -> null, true);
+    queue.close();
+    assertTrue(pending.isCancelled());
+    assertTrue(pendingUrgent.isCancelled());
+    assertEquals(0, scheduler.getQueuedTaskCount());
+    assertTrue(queue.submit(() -> null, false).isCancelled());
+
+    blocker.countDown();
+    blocking.get(10, TimeUnit.SECONDS);
+    assertFalse(blocking.isCancelled());
+  }
+
+  private static Void record(List<String> order, String name) {
+    order.add(name);
+    return null;
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+package net.snowflake.client.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import net.snowflake.client.core.SFSession;
+import org.junit.jupiter.api.Test;
+
+/** Runs the ResultJsonParserV2 tests against SwarResultJsonParser and compares both parsers */
+public class SwarResultJsonParserTest extends ResultJsonParserV2Test {
+  private static final String[] STRING_PARTS = {
+    "a",
+    "0123456789",
+    "-1.5",
+    "\\\"",
+    "\\\\",
+    "\\n",
+    "\\/",
+    "\\u263A",
+    "\\ud841\\udf0e",
+    "☺",
+    "ä",
+    " "
+  };
+
+  @Override
+  protected ResultJsonParserV2 createParser() {
+    return new SwarResultJsonParser();
+  }
+
+  @Test
+  public void testZeroBytes() {
+    for (int i = 0; i < 8; i++) {
+      long x = 0x0180ff7f01808001L & ~(0xffL << (i * 8));
+      assertEquals(0x80L << (i * 8), SwarResultJsonParser.zeroBytes(x));
+    }
+    assertEquals(0L, SwarResultJsonParser.zeroBytes(0x0101010101010101L));
+    assertEquals(0x8080808080808080L, SwarResultJsonParser.zeroBytes(0L));
+    // no false positive for 0x01 following a zero byte
+    assertEquals(0x0000000000008000L, SwarResultJsonParser.zeroBytes(0x0101010101010001L));
+  }
+
+  @Test
+  public void testFindStringPartEndInBothByteOrders() {
+    byte[] data = "0123456789abcdefghij\"".getBytes(StandardCharsets.US_ASCII);
+    ResultJsonParserV2 reference = new ResultJsonParserV2();
+    SwarResultJsonParser parser = new SwarResultJsonParser();
+    for (int quote = 0; quote < data.length; quote++) {
+      byte[] copy = Arrays.copyOf(data, data.length);
+      copy[quote] = (byte) (quote % 2 == 0 ? '"' : '\\');
+      for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+        for (int from = 0; from <= quote; from++) {
+          ByteBuffer in = ByteBuffer.wrap(copy).order(order);
+          assertEquals(reference.findStringPartEnd(in, from), parser.findStringPartEnd(in, from));
+        }
+      }
+    }
+    ByteBuffer noQuote = ByteBuffer.wrap(new byte[19], 0, 17);
+    assertEquals(17, parser.findStringPartEnd(noQuote, 3));
+  }
+
+  @Test
+  public void testParityWithResultJsonParserV2() throws SnowflakeSQLException {
+    Random random = new Random(7);
+    for (int iteration = 0; iteration < 50; iteration++) {
+      int rowCount = 1 + random.nextInt(50);
+      int colCount = 1 + random.nextInt(5);
+      byte[] data = randomChunk(random, rowCount, colCount);
+      int bufferSize = 1 + random.nextInt(64);
+
+      JsonResultChunk expected = parse(new ResultJsonParserV2(), data, rowCount, colCount, 1 << 20);
+      JsonResultChunk actual = parse(createParser(), data, rowCount, colCount, bufferSize);
+      for (int row = 0; row < rowCount; row++) {
+        for (int col = 0; col < colCount; col++) {
+          assertEquals(expected.getCell(row, col), actual.getCell(row, col));
+        }
+      }
+    }
+  }
+
+  private static byte[] randomChunk(Random random, int rowCount, int colCount) {
+    StringBuilder sb = new StringBuilder();
+    for (int row = 0; row < rowCount; row++) {
+      sb.append(row == 0 ? "[" : ",\n[");
+      for (int col = 0; col < colCount; col++) {
+        if (col > 0) {
+          sb.append(random.nextBoolean() ? "," : ", ");
+        }
+        if (random.nextInt(8) == 0) {
+          sb.append("null");
+          continue;
+        }
+        sb.append('"');
+        int parts = random.nextInt(6);
+        for (int i = 0; i < parts; i++) {
+          sb.append(STRING_PARTS[random.nextInt(STRING_PARTS.length)]);
+        }
+        sb.append('"');
+      }
+      sb.append(']');
+    }
+    return sb.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** Feeds the data in buffers of the given size, like SnowflakeChunkDownloader */
+  private static JsonResultChunk parse(
+      ResultJsonParserV2 jp, byte[] data, int rowCount, int colCount, int bufferSize)
+      throws SnowflakeSQLException {
+    SFSession session = null;
+    JsonResultChunk chunk = new JsonResultChunk("", rowCount, colCount, data.length, session);
+    jp.startParsing(chunk, session);
+    byte[] leftover = new byte[0];
+    for (int pos = 0; pos < data.length; pos += bufferSize) {
+      int len = Math.min(bufferSize, data.length - pos);
+      byte[] buf = new byte[leftover.length + len];
+      System.arraycopy(leftover, 0, buf, 0, leftover.length);
+      System.arraycopy(data, pos, buf, leftover.length, len);
+      ByteBuffer byteBuffer = ByteBuffer.wrap(buf);
+      jp.continueParsing(byteBuffer, session);
+      leftover = new byte[byteBuffer.remaining()];
+      byteBuffer.get(leftover);
+    }
+    jp.endParsing(ByteBuffer.wrap(leftover), session);
+    return chunk;
+  }
+}
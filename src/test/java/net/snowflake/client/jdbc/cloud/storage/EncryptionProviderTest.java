@@ -98,4 +98,38 @@ public class EncryptionProviderTest {
     byte[] decryptedCipherText = FileUtils.readFileToByteArray(tempFile);
     assertArrayEquals(plainText, decryptedCipherText);
   }
+
+  @Test
+  public void testDecryptStreamToFile() throws Exception {
+    File tempFile = Files.createTempFile("encryption", "").toFile();
+    tempFile.deleteOnExit();
+    // an existing longer file is overwritten
+    FileUtils.writeByteArrayToFile(tempFile, new byte[1000]);
+
+    // bigger than the decryption buffer
+    byte[] bigPlainText = random.generateSeed(5 * 1024 * 1024 + 7);
+    CipherInputStream encrypted =
+        EncryptionProvider.encrypt(
+            meta,
+            bigPlainText.length,
+            new ByteArrayInputStream(bigPlainText),
+            encMat,
+            storageClient);
+    byte[] cipherText = IOUtils.toByteArray(encrypted);
+    verify(storageClient)
+        .addEncryptionMetadata(
+            storageObjectMetadataArgumentCaptor.capture(),
+            matDescArgumentCaptor.capture(),
+            ivDataArgumentCaptor.capture(),
+            encKekArgumentCaptor.capture(),
+            contentLengthArgumentCaptor.capture());
+
+    EncryptionProvider.decryptToFile(
+        new ByteArrayInputStream(cipherText),
+        tempFile,
+        Base64.getEncoder().encodeToString(encKekArgumentCaptor.getValue()),
+        Base64.getEncoder().encodeToString(ivDataArgumentCaptor.getValue()),
+        encMat);
+    assertArrayEquals(bigPlainText, FileUtils.readFileToByteArray(tempFile));
+  }
 }
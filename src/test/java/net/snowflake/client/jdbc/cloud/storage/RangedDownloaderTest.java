@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2025 Snowflake Computing Inc. All rights reserved.
+ */
+
+package net.snowflake.client.jdbc.cloud.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class RangedDownloaderTest {
+  private static final int PART_SIZE = 1024;
+
+  private final SecureRandom random = new SecureRandom();
+  private final SnowflakeStorageClient client = mock(SnowflakeStorageClient.class);
+
+  @TempDir private Path tempDir;
+
+  private SecretKey fileKey;
+  private byte[] iv;
+
+  @BeforeEach
+  public void setUp() {
+    when(client.getMaxRetries()).thenReturn(2);
+    when(client.getRetryBackoffMin()).thenReturn(1);
+    when(client.getRetryBackoffMaxExponent()).thenReturn(0);
+    fileKey = new SecretKeySpec(random.generateSeed(16), "AES");
+    iv = random.generateSeed(16);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 15, 16, 1024, 1040, 5000, 8192})
+  public void testEncryptedObjectIsDecryptedToStream(int size) throws Exception {
+    byte[] plainText = randomBytes(size);
+    byte[] object = encrypt(plainText);
+
+    try (InputStream stream = newDownloader(object, fileKey).openStream()) {
+      assertArrayEquals(plainText, IOUtils.toByteArray(stream));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 16, 1024, 5000, 8192})
+  public void testEncryptedObjectIsDecryptedToFile(int size) throws Exception {
+    byte[] plainText = randomBytes(size);
+    byte[] object = encrypt(plainText);
+    File file = tempDir.resolve("object").toFile();
+    // a longer existing file is overwritten
+    Files.write(file.toPath(), randomBytes(size + 100));
+
+    assertEquals(size, newDownloader(object, fileKey).downloadToFile(file));
+    assertArrayEquals(plainText, Files.readAllBytes(file.toPath()));
+  }
+
+  @Test
+  public void testUnencryptedObjectIsDownloaded() throws Exception {
+    byte[] object = randomBytes(4000);
+
+    try (InputStream stream = newDownloader(object, null).openStream()) {
+      assertArrayEquals(object, IOUtils.toByteArray(stream));
+    }
+    File file = tempDir.resolve("object").toFile();
+    assertEquals(object.length, newDownloader(object, null).downloadToFile(file));
+    assertArrayEquals(object, Files.readAllBytes(file.toPath()));
+  }
+
+  @Test
+  public void testFailedRangeIsRetried() throws Exception {
+    byte[] object = randomBytes(4000);
+    AtomicInteger failures = new AtomicInteger();
+    RangedDownloader downloader =
+        new RangedDownloader(
+            client,
+            (position, length) -> {
+              if (position == PART_SIZE && failures.getAndIncrement() < 2) {
+                throw new IOException("connection reset");
+              }
+              return Arrays.copyOfRange(object, (int) position, (int) position + length);
+            },
+            object.length,
+            2,
+            null,
+            null,
+            PART_SIZE);
+
+    try (InputStream stream = downloader.openStream()) {
+      assertArrayEquals(object, IOUtils.toByteArray(stream));
+    }
+    assertEquals(3, failures.get());
+  }
+
+  @Test
+  public void testRangeFailingOnAllRetriesFailsTheStream() {
+    byte[] object = randomBytes(4000);
+    RangedDownloader downloader =
+        new RangedDownloader(
+            client,
+            (position, length) -> {
+              throw new IOException("connection reset");
+            },
+            object.length,
+            2,
+            null,
+            null,
+            PART_SIZE);
+
+    assertThrows(IOException.class, () -> IOUtils.toByteArray(downloader.openStream()));
+  }
+
+  @Test
+  public void testSlowConsumerDoesNotReadAheadMoreThanTheCap() throws Exception {
+    byte[] object = randomBytes(10 * PART_SIZE);
+    AtomicInteger reads = new AtomicInteger();
+    // many threads, but only two ranges may be fetched ahead
+    RangedDownloader downloader =
+        new RangedDownloader(
+            client,
+            (position, length) -> {
+              reads.incrementAndGet();
+              return Arrays.copyOfRange(object, (int) position, (int) position + length);
+            },
+            object.length,
+            8,
+            null,
+            null,
+            PART_SIZE,
+            2 * PART_SIZE);
+
+    byte[] read = new byte[object.length];
+    try (InputStream stream = downloader.openStream()) {
+      for (int part = 1; part <= 10; part++) {
+        IOUtils.readFully(stream, read, (part - 1) * PART_SIZE, PART_SIZE);
+        // give the threads time to fetch more than they may
+        Thread.sleep(20);
+        // the range being read, and the two fetched ahead of it
+        assertTrue(reads.get() <= part + 1, "ranges read: " + reads.get() + " at part " + part);
+      }
+      assertEquals(-1, stream.read());
+    }
+    assertArrayEquals(object, read);
+    assertEquals(10, reads.get());
+  }
+
+  @Test
+  public void testOnlyBigObjectsAreDownloadedInRanges() {
+    assertEquals(false, RangedDownloader.isApplicable(2L * RangedDownloader.PART_SIZE, 1));
+    assertEquals(false, RangedDownloader.isApplicable(RangedDownloader.PART_SIZE, 4));
+    assertEquals(true, RangedDownloader.isApplicable(2L * RangedDownloader.PART_SIZE, 4));
+  }
+
+  private RangedDownloader newDownloader(byte[] object, SecretKey key) {
+    return new RangedDownloader(
+        client,
+        (position, length) -> Arrays.copyOfRange(object, (int) position, (int) position + length),
+        object.length,
+        3,
+        key,
+        key == null ? null : iv,
+        PART_SIZE);
+  }
+
+  private byte[] encrypt(byte[] plainText) throws Exception {
+    Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+    cipher.init(Cipher.ENCRYPT_MODE, fileKey, new IvParameterSpec(iv));
+    return cipher.doFinal(plainText);
+  }
+
+  private byte[] randomBytes(int size) {
+    byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+}